@@ -0,0 +1,44 @@
+@echo off
+REM ===============================================================================
+REM CityX Subway Display System - Render Benchmark
+REM 
+REM Paints every display panel headlessly at several resolutions and records
+REM frame time percentiles and allocation rates in benchmarks\render-results.csv
+REM 
+REM Usage: benchmark.bat [frames] [label]
+REM ===============================================================================
+
+cd /d "%~dp0"
+
+echo 📈 CityX Subway Display System - Render Benchmark
+echo ================================================
+echo.
+
+REM Step 1: Build main application
+echo 🔨 Building main application...
+call build.bat > nul
+if %ERRORLEVEL% neq 0 (
+    echo ❌ Main application build failed!
+    pause
+    exit /b 1
+)
+echo ✅ Main application built successfully
+
+REM Step 2: Compile the benchmark
+echo 🧪 Compiling benchmark...
+javac -cp "bin;lib/*" -d bin src/test/ca/ucalgary/edu/ensf380/view/RenderBenchmark.java > nul
+if %ERRORLEVEL% neq 0 (
+    echo ❌ RenderBenchmark compilation failed!
+    pause
+    exit /b 1
+)
+echo ✅ Benchmark compiled successfully
+
+REM Step 3: Run it
+echo.
+java -Xmx1g -Djava.awt.headless=true -cp "bin;lib/*" test.ca.ucalgary.edu.ensf380.view.RenderBenchmark %*
+
+echo.
+echo Compare runs in benchmarks\render-results.csv
+echo.
+pause
@@ -18,34 +18,25 @@ package ca.ucalgary.edu.ensf380;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import ca.ucalgary.edu.ensf380.util.AppConstants;
 import ca.ucalgary.edu.ensf380.util.AppLogger;
+import ca.ucalgary.edu.ensf380.util.TaskGroup;
+import ca.ucalgary.edu.ensf380.util.TaskRuntime;
 
 public class SimulatorManager {
     private Process simulatorProcess;
-    private ExecutorService executor;
+    private final TaskGroup tasks;
+    private final CountDownLatch stopped = new CountDownLatch(1);
     public volatile boolean running = true;
 
     public SimulatorManager() {
         AppLogger.startup("SimulatorManager", "Initializing headless simulator manager");
-        setupExecutor();
+        tasks = TaskRuntime.getInstance().group("simulator");
         startSimulatorProcess();
     }
-    
-    /**
-     * Setup thread executor for process management
-     */
-    private void setupExecutor() {
-        executor = Executors.newFixedThreadPool(2, r -> {
-            Thread t = new Thread(r, "SimulatorProcess-" + System.currentTimeMillis());
-            t.setDaemon(true);
-            return t;
-        });
-        AppLogger.debug("Simulator process executor initialized");
-    }
 
     /**
      * Start the subway simulator process with improved error handling
@@ -71,16 +62,17 @@ public class SimulatorManager {
             simulatorProcess = builder.start();
             
             // Monitor process output (but don't display it)
-            executor.execute(this::monitorProcessOutput);
+            tasks.submit("output", this::monitorProcessOutput);
             
             // Monitor process lifecycle
-            executor.execute(this::monitorProcessLifecycle);
+            tasks.submit("lifecycle", this::monitorProcessLifecycle);
             
             AppLogger.info("Subway simulator process started successfully");
             
         } catch (IOException e) {
             AppLogger.error("Failed to start simulator process", e);
             running = false;
+            stopped.countDown();
         }
     }
     
@@ -120,6 +112,7 @@ public class SimulatorManager {
             
             simulatorProcess = null;
             running = false;
+            stopped.countDown();
             
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -143,13 +136,14 @@ public class SimulatorManager {
             simulatorProcess.destroy();
             
             // Wait for graceful shutdown, then force if necessary
-            if (!simulatorProcess.waitFor(5, java.util.concurrent.TimeUnit.SECONDS)) {
+            if (!simulatorProcess.waitFor(5, TimeUnit.SECONDS)) {
                 AppLogger.warning("Forcing simulator process termination");
                 simulatorProcess.destroyForcibly();
             }
             
             simulatorProcess = null;
             running = false;
+            stopped.countDown();
             
             AppLogger.info("Simulator process stopped successfully");
             
@@ -167,17 +161,10 @@ public class SimulatorManager {
         
         running = false;
         stopSimulatorProcess();
+        stopped.countDown();
         
-        if (executor != null && !executor.isShutdown()) {
-            executor.shutdown();
-            try {
-                if (!executor.awaitTermination(3, java.util.concurrent.TimeUnit.SECONDS)) {
-                    executor.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                executor.shutdownNow();
-                Thread.currentThread().interrupt();
-            }
+        if (!tasks.isShutdown()) {
+            tasks.shutdown(AppConstants.TASK_SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS);
         }
         
         AppLogger.info("Simulator manager shutdown completed");
@@ -190,6 +177,13 @@ public class SimulatorManager {
         return running && (simulatorProcess == null || simulatorProcess.isAlive());
     }
     
+    /**
+     * Block until the simulator process has stopped or shutdown is requested
+     */
+    public void awaitTermination() throws InterruptedException {
+        stopped.await();
+    }
+    
     /**
      * Get simulator process status
      */
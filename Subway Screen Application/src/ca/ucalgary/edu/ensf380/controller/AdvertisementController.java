@@ -4,12 +4,16 @@ import ca.ucalgary.edu.ensf380.view.AdvertisementPanel;
 import ca.ucalgary.edu.ensf380.util.DatabaseUtil;
 import ca.ucalgary.edu.ensf380.util.AppConstants;
 import ca.ucalgary.edu.ensf380.util.AppLogger;
+import ca.ucalgary.edu.ensf380.util.MediaCache;
+import ca.ucalgary.edu.ensf380.util.TaskGroup;
+import ca.ucalgary.edu.ensf380.util.TaskRuntime;
+import ca.ucalgary.edu.ensf380.util.UiUpdateBridge;
 
 import java.sql.*;
 import java.util.*;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Controller for managing advertisement display and rotation.
@@ -20,53 +24,72 @@ import java.util.concurrent.TimeUnit;
  * @version 2.0
  */
 public class AdvertisementController {
-    private List<Map<String, Object>> advertisements;
-    private int currentAdIndex = 0;
-    private Timer timer;
+    // Ad catalog shared by every screen in the process; each screen rotates independently
+    private static List<Map<String, Object>> sharedAdvertisements;
+    private static final AtomicInteger INSTANCE_COUNTER = new AtomicInteger();
+    
+    private volatile List<Map<String, Object>> advertisements = Collections.emptyList();
+    private volatile int currentAdIndex = 0;
+    private ScheduledFuture<?> rotationTask;
     private final AdvertisementPanel advertisementPanel;
-    private ScheduledExecutorService scheduledExecutor;
-    private boolean isRunning = false;
+    private final TaskGroup tasks = TaskRuntime.getInstance().group("advertisements-" + INSTANCE_COUNTER.incrementAndGet());
+    private volatile boolean isRunning = false;
     
     public AdvertisementController(AdvertisementPanel advertisementPanel) {
         this.advertisementPanel = advertisementPanel;
         
         AppLogger.startup("AdvertisementController", "Initializing advertisement system");
         
-        try {
-            this.advertisements = loadAds();
-            if (advertisements.isEmpty()) {
-                AppLogger.warning("No advertisements loaded, using empty list");
-            } else {
-                AppLogger.info("Loaded " + advertisements.size() + " advertisements");
+        // The catalog comes from MySQL; load it in the background so the screen can appear first
+        tasks.submit("load-catalog", () -> {
+            try {
+                this.advertisements = getSharedAds();
+                if (advertisements.isEmpty()) {
+                    AppLogger.warning("No advertisements loaded, using empty list");
+                } else {
+                    AppLogger.info("Loaded " + advertisements.size() + " advertisements");
+                }
+            } catch (Exception e) {
+                AppLogger.error("Error loading advertisements, using empty list", e);
+                this.advertisements = new ArrayList<>();
             }
-        } catch (Exception e) {
-            AppLogger.error("Error loading advertisements, using empty list", e);
-            this.advertisements = new ArrayList<>();
+            
+            startAdRotation();
+        });
+    }
+
+    /**
+     * Loads the shared ad catalog ahead of time (e.g. as a startup stage running in
+     * parallel with the rest of initialization). Controllers created afterwards reuse it.
+     */
+    public static void preloadAdvertisements() {
+        try {
+            getSharedAds();
+        } catch (SQLException e) {
+            AppLogger.error("Error preloading advertisements", e);
         }
-        
-        initializeScheduledExecutor();
-        startAdRotation();
     }
-    
+
     /**
-     * Initialize the scheduled executor service for better thread management
+     * Returns the process-wide ad catalog, loading it from the database on first use.
+     * Only a successful load is cached, so after a database failure the next call retries.
      */
-    private void initializeScheduledExecutor() {
-        scheduledExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
-            Thread t = new Thread(r, "AdvertisementRotation");
-            t.setDaemon(true);
-            return t;
-        });
-        AppLogger.debug("Scheduled executor initialized for advertisement rotation");
+    private static synchronized List<Map<String, Object>> getSharedAds() throws SQLException {
+        if (sharedAdvertisements == null) {
+            sharedAdvertisements = Collections.unmodifiableList(loadAds());
+        } else {
+            AppLogger.debug("Reusing shared advertisement catalog (" + sharedAdvertisements.size() + " ads)");
+        }
+        return sharedAdvertisements;
     }
 
     /**
      * Loads advertisements from the database with improved error handling and validation.
      *
      * @return List of advertisements with each ad represented as a Map
-     * @throws SQLException if there is a database access error
+     * @throws SQLException if the database cannot be reached or queried
      */
-    private List<Map<String, Object>> loadAds() throws SQLException {
+    private static List<Map<String, Object>> loadAds() throws SQLException {
         List<Map<String, Object>> ads = new ArrayList<>();
         DatabaseUtil dbUtil = new DatabaseUtil();
         
@@ -76,22 +99,19 @@ public class AdvertisementController {
         try {
             // Attempt to connect to database
             if (!dbUtil.createConnection()) {
-                AppLogger.error("Failed to establish database connection for advertisement loading");
-                return ads; // Return empty list
+                throw new SQLException("Failed to establish database connection for advertisement loading");
             }
             
             // Test connection
             if (!dbUtil.testConnection()) {
-                AppLogger.error("Database connection test failed");
-                return ads;
+                throw new SQLException("Database connection test failed");
             }
             
             String query = "SELECT * FROM advertisements ORDER BY id";
             ResultSet resultSet = dbUtil.selectQuery(query);
             
             if (resultSet == null) {
-                AppLogger.error("Failed to execute advertisement query");
-                return ads;
+                throw new SQLException("Failed to execute advertisement query");
             }
 
             int loadedCount = 0;
@@ -126,7 +146,7 @@ public class AdvertisementController {
     /**
      * Create advertisement map from ResultSet with proper data extraction
      */
-    private Map<String, Object> createAdMapFromResultSet(ResultSet resultSet) throws SQLException {
+    private static Map<String, Object> createAdMapFromResultSet(ResultSet resultSet) throws SQLException {
         Map<String, Object> ad = new HashMap<>();
         ad.put("id", resultSet.getInt("id"));
         ad.put("media_type", resultSet.getString("media_type"));
@@ -138,7 +158,7 @@ public class AdvertisementController {
     /**
      * Validate advertisement data before adding to list
      */
-    private boolean validateAdvertisement(Map<String, Object> ad) {
+    private static boolean validateAdvertisement(Map<String, Object> ad) {
         // Check required fields
         if (ad.get("id") == null || ad.get("media_type") == null || ad.get("media_path") == null) {
             AppLogger.warning("Advertisement missing required fields: " + ad);
@@ -178,7 +198,7 @@ public class AdvertisementController {
     }
 
     /**
-     * Starts rotating advertisements using ScheduledExecutorService for better thread management.
+     * Starts rotating advertisements on the shared task runtime scheduler.
      */
     public void startAdRotation() {
         if (isRunning) {
@@ -193,39 +213,34 @@ public class AdvertisementController {
         
         AppLogger.info("Starting advertisement rotation with " + advertisements.size() + " advertisements");
         
-        // Stop any existing timer
-        if (timer != null) {
-            timer.cancel();
+        // Stop any existing rotation
+        if (rotationTask != null) {
+            rotationTask.cancel(false);
         }
         
-        // Use ScheduledExecutorService for better thread management
         isRunning = true;
-        timer = new Timer();
         
         // Start immediately and repeat every 10 seconds
-        timer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                try {
-                    if (advertisements != null && !advertisements.isEmpty()) {
-                        Map<String, Object> ad = advertisements.get(currentAdIndex);
-                        advertisementPanel.displayAdvertisement(ad);
-                        
-                        AppLogger.debug("Displaying advertisement " + (currentAdIndex + 1) + "/" + advertisements.size() + 
-                                       ": " + ad.get("media_path"));
-                        
-                        currentAdIndex = (currentAdIndex + 1) % advertisements.size();
-                        
-                        // Log rotation completion
-                        if (currentAdIndex == 0) {
-                            AppLogger.data("Advertisement", "Completed full rotation cycle");
-                        }
+        rotationTask = tasks.scheduleAtFixedRate("rotation", 0, AppConstants.AD_DISPLAY_INTERVAL, TimeUnit.MILLISECONDS, () -> {
+            try {
+                if (advertisements != null && !advertisements.isEmpty()) {
+                    Map<String, Object> ad = advertisements.get(currentAdIndex);
+                    UiUpdateBridge.getInstance().post(advertisementPanel, "ad", () -> advertisementPanel.displayAdvertisement(ad));
+                    
+                    AppLogger.debug("Displaying advertisement " + (currentAdIndex + 1) + "/" + advertisements.size() + 
+                                   ": " + ad.get("media_path"));
+                    
+                    currentAdIndex = (currentAdIndex + 1) % advertisements.size();
+                    
+                    // Log rotation completion
+                    if (currentAdIndex == 0) {
+                        AppLogger.data("Advertisement", "Completed full rotation cycle");
                     }
-                } catch (Exception e) {
-                    AppLogger.error("Error during advertisement rotation", e);
                 }
+            } catch (Exception e) {
+                AppLogger.error("Error during advertisement rotation", e);
             }
-        }, 0, AppConstants.AD_DISPLAY_INTERVAL); // Start immediately, repeat every 10 seconds
+        });
     }
 
     /**
@@ -234,18 +249,16 @@ public class AdvertisementController {
     public void pauseAd() {
         AppLogger.debug("Pausing advertisement rotation");
         
-        if (timer != null) {
-            timer.schedule(new TimerTask() {
-                @Override
-                public void run() {
-                    try {
-                        advertisementPanel.displayAdvertisement(null); // Clear the ad during pause
-                        AppLogger.debug("Advertisement display cleared during pause");
-                    } catch (Exception e) {
-                        AppLogger.error("Error clearing advertisement during pause", e);
-                    }
+        if (rotationTask != null) {
+            tasks.schedule("pause", AppConstants.AD_DISPLAY_INTERVAL, TimeUnit.MILLISECONDS, () -> {
+                try {
+                    // Clear the ad during pause
+                    UiUpdateBridge.getInstance().post(advertisementPanel, "ad", () -> advertisementPanel.displayAdvertisement(null));
+                    AppLogger.debug("Advertisement display cleared during pause");
+                } catch (Exception e) {
+                    AppLogger.error("Error clearing advertisement during pause", e);
                 }
-            }, AppConstants.AD_DISPLAY_INTERVAL);
+            });
         }
     }
 
@@ -255,46 +268,30 @@ public class AdvertisementController {
     public void resumeAd() {
         AppLogger.debug("Resuming advertisement rotation");
         
-        if (timer != null) {
-            timer.schedule(new TimerTask() {
-                @Override
-                public void run() {
-                    try {
-                        startAdRotation(); // Schedule the next ad
-                        AppLogger.debug("Advertisement rotation resumed");
-                    } catch (Exception e) {
-                        AppLogger.error("Error resuming advertisement rotation", e);
-                    }
+        if (rotationTask != null) {
+            tasks.schedule("resume", AppConstants.AD_DISPLAY_INTERVAL / 2, TimeUnit.MILLISECONDS, () -> {
+                try {
+                    startAdRotation(); // Schedule the next ad
+                    AppLogger.debug("Advertisement rotation resumed");
+                } catch (Exception e) {
+                    AppLogger.error("Error resuming advertisement rotation", e);
                 }
-            }, AppConstants.AD_DISPLAY_INTERVAL / 2);
+            });
         }
     }
 
     /**
-     * Stops the advertisement rotation and cleans up resources.
+     * Stops the advertisement rotation and cancels any pending pause/resume work.
      */
     public void stopAdRotation() {
         AppLogger.info("Stopping advertisement rotation");
         isRunning = false;
         
-        if (timer != null) {
-            timer.cancel();
-            timer = null;
-        }
-        
-        if (scheduledExecutor != null && !scheduledExecutor.isShutdown()) {
-            scheduledExecutor.shutdown();
-            try {
-                if (!scheduledExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
-                    scheduledExecutor.shutdownNow();
-                    AppLogger.warning("Forced shutdown of advertisement scheduled executor");
-                }
-            } catch (InterruptedException e) {
-                scheduledExecutor.shutdownNow();
-                Thread.currentThread().interrupt();
-                AppLogger.warning("Advertisement executor shutdown interrupted");
-            }
+        if (rotationTask != null) {
+            rotationTask.cancel(false);
+            rotationTask = null;
         }
+        tasks.cancelAll();
         
         AppLogger.data("Advertisement", "Rotation stopped and resources cleaned up");
     }
@@ -306,7 +303,11 @@ public class AdvertisementController {
         AppLogger.info("Reloading advertisements from database");
         
         try {
-            List<Map<String, Object>> newAds = loadAds();
+            List<Map<String, Object>> newAds = Collections.unmodifiableList(loadAds());
+            synchronized (AdvertisementController.class) {
+                sharedAdvertisements = newAds;
+            }
+            MediaCache.getInstance().clear();
             this.advertisements = newAds;
             this.currentAdIndex = 0;
             
@@ -319,7 +320,7 @@ public class AdvertisementController {
             }
             
         } catch (SQLException e) {
-            AppLogger.error("Failed to reload advertisements", e);
+            AppLogger.error("Failed to reload advertisements, keeping the current catalog", e);
         }
     }
     
@@ -339,10 +340,12 @@ public class AdvertisementController {
     }
     
     /**
-     * Cleanup resources when controller is destroyed
+     * Cleanup resources when controller is destroyed. Releases this controller's
+     * task group, so the controller cannot be restarted afterwards.
      */
     public void cleanup() {
         AppLogger.info("Cleaning up AdvertisementController resources");
         stopAdRotation();
+        TaskRuntime.getInstance().release(tasks);
     }
 }
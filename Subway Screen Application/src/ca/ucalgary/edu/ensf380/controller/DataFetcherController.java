@@ -22,39 +22,112 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import ca.ucalgary.edu.ensf380.util.AppConstants;
 import ca.ucalgary.edu.ensf380.util.AppLogger;
 
 public abstract class DataFetcherController {
 
+    // HTTP clients (one per connect timeout) and one response cache shared by every fetcher
+    // in the process, so several screens asking for the same URL cause a single network request
+    private static final Map<Long, HttpClient> HTTP_CLIENTS = new ConcurrentHashMap<>();
+    private static final Map<String, CachedResponse> RESPONSE_CACHE = new ConcurrentHashMap<>();
+    private static final Map<String, CompletableFuture<String>> IN_FLIGHT = new ConcurrentHashMap<>();
+
     /**
-     * Fetches data from a given URL as a string with improved error handling and logging.
+     * Fetches data from a given URL as a string. Successful responses are cached for
+     * {@link AppConstants#HTTP_CACHE_TTL} ms, and concurrent requests for the same URL
+     * share one network call.
      *
      * @param stringUrl the URL to fetch data from
      * @return the response data as a String
      * @throws IOException if an I/O error occurs or if the response code is not HTTP_OK
      */
     protected String fetchData(String stringUrl) throws IOException {
+        return fetchData(stringUrl, AppConstants.HTTP_CONNECT_TIMEOUT, AppConstants.HTTP_READ_TIMEOUT, Map.of());
+    }
+
+    /**
+     * Fetches data from a given URL with its own timeouts and extra request headers,
+     * through the same shared clients and response cache as {@link #fetchData(String)}
+     *
+     * @param stringUrl the URL to fetch data from
+     * @param connectTimeout connect timeout in milliseconds
+     * @param readTimeout time allowed for the response in milliseconds
+     * @param headers request headers to send, replacing the default User-Agent if given
+     * @return the response data as a String
+     * @throws IOException if an I/O error occurs or if the response code is not HTTP_OK
+     */
+    protected String fetchData(String stringUrl, long connectTimeout, long readTimeout,
+                               Map<String, String> headers) throws IOException {
         if (stringUrl == null || stringUrl.trim().isEmpty()) {
             throw new IllegalArgumentException("URL cannot be null or empty");
         }
         
+        CachedResponse cached = RESPONSE_CACHE.get(stringUrl);
+        if (cached != null && !cached.isExpired()) {
+            AppLogger.debug("HTTP cache hit for URL: " + stringUrl);
+            return cached.body;
+        }
+        
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        CompletableFuture<String> existing = IN_FLIGHT.putIfAbsent(stringUrl, pending);
+        if (existing != null) {
+            AppLogger.debug("Joining in-flight request for URL: " + stringUrl);
+            return awaitShared(existing, stringUrl);
+        }
+        
+        try {
+            String body = fetchFromNetwork(stringUrl, connectTimeout, readTimeout, headers);
+            RESPONSE_CACHE.put(stringUrl, new CachedResponse(body));
+            pending.complete(body);
+            return body;
+        } catch (IOException | RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            IN_FLIGHT.remove(stringUrl, pending);
+        }
+    }
+    
+    /**
+     * Waits for another thread's request for the same URL
+     */
+    private String awaitShared(CompletableFuture<String> shared, String stringUrl) throws IOException {
+        try {
+            return shared.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Request was interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Network request failed: " + cause.getMessage(), cause);
+        }
+    }
+    
+    /**
+     * Performs the actual HTTP GET with timeout handling and logging.
+     */
+    private String fetchFromNetwork(String stringUrl, long connectTimeout, long readTimeout,
+                                    Map<String, String> headers) throws IOException {
         AppLogger.debug("Fetching data from URL: " + stringUrl);
         long startTime = System.currentTimeMillis();
         
         try {
-            HttpClient client = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofMillis(AppConstants.HTTP_CONNECT_TIMEOUT))
-                .build();
-                
-            HttpRequest request = HttpRequest.newBuilder()
+            HttpRequest.Builder builder = HttpRequest.newBuilder()
                     .uri(URI.create(stringUrl))
-                    .timeout(Duration.ofMillis(AppConstants.HTTP_READ_TIMEOUT))
-                    .header("User-Agent", AppConstants.APP_NAME + "/" + AppConstants.APP_VERSION)
-                    .GET()
-                    .build();
+                    .timeout(Duration.ofMillis(readTimeout))
+                    .header("User-Agent", AppConstants.APP_NAME + "/" + AppConstants.APP_VERSION);
+            headers.forEach(builder::setHeader);
+            HttpRequest request = builder.GET().build();
                     
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = client(connectTimeout).send(request, HttpResponse.BodyHandlers.ofString());
             
             long duration = System.currentTimeMillis() - startTime;
             AppLogger.network("HTTP GET", stringUrl, response.statusCode());
@@ -73,12 +146,24 @@ public abstract class DataFetcherController {
             Thread.currentThread().interrupt();
             AppLogger.networkError("HTTP GET", stringUrl, e);
             throw new IOException("Request was interrupted", e);
+        } catch (IOException e) {
+            AppLogger.networkError("HTTP GET", stringUrl, e);
+            throw e;
         } catch (Exception e) {
             AppLogger.networkError("HTTP GET", stringUrl, e);
             throw new IOException("Network request failed: " + e.getMessage(), e);
         }
     }
     
+    /**
+     * Returns the shared client for a connect timeout; the timeout is fixed per client
+     */
+    private static HttpClient client(long connectTimeout) {
+        return HTTP_CLIENTS.computeIfAbsent(connectTimeout, timeout -> HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(timeout))
+                .build());
+    }
+    
     /**
      * Validates URL format
      */
@@ -95,4 +180,20 @@ public abstract class DataFetcherController {
             return false;
         }
     }
+    
+    /**
+     * Cached response body with its fetch time
+     */
+    private static final class CachedResponse {
+        private final String body;
+        private final long fetchedAt = System.currentTimeMillis();
+        
+        CachedResponse(String body) {
+            this.body = body;
+        }
+        
+        boolean isExpired() {
+            return System.currentTimeMillis() - fetchedAt > AppConstants.HTTP_CACHE_TTL;
+        }
+    }
 }
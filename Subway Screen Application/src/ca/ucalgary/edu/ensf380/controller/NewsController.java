@@ -18,15 +18,12 @@
 package ca.ucalgary.edu.ensf380.controller;
 
 import ca.ucalgary.edu.ensf380.view.NewsPanel;
+import ca.ucalgary.edu.ensf380.util.AppConstants;
 import ca.ucalgary.edu.ensf380.util.AppLogger;
+import ca.ucalgary.edu.ensf380.util.TaskRuntime;
+import ca.ucalgary.edu.ensf380.util.UiUpdateBridge;
 
-import javax.swing.SwingUtilities;
-import java.io.IOException;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.time.Duration;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.json.JSONArray;
@@ -71,7 +68,7 @@ public class NewsController extends DataFetcherController {
      */
     public void retrieveNews(String countryCode) {
         // Give the UI a moment to render the initial content
-        new Thread(() -> {
+        TaskRuntime.getInstance().group("news").submit("retrieve-" + countryCode, () -> {
             try {
                 Thread.sleep(100); // Brief delay to let UI show initial content first
             } catch (InterruptedException e) {
@@ -110,11 +107,13 @@ public class NewsController extends DataFetcherController {
                 AppLogger.info("NEWS: Keeping initial content (API unavailable)");
             }
             
-        }).start();
+        });
     }
     
     /**
-     * Fetches news with extended timeout specifically for news API
+     * Fetches news through the shared HTTP client and response cache, with the
+     * news API's own timeouts: a short connect timeout so an unreachable API falls
+     * back quickly, and a long one for its slow responses
      */
     private String fetchNewsWithTimeout(String countryCode) throws Exception {
         String locale = countryCode.toLowerCase();
@@ -126,31 +125,15 @@ public class NewsController extends DataFetcherController {
         AppLogger.debug("NEWS API: Fetching from " + url);
         long startTime = System.currentTimeMillis();
         
-        // Create HTTP client with extended timeout for news API
-        HttpClient client = HttpClient.newBuilder()
-            .connectTimeout(Duration.ofMillis(7000)) // 7 second connect
-            .build();
-            
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .timeout(Duration.ofMillis(20000)) // 20 second read timeout
-                .header("User-Agent", "SubwayScreen/2.0")
-                .header("Accept", "application/json")
-                .GET()
-                .build();
-                
-        HttpResponse<String> response = client.send(request, 
-            HttpResponse.BodyHandlers.ofString());
+        // Cached per URL, so several screens for the same country share one request
+        String body = fetchData(url, AppConstants.NEWS_CONNECT_TIMEOUT, AppConstants.NEWS_READ_TIMEOUT,
+                Map.of("User-Agent", "SubwayScreen/2.0", "Accept", "application/json"));
         
         long duration = System.currentTimeMillis() - startTime;
-        AppLogger.info("NEWS API: Response received in " + duration + "ms with status " + response.statusCode());
-        
-        if (response.statusCode() != 200) {
-            throw new Exception("HTTP " + response.statusCode() + " response");
-        }
+        AppLogger.info("NEWS API: Response received in " + duration + "ms");
         
         // Parse the JSON response
-        JSONObject obj = new JSONObject(response.body());
+        JSONObject obj = new JSONObject(body);
         JSONArray articles = obj.optJSONArray("data");
         
         if (articles == null || articles.length() == 0) {
@@ -225,7 +208,7 @@ public class NewsController extends DataFetcherController {
      */
     private void updateNews(String news) {
         // Ensure UI updates happen on the Event Dispatch Thread
-        SwingUtilities.invokeLater(() -> {
+        UiUpdateBridge.getInstance().post(newsPanel, "news", () -> {
             newsPanel.updateNewsLabel(news);
         });
     }
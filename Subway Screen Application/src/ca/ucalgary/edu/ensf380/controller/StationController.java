@@ -5,11 +5,15 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
 import ca.ucalgary.edu.ensf380.model.Station;
 import ca.ucalgary.edu.ensf380.model.Train;
+import ca.ucalgary.edu.ensf380.view.MapPanel;
+import ca.ucalgary.edu.ensf380.view.StationInfoPanel;
 import ca.ucalgary.edu.ensf380.view.SubwayScreenGUI;
 import ca.ucalgary.edu.ensf380.util.AppConstants;
 import ca.ucalgary.edu.ensf380.util.AppLogger;
+import ca.ucalgary.edu.ensf380.util.UiUpdateBridge;
 
 public class StationController {
     private static final ArrayList<Station> stations = new ArrayList<>();
@@ -18,7 +22,22 @@ public class StationController {
     public String currentStation;
 
     public StationController() {
-        populateStation();
+        ensureStationsLoaded();
+    }
+    
+    /**
+     * Loads the shared station topology on first use. Every controller in the process
+     * (one per screen in host mode) shares the same static station list, so the CSV
+     * is parsed only once.
+     */
+    private static void ensureStationsLoaded() {
+        synchronized (stations) {
+            if (stations.isEmpty()) {
+                populateStation();
+            } else {
+                AppLogger.debug("Station data already loaded (" + stations.size() + " stations), reusing shared topology");
+            }
+        }
     }
 
     /**
@@ -33,7 +52,7 @@ public class StationController {
     /**
      * Populates the station list from the subway.csv file with improved error handling.
      */
-    private void populateStation() {
+    private static void populateStation() {
         AppLogger.data("Station Loading", "Starting to load station data from " + AppConstants.SUBWAY_DATA_FILE);
         long startTime = System.currentTimeMillis();
         
@@ -98,7 +117,7 @@ public class StationController {
     /**
      * Parse a single line and add station if valid
      */
-    private boolean parseAndAddStation(String line, int lineNumber) {
+    private static boolean parseAndAddStation(String line, int lineNumber) {
         String[] values = line.split(",");
         
         if (values.length < 7) {
@@ -161,7 +180,7 @@ public class StationController {
      * @param x the x-coordinate of the station
      * @param y the y-coordinate of the station
      */
-    private void setStations(String name, String code, String num, double x, double y) {
+    private static void setStations(String name, String code, String num, double x, double y) {
         // Check for duplicate stations
         for (Station existingStation : stations) {
             if (existingStation.getCode().equals(code)) {
@@ -181,7 +200,7 @@ public class StationController {
      * @param trains the list of Train objects
      * @param gui the SubwayScreenGUI instance to update with station information
      */
-    public void updateTrainPos(int trainNum, ArrayList<Train> trains, SubwayScreenGUI gui) {
+    public void updateTrainPos(int trainNum, List<Train> trains, SubwayScreenGUI gui) {
         if (trains == null || trains.isEmpty()) {
             AppLogger.warning("No trains data available for position update");
             return;
@@ -236,18 +255,22 @@ public class StationController {
                 return;
             }
             
-            // Update GUI with calculated station information
+            // Update GUI with calculated station information (applied on the EDT)
+            UiUpdateBridge bridge = UiUpdateBridge.getInstance();
             if (gui != null && gui.getStationInfoPanel() != null) {
-                gui.getStationInfoPanel().updateTrainPosition(previousStation, currentStation, nextStation, nextStation1, nextStation2);
-                AppLogger.debug("Updated GUI with station information");
+                StationInfoPanel infoPanel = gui.getStationInfoPanel();
+                String prev = previousStation, curr = currentStation, next = nextStation, next1 = nextStation1, next2 = nextStation2;
+                bridge.post(infoPanel, "stations", () -> infoPanel.updateTrainPosition(prev, curr, next, next1, next2));
+                AppLogger.debug("Posted station information update");
             } else {
                 AppLogger.warning("GUI or StationInfoPanel is null, cannot update display");
             }
             
             // Update map with latest train positions (reuse already-loaded train data)
             if (gui != null && gui.getMapPanel() != null) {
-                gui.getMapPanel().updateTrainPositions(trains);
-                AppLogger.debug("Updated map with train positions");
+                MapPanel mapPanel = gui.getMapPanel();
+                bridge.post(mapPanel, "trains", () -> mapPanel.updateTrainPositions(trains));
+                AppLogger.debug("Posted map train positions update");
             }
             
         } catch (Exception e) {
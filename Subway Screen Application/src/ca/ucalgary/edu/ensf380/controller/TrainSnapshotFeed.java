@@ -0,0 +1,114 @@
+/**
+ * Train Snapshot Feed
+ *
+ * Single reader of the SubwaySimulator output that publishes immutable train
+ * snapshots to every interested screen. In host mode one feed serves all train
+ * displays in the process, so the simulator output is read once per interval
+ * instead of once per screen.
+ *
+ * Key responsibilities:
+ * - Polling the simulator output at the train update interval
+ * - Publishing an immutable copy of the latest train list
+ * - Isolating listener failures so one screen cannot stop the others
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+package ca.ucalgary.edu.ensf380.controller;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import ca.ucalgary.edu.ensf380.model.Train;
+import ca.ucalgary.edu.ensf380.util.AppConstants;
+import ca.ucalgary.edu.ensf380.util.AppLogger;
+import ca.ucalgary.edu.ensf380.util.TaskRuntime;
+
+public class TrainSnapshotFeed {
+    private final ReadSimulatorOutput output = new ReadSimulatorOutput();
+    private final List<Consumer<List<Train>>> listeners = new CopyOnWriteArrayList<>();
+    private volatile List<Train> latest = List.of();
+    private ScheduledFuture<?> pollTask;
+
+    public TrainSnapshotFeed() {
+        AppLogger.debug("Train snapshot feed initialized");
+    }
+
+    /**
+     * Registers a listener that receives every new snapshot. Listeners are called in
+     * registration order on the feed's background thread.
+     *
+     * @param listener consumer of immutable train snapshots
+     */
+    public void addListener(Consumer<List<Train>> listener) {
+        if (listener != null) {
+            listeners.add(listener);
+        }
+    }
+
+    /**
+     * Unregisters a listener, e.g. when its screen is closed. It may still receive a
+     * snapshot that is being delivered at the time.
+     *
+     * @param listener a listener passed to {@link #addListener}
+     */
+    public void removeListener(Consumer<List<Train>> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Starts polling the simulator output at {@link AppConstants#TRAIN_UPDATE_INTERVAL}.
+     */
+    public synchronized void start() {
+        if (pollTask != null) {
+            AppLogger.debug("Train snapshot feed already running");
+            return;
+        }
+        AppLogger.info("Starting train snapshot feed for " + listeners.size() + " screen(s)");
+        pollTask = TaskRuntime.getInstance().group("train-feed").scheduleAtFixedRate("poll", 0,
+                AppConstants.TRAIN_UPDATE_INTERVAL, TimeUnit.MILLISECONDS, this::poll);
+    }
+
+    /**
+     * Stops polling; listeners keep the last snapshot they received.
+     */
+    public synchronized void stop() {
+        if (pollTask != null) {
+            pollTask.cancel(false);
+            pollTask = null;
+            AppLogger.info("Train snapshot feed stopped");
+        }
+    }
+
+    /**
+     * Returns the most recent snapshot, or an empty list before the first read
+     */
+    public List<Train> getLatest() {
+        return latest;
+    }
+
+    /**
+     * Reads the simulator output once and publishes the result
+     */
+    private void poll() {
+        output.readOutput();
+        List<Train> snapshot = List.copyOf(output.getTrains());
+
+        if (snapshot.isEmpty()) {
+            AppLogger.warning("No train data available from simulator");
+            return;
+        }
+
+        latest = snapshot;
+        for (Consumer<List<Train>> listener : listeners) {
+            try {
+                listener.accept(snapshot);
+            } catch (Exception e) {
+                AppLogger.error("Error delivering train snapshot to screen", e);
+            }
+        }
+    }
+}
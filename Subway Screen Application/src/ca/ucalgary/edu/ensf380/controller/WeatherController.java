@@ -3,8 +3,9 @@ package ca.ucalgary.edu.ensf380.controller;
 import ca.ucalgary.edu.ensf380.view.WeatherPanel;
 import ca.ucalgary.edu.ensf380.util.AppConstants;
 import ca.ucalgary.edu.ensf380.util.AppLogger;
+import ca.ucalgary.edu.ensf380.util.TaskRuntime;
+import ca.ucalgary.edu.ensf380.util.UiUpdateBridge;
 
-import javax.swing.SwingUtilities;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -42,10 +43,10 @@ public class WeatherController extends DataFetcherController {
         
         AppLogger.data("Weather", "Retrieving weather data for city: " + city);
         
-        // Use background thread for network operations
-        new Thread(() -> {
+        // Use a virtual thread from the shared runtime for network operations
+        TaskRuntime.getInstance().group("weather").submit("retrieve-" + city.trim(), () -> {
             retrieveWeatherWithRetry(city.trim(), AppConstants.API_RETRY_ATTEMPTS);
-        }, "WeatherRetrieval-" + city).start();
+        });
     }
     
     /**
@@ -214,7 +215,7 @@ public class WeatherController extends DataFetcherController {
         try {
             String weatherInfo = formatWeatherInfo(location, condition, temperature, wind, precipitation);
             // Ensure UI updates happen on the Event Dispatch Thread
-            SwingUtilities.invokeLater(() -> {
+            UiUpdateBridge.getInstance().post(weatherPanel, "weather", () -> {
                 weatherPanel.updateWeatherLabel(weatherInfo);
                 AppLogger.debug("Weather display updated successfully");
             });
@@ -234,7 +235,7 @@ public class WeatherController extends DataFetcherController {
             city, "Service Unavailable", simplifiedError
         );
         // Ensure UI updates happen on the Event Dispatch Thread
-        SwingUtilities.invokeLater(() -> {
+        UiUpdateBridge.getInstance().post(weatherPanel, "weather", () -> {
             weatherPanel.updateWeatherLabel(errorInfo);
         });
     }
@@ -0,0 +1,243 @@
+package ca.ucalgary.edu.ensf380.util;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+
+/**
+ * Fully decoded advertisement media: every frame of an animated GIF composited
+ * onto the full canvas, with its display time. Still images (JPEG, BMP, single-frame
+ * GIF) are a single frame.
+ *
+ * Frames are decoded once with ImageIO, honouring each GIF frame's position and
+ * disposal method, so playback only selects a frame and never decodes. Instances
+ * are immutable and shared by every screen showing the same media.
+ *
+ * Memory per animation can be bounded: a GIF whose decoded frames would exceed the
+ * given limit keeps an evenly spaced subset of its frames, each shown for the combined
+ * time of the frames it replaces (see {@link #getDroppedFrameCount()}). Scaled frames
+ * are produced by {@link ScaledFrames}.
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+public final class AnimatedImage {
+
+    private static final String GIF_IMAGE_METADATA = "javax_imageio_gif_image_1.0";
+    private static final String GIF_STREAM_METADATA = "javax_imageio_gif_stream_1.0";
+
+    // Browsers show GIF frames with delays of 10 ms or less for 100 ms; so do we
+    private static final int MIN_FRAME_DELAY = 20;
+    private static final int DEFAULT_FRAME_DELAY = 100;
+
+    private final BufferedImage[] frames;
+    private final int[] delaysMs;
+    private final int width;
+    private final int height;
+    private final int droppedFrames;
+
+    private AnimatedImage(BufferedImage[] frames, int[] delaysMs, int droppedFrames) {
+        this.frames = frames;
+        this.delaysMs = delaysMs;
+        this.droppedFrames = droppedFrames;
+        this.width = frames[0].getWidth();
+        this.height = frames[0].getHeight();
+    }
+
+    /**
+     * Decodes an image file's contents
+     *
+     * @param data the encoded image (GIF, JPEG, BMP or PNG)
+     * @return the decoded frames
+     * @throws IOException if the data is not a readable image
+     */
+    public static AnimatedImage decode(byte[] data) throws IOException {
+        return decode(data, Long.MAX_VALUE);
+    }
+
+    /**
+     * Decodes an image file's contents, keeping at most the given bytes of frames
+     * (at least one frame is always kept)
+     *
+     * @param data the encoded image (GIF, JPEG, BMP or PNG)
+     * @param maxBytes limit for {@link #getByteSize()} of the result
+     * @return the decoded frames
+     * @throws IOException if the data is not a readable image
+     */
+    public static AnimatedImage decode(byte[] data, long maxBytes) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, false);
+                if ("gif".equalsIgnoreCase(reader.getFormatName())) {
+                    return decodeGif(reader, maxBytes);
+                }
+                BufferedImage image = reader.read(0);
+                return new AnimatedImage(new BufferedImage[] {toCompatible(image)}, new int[] {0}, 0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Number of frames (1 for still images)
+     */
+    public int getFrameCount() {
+        return frames.length;
+    }
+
+    public boolean isAnimated() {
+        return frames.length > 1;
+    }
+
+    /**
+     * The composited frame at the given index
+     */
+    public BufferedImage getFrame(int index) {
+        return frames[index];
+    }
+
+    /**
+     * How long the frame at the given index is shown, in milliseconds
+     */
+    public int getDelay(int index) {
+        return delaysMs[index];
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Memory held by the decoded frames in bytes
+     */
+    public long getByteSize() {
+        return 4L * width * height * frames.length;
+    }
+
+    /**
+     * Number of GIF frames left out to stay within the decode limit (0 when every
+     * frame was kept)
+     */
+    public int getDroppedFrameCount() {
+        return droppedFrames;
+    }
+
+    private static AnimatedImage decodeGif(ImageReader reader, long maxBytes) throws IOException {
+        int count = reader.getNumImages(true);
+        if (count < 1) {
+            throw new IOException("GIF has no frames");
+        }
+
+        // Canvas size comes from the logical screen; fall back to the first frame
+        int canvasWidth = reader.getWidth(0);
+        int canvasHeight = reader.getHeight(0);
+        IIOMetadata streamMetadata = reader.getStreamMetadata();
+        if (streamMetadata != null) {
+            IIOMetadataNode screen = child((IIOMetadataNode) streamMetadata.getAsTree(GIF_STREAM_METADATA),
+                    "LogicalScreenDescriptor");
+            if (screen != null) {
+                canvasWidth = Math.max(canvasWidth, intAttribute(screen, "logicalScreenWidth", 0));
+                canvasHeight = Math.max(canvasHeight, intAttribute(screen, "logicalScreenHeight", 0));
+            }
+        }
+
+        // Frames over the memory limit are skipped evenly: kept frame k is source frame
+        // k * count / kept and is shown until the next kept frame
+        int kept = (int) Math.max(1, Math.min(count, maxBytes / (4L * canvasWidth * canvasHeight)));
+        BufferedImage canvas = new BufferedImage(canvasWidth, canvasHeight, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g2 = canvas.createGraphics();
+        List<BufferedImage> frames = new ArrayList<>(kept);
+        int[] delays = new int[kept];
+        try {
+            for (int i = 0; i < count; i++) {
+                BufferedImage image = reader.read(i);
+                IIOMetadataNode root = (IIOMetadataNode) reader.getImageMetadata(i).getAsTree(GIF_IMAGE_METADATA);
+                IIOMetadataNode descriptor = child(root, "ImageDescriptor");
+                IIOMetadataNode control = child(root, "GraphicControlExtension");
+                int x = intAttribute(descriptor, "imageLeftPosition", 0);
+                int y = intAttribute(descriptor, "imageTopPosition", 0);
+                String disposal = control == null ? "none" : control.getAttribute("disposalMethod");
+                int delay = control == null ? 0 : intAttribute(control, "delayTime", 0) * 10;
+                int keptIndex = (int) ((long) i * kept / count);
+                delays[keptIndex] += delay < MIN_FRAME_DELAY ? DEFAULT_FRAME_DELAY : delay;
+
+                BufferedImage previous = "restoreToPrevious".equals(disposal) ? copy(canvas) : null;
+                g2.drawImage(image, x, y, null);
+                if (frames.size() == keptIndex) {
+                    frames.add(copy(canvas));
+                }
+
+                // Prepare the canvas for the next frame
+                if ("restoreToBackgroundColor".equals(disposal)) {
+                    g2.setComposite(AlphaComposite.Clear);
+                    g2.fillRect(x, y, image.getWidth(), image.getHeight());
+                    g2.setComposite(AlphaComposite.SrcOver);
+                } else if (previous != null) {
+                    g2.setComposite(AlphaComposite.Src);
+                    g2.drawImage(previous, 0, 0, null);
+                    g2.setComposite(AlphaComposite.SrcOver);
+                }
+            }
+        } finally {
+            g2.dispose();
+        }
+        return new AnimatedImage(frames.toArray(new BufferedImage[0]), delays, count - kept);
+    }
+
+    private static BufferedImage toCompatible(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_ARGB_PRE) {
+            return image;
+        }
+        return copy(image);
+    }
+
+    private static BufferedImage copy(BufferedImage image) {
+        BufferedImage copy = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g2 = copy.createGraphics();
+        g2.setComposite(AlphaComposite.Src);
+        g2.drawImage(image, 0, 0, null);
+        g2.dispose();
+        return copy;
+    }
+
+    private static IIOMetadataNode child(IIOMetadataNode parent, String name) {
+        for (int i = 0; i < parent.getLength(); i++) {
+            if (parent.item(i) instanceof IIOMetadataNode node && node.getNodeName().equals(name)) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    private static int intAttribute(IIOMetadataNode node, String name, int defaultValue) {
+        if (node == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(node.getAttribute(name));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
@@ -97,6 +97,8 @@ public final class AppConstants {
     public static final int HOVER_ANIMATION_RATE = 50;          // Hover pulse rate
     public static final int LOADING_ANIMATION_RATE = 20;        // Loading animation rate
     public static final int CLICK_FEEDBACK_RATE = 100;          // Click feedback rate
+    public static final int DISPLAY_FRAME_RATE = 60;            // Frame clock ticks per second
+    public static final int FRAME_STATS_INTERVAL = 600;         // Frames between frame budget reports
     
     // Application update intervals
     public static final int TRAIN_UPDATE_INTERVAL = 13000;      // 13 seconds
@@ -116,6 +118,10 @@ public final class AppConstants {
     public static final float LOADING_PROGRESS_STEP = 0.02f;     // Loading progress step
     public static final float PULSE_SPEED = 0.2f;               // Hover pulse speed
     public static final float TRAIN_SPEED = 3.0f;               // Train movement speed
+    public static final int TRAIN_TRAVEL_TIME_MS = 800;         // Time a map train takes to reach its next station
+    public static final int TRAIN_PULSE_TIME_MS = 1000;         // How long a train that moved pulses
+    public static final float NEWS_SCROLL_SPEED = 60.0f;        // News ticker speed in pixels per second
+    public static final int NEWS_TICKER_GAP = 80;               // Space before the headline repeats
     
     // ========== UI COMPONENT SIZES ==========
     // Map panel settings
@@ -125,6 +131,11 @@ public final class AppConstants {
     public static final int STATION_SIZE_LARGE = 14;            // Transfer/terminal station size (reduced from 16)
     public static final int TRAIN_SIZE = 16;                    // Train indicator size
     public static final int TRAIN_SIZE_SELECTED = 20;           // Selected train indicator size (larger)
+    public static final int MAP_SIMPLIFY_SPACING = 14;          // Station spacing in pixels below which glyphs are simplified
+    public static final int MAP_LABEL_GRID_CELL = 16;           // Cell size of the label collision grid
+    public static final int MAP_TILE_SIZE = 256;                // Width and height of a cached map tile
+    public static final int MAP_MAX_ZOOM_LEVEL = 6;             // Deepest map zoom level (0 = fitted to the panel)
+    public static final double MAP_ZOOM_STEP = 1.5;             // Magnification between zoom levels
     public static final int TOOLTIP_PADDING = 15;               // Tooltip padding
     public static final int SHADOW_OFFSET = 2;                  // Standard shadow offset
     
@@ -141,12 +152,46 @@ public final class AppConstants {
     public static final int LARGE_RADIUS = 15;
     public static final int CARD_RADIUS = 15;
     
+    // Rendering caches
+    public static final int TEXT_LAYOUT_CACHE_SIZE = 512;        // Laid-out text entries shared by all screens
+    public static final int MEDIA_CACHE_BUDGET_MB = 64;          // Decoded advertisement frames kept in memory
+    public static final int MAP_TILE_CACHE_MB = 24;              // Rendered map tiles kept per map panel, at least
+    public static final int MAP_TILE_CACHE_MAX_MB = 96;          // Largest budget grown to fit the viewport and its prefetch ring
+    public static final int MEDIA_SCALED_FRAMES = 3;             // Frames of an ad kept scaled to the panel, from the one shown
+    public static final int MEDIA_VARIANT_SETTLE_MS = 250;       // Ad size must stay unchanged this long before it is rescaled
+    
     // ========== NETWORK TIMEOUTS ==========
     public static final int HTTP_CONNECT_TIMEOUT = 15000;       // 15 seconds (increased for slow networks)
     public static final int HTTP_READ_TIMEOUT = 20000;          // 20 seconds
     public static final int NEWS_API_TIMEOUT = 15000;           // 15 seconds for news API (longer)
+    public static final int NEWS_CONNECT_TIMEOUT = 7000;        // News API connect timeout (fail over to the fallback sooner)
+    public static final int NEWS_READ_TIMEOUT = 20000;          // News API response timeout
     public static final int API_RETRY_ATTEMPTS = 3;             // Number of retry attempts (increased)
     public static final int API_RETRY_DELAY = 3000;             // Delay between retries (3 seconds)
+    public static final int HTTP_CACHE_TTL = 60000;             // Shared HTTP response cache lifetime (1 minute)
+    
+    // ========== BACKGROUND TASKS ==========
+    public static final int TASK_SHUTDOWN_TIMEOUT = 3000;       // Per task group shutdown grace period
+    
+    // ========== HEADLESS RENDERING ==========
+    public static final int HEADLESS_FRAME_RATE = 10;           // Offscreen frames per second
+    public static final int HEADLESS_STATS_INTERVAL = 100;      // Frames between render statistics reports
+    public static final String HEADLESS_DEFAULT_SINK = "png:out/frames";
+    
+    // ========== MONITORING THUMBNAILS ==========
+    public static final int THUMBNAIL_WIDTH = 320;              // Thumbnail width (pixels) when the CPU share allows
+    public static final int THUMBNAIL_MIN_WIDTH = 120;          // Narrowest thumbnail when capture is expensive
+    public static final double THUMBNAIL_CPU_SHARE = 0.02;      // Share of one CPU core the thumbnail service may use
+    public static final int THUMBNAIL_MIN_INTERVAL = 1000;      // Shortest time (ms) between capture rounds
+    public static final int THUMBNAIL_MAX_INTERVAL = 30000;     // Longest time (ms) between capture rounds
+    public static final int THUMBNAIL_IDLE_TIMEOUT = 60000;     // No fetches for this long (ms) slows capture to the longest interval
+    public static final float THUMBNAIL_JPEG_QUALITY = 0.7f;    // JPEG compression quality (0..1)
+    
+    // ========== DIAGNOSTICS ==========
+    public static final int METRICS_REPORT_INTERVAL = 60;       // Seconds between metrics log reports
+    public static final int DIAGNOSTICS_QUEUE_WARNING = 50;     // Event queue depth flagged by the overlay
+    public static final int EDT_HEARTBEAT_INTERVAL = 100;       // Milliseconds between EDT watchdog heartbeats
+    public static final int EDT_STALL_THRESHOLD = 500;          // Heartbeat delay (ms) reported as an EDT stall
     
     // ========== DATABASE SETTINGS ==========
     public static final String DB_URL = "jdbc:mysql://localhost:3306/subway_screen";
@@ -0,0 +1,100 @@
+package ca.ucalgary.edu.ensf380.util;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Event queue that keeps count of the events waiting for the Event Dispatch
+ * Thread, published as the "edt.queue.depth" gauge of the {@link MetricsRegistry}.
+ * A queue that keeps growing means the EDT cannot keep up.
+ *
+ * AWT does not expose the length of its queue, so events are counted as they are
+ * posted and dispatched. Events that AWT merges into one (coalescing) are counted
+ * once too often; the count is reset to zero whenever the queue is found empty.
+ *
+ * The queue also remembers the event being dispatched and when its dispatch began,
+ * so the {@link EdtWatchdog} can name the task that is holding up the EDT.
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+public final class CountingEventQueue extends EventQueue {
+
+    private static CountingEventQueue installed;
+
+    private final AtomicInteger depth = new AtomicInteger();
+    private volatile AWTEvent dispatching;
+    private volatile long dispatchStartNanos;
+
+    private CountingEventQueue() {}
+
+    /**
+     * Replaces the system event queue with a counting one. Calling this again has
+     * no effect.
+     */
+    public static synchronized void install() {
+        if (installed != null) {
+            return;
+        }
+        installed = new CountingEventQueue();
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(installed);
+        MetricsRegistry.getInstance().gauge("edt.queue.depth", installed::getDepth);
+        AppLogger.debug("Counting event queue installed");
+    }
+
+    /**
+     * The installed queue, or null if {@link #install()} has not been called
+     */
+    public static synchronized CountingEventQueue getInstalled() {
+        return installed;
+    }
+
+    /**
+     * Number of events posted but not yet dispatched
+     */
+    public int getDepth() {
+        return depth.get();
+    }
+
+    @Override
+    public void postEvent(AWTEvent event) {
+        depth.incrementAndGet();
+        super.postEvent(event);
+    }
+
+    /**
+     * The event the EDT is dispatching right now, or null between events
+     */
+    public AWTEvent getDispatchingEvent() {
+        return dispatching;
+    }
+
+    /**
+     * {@link System#nanoTime()} at which dispatch of the current event began
+     */
+    public long getDispatchStartNanos() {
+        return dispatchStartNanos;
+    }
+
+    @Override
+    protected void dispatchEvent(AWTEvent event) {
+        AWTEvent outer = dispatching;
+        long outerStart = dispatchStartNanos;
+        dispatchStartNanos = System.nanoTime();
+        dispatching = event;
+        try {
+            super.dispatchEvent(event);
+        } finally {
+            // Modal dialogs dispatch nested events; restore the enclosing one
+            dispatching = outer;
+            dispatchStartNanos = outerStart;
+            if (peekEvent() == null) {
+                depth.set(0);
+            } else {
+                depth.updateAndGet(d -> d > 0 ? d - 1 : 0);
+            }
+        }
+    }
+}
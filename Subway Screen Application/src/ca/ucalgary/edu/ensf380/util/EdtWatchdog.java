@@ -0,0 +1,132 @@
+package ca.ucalgary.edu.ensf380.util;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Watchdog that notices when the Event Dispatch Thread stops responding (a long
+ * task or a sleep inside invokeLater freezes every panel on the screen).
+ *
+ * Every {@link AppConstants#EDT_HEARTBEAT_INTERVAL} ms the "watchdog" task group
+ * posts a heartbeat event to the EDT and records how long it waited to be
+ * dispatched in the "edt.heartbeat" histogram. If a heartbeat is still waiting
+ * after the stall threshold, the EDT's stack trace is logged once, together with
+ * the event it is dispatching (see {@link CountingEventQueue}), and the stall is
+ * counted in the "edt.stalls" gauge. When the EDT recovers the full stall time is
+ * logged and recorded in the "edt.stall" histogram.
+ *
+ * Only one heartbeat is ever outstanding and nothing is captured unless the EDT
+ * is stalled, so the watchdog is cheap enough to leave on in production.
+ *
+ * Usage:
+ *   EdtWatchdog.getInstance().start(AppConstants.EDT_STALL_THRESHOLD);
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+public final class EdtWatchdog {
+
+    private static final EdtWatchdog INSTANCE = new EdtWatchdog();
+
+    private final LatencyHistogram heartbeats = MetricsRegistry.getInstance().histogram("edt.heartbeat");
+    private final LatencyHistogram stallTimes = MetricsRegistry.getInstance().histogram("edt.stall");
+    private final AtomicLong stalls = new AtomicLong();
+
+    private boolean started = false;
+    private long thresholdNanos;
+    private volatile Thread edt;                 // Set by each heartbeat; AWT may replace the EDT
+    private volatile long pendingSinceNanos = 0; // Post time of the outstanding heartbeat, 0 if none
+    private volatile boolean stallReported = false;
+
+    private EdtWatchdog() {}
+
+    /**
+     * Get the process-wide EDT watchdog
+     */
+    public static EdtWatchdog getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts posting heartbeats. Calling this again has no effect.
+     *
+     * @param thresholdMs dispatch delay after which the EDT is reported as stalled
+     */
+    public synchronized void start(int thresholdMs) {
+        if (started) {
+            return;
+        }
+        if (thresholdMs <= 0) {
+            throw new IllegalArgumentException("EDT stall threshold must be positive: " + thresholdMs);
+        }
+        started = true;
+        thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        MetricsRegistry.getInstance().gauge("edt.stalls", stalls::get);
+        TaskRuntime.getInstance().group("watchdog").scheduleAtFixedRate("heartbeat", 0,
+                AppConstants.EDT_HEARTBEAT_INTERVAL, TimeUnit.MILLISECONDS, this::check);
+        AppLogger.info("EDT watchdog started (stall threshold " + thresholdMs + " ms)");
+    }
+
+    /**
+     * Number of stalls detected so far
+     */
+    public long getStallCount() {
+        return stalls.get();
+    }
+
+    /**
+     * Posts a heartbeat if none is outstanding, otherwise checks how long it has waited
+     */
+    private void check() {
+        long now = System.nanoTime();
+        long pendingSince = pendingSinceNanos;
+        if (pendingSince == 0) {
+            pendingSinceNanos = now;
+            EventQueue.invokeLater(this::heartbeat);
+        } else if (!stallReported && now - pendingSince > thresholdNanos) {
+            stallReported = true;
+            stalls.incrementAndGet();
+            reportStall(now - pendingSince);
+        }
+    }
+
+    /**
+     * Runs on the EDT
+     */
+    private void heartbeat() {
+        long latency = System.nanoTime() - pendingSinceNanos;
+        edt = Thread.currentThread();
+        heartbeats.record(latency);
+        if (stallReported) {
+            stallTimes.record(latency);
+            AppLogger.warning(String.format("EDT recovered after %.0f ms", latency / 1e6));
+        }
+        stallReported = false;
+        pendingSinceNanos = 0;
+    }
+
+    private void reportStall(long waitedNanos) {
+        StringBuilder report = new StringBuilder(String.format("EDT stalled: heartbeat waiting %.0f ms",
+                waitedNanos / 1e6));
+
+        CountingEventQueue queue = CountingEventQueue.getInstalled();
+        AWTEvent event = queue == null ? null : queue.getDispatchingEvent();
+        if (event != null) {
+            report.append(String.format("%n  dispatching for %.0f ms: %s",
+                    (System.nanoTime() - queue.getDispatchStartNanos()) / 1e6, event));
+        }
+
+        Thread thread = edt;
+        if (thread == null) {
+            report.append(String.format("%n  (EDT not yet identified: no heartbeat dispatched so far)"));
+        } else {
+            report.append(String.format("%n  %s stack:", thread.getName()));
+            for (StackTraceElement frame : thread.getStackTrace()) {
+                report.append(String.format("%n    at %s", frame));
+            }
+        }
+        AppLogger.warning(report.toString());
+    }
+}
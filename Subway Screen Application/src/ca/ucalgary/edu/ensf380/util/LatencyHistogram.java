@@ -0,0 +1,174 @@
+package ca.ucalgary.edu.ensf380.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of durations (paint times, frame times, GC pauses).
+ *
+ * Durations are counted in log-linear buckets of microseconds: every power of two
+ * is split into {@value #SUB_BUCKETS} equal buckets, so a percentile is accurate
+ * to about 6% from 1 µs up to more than an hour. Recording is one atomic
+ * increment and never blocks or allocates, so it is safe on the Event Dispatch
+ * Thread and from any number of threads at once.
+ *
+ * The histogram only grows. Readers take a {@link Snapshot} and subtract an
+ * earlier snapshot to get the statistics of a time window.
+ *
+ * Usage:
+ *   LatencyHistogram paint = MetricsRegistry.getInstance().histogram("paint.map");
+ *   paint.record(System.nanoTime() - start);
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 42; // 2^42 µs is about 50 days
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final String name;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Records one duration. Negative durations count as zero.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(long nanos) {
+        counts.incrementAndGet(bucketOf(Math.max(0, nanos) / 1000));
+    }
+
+    /**
+     * Copies the current counts
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(copy);
+    }
+
+    private static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = Math.min(63 - Long.numberOfLeadingZeros(micros), MAX_EXPONENT);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int sub = (int) ((micros >>> shift) & (SUB_BUCKETS - 1));
+        return (shift + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Smallest duration in a bucket, in microseconds
+     */
+    private static long lowerBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        int sub = bucket % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + sub) << shift;
+    }
+
+    /**
+     * Middle of a bucket, in nanoseconds
+     */
+    private static long midpointNanos(int bucket) {
+        long lower = lowerBoundOf(bucket);
+        long upper = bucket + 1 < BUCKETS ? lowerBoundOf(bucket + 1) : lower;
+        return TimeUnit.MICROSECONDS.toNanos(lower + upper) / 2;
+    }
+
+    /**
+     * Immutable copy of the counts of a histogram
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long total;
+
+        private Snapshot(long[] counts) {
+            this.counts = counts;
+            long sum = 0;
+            for (long count : counts) {
+                sum += count;
+            }
+            this.total = sum;
+        }
+
+        /**
+         * Number of recorded durations
+         */
+        public long getCount() {
+            return total;
+        }
+
+        /**
+         * Duration at the given percentile, to within one bucket
+         *
+         * @param percentile between 0 and 100
+         * @return the duration in nanoseconds, or 0 if nothing was recorded
+         */
+        public long getPercentileNanos(double percentile) {
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return midpointNanos(i);
+                }
+            }
+            return midpointNanos(counts.length - 1);
+        }
+
+        /**
+         * Longest recorded duration, to within one bucket
+         */
+        public long getMaxNanos() {
+            for (int i = counts.length - 1; i >= 0; i--) {
+                if (counts[i] > 0) {
+                    return midpointNanos(i);
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Approximate sum of the recorded durations
+         */
+        public long getTotalNanos() {
+            long sum = 0;
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    sum += counts[i] * midpointNanos(i);
+                }
+            }
+            return sum;
+        }
+
+        /**
+         * Durations recorded since an earlier snapshot of the same histogram
+         */
+        public Snapshot since(Snapshot earlier) {
+            long[] delta = new long[counts.length];
+            for (int i = 0; i < counts.length; i++) {
+                delta[i] = counts[i] - earlier.counts[i];
+            }
+            return new Snapshot(delta);
+        }
+    }
+}
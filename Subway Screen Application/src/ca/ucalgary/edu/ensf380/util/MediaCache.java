@@ -0,0 +1,207 @@
+package ca.ucalgary.edu.ensf380.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide cache of decoded advertisement media.
+ * Every screen in the process shares the same decoded images, so an ad shown on
+ * several train displays is read from disk and decoded only once.
+ *
+ * Media is read and decoded on the "media" task group, never on the Event Dispatch
+ * Thread. Every frame of an animated GIF is decoded up front into an
+ * {@link AnimatedImage}, so playback never touches the disk or a decoder. Decoded media
+ * is kept in least-recently-used order within a byte budget
+ * ({@link AppConstants#MEDIA_CACHE_BUDGET_MB} by default, see {@link #setByteBudget(long)});
+ * the most recently loaded item is always kept, even if it alone exceeds the budget.
+ * Every frame is kept unless one animation alone would exceed the whole budget; then
+ * frames are thinned out to fit and a warning is logged.
+ *
+ * The cache holds media at its own resolution. Panels draw frames scaled to their
+ * size from a {@link ScaledFrames}, which keeps only the few frames about to be shown.
+ *
+ * Usage:
+ *   MediaCache.getInstance().load(path).thenAccept(media -> ...); // completes on a background thread
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+public final class MediaCache {
+
+    private static final MediaCache INSTANCE = new MediaCache();
+
+    private final Map<String, AnimatedImage> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, CompletableFuture<AnimatedImage>> loading = new ConcurrentHashMap<>();
+    private long byteBudget = AppConstants.MEDIA_CACHE_BUDGET_MB * 1024L * 1024L;
+    private long cachedBytes = 0;
+
+    // Statistics
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    private MediaCache() {}
+
+    /**
+     * Get the shared media cache
+     */
+    public static MediaCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the decoded image for a media file if it is already cached. Never blocks,
+     * so it is safe to call on the Event Dispatch Thread.
+     *
+     * @param mediaPath path of the media file relative to the working directory
+     * @return the decoded media, or null if it is not cached
+     */
+    public synchronized AnimatedImage getIfLoaded(String mediaPath) {
+        AnimatedImage media = entries.get(mediaPath);
+        if (media == null) {
+            return null;
+        }
+        hits++;
+        return media;
+    }
+
+    /**
+     * Loads a media file in the background. A cached file completes immediately, and
+     * concurrent requests for the same file share one decode. Files that fail to load
+     * are not cached so they can be retried later.
+     *
+     * @param mediaPath path of the media file relative to the working directory
+     * @return a future completed with the decoded media, or exceptionally if the file
+     *         cannot be read or decoded
+     */
+    public CompletableFuture<AnimatedImage> load(String mediaPath) {
+        AnimatedImage cached = getIfLoaded(mediaPath);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<AnimatedImage> future = new CompletableFuture<>();
+        CompletableFuture<AnimatedImage> pending = loading.putIfAbsent(mediaPath, future);
+        if (pending != null) {
+            return pending; // Already being decoded for another screen
+        }
+        synchronized (this) {
+            misses++;
+        }
+        try {
+            TaskRuntime.getInstance().group("media").supply("decode", () -> decode(mediaPath))
+                    .whenComplete((media, error) -> {
+                        loading.remove(mediaPath, future);
+                        if (error != null) {
+                            future.completeExceptionally(error);
+                        } else {
+                            future.complete(media);
+                        }
+                    });
+        } catch (IllegalStateException e) {
+            loading.remove(mediaPath, future);
+            future.completeExceptionally(e); // Task runtime already shut down
+        }
+        return future;
+    }
+
+    /**
+     * Sets the maximum number of bytes of decoded media to keep, evicting the least
+     * recently used media if the cache is already over it
+     *
+     * @param bytes the byte budget
+     */
+    public synchronized void setByteBudget(long bytes) {
+        if (bytes <= 0) {
+            throw new IllegalArgumentException("Media cache budget must be positive: " + bytes);
+        }
+        byteBudget = bytes;
+        evictOverBudget();
+        AppLogger.info("Media cache budget set to " + (bytes / (1024 * 1024)) + " MB");
+    }
+
+    /**
+     * Drops all cached media (e.g. after advertisements are reloaded)
+     */
+    public synchronized void clear() {
+        entries.clear();
+        cachedBytes = 0;
+        AppLogger.debug("Media cache cleared");
+    }
+
+    /**
+     * Number of cached media files
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Bytes held by the decoded frames of cached media
+     */
+    public synchronized long getCachedBytes() {
+        return cachedBytes;
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    /**
+     * Reads and decodes a media file on the calling (background) thread and caches it
+     */
+    private AnimatedImage decode(String mediaPath) throws IOException {
+        long startTime = System.currentTimeMillis();
+        long maxBytes;
+        synchronized (this) {
+            maxBytes = byteBudget;
+        }
+        AnimatedImage media;
+        try {
+            media = AnimatedImage.decode(Files.readAllBytes(Path.of(mediaPath)), maxBytes);
+        } catch (IOException e) {
+            throw new IOException("Cannot decode advertisement media: " + mediaPath, e);
+        }
+        AppLogger.performance("Media decode " + mediaPath + " (" + media.getFrameCount() + " frames)",
+                System.currentTimeMillis() - startTime);
+        if (media.getDroppedFrameCount() > 0) {
+            AppLogger.warning("Media " + mediaPath + " exceeds the media cache budget; kept "
+                    + media.getFrameCount() + " of " + (media.getFrameCount() + media.getDroppedFrameCount())
+                    + " frames (raise --media-cache-mb to keep them all)");
+        }
+
+        synchronized (this) {
+            AnimatedImage previous = entries.put(mediaPath, media);
+            if (previous != null) {
+                cachedBytes -= previous.getByteSize();
+            }
+            cachedBytes += media.getByteSize();
+            evictOverBudget();
+        }
+        return media;
+    }
+
+    private void evictOverBudget() {
+        Iterator<Map.Entry<String, AnimatedImage>> eldest = entries.entrySet().iterator();
+        while (cachedBytes > byteBudget && entries.size() > 1) {
+            Map.Entry<String, AnimatedImage> evicted = eldest.next();
+            eldest.remove();
+            cachedBytes -= evicted.getValue().getByteSize();
+            evictions++;
+            AppLogger.debug("Media cache evicted " + evicted.getKey());
+        }
+    }
+}
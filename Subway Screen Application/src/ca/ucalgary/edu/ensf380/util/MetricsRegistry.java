@@ -0,0 +1,148 @@
+package ca.ucalgary.edu.ensf380.util;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+/**
+ * Process-wide registry of runtime metrics: duration histograms (panel paint
+ * times, frame times, GC pauses) and gauges sampled on demand (event queue depth).
+ *
+ * Histograms are created on first use and recorded into without locks (see
+ * {@link LatencyHistogram}); readers such as the diagnostics overlay and the
+ * periodic log report take snapshots. Names are dotted, e.g. "paint.map",
+ * "frame" or "gc.pause".
+ *
+ * Usage:
+ *   MetricsRegistry.getInstance().histogram("paint.map").record(nanos);
+ *   MetricsRegistry.getInstance().gauge("edt.queue.depth", depth::get);
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+public final class MetricsRegistry {
+
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private volatile boolean gcMonitorInstalled = false;
+    private boolean reporting = false;
+    private Map<String, LatencyHistogram.Snapshot> lastReport = new HashMap<>();
+
+    private MetricsRegistry() {}
+
+    /**
+     * Get the process-wide metrics registry
+     */
+    public static MetricsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the histogram with the given name, creating it on first use
+     */
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    /**
+     * Registers (or replaces) a gauge, read whenever metrics are reported
+     */
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    /**
+     * Current value of a gauge
+     *
+     * @return the value, or 0 if no such gauge is registered
+     */
+    public long readGauge(String name) {
+        LongSupplier gauge = gauges.get(name);
+        return gauge == null ? 0 : gauge.getAsLong();
+    }
+
+    /**
+     * Snapshots of every histogram whose name starts with the prefix, by name
+     */
+    public Map<String, LatencyHistogram.Snapshot> snapshot(String prefix) {
+        Map<String, LatencyHistogram.Snapshot> snapshots = new TreeMap<>();
+        for (LatencyHistogram histogram : histograms.values()) {
+            if (histogram.getName().startsWith(prefix)) {
+                snapshots.put(histogram.getName(), histogram.snapshot());
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * Records every stop-the-world garbage collection pause into the "gc.pause"
+     * histogram. Concurrent collector cycles are not pauses and are ignored.
+     * Calling this again has no effect.
+     */
+    public synchronized void installGcMonitor() {
+        if (gcMonitorInstalled) {
+            return;
+        }
+        LatencyHistogram pauses = histogram("gc.pause");
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (!(collector instanceof NotificationEmitter emitter) || collector.getName().contains("Cycles")) {
+                continue;
+            }
+            emitter.addNotificationListener((notification, handback) -> {
+                if (GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                    GarbageCollectionNotificationInfo info =
+                            GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                    pauses.record(TimeUnit.MILLISECONDS.toNanos(info.getGcInfo().getDuration()));
+                }
+            }, null, null);
+        }
+        gcMonitorInstalled = true;
+        AppLogger.debug("GC pause monitor installed");
+    }
+
+    /**
+     * Logs every histogram (count, p50, p99 and max since the previous report) and
+     * gauge on the "metrics" task group at a fixed interval. Calling this again has
+     * no effect.
+     */
+    public synchronized void startReporting(int intervalSeconds) {
+        if (reporting) {
+            return;
+        }
+        reporting = true;
+        TaskRuntime.getInstance().group("metrics").scheduleAtFixedRate("report", intervalSeconds, intervalSeconds,
+                TimeUnit.SECONDS, this::report);
+        AppLogger.info("Metrics reported every " + intervalSeconds + " s");
+    }
+
+    private synchronized void report() {
+        Map<String, LatencyHistogram.Snapshot> current = snapshot("");
+        for (Map.Entry<String, LatencyHistogram.Snapshot> entry : current.entrySet()) {
+            LatencyHistogram.Snapshot previous = lastReport.get(entry.getKey());
+            LatencyHistogram.Snapshot window = previous == null ? entry.getValue() : entry.getValue().since(previous);
+            if (window.getCount() == 0) {
+                continue;
+            }
+            AppLogger.data("Metrics", String.format("%s: %d samples, p50 %.2f ms, p99 %.2f ms, max %.2f ms",
+                    entry.getKey(), window.getCount(),
+                    window.getPercentileNanos(50) / 1_000_000.0,
+                    window.getPercentileNanos(99) / 1_000_000.0,
+                    window.getMaxNanos() / 1_000_000.0));
+        }
+        for (String name : new TreeMap<>(gauges).keySet()) {
+            AppLogger.data("Metrics", name + ": " + readGauge(name));
+        }
+        lastReport = current;
+    }
+}
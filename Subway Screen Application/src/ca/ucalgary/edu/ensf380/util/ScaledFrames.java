@@ -0,0 +1,205 @@
+package ca.ucalgary.edu.ensf380.util;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Frames of one decoded media file scaled to one size, produced in the background
+ * just ahead of playback.
+ *
+ * Only the frame being shown and the next few ({@link AppConstants#MEDIA_SCALED_FRAMES}
+ * in all) are kept, so a long animation at a large panel size costs a few frames of
+ * memory instead of all of them, and every frame is still drawn at its final size.
+ * Frames are scaled one at a time on the "media" task group: bicubic while that keeps
+ * up with the animation, bilinear once a bicubic frame takes longer than half the
+ * shortest frame delay (large panels on slow machines).
+ *
+ * Instances belong to one panel and hold no cache entry: create one for the ad being
+ * shown and one for the next ad, and {@link #close()} them when they are replaced.
+ *
+ * Usage:
+ *   ScaledFrames frames = new ScaledFrames(media, width, height, this::repaintAd);
+ *   BufferedImage image = frames.getFrame(frameIndex); // null until a first frame is ready
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+public final class ScaledFrames {
+
+    private final AnimatedImage media;
+    private final int width;
+    private final int height;
+    private final int window;
+    private final long slowScaleNanos;
+    private final Runnable onFrameReady;
+
+    // Guarded by this
+    private final BufferedImage[] frames;
+    private int position = 0;           // Frame being shown; the window starts here
+    private BufferedImage shown = null; // Last frame handed out, drawn while the next is scaled
+    private Object interpolation = RenderingHints.VALUE_INTERPOLATION_BICUBIC;
+    private boolean scaling = false;
+    private boolean closed = false;
+
+    /**
+     * Creates the scaled frames of a media file; nothing is scaled until the first
+     * {@link #getFrame(int)}
+     *
+     * @param media the decoded media
+     * @param width frame width in device pixels
+     * @param height frame height in device pixels
+     * @param onFrameReady run on a background thread when the frame being shown
+     *                     has been scaled
+     */
+    public ScaledFrames(AnimatedImage media, int width, int height, Runnable onFrameReady) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Invalid frame size " + width + "x" + height);
+        }
+        this.media = media;
+        this.width = width;
+        this.height = height;
+        this.window = Math.min(AppConstants.MEDIA_SCALED_FRAMES, media.getFrameCount());
+        this.frames = new BufferedImage[media.getFrameCount()];
+        this.onFrameReady = onFrameReady;
+
+        long shortestDelay = Long.MAX_VALUE;
+        for (int i = 0; i < media.getFrameCount(); i++) {
+            shortestDelay = Math.min(shortestDelay, media.getDelay(i));
+        }
+        // Still images are scaled once, so they always get bicubic
+        this.slowScaleNanos = media.isAnimated() ? TimeUnit.MILLISECONDS.toNanos(shortestDelay) / 2 : Long.MAX_VALUE;
+    }
+
+    public AnimatedImage getMedia() {
+        return media;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the given frame at this size and scales the frames after it in the
+     * background. Never blocks, so it is safe on the Event Dispatch Thread.
+     *
+     * @param index the frame being shown
+     * @return the frame, the last frame returned while it is still being scaled, or
+     *         null if no frame is ready yet
+     */
+    public synchronized BufferedImage getFrame(int index) {
+        if (index != position) {
+            position = index;
+            for (int i = 0; i < frames.length; i++) {
+                if (!inWindow(i)) {
+                    frames[i] = null; // Played; scaled again on the next loop
+                }
+            }
+        }
+        if (!scaling && !closed && firstMissing() >= 0) {
+            scaling = true;
+            try {
+                TaskRuntime.getInstance().group("media").submit("scale-frames", this::scaleAhead);
+            } catch (IllegalStateException e) {
+                scaling = false; // Task runtime already shut down
+            }
+        }
+        if (frames[index] != null) {
+            shown = frames[index];
+        }
+        return shown;
+    }
+
+    /**
+     * The frame last returned by {@link #getFrame(int)}, or null
+     */
+    public synchronized BufferedImage getLastFrame() {
+        return shown;
+    }
+
+    /**
+     * Memory held by the scaled frames in bytes
+     */
+    public synchronized long getByteSize() {
+        long bytes = 0;
+        for (BufferedImage frame : frames) {
+            if (frame != null) {
+                bytes += 4L * width * height;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Drops the scaled frames and stops scaling
+     */
+    public synchronized void close() {
+        closed = true;
+        shown = null;
+        Arrays.fill(frames, null);
+    }
+
+    /**
+     * Scales the missing frames of the window in playback order (background thread)
+     */
+    private void scaleAhead() {
+        while (true) {
+            int index;
+            Object hint;
+            synchronized (this) {
+                index = closed ? -1 : firstMissing();
+                if (index < 0) {
+                    scaling = false;
+                    return;
+                }
+                hint = interpolation;
+            }
+
+            long start = System.nanoTime();
+            BufferedImage frame = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D g2 = frame.createGraphics();
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, hint);
+            g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2.drawImage(media.getFrame(index), 0, 0, width, height, null);
+            g2.dispose();
+            long elapsed = System.nanoTime() - start;
+
+            boolean awaited;
+            synchronized (this) {
+                if (hint == RenderingHints.VALUE_INTERPOLATION_BICUBIC && elapsed > slowScaleNanos) {
+                    interpolation = RenderingHints.VALUE_INTERPOLATION_BILINEAR;
+                    AppLogger.debug("Scaling " + width + "x" + height + " frames bilinear ("
+                            + TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms per bicubic frame)");
+                }
+                if (closed || !inWindow(index)) {
+                    continue; // Playback moved on meanwhile
+                }
+                frames[index] = frame;
+                awaited = index == position;
+            }
+            if (awaited) {
+                onFrameReady.run();
+            }
+        }
+    }
+
+    private boolean inWindow(int index) {
+        return Math.floorMod(index - position, frames.length) < window;
+    }
+
+    private int firstMissing() {
+        for (int k = 0; k < window; k++) {
+            int index = (position + k) % frames.length;
+            if (frames[index] == null) {
+                return index;
+            }
+        }
+        return -1;
+    }
+}
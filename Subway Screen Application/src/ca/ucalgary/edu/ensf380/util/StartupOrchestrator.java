@@ -0,0 +1,195 @@
+package ca.ucalgary.edu.ensf380.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Runs application startup as a dependency graph on the {@link TaskRuntime}.
+ * Each stage declares the stages it depends on and starts as soon as they have
+ * completed, so independent work (theme setup, simulator fork, CSV parse, database
+ * load) overlaps instead of running one after another.
+ *
+ * Dependencies must be declared before the stages that use them, which keeps the
+ * graph acyclic by construction. A failed stage fails every stage that depends on it.
+ *
+ * Besides stage timings the orchestrator records named milestones (e.g.
+ * "first-frame"); once every expected milestone is reached the full startup
+ * timeline is logged.
+ *
+ * Usage:
+ *   StartupOrchestrator startup = new StartupOrchestrator();
+ *   startup.stage("stations", StationController::new);
+ *   startup.stage("gui", () -> SubwayScreenGUI.create(...), "stations");
+ *   SubwayScreenGUI gui = startup.await("gui");
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+public final class StartupOrchestrator {
+
+    private final long originNanos = System.nanoTime();
+    private final TaskGroup tasks = TaskRuntime.getInstance().group("startup");
+    private final Map<String, Stage> stages = new LinkedHashMap<>();
+    private final Map<String, Long> milestones = new ConcurrentHashMap<>();
+    private final Set<String> expectedMilestones = ConcurrentHashMap.newKeySet();
+    private boolean timelineLogged = false;
+
+    /**
+     * Declares a stage and schedules it to run once its dependencies complete.
+     *
+     * @param name unique stage name
+     * @param task the work to run; its result is available to later stages through {@link #await}
+     * @param dependsOn names of previously declared stages that must finish first
+     * @return a future completed with the stage result
+     * @throws IllegalArgumentException if the name is taken or a dependency is unknown
+     */
+    public synchronized <T> CompletableFuture<T> stage(String name, Callable<T> task, String... dependsOn) {
+        if (stages.containsKey(name)) {
+            throw new IllegalArgumentException("Startup stage already declared: " + name);
+        }
+        List<CompletableFuture<?>> dependencies = new ArrayList<>();
+        for (String dependency : dependsOn) {
+            Stage stage = stages.get(dependency);
+            if (stage == null) {
+                throw new IllegalArgumentException("Startup stage " + name + " depends on undeclared stage " + dependency);
+            }
+            dependencies.add(stage.future);
+        }
+
+        Stage stage = new Stage(name, dependsOn);
+        stages.put(name, stage);
+
+        CompletableFuture<T> future = CompletableFuture
+                .allOf(dependencies.toArray(new CompletableFuture<?>[0]))
+                .thenCompose(ignored -> tasks.supply(name, () -> {
+                    stage.startNanos = System.nanoTime();
+                    try {
+                        return task.call();
+                    } finally {
+                        stage.endNanos = System.nanoTime();
+                        AppLogger.startup("Startup", String.format("Stage %s finished in %d ms",
+                                name, (stage.endNanos - stage.startNanos) / 1_000_000));
+                    }
+                }));
+        stage.future = future;
+        return future;
+    }
+
+    /**
+     * Declares a stage that produces no value
+     */
+    public CompletableFuture<Void> stage(String name, Runnable task, String... dependsOn) {
+        return stage(name, (Callable<Void>) () -> {
+            task.run();
+            return null;
+        }, dependsOn);
+    }
+
+    /**
+     * Waits for a stage and returns its result.
+     *
+     * @throws Exception the stage's own failure, or InterruptedException
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T await(String name) throws Exception {
+        Stage stage;
+        synchronized (this) {
+            stage = stages.get(name);
+        }
+        if (stage == null) {
+            throw new IllegalArgumentException("Unknown startup stage: " + name);
+        }
+        try {
+            return (T) stage.future.get();
+        } catch (ExecutionException | CompletionException e) {
+            Throwable cause = e.getCause();
+            while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            throw cause instanceof Exception ? (Exception) cause : e;
+        }
+    }
+
+    /**
+     * Names the milestones after which the startup timeline is logged
+     */
+    public void expectMilestones(String... names) {
+        expectedMilestones.addAll(Arrays.asList(names));
+    }
+
+    /**
+     * Records a milestone the first time it is reached; later calls are ignored.
+     * Safe to call from any thread, including the EDT.
+     */
+    public void milestone(String name) {
+        long now = System.nanoTime();
+        if (milestones.putIfAbsent(name, now) != null) {
+            return;
+        }
+        AppLogger.startup("Startup", String.format("Milestone %s reached at +%d ms", name, (now - originNanos) / 1_000_000));
+
+        if (milestones.keySet().containsAll(expectedMilestones)) {
+            synchronized (this) {
+                if (!timelineLogged) {
+                    logTimeline();
+                }
+            }
+        }
+    }
+
+    /**
+     * Milliseconds from orchestrator creation to a milestone, or -1 if not reached yet
+     */
+    public long getMilestoneMillis(String name) {
+        Long at = milestones.get(name);
+        return at == null ? -1 : (at - originNanos) / 1_000_000;
+    }
+
+    /**
+     * Logs every stage (start, end, duration, dependencies) and milestone relative
+     * to the start of startup.
+     */
+    public synchronized void logTimeline() {
+        timelineLogged = true;
+        StringBuilder timeline = new StringBuilder("Startup timeline (ms since start):");
+        for (Stage stage : stages.values()) {
+            if (stage.endNanos == 0) {
+                timeline.append(String.format("%n  %-22s pending", stage.name));
+                continue;
+            }
+            timeline.append(String.format("%n  %-22s +%5d .. +%5d  (%4d ms)%s",
+                    stage.name,
+                    (stage.startNanos - originNanos) / 1_000_000,
+                    (stage.endNanos - originNanos) / 1_000_000,
+                    (stage.endNanos - stage.startNanos) / 1_000_000,
+                    stage.dependsOn.length == 0 ? "" : " after " + String.join(", ", stage.dependsOn)));
+        }
+        milestones.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .forEach(entry -> timeline.append(String.format("%n  * %-20s +%5d",
+                        entry.getKey(), (entry.getValue() - originNanos) / 1_000_000)));
+        AppLogger.info(timeline.toString());
+    }
+
+    private static final class Stage {
+        final String name;
+        final String[] dependsOn;
+        volatile CompletableFuture<?> future;
+        volatile long startNanos;
+        volatile long endNanos;
+
+        Stage(String name, String[] dependsOn) {
+            this.name = name;
+            this.dependsOn = dependsOn;
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package ca.ucalgary.edu.ensf380.util;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A named group of background tasks owned by the {@link TaskRuntime}.
+ * Every task body runs on its own virtual thread named "group-task"; the shared
+ * scheduler thread only decides <i>when</i> scheduled tasks fire, so a slow task
+ * never delays the timers of other groups.
+ *
+ * Obtain instances through {@link TaskRuntime#group(String)}.
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+public final class TaskGroup {
+    private final String name;
+    private final ExecutorService ioExecutor;
+    private final ScheduledExecutorService scheduler;
+    private final Set<Future<?>> running = ConcurrentHashMap.newKeySet();
+    private final Set<ScheduledFuture<?>> scheduled = ConcurrentHashMap.newKeySet();
+    private volatile boolean shutdown = false;
+
+    TaskGroup(String name, ExecutorService ioExecutor, ScheduledExecutorService scheduler) {
+        this.name = name;
+        this.ioExecutor = ioExecutor;
+        this.scheduler = scheduler;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Runs a task once on a new virtual thread.
+     *
+     * @param taskName short name used for the thread name and log messages
+     * @param task the work to run; may block
+     * @return a future that can be used to cancel or wait for the task
+     */
+    public CompletableFuture<Void> submit(String taskName, Runnable task) {
+        return supply(taskName, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs a value-producing task once on a new virtual thread.
+     *
+     * @param taskName short name used for the thread name and log messages
+     * @param task the work to run; may block
+     * @return a future completed with the task result, or exceptionally if it fails
+     */
+    public <T> CompletableFuture<T> supply(String taskName, Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        if (shutdown) {
+            AppLogger.debug("Task group " + name + " is shut down, rejecting task " + taskName);
+            result.cancel(false);
+            return result;
+        }
+
+        String threadName = name + "-" + taskName;
+        TrackedTask tracked = new TrackedTask(() -> {
+            Thread.currentThread().setName(threadName);
+            try {
+                result.complete(task.call());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                result.cancel(false);
+                AppLogger.debug("Task interrupted: " + threadName);
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+                AppLogger.error("Uncaught error in background task " + threadName, t);
+            }
+            return null;
+        });
+
+        running.add(tracked);
+        try {
+            ioExecutor.execute(tracked);
+        } catch (RuntimeException e) {
+            running.remove(tracked);
+            result.completeExceptionally(e);
+            AppLogger.warning("Could not start background task " + threadName, e);
+        }
+
+        // Cancelling the returned future interrupts the virtual thread
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                tracked.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Runs a task once after a delay.
+     */
+    public ScheduledFuture<?> schedule(String taskName, long delay, TimeUnit unit, Runnable task) {
+        TrackedSchedule tracked = new TrackedSchedule();
+        tracked.delegate = scheduler.schedule(() -> {
+            submit(taskName, task);
+            tracked.finish();
+        }, delay, unit);
+        return track(tracked);
+    }
+
+    /**
+     * Runs a task repeatedly at a fixed rate. If the previous run is still busy when
+     * the next one is due, that run is skipped rather than queued, so a slow task
+     * cannot pile up virtual threads.
+     */
+    public ScheduledFuture<?> scheduleAtFixedRate(String taskName, long initialDelay, long period,
+                                                  TimeUnit unit, Runnable task) {
+        AtomicBoolean busy = new AtomicBoolean(false);
+        TrackedSchedule tracked = new TrackedSchedule();
+        tracked.delegate = scheduler.scheduleAtFixedRate(() -> {
+            if (!busy.compareAndSet(false, true)) {
+                AppLogger.debug("Skipping " + name + "-" + taskName + ": previous run still active");
+                return;
+            }
+            submit(taskName, task).whenComplete((value, error) -> busy.set(false));
+        }, initialDelay, period, unit);
+        return track(tracked);
+    }
+
+    /**
+     * Cancels all scheduled and running tasks in this group without shutting it down.
+     */
+    public void cancelAll() {
+        for (ScheduledFuture<?> future : scheduled) {
+            future.cancel(false);
+        }
+        scheduled.clear();
+        for (Future<?> future : running) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Stops accepting new work, cancels scheduled tasks and waits for running ones.
+     * Tasks still running after the timeout are interrupted.
+     *
+     * @return true if all tasks finished within the timeout
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) {
+        shutdown = true;
+        for (ScheduledFuture<?> future : scheduled) {
+            future.cancel(false);
+        }
+        scheduled.clear();
+
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Future<?> future : running) {
+            long remaining = deadline - System.nanoTime();
+            try {
+                if (remaining > 0) {
+                    future.get(remaining, TimeUnit.NANOSECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                // Failures were already logged by the task wrapper; timeouts handled below
+            }
+        }
+
+        boolean clean = running.isEmpty();
+        if (!clean) {
+            AppLogger.warning("Task group " + name + " did not finish in time, interrupting " + running.size() + " task(s)");
+            for (Future<?> future : running) {
+                future.cancel(true);
+            }
+        }
+        AppLogger.debug("Task group shut down: " + name);
+        return clean;
+    }
+
+    /**
+     * Number of tasks currently running or queued in this group
+     */
+    public int getActiveCount() {
+        return running.size();
+    }
+
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    /**
+     * Number of scheduled tasks that have not fired (one-shot) or been cancelled yet
+     */
+    public int getScheduledCount() {
+        return scheduled.size();
+    }
+
+    private ScheduledFuture<?> track(TrackedSchedule tracked) {
+        scheduled.add(tracked);
+        // A one-shot task that fired before it was added removes itself here
+        if (tracked.finished) {
+            scheduled.remove(tracked);
+        }
+        return tracked;
+    }
+
+    /**
+     * Scheduled task that removes itself from the scheduled set once it has fired
+     * (one-shot tasks) or is cancelled, so the set only holds live schedules.
+     */
+    private final class TrackedSchedule implements ScheduledFuture<Object> {
+        volatile ScheduledFuture<?> delegate;
+        volatile boolean finished = false;
+
+        void finish() {
+            finished = true;
+            scheduled.remove(this);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = delegate.cancel(mayInterruptIfRunning);
+            finish();
+            return cancelled;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return delegate.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return delegate.isDone();
+        }
+
+        @Override
+        public Object get() throws InterruptedException, ExecutionException {
+            return delegate.get();
+        }
+
+        @Override
+        public Object get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            return delegate.get(timeout, unit);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return delegate.getDelay(unit);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return delegate.compareTo(other);
+        }
+    }
+
+    /**
+     * FutureTask that removes itself from the running set once it completes.
+     */
+    private final class TrackedTask extends FutureTask<Void> {
+        TrackedTask(Callable<Void> callable) {
+            super(callable);
+        }
+
+        @Override
+        protected void done() {
+            running.remove(this);
+        }
+    }
+}
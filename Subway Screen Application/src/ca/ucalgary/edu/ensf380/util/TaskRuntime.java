@@ -0,0 +1,148 @@
+package ca.ucalgary.edu.ensf380.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Central task runtime for all background work in the Subway Screen Application.
+ * Blocking I/O (HTTP, database, process pipes, audio) runs on virtual threads, and
+ * all periodic or delayed work is triggered by one shared scheduler thread, so the
+ * number of platform threads stays flat as more data sources are added.
+ *
+ * Work is organised into named {@link TaskGroup}s (e.g. "weather", "news",
+ * "simulator") which can be cancelled individually. {@link #shutdown()} stops every
+ * group in reverse creation order and waits for running tasks to finish.
+ *
+ * Usage:
+ *   TaskRuntime.getInstance().group("weather").submit("fetch", () -> fetch());
+ *   TaskRuntime.getInstance().group("ads").scheduleAtFixedRate("rotate", 0, 10, TimeUnit.SECONDS, this::rotate);
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+public final class TaskRuntime {
+
+    private static final TaskRuntime INSTANCE = new TaskRuntime();
+
+    private final ExecutorService ioExecutor;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, TaskGroup> groups = new ConcurrentHashMap<>();
+    private final List<TaskGroup> creationOrder = new ArrayList<>();
+    private volatile boolean shutdown = false;
+
+    private TaskRuntime() {
+        this.ioExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "TaskRuntime-Scheduler");
+            t.setDaemon(true);
+            return t;
+        });
+        AppLogger.debug("Task runtime initialized (virtual-thread I/O executor, shared scheduler)");
+    }
+
+    /**
+     * Get the process-wide task runtime
+     */
+    public static TaskRuntime getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the task group with the given name, creating it on first use.
+     *
+     * @param name the group name, used as the prefix of its thread names
+     * @return the named task group
+     * @throws IllegalStateException if the runtime has been shut down
+     */
+    public TaskGroup group(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Task group name cannot be null or empty");
+        }
+        if (shutdown) {
+            throw new IllegalStateException("Task runtime is shut down; cannot create group " + name);
+        }
+
+        return groups.computeIfAbsent(name, n -> {
+            TaskGroup group = new TaskGroup(n, ioExecutor, scheduler);
+            synchronized (creationOrder) {
+                creationOrder.add(group);
+            }
+            AppLogger.debug("Task group created: " + n);
+            return group;
+        });
+    }
+
+    /**
+     * Shuts down a group that is no longer needed (e.g. the tasks of a closed screen)
+     * without waiting: scheduled tasks are cancelled and running ones interrupted.
+     * The group is forgotten, so groups created per instance do not accumulate.
+     *
+     * @param group the group to release
+     */
+    public void release(TaskGroup group) {
+        if (!groups.remove(group.getName(), group)) {
+            return;
+        }
+        synchronized (creationOrder) {
+            creationOrder.remove(group);
+        }
+        group.shutdown(0, TimeUnit.MILLISECONDS);
+        AppLogger.debug("Task group released: " + group.getName());
+    }
+
+    /**
+     * Total number of tasks currently running or waiting to run across all groups
+     */
+    public int getActiveTaskCount() {
+        int count = 0;
+        for (TaskGroup group : groups.values()) {
+            count += group.getActiveCount();
+        }
+        return count;
+    }
+
+    /**
+     * Check whether the runtime has been shut down
+     */
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    /**
+     * Shuts down every task group (most recently created first), then the shared
+     * executors. Each group gets {@link AppConstants#TASK_SHUTDOWN_TIMEOUT} ms to finish.
+     */
+    public void shutdown() {
+        if (shutdown) return;
+        shutdown = true;
+
+        AppLogger.info("Task runtime shutdown requested (" + getActiveTaskCount() + " active tasks)");
+
+        List<TaskGroup> ordered;
+        synchronized (creationOrder) {
+            ordered = new ArrayList<>(creationOrder);
+        }
+        for (int i = ordered.size() - 1; i >= 0; i--) {
+            ordered.get(i).shutdown(AppConstants.TASK_SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS);
+        }
+
+        scheduler.shutdownNow();
+        ioExecutor.shutdownNow();
+        try {
+            if (!ioExecutor.awaitTermination(AppConstants.TASK_SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                AppLogger.warning("Task runtime I/O executor did not terminate in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            AppLogger.warning("Task runtime shutdown interrupted");
+        }
+
+        AppLogger.info("Task runtime shutdown completed");
+    }
+}
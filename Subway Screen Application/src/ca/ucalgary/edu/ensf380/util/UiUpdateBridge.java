@@ -0,0 +1,140 @@
+package ca.ucalgary.edu.ensf380.util;
+
+import java.awt.EventQueue;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands UI updates from background threads (train feed, weather, news, ad rotation)
+ * to the Event Dispatch Thread.
+ *
+ * Each update is posted under a key made of its target component and a slot name
+ * (e.g. mapPanel + "trains"). Only the latest update per key is kept, and pending
+ * updates are applied together on the EDT at most once per frame
+ * ({@link AppConstants#ANIMATION_FRAME_RATE} ms). Swing state is therefore only
+ * mutated on the EDT, and a burst of updates costs one event instead of flooding
+ * the event queue.
+ *
+ * Usage:
+ *   UiUpdateBridge.getInstance().post(mapPanel, "trains", () -> mapPanel.updateTrainPositions(trains));
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+public final class UiUpdateBridge {
+
+    private static final UiUpdateBridge INSTANCE = new UiUpdateBridge();
+    private static final long FRAME_NANOS = TimeUnit.MILLISECONDS.toNanos(AppConstants.ANIMATION_FRAME_RATE);
+
+    private final Map<Key, Runnable> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+    private volatile long lastDrainNanos = System.nanoTime() - FRAME_NANOS;
+
+    // Statistics
+    private final AtomicLong posted = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong drains = new AtomicLong();
+
+    private UiUpdateBridge() {}
+
+    /**
+     * Get the process-wide UI update bridge
+     */
+    public static UiUpdateBridge getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Posts an update for a UI target. May be called from any thread. If an update
+     * for the same target and slot is still pending it is replaced.
+     *
+     * @param target the component the update applies to (compared by identity)
+     * @param slot name of the state being updated, e.g. "trains" or "weather"
+     * @param update the work to run on the EDT
+     */
+    public void post(Object target, String slot, Runnable update) {
+        posted.incrementAndGet();
+        if (pending.put(new Key(target, slot), update) != null) {
+            coalesced.incrementAndGet();
+        }
+        scheduleDrain();
+    }
+
+    /**
+     * Applies all pending updates immediately. Must be called on the EDT.
+     */
+    public void drain() {
+        lastDrainNanos = System.nanoTime();
+        // Updates posted from here on schedule the next frame's drain
+        drainScheduled.set(false);
+        drains.incrementAndGet();
+
+        for (Key key : pending.keySet()) {
+            Runnable update = pending.remove(key);
+            if (update == null) {
+                continue;
+            }
+            try {
+                update.run();
+                applied.incrementAndGet();
+            } catch (Exception e) {
+                AppLogger.error("Error applying UI update " + key.slot, e);
+            }
+        }
+    }
+
+    /**
+     * Number of updates waiting for the next drain
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public long getPostedCount() {
+        return posted.get();
+    }
+
+    /**
+     * Number of updates dropped because a newer one for the same key replaced them
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    public long getAppliedCount() {
+        return applied.get();
+    }
+
+    public long getDrainCount() {
+        return drains.get();
+    }
+
+    private void scheduleDrain() {
+        if (!drainScheduled.compareAndSet(false, true)) {
+            return; // A drain is already on its way
+        }
+        long wait = FRAME_NANOS - (System.nanoTime() - lastDrainNanos);
+        if (wait <= 0 || TaskRuntime.getInstance().isShutdown()) {
+            EventQueue.invokeLater(this::drain);
+        } else {
+            TaskRuntime.getInstance().group("ui-bridge").schedule("drain", wait, TimeUnit.NANOSECONDS,
+                    () -> EventQueue.invokeLater(this::drain));
+        }
+    }
+
+    private record Key(Object target, String slot) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && other.target == target && other.slot.equals(slot);
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(target) * 31 + slot.hashCode();
+        }
+    }
+}
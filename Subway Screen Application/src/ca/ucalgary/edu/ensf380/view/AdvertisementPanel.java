@@ -9,10 +9,13 @@
  * Key features:
  * - Multiple transition effects (fade, scale in/out)
  * - Loading animations with progress indicators
+ * - Media decoded off the EDT; previously shown ads swap in without loading
+ * - Animated GIFs played from pre-decoded frames on the shared frame clock
  * - Professional framed layout with shadows
  * - High-quality image rendering with bicubic interpolation
  * - Dynamic card styling with animated accents
  * - Responsive design and scaling
+ * - Optional composition on the render thread (see {@link FrameCompositor})
  * 
  * @author Subway Screen Development Team
  * @version 2.0
@@ -20,11 +23,17 @@
 package ca.ucalgary.edu.ensf380.view;
 
 import javax.swing.*;
+import ca.ucalgary.edu.ensf380.util.MediaCache;
+import ca.ucalgary.edu.ensf380.util.AnimatedImage;
+import ca.ucalgary.edu.ensf380.util.AppConstants;
+import ca.ucalgary.edu.ensf380.util.ScaledFrames;
+import ca.ucalgary.edu.ensf380.util.TaskRuntime;
+import ca.ucalgary.edu.ensf380.util.UiUpdateBridge;
+
 import java.awt.*;
-import java.awt.geom.RoundRectangle2D;
-import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
 import java.util.Map;
-import javax.swing.Timer;
+import java.util.concurrent.TimeUnit;
 import java.awt.AlphaComposite;
 import java.awt.Graphics2D;
 
@@ -33,15 +42,40 @@ public class AdvertisementPanel {
     private final JPanel panel;
     private final JLabel adLabel;
     private float alpha = 1.0f;
-    private Timer fadeTimer;
-    private Timer loadingTimer;
-    private ImageIcon currentIcon = null;
-    private ImageIcon nextIcon = null;
+    private final AnimationLifecycle animations;
+    private final AnimationLifecycle.Animation loadingAnimation;
+    private final AnimationLifecycle.Animation transitionAnimation;
+    private final AnimationLifecycle.Animation frameAnimation;
+    private AnimatedImage currentMedia = null;
+    private AnimatedImage nextMedia = null;
+    private String currentMediaPath = null;
+    private String nextMediaPath = null;
+    
+    // Frames scaled to the ad's device-pixel size, for the ad shown and the next ad, and
+    // the size they are scaled to; a new size is used only once it has stopped changing
+    // (guarded by this: the render thread draws ads when composing off the EDT)
+    private ScaledFrames currentFrames = null;
+    private ScaledFrames nextFrames = null;
+    private int framesWidth = 0;
+    private int framesHeight = 0;
+    private long sizeRequest = 0;   // Latest size drawn at, as width << 32 | height
+    private AnimatedImage staleMedia = null;  // Frame of the previous size, drawn until rescaled
+    private BufferedImage staleFrame = null;
+    
+    // GIF playback: frame shown, when it was first shown, and the region it occupies
+    private int frameIndex = 0;
+    private long frameStartNanos = 0;
+    private final Rectangle contentBounds = new Rectangle();
     private boolean fadingIn = true;
     private boolean isLoading = false;
     private float loadingProgress = 0.0f;
+    private long loadingMillis = 0;  // Time of the last loading animation step; turns the spinner
     private float scaleAnimation = 1.0f;
     private int transitionType = 0; // 0: fade, 1: slide, 2: scale
+    private int mediaRequest = 0;   // Incremented per displayed ad; stale media loads are dropped
+    
+    // Off-EDT composition, or null when frames are drawn directly on the EDT
+    private final FrameCompositor<AdFrame> compositor;
     
     // Modern color scheme matching the design system
     private static final Color BACKGROUND_COLOR = new Color(15, 23, 42); // Dark slate
@@ -54,6 +88,31 @@ public class AdvertisementPanel {
     // Typography
     private static final Font HEADER_FONT = new Font("Segoe UI", Font.BOLD, 12);
     private static final Font STATUS_FONT = new Font("Segoe UI", Font.PLAIN, 14);
+    
+    // Drawing resources shared by every paint
+    private static final Color CARD_COLOR_LIGHT = new Color(51, 65, 85); // Slate 600
+    private static final Color CARD_COLOR_LIGHTER = new Color(71, 85, 105); // Slate 500
+    private static final Color SHADOW_COLOR = new Color(0, 0, 0, 120);
+    private static final Color LOADING_SHADOW_COLOR = new Color(0, 0, 0, 160);
+    private static final BasicStroke BORDER_STROKE = new BasicStroke(2f);
+    private static final BasicStroke SPINNER_STROKE = new BasicStroke(4f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+    private static final Color[] LOADING_PULSE_COLORS = new Color[256];    // LOADING_COLOR by alpha
+    private static final Color[] SPINNER_COLORS = new Color[8];            // Fading spinner spokes
+    static {
+        for (int a = 0; a < LOADING_PULSE_COLORS.length; a++) {
+            LOADING_PULSE_COLORS[a] = new Color(LOADING_COLOR.getRed(), LOADING_COLOR.getGreen(), LOADING_COLOR.getBlue(), a);
+        }
+        for (int i = 0; i < SPINNER_COLORS.length; i++) {
+            float alpha = (float)(0.3 + 0.7 * (7 - i) / 7.0);
+            SPINNER_COLORS[i] = LOADING_PULSE_COLORS[(int)(alpha * 255)];
+        }
+    }
+    
+    // Ad frame (shadow, gradient, border, header band) rendered once per size for each state
+    private final CardSprite adFrame = new CardSprite(15, 4, SHADOW_COLOR, CARD_COLOR, CARD_COLOR_LIGHT,
+            BORDER_STROKE, CARD_COLOR_LIGHTER, 40, CARD_COLOR_LIGHT);
+    private final CardSprite loadingFrame = new CardSprite(15, 6, LOADING_SHADOW_COLOR, CARD_COLOR_LIGHT, CARD_COLOR_LIGHTER,
+            BORDER_STROKE, LOADING_COLOR, 40, CARD_COLOR_LIGHT);
 
     public AdvertisementPanel() {
         this.panel = new JPanel(new BorderLayout()) {
@@ -61,179 +120,17 @@ public class AdvertisementPanel {
             protected void paintComponent(Graphics g) {
                 super.paintComponent(g);
                 Graphics2D g2 = (Graphics2D) g.create();
-                
-                // Enable high-quality rendering
-                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-                g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-                
-                // Draw background
-                g2.setColor(BACKGROUND_COLOR);
-                g2.fillRect(0, 0, getWidth(), getHeight());
-                
-                // Draw advertisement frame
-                drawAdFrame(g2);
-                
-                // Draw loading indicator if loading
-                if (isLoading) {
-                    drawLoadingIndicator(g2);
-                } else if (currentIcon != null) {
-                    // Draw advertisement content with enhanced transitions
-                    drawEnhancedAdvertisement(g2);
-                }
-                
-                g2.dispose();
-            }
-            
-            private void drawAdFrame(Graphics2D g2) {
-                int margin = 10;
-                int cardWidth = getWidth() - 2 * margin;
-                int cardHeight = getHeight() - 2 * margin;
-                
-                // Draw shadow with animation
-                int shadowOffset = isLoading ? 6 : 4;
-                g2.setColor(new Color(0, 0, 0, isLoading ? 160 : 120));
-                g2.fill(new RoundRectangle2D.Float(margin + shadowOffset, margin + shadowOffset, cardWidth, cardHeight, 15, 15));
-                
-                // Draw card background with enhanced gradient
-                Color cardColor1 = isLoading ? new Color(51, 65, 85) : CARD_COLOR;
-                Color cardColor2 = isLoading ? new Color(71, 85, 105) : new Color(51, 65, 85);
-                
-                GradientPaint gradient = new GradientPaint(
-                    margin, margin, cardColor1,
-                    margin, margin + cardHeight, cardColor2
-                );
-                g2.setPaint(gradient);
-                g2.fill(new RoundRectangle2D.Float(margin, margin, cardWidth, cardHeight, 15, 15));
-                
-                // Draw animated border
-                g2.setStroke(new BasicStroke(2f));
-                Color borderColor = isLoading ? LOADING_COLOR : new Color(71, 85, 105);
-                g2.setColor(borderColor);
-                g2.draw(new RoundRectangle2D.Float(margin, margin, cardWidth, cardHeight, 15, 15));
-                
-                // Draw header area
-                g2.setColor(new Color(51, 65, 85));
-                g2.fill(new RoundRectangle2D.Float(margin, margin, cardWidth, 40, 15, 15));
-                g2.fillRect(margin, margin + 25, cardWidth, 15); // Fill bottom corners
-                
-                // Draw "ADVERTISEMENT" header
-                g2.setFont(HEADER_FONT);
-                g2.setColor(TEXT_SECONDARY);
-                g2.drawString("ADVERTISEMENT", margin + 15, margin + 25);
-                
-                // Draw status indicator
-                Color indicatorColor = isLoading ? LOADING_COLOR : ACCENT_COLOR;
-                if (isLoading) {
-                    // Animated loading indicator
-                    float pulse = 0.5f + 0.5f * (float)Math.sin(System.currentTimeMillis() * 0.01);
-                    g2.setColor(new Color(indicatorColor.getRed(), indicatorColor.getGreen(), indicatorColor.getBlue(), (int)(pulse * 255)));
+                AdFrame frame = captureFrame(getWidth(), getHeight());
+                if (compositor != null) {
+                    compositor.paint(g2, frame, getWidth(), getHeight());
                 } else {
-                    g2.setColor(indicatorColor);
+                    composeFrame(frame, g2);
                 }
-                g2.fillOval(getWidth() - margin - 25, margin + 12, 8, 8);
-                
-                // Draw accent line with animation
-                g2.setStroke(new BasicStroke(2f));
-                g2.setColor(indicatorColor);
-                
-                if (isLoading) {
-                    // Animated progress line
-                    int lineWidth = (int)((getWidth() - 2 * margin - 30) * loadingProgress);
-                    g2.drawLine(margin + 15, margin + 35, margin + 15 + lineWidth, margin + 35);
-                } else {
-                    g2.drawLine(margin + 15, margin + 35, getWidth() - margin - 15, margin + 35);
-                }
-            }
-            
-            private void drawLoadingIndicator(Graphics2D g2) {
-                int centerX = getWidth() / 2;
-                int centerY = getHeight() / 2;
-                
-                // Draw loading spinner
-                g2.setStroke(new BasicStroke(4f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-                
-                int spinnerRadius = 30;
-                double angle = System.currentTimeMillis() * 0.01;
-                
-                for (int i = 0; i < 8; i++) {
-                    double a = angle + i * Math.PI / 4;
-                    float alpha = (float)(0.3 + 0.7 * (7 - i) / 7.0);
-                    
-                    g2.setColor(new Color(LOADING_COLOR.getRed(), LOADING_COLOR.getGreen(), LOADING_COLOR.getBlue(), (int)(alpha * 255)));
-                    
-                    int x1 = centerX + (int)(Math.cos(a) * (spinnerRadius - 10));
-                    int y1 = centerY + (int)(Math.sin(a) * (spinnerRadius - 10));
-                    int x2 = centerX + (int)(Math.cos(a) * spinnerRadius);
-                    int y2 = centerY + (int)(Math.sin(a) * spinnerRadius);
-                    
-                    g2.drawLine(x1, y1, x2, y2);
-                }
-                
-                // Draw loading text
-                g2.setFont(STATUS_FONT);
-                g2.setColor(TEXT_SECONDARY);
-                String loadingText = "Loading advertisement...";
-                FontMetrics fm = g2.getFontMetrics();
-                int textX = centerX - fm.stringWidth(loadingText) / 2;
-                int textY = centerY + 60;
-                g2.drawString(loadingText, textX, textY);
-            }
-            
-            private void drawEnhancedAdvertisement(Graphics2D g2) {
-                int margin = 10;
-                int headerHeight = 40;
-                int contentMargin = 15; // Reduced back to smaller margin for larger ads
-                
-                // Create clipping area for advertisement content (larger area)
-                int clipX = margin + contentMargin;
-                int clipY = margin + headerHeight + contentMargin;
-                int clipWidth = getWidth() - 2 * (margin + contentMargin);
-                int clipHeight = getHeight() - 2 * margin - headerHeight - 2 * contentMargin;
-                
-                Shape oldClip = g2.getClip();
-                g2.setClip(clipX, clipY, clipWidth, clipHeight);
-                
-                // Apply enhanced transition effects
-                AffineTransform oldTransform = g2.getTransform();
-                
-                // Scale animation effect
-                if (scaleAnimation != 1.0f) {
-                    double centerX = clipX + clipWidth / 2.0;
-                    double centerY = clipY + clipHeight / 2.0;
-                    g2.translate(centerX, centerY);
-                    g2.scale(scaleAnimation, scaleAnimation);
-                    g2.translate(-centerX, -centerY);
-                }
-                
-                // Apply fade effect
-                g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
-                
-                // Calculate image position and scaling to fill the entire area
-                int imgWidth = currentIcon.getIconWidth();
-                int imgHeight = currentIcon.getIconHeight();
-                
-                // Full scaling to cover entire advertisement area
-                double scaleX = (double) clipWidth / imgWidth;
-                double scaleY = (double) clipHeight / imgHeight;
-                double scale = Math.min(scaleX, scaleY);
-                
-                int scaledWidth = (int) (imgWidth * scale);
-                int scaledHeight = (int) (imgHeight * scale);
-                
-                int x = clipX + (clipWidth - scaledWidth) / 2;
-                int y = clipY + (clipHeight - scaledHeight) / 2;
-                
-                // Draw image with enhanced quality
-                g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
-                g2.drawImage(currentIcon.getImage(), x, y, scaledWidth, scaledHeight, panel);
-                
-                // Restore transform and composite
-                g2.setTransform(oldTransform);
-                g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f));
-                g2.setClip(oldClip);
+                g2.dispose();
             }
         };
+        this.compositor = FrameCompositor.isEnabled()
+                ? new FrameCompositor<>("ads", panel, this::composeFrame, BACKGROUND_COLOR) : null;
         
         this.adLabel = new JLabel("Initializing advertisements...", SwingConstants.CENTER) {
             @Override
@@ -262,12 +159,212 @@ public class AdvertisementPanel {
         adLabel.setOpaque(false);
         panel.add(adLabel, BorderLayout.CENTER);
         panel.setBackground(BACKGROUND_COLOR);
+        
+        // Animations pause while the ad card is hidden and stop once the ad has settled
+        animations = new AnimationLifecycle(panel, "advertisement");
+        loadingAnimation = animations.add("loading", AppConstants.LOADING_ANIMATION_RATE, this::stepLoadingAnimation);
+        transitionAnimation = animations.add("transition", AppConstants.ANIMATION_FRAME_RATE, this::stepTransition);
+        frameAnimation = animations.add("frames", AppConstants.ANIMATION_FRAME_RATE, this::stepFrames);
     }
 
     public JPanel getPanel() {
         return panel;
     }
 
+    /**
+     * Stops the panel's animations for good and drops its scaled frames; called when
+     * its screen is closed
+     */
+    public void dispose() {
+        mediaRequest++; // Media still loading is dropped
+        animations.dispose();
+        synchronized (this) {
+            if (currentFrames != null) {
+                currentFrames.close();
+                currentFrames = null;
+            }
+            if (nextFrames != null) {
+                nextFrames.close();
+                nextFrames = null;
+            }
+            staleFrame = null;
+        }
+    }
+
+    /**
+     * Copies everything the next frame shows and notes where the ad content goes,
+     * so GIF frames repaint only that region. EDT only.
+     */
+    private AdFrame captureFrame(int width, int height) {
+        int margin = 10;
+        int headerHeight = 40;
+        int contentMargin = 15;
+        contentBounds.setBounds(margin + contentMargin, margin + headerHeight + contentMargin,
+                width - 2 * (margin + contentMargin), height - 2 * margin - headerHeight - 2 * contentMargin);
+        if (isLoading) {
+            return new AdFrame(width, height, true, loadingProgress, loadingMillis, null, null, 0, 1.0f, 1.0f);
+        }
+        return new AdFrame(width, height, false, 0.0f, 0, currentMedia, currentMediaPath, frameIndex, alpha, scaleAnimation);
+    }
+    
+    /**
+     * Draws a frame: background, card and either the loading indicator or the ad.
+     * Runs on the EDT, or on the render thread when composition is off the EDT.
+     */
+    private void composeFrame(AdFrame frame, Graphics2D g2) {
+        // Enable high-quality rendering
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        
+        // Draw background
+        g2.setColor(BACKGROUND_COLOR);
+        g2.fillRect(0, 0, frame.width(), frame.height());
+        
+        // Draw advertisement frame
+        drawAdFrame(g2, frame);
+        
+        // Draw loading indicator if loading
+        if (frame.loading()) {
+            drawLoadingIndicator(g2, frame);
+        } else if (frame.media() != null) {
+            // Draw advertisement content with enhanced transitions
+            drawEnhancedAdvertisement(g2, frame);
+        }
+    }
+    
+    private void drawAdFrame(Graphics2D g2, AdFrame frame) {
+        int margin = 10;
+        int cardWidth = frame.width() - 2 * margin;
+        int cardHeight = frame.height() - 2 * margin;
+        
+        // Draw card with shadow, gradient, border and header area
+        (frame.loading() ? loadingFrame : adFrame).paint(g2, margin, margin, cardWidth, cardHeight,
+                g2.getTransform().getScaleX());
+        
+        // Draw "ADVERTISEMENT" header
+        g2.setFont(HEADER_FONT);
+        g2.setColor(TEXT_SECONDARY);
+        g2.drawString("ADVERTISEMENT", margin + 15, margin + 25);
+        
+        // Draw status indicator
+        Color indicatorColor = frame.loading() ? LOADING_COLOR : ACCENT_COLOR;
+        if (frame.loading()) {
+            // Animated loading indicator
+            float pulse = 0.5f + 0.5f * (float)Math.sin(frame.animationMillis() * 0.01);
+            g2.setColor(LOADING_PULSE_COLORS[(int)(pulse * 255)]);
+        } else {
+            g2.setColor(indicatorColor);
+        }
+        g2.fillOval(frame.width() - margin - 25, margin + 12, 8, 8);
+        
+        // Draw accent line with animation
+        g2.setStroke(BORDER_STROKE);
+        g2.setColor(indicatorColor);
+        
+        if (frame.loading()) {
+            // Animated progress line
+            int lineWidth = (int)((frame.width() - 2 * margin - 30) * frame.loadingProgress());
+            g2.drawLine(margin + 15, margin + 35, margin + 15 + lineWidth, margin + 35);
+        } else {
+            g2.drawLine(margin + 15, margin + 35, frame.width() - margin - 15, margin + 35);
+        }
+    }
+    
+    private void drawLoadingIndicator(Graphics2D g2, AdFrame frame) {
+        int centerX = frame.width() / 2;
+        int centerY = frame.height() / 2;
+        
+        // Draw loading spinner
+        g2.setStroke(SPINNER_STROKE);
+        
+        int spinnerRadius = 30;
+        double angle = frame.animationMillis() * 0.01;
+        
+        for (int i = 0; i < 8; i++) {
+            double a = angle + i * Math.PI / 4;
+            g2.setColor(SPINNER_COLORS[i]);
+            
+            int x1 = centerX + (int)(Math.cos(a) * (spinnerRadius - 10));
+            int y1 = centerY + (int)(Math.sin(a) * (spinnerRadius - 10));
+            int x2 = centerX + (int)(Math.cos(a) * spinnerRadius);
+            int y2 = centerY + (int)(Math.sin(a) * spinnerRadius);
+            
+            g2.drawLine(x1, y1, x2, y2);
+        }
+        
+        // Draw loading text
+        g2.setFont(STATUS_FONT);
+        g2.setColor(TEXT_SECONDARY);
+        String loadingText = "Loading advertisement...";
+        FontMetrics fm = g2.getFontMetrics();
+        int textX = centerX - fm.stringWidth(loadingText) / 2;
+        int textY = centerY + 60;
+        g2.drawString(loadingText, textX, textY);
+    }
+    
+    private void drawEnhancedAdvertisement(Graphics2D g2, AdFrame frame) {
+        int margin = 10;
+        int headerHeight = 40;
+        int contentMargin = 15; // Reduced back to smaller margin for larger ads
+        
+        // Create clipping area for advertisement content (larger area)
+        int clipX = margin + contentMargin;
+        int clipY = margin + headerHeight + contentMargin;
+        int clipWidth = frame.width() - 2 * (margin + contentMargin);
+        int clipHeight = frame.height() - 2 * margin - headerHeight - 2 * contentMargin;
+        
+        // This is the last drawing on the paint's own graphics copy, so clip,
+        // transform and composite are changed in place and never restored
+        g2.clipRect(clipX, clipY, clipWidth, clipHeight);
+        
+        // Apply enhanced transition effects
+        // Scale animation effect
+        if (frame.scale() != 1.0f) {
+            double centerX = clipX + clipWidth / 2.0;
+            double centerY = clipY + clipHeight / 2.0;
+            g2.translate(centerX, centerY);
+            g2.scale(frame.scale(), frame.scale());
+            g2.translate(-centerX, -centerY);
+        }
+        
+        // Apply fade effect (a settled ad uses the shared opaque composite)
+        g2.setComposite(frame.alpha() >= 1.0f ? AlphaComposite.SrcOver : AlphaComposite.getInstance(AlphaComposite.SRC_OVER, frame.alpha()));
+        
+        // Calculate image position and scaling to fill the entire area
+        int imgWidth = frame.media().getWidth();
+        int imgHeight = frame.media().getHeight();
+        
+        // Full scaling to cover entire advertisement area
+        double scaleX = (double) clipWidth / imgWidth;
+        double scaleY = (double) clipHeight / imgHeight;
+        double scale = Math.min(scaleX, scaleY);
+        
+        int scaledWidth = (int) (imgWidth * scale);
+        int scaledHeight = (int) (imgHeight * scale);
+        
+        int x = clipX + (clipWidth - scaledWidth) / 2;
+        int y = clipY + (clipHeight - scaledHeight) / 2;
+        
+        // Frames are scaled to the panel in the background, so the per-frame cost does
+        // not depend on the media resolution; until the first is ready the source is scaled
+        double deviceScale = g2.getTransform().getScaleX() / frame.scale();
+        int targetWidth = (int) Math.round(scaledWidth * deviceScale);
+        int targetHeight = (int) Math.round(scaledHeight * deviceScale);
+        BufferedImage scaledFrame = scaledFrame(frame.media(), frame.frameIndex(), targetWidth, targetHeight);
+        if (scaledFrame != null) {
+            if (scaledFrame.getWidth() != targetWidth || scaledFrame.getHeight() != targetHeight) {
+                // Frames of the previous size while a resize settles
+                g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            }
+            g2.drawImage(scaledFrame, x, y, scaledWidth, scaledHeight, null);
+        } else {
+            // Draw image with enhanced quality
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g2.drawImage(frame.media().getFrame(frame.frameIndex()), x, y, scaledWidth, scaledHeight, null);
+        }
+    }
+    
     /**
      * Displays the advertisement on the panel with enhanced transitions.
      *
@@ -275,7 +372,9 @@ public class AdvertisementPanel {
      */
     public void displayAdvertisement(Map<String, Object> ad) {
         if (ad == null) {
-            currentIcon = null;
+            mediaRequest++;
+            stopLoadingAnimation();
+            currentMedia = null;
             adLabel.setText("No advertisements available");
             adLabel.setVisible(true);
             panel.repaint();
@@ -286,108 +385,275 @@ public class AdvertisementPanel {
         String mediaPath = BASE_PATH + ad.get("media_path");
 
         if (mediaType.equals("GIF") || mediaType.equals("JPEG") || mediaType.equals("BMP")) {
-            // Show loading state
-            startLoadingAnimation();
+            int request = ++mediaRequest;
             
-            // Load image in background to simulate realistic loading
-            SwingUtilities.invokeLater(() -> {
-                try {
-                    Thread.sleep(500); // Simulate loading time
-                    nextIcon = new ImageIcon(mediaPath);
-                    SwingUtilities.invokeLater(() -> {
+            // Media decoded earlier (by this or another screen) is swapped in right away
+            AnimatedImage decoded = MediaCache.getInstance().getIfLoaded(mediaPath);
+            if (decoded != null) {
+                showDecodedAdvertisement(mediaPath, decoded);
+                return;
+            }
+            
+            // Otherwise decode in the background and show the loading state meanwhile
+            startLoadingAnimation();
+            MediaCache.getInstance().load(mediaPath).whenComplete((media, error) ->
+                    UiUpdateBridge.getInstance().post(this, "media", () -> {
+                        if (request != mediaRequest) {
+                            return; // A newer advertisement was requested meanwhile
+                        }
                         stopLoadingAnimation();
-                        adLabel.setVisible(false);
-                        startEnhancedTransition();
-                    });
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-            });
+                        if (error != null) {
+                            currentMedia = null;
+                            adLabel.setText("Advertisement unavailable");
+                            adLabel.setVisible(true);
+                            panel.repaint();
+                        } else {
+                            showDecodedAdvertisement(mediaPath, media);
+                        }
+                    }));
         } else {
-            currentIcon = null;
+            mediaRequest++;
+            stopLoadingAnimation();
+            currentMedia = null;
             adLabel.setText("Unsupported media: " + mediaType);
             adLabel.setVisible(true);
             panel.repaint();
         }
     }
     
+    /**
+     * Transitions to an already decoded advertisement
+     */
+    private void showDecodedAdvertisement(String mediaPath, AnimatedImage media) {
+        nextMedia = media;
+        nextMediaPath = mediaPath;
+        adLabel.setVisible(false);
+        synchronized (this) {
+            if (nextFrames != null) {
+                nextFrames.close();
+                nextFrames = null;
+            }
+            if (framesWidth > 0 && (currentFrames == null || currentFrames.getMedia() != media)) {
+                // Scale the first frames of the new ad while the current one fades out
+                nextFrames = new ScaledFrames(media, framesWidth, framesHeight, this::frameReady);
+                nextFrames.getFrame(0);
+            }
+        }
+        startEnhancedTransition();
+    }
+    
+    /**
+     * Returns a frame of the media scaled to the given device-pixel size, or null to
+     * draw the source. The ad shown gets its {@link ScaledFrames} when it is first
+     * drawn (or takes over the next ad's); a new size is adopted once it has not changed
+     * for {@link AppConstants#MEDIA_VARIANT_SETTLE_MS}, so a window drag does not rescale
+     * frames at every intermediate size, and frames of the old size are drawn meanwhile.
+     * Called from the EDT and, when composing off the EDT, from the render thread.
+     */
+    private synchronized BufferedImage scaledFrame(AnimatedImage media, int frameIndex, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            return null;
+        }
+        long size = (long) width << 32 | height;
+        if (size != sizeRequest) {
+            sizeRequest = size; // Also drops a pending size when resized back
+            if (width != framesWidth || height != framesHeight) {
+                TaskRuntime.getInstance().group("media").schedule("settle-size", AppConstants.MEDIA_VARIANT_SETTLE_MS,
+                        TimeUnit.MILLISECONDS, () -> adoptSize(size));
+            }
+        }
+        if (framesWidth <= 0) {
+            return null; // No settled size yet
+        }
+        if (currentFrames == null || currentFrames.getMedia() != media) {
+            if (currentFrames != null) {
+                currentFrames.close();
+            }
+            if (nextFrames != null && nextFrames.getMedia() == media) {
+                currentFrames = nextFrames; // The next ad has faded in
+                nextFrames = null;
+            } else {
+                currentFrames = new ScaledFrames(media, framesWidth, framesHeight, this::frameReady);
+            }
+        }
+        BufferedImage scaled = currentFrames.getFrame(frameIndex);
+        if (scaled != null) {
+            staleMedia = null;
+            staleFrame = null;
+            return scaled;
+        }
+        return media == staleMedia ? staleFrame : null;
+    }
+
+    /**
+     * Scales frames at the given size from now on, unless a newer size has been drawn since
+     */
+    private void adoptSize(long size) {
+        synchronized (this) {
+            if (size != sizeRequest) {
+                return; // Superseded while the size was still changing
+            }
+            framesWidth = (int) (size >>> 32);
+            framesHeight = (int) size;
+            // Rescaled when next drawn; the frame last shown is drawn until then
+            if (currentFrames != null) {
+                staleMedia = currentFrames.getMedia();
+                staleFrame = currentFrames.getLastFrame();
+                currentFrames.close();
+                currentFrames = null;
+            }
+            if (nextFrames != null) {
+                nextFrames.close();
+                nextFrames = null;
+            }
+        }
+        frameReady();
+    }
+
+    /**
+     * Repaints the ad once a scaled frame it waits for is ready (any thread)
+     */
+    private void frameReady() {
+        UiUpdateBridge.getInstance().post(this, "frame", compositor != null ? compositor::invalidate : panel::repaint);
+    }
+    
+    /**
+     * Plays the current media from its first frame
+     */
+    private void startFrames() {
+        frameIndex = 0;
+        frameStartNanos = System.nanoTime();
+        if (currentMedia != null && currentMedia.isAnimated()) {
+            frameAnimation.request();
+        } else {
+            frameAnimation.cancel();
+        }
+    }
+    
+    /**
+     * Advances the GIF to the frame due now and repaints only the ad content
+     *
+     * @return false when the current media is not animated
+     */
+    private boolean stepFrames() {
+        AnimatedImage media = currentMedia;
+        if (media == null || !media.isAnimated()) {
+            return false;
+        }
+        long now = System.nanoTime();
+        int frame = frameIndex;
+        long due = frameStartNanos + TimeUnit.MILLISECONDS.toNanos(media.getDelay(frame));
+        if (now - due > TimeUnit.SECONDS.toNanos(1)) {
+            frameStartNanos = now; // Resumed after a pause; continue from the frame shown
+            return true;
+        }
+        while (now >= due) {
+            frameStartNanos = due;
+            frame = (frame + 1) % media.getFrameCount();
+            due = frameStartNanos + TimeUnit.MILLISECONDS.toNanos(media.getDelay(frame));
+        }
+        if (frame != frameIndex) {
+            frameIndex = frame;
+            if (contentBounds.isEmpty()) {
+                panel.repaint();
+            } else {
+                panel.repaint(contentBounds.x, contentBounds.y, contentBounds.width, contentBounds.height);
+            }
+        }
+        return true;
+    }
+    
     private void startLoadingAnimation() {
         isLoading = true;
         loadingProgress = 0.0f;
-        
-        if (loadingTimer != null) loadingTimer.stop();
-        loadingTimer = new Timer(20, e -> {
-            loadingProgress += 0.02f;
-            if (loadingProgress >= 1.0f) {
-                loadingProgress = 1.0f;
-            }
-            panel.repaint();
-        });
-        loadingTimer.start();
+        loadingMillis = System.currentTimeMillis();
+        loadingAnimation.request();
+    }
+    
+    private boolean stepLoadingAnimation() {
+        loadingProgress += 0.02f;
+        if (loadingProgress >= 1.0f) {
+            loadingProgress = 1.0f;
+        }
+        loadingMillis = System.currentTimeMillis();
+        panel.repaint();
+        return isLoading; // The spinner keeps turning until the media is ready
     }
     
     private void stopLoadingAnimation() {
         isLoading = false;
-        if (loadingTimer != null) {
-            loadingTimer.stop();
-        }
+        loadingAnimation.cancel();
     }
 
     private void startEnhancedTransition() {
-        if (fadeTimer != null && fadeTimer.isRunning()) fadeTimer.stop();
-        
         // Randomly select transition type for variety
         transitionType = (int)(Math.random() * 3);
         
         fadingIn = false;
         alpha = 1.0f;
         scaleAnimation = 1.0f;
-        
-        fadeTimer = new Timer(16, e -> { // 60 FPS for smooth animation
-            if (!fadingIn) {
-                // Fade out current image with effects
-                alpha -= 0.06f;
-                
-                switch (transitionType) {
-                    case 1: // Scale out
-                        scaleAnimation += 0.02f;
-                        break;
-                    case 2: // Scale in
-                        scaleAnimation -= 0.03f;
-                        break;
-                }
-                
-                if (alpha <= 0.0f) {
-                    alpha = 0.0f;
-                    currentIcon = nextIcon;
-                    fadingIn = true;
-                    scaleAnimation = transitionType == 2 ? 1.2f : 0.8f; // Start scale for fade in
-                }
-            } else {
-                // Fade in new image with effects
-                alpha += 0.06f;
-                
-                switch (transitionType) {
-                    case 1: // Scale normalize
-                        scaleAnimation = Math.max(1.0f, scaleAnimation - 0.02f);
-                        break;
-                    case 2: // Scale normalize
-                        scaleAnimation = Math.min(1.0f, scaleAnimation + 0.03f);
-                        break;
-                    default: // Just fade
-                        scaleAnimation = 1.0f;
-                        break;
-                }
-                
-                if (alpha >= 1.0f && Math.abs(scaleAnimation - 1.0f) < 0.01f) {
-                    alpha = 1.0f;
+        transitionAnimation.request();
+    }
+    
+    /**
+     * Advances the ad transition one frame (60 FPS).
+     *
+     * @return false once the new ad is fully faded in
+     */
+    private boolean stepTransition() {
+        boolean settled = false;
+        if (!fadingIn) {
+            // Fade out current image with effects
+            alpha -= 0.06f;
+            
+            switch (transitionType) {
+                case 1: // Scale out
+                    scaleAnimation += 0.02f;
+                    break;
+                case 2: // Scale in
+                    scaleAnimation -= 0.03f;
+                    break;
+            }
+            
+            if (alpha <= 0.0f) {
+                alpha = 0.0f;
+                currentMedia = nextMedia;
+                currentMediaPath = nextMediaPath;
+                startFrames();
+                fadingIn = true;
+                scaleAnimation = transitionType == 2 ? 1.2f : 0.8f; // Start scale for fade in
+            }
+        } else {
+            // Fade in new image with effects
+            alpha += 0.06f;
+            
+            switch (transitionType) {
+                case 1: // Scale normalize
+                    scaleAnimation = Math.max(1.0f, scaleAnimation - 0.02f);
+                    break;
+                case 2: // Scale normalize
+                    scaleAnimation = Math.min(1.0f, scaleAnimation + 0.03f);
+                    break;
+                default: // Just fade
                     scaleAnimation = 1.0f;
-                    fadeTimer.stop();
-                }
+                    break;
             }
-            adLabel.setVisible(false);
-            panel.repaint();
-        });
-        fadeTimer.start();
+            
+            if (alpha >= 1.0f && Math.abs(scaleAnimation - 1.0f) < 0.01f) {
+                alpha = 1.0f;
+                scaleAnimation = 1.0f;
+                settled = true;
+            }
+        }
+        adLabel.setVisible(false);
+        panel.repaint();
+        return !settled;
     }
+
+    /**
+     * Everything one frame of the ad card shows, captured on the EDT. Media images
+     * are immutable once decoded.
+     */
+    private record AdFrame(int width, int height, boolean loading, float loadingProgress, long animationMillis,
+                           AnimatedImage media, String mediaPath, int frameIndex, float alpha, float scale) {}
 }
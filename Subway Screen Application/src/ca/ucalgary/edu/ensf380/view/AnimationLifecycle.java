@@ -0,0 +1,214 @@
+/**
+ * Animation Lifecycle for Panels
+ *
+ * Owns the animations of one panel and keeps each one subscribed to the
+ * {@link FrameClock} only while it has work to do and the panel is actually displayed. A panel is displayed when it and
+ * every ancestor are visible and, if it sits in a window, that window is showing;
+ * hiding a CardLayout card or a window therefore pauses all of its animations.
+ *
+ * Each animation step reports whether it is still animating. Once it returns false
+ * (e.g. trains reached their stations, a fade completed) it leaves the clock until the
+ * panel calls {@link Animation#request()} again, so a settled panel costs no CPU.
+ *
+ * All methods must be called on the Event Dispatch Thread.
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+package ca.ucalgary.edu.ensf380.view;
+
+import java.awt.Component;
+import java.awt.Window;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.ComponentListener;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import javax.swing.JComponent;
+
+import ca.ucalgary.edu.ensf380.util.AppLogger;
+
+public class AnimationLifecycle {
+    private final JComponent component;
+    private final String name;
+    private final List<Animation> animations = new ArrayList<>();
+    private final List<Component> watchedAncestors = new ArrayList<>();
+    private boolean displayed;
+    private boolean disposed = false;
+
+    // Offscreen trees have no native peers and fire no SHOWING_CHANGED events, so
+    // visibility changes of the component and its ancestors are watched directly
+    private final ComponentListener visibilityListener = new ComponentAdapter() {
+        @Override
+        public void componentShown(ComponentEvent e) {
+            updateDisplayed();
+        }
+
+        @Override
+        public void componentHidden(ComponentEvent e) {
+            updateDisplayed();
+        }
+    };
+
+    private final HierarchyListener hierarchyListener = e -> {
+        if ((e.getChangeFlags() & HierarchyEvent.PARENT_CHANGED) != 0) {
+            watchAncestors();
+        }
+        updateDisplayed();
+    };
+
+    /**
+     * @param component the panel whose visibility controls the animations
+     * @param name short name used in log messages
+     */
+    public AnimationLifecycle(JComponent component, String name) {
+        this.component = component;
+        this.name = name;
+        component.addHierarchyListener(hierarchyListener);
+        watchAncestors();
+        this.displayed = computeDisplayed();
+    }
+
+    /**
+     * Registers an animation. It starts paused; call {@link Animation#request()} to run it.
+     *
+     * @param animationName short name used in log messages
+     * @param delayMs interval between steps in milliseconds
+     * @param step one animation frame; returns true while there is more to animate
+     * @return the animation handle
+     */
+    public Animation add(String animationName, int delayMs, BooleanSupplier step) {
+        Animation animation = new Animation(animationName, delayMs, step);
+        animations.add(animation);
+        return animation;
+    }
+
+    /**
+     * Stops every animation and removes it from the frame clock for good, e.g. when
+     * the panel's screen is closed. Later requests are ignored.
+     */
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+        for (Animation animation : animations) {
+            animation.active = false;
+            FrameClock.getInstance().unsubscribe(animation.subscription);
+        }
+        animations.clear();
+        component.removeHierarchyListener(hierarchyListener);
+        for (Component c : watchedAncestors) {
+            c.removeComponentListener(visibilityListener);
+        }
+        watchedAncestors.clear();
+        AppLogger.debug("Animations disposed for " + name);
+    }
+
+    /**
+     * Check whether the panel is currently displayed
+     */
+    public boolean isDisplayed() {
+        return displayed;
+    }
+
+    /**
+     * Number of animations currently running on the frame clock
+     */
+    public int getRunningCount() {
+        int count = 0;
+        for (Animation animation : animations) {
+            if (animation.isRunning()) count++;
+        }
+        return count;
+    }
+
+    private boolean computeDisplayed() {
+        for (Component c = component; c != null; c = c.getParent()) {
+            if (!c.isVisible()) {
+                return false;
+            }
+            if (c instanceof Window window) {
+                return window.isShowing();
+            }
+        }
+        return true; // Offscreen root (headless rendering)
+    }
+
+    private void updateDisplayed() {
+        boolean now = computeDisplayed();
+        if (now == displayed) {
+            return;
+        }
+        displayed = now;
+        AppLogger.debug("Animations " + (displayed ? "resumed" : "paused") + " for " + name);
+        for (Animation animation : animations) {
+            animation.sync();
+        }
+    }
+
+    private void watchAncestors() {
+        for (Component c : watchedAncestors) {
+            c.removeComponentListener(visibilityListener);
+        }
+        watchedAncestors.clear();
+        for (Component c = component; c != null && !(c instanceof Window); c = c.getParent()) {
+            c.addComponentListener(visibilityListener);
+            watchedAncestors.add(c);
+        }
+    }
+
+    /**
+     * One animation of the panel, driven by the frame clock
+     */
+    public final class Animation {
+        private final String animationName;
+        private final FrameClock.Subscription subscription;
+        private boolean active = false;
+
+        private Animation(String animationName, int delayMs, BooleanSupplier step) {
+            this.animationName = animationName;
+            this.subscription = FrameClock.getInstance().subscribe(name + "/" + animationName, delayMs, () -> {
+                if (step.getAsBoolean()) {
+                    return true;
+                }
+                active = false;
+                AppLogger.debug("Animation " + name + "/" + animationName + " settled");
+                return false;
+            });
+        }
+
+        /**
+         * Marks the animation as having work to do; it runs whenever the panel is displayed
+         */
+        public void request() {
+            active = true;
+            sync();
+        }
+
+        /**
+         * Stops the animation until it is requested again
+         */
+        public void cancel() {
+            active = false;
+            sync();
+        }
+
+        public boolean isRunning() {
+            return subscription.isActive();
+        }
+
+        private void sync() {
+            // The subscription's first step runs on the next frame, so nothing shows stale state
+            if (active && displayed && !disposed) {
+                subscription.start();
+            } else {
+                subscription.stop();
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * Pre-rendered Card Background
+ *
+ * The panels draw their content on rounded "cards": a drop shadow, a vertical
+ * gradient fill and a border, optionally with a header band. Filling a gradient
+ * allocates a fresh paint context and rasters on every call, so each card style is
+ * rendered once into a translucent image and every frame only blits that image.
+ * The image is re-rendered when the card size or the display scale changes.
+ *
+ * Must be used by one thread: the Event Dispatch Thread, or the render thread for
+ * a panel composed off the EDT (see {@link FrameCompositor}).
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+package ca.ucalgary.edu.ensf380.view;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.geom.RoundRectangle2D;
+
+final class CardSprite {
+    private final int arc;
+    private final int shadowOffset;
+    private final Color shadowColor;
+    private final Color topColor;
+    private final Color bottomColor;
+    private final BasicStroke borderStroke;
+    private final Color borderColor;
+    private final int headerHeight;
+    private final Color headerColor;
+    private final int pad; // Room for the half of the border stroke outside the card
+
+    private BufferedImage image;
+    private int imageWidth = -1;
+    private int imageHeight = -1;
+    private double imageScale = 1.0;
+
+    /**
+     * @param arc corner arc diameter
+     * @param shadowOffset shadow offset down and right (0 for no shadow)
+     * @param shadowColor shadow color, or null for no shadow
+     * @param topColor gradient color at the top of the card
+     * @param bottomColor gradient color at the bottom of the card
+     * @param borderStroke border stroke
+     * @param borderColor border color
+     */
+    CardSprite(int arc, int shadowOffset, Color shadowColor, Color topColor, Color bottomColor,
+               BasicStroke borderStroke, Color borderColor) {
+        this(arc, shadowOffset, shadowColor, topColor, bottomColor, borderStroke, borderColor, 0, null);
+    }
+
+    /**
+     * Card with a solid header band of the given height drawn over the top of the card
+     */
+    CardSprite(int arc, int shadowOffset, Color shadowColor, Color topColor, Color bottomColor,
+               BasicStroke borderStroke, Color borderColor, int headerHeight, Color headerColor) {
+        this.arc = arc;
+        this.shadowOffset = shadowColor == null ? 0 : shadowOffset;
+        this.shadowColor = shadowColor;
+        this.topColor = topColor;
+        this.bottomColor = bottomColor;
+        this.borderStroke = borderStroke;
+        this.borderColor = borderColor;
+        this.headerHeight = headerHeight;
+        this.headerColor = headerColor;
+        this.pad = (int) Math.ceil(borderStroke.getLineWidth() / 2) + 1;
+    }
+
+    /**
+     * Draws the card with its top-left corner at (x, y)
+     *
+     * @param deviceScale display scale of the target graphics (e.g. 2.0 on HiDPI)
+     */
+    void paint(Graphics2D g2, int x, int y, int width, int height, double deviceScale) {
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        if (image == null || width != imageWidth || height != imageHeight || deviceScale != imageScale) {
+            render(width, height, deviceScale);
+        }
+        int spriteWidth = width + shadowOffset + 2 * pad;
+        int spriteHeight = height + shadowOffset + 2 * pad;
+        if (deviceScale == 1.0) {
+            g2.drawImage(image, x - pad, y - pad, null);
+        } else {
+            g2.drawImage(image, x - pad, y - pad, spriteWidth, spriteHeight, null);
+        }
+    }
+
+    private void render(int width, int height, double deviceScale) {
+        int spriteWidth = width + shadowOffset + 2 * pad;
+        int spriteHeight = height + shadowOffset + 2 * pad;
+        image = new BufferedImage((int) Math.ceil(spriteWidth * deviceScale), (int) Math.ceil(spriteHeight * deviceScale),
+                BufferedImage.TYPE_INT_ARGB_PRE);
+        imageWidth = width;
+        imageHeight = height;
+        imageScale = deviceScale;
+
+        Graphics2D g2 = image.createGraphics();
+        g2.scale(deviceScale, deviceScale);
+        g2.translate(pad, pad);
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        RoundRectangle2D.Float card = new RoundRectangle2D.Float();
+        if (shadowColor != null) {
+            g2.setColor(shadowColor);
+            card.setRoundRect(shadowOffset, shadowOffset, width, height, arc, arc);
+            g2.fill(card);
+        }
+
+        card.setRoundRect(0, 0, width, height, arc, arc);
+        g2.setPaint(new GradientPaint(0, 0, topColor, 0, height, bottomColor));
+        g2.fill(card);
+
+        g2.setStroke(borderStroke);
+        g2.setColor(borderColor);
+        g2.draw(card);
+
+        if (headerColor != null) {
+            g2.setColor(headerColor);
+            g2.fill(new RoundRectangle2D.Float(0, 0, width, headerHeight, arc, arc));
+            g2.fillRect(0, headerHeight - arc, width, arc); // Square off the bottom corners
+        }
+        g2.dispose();
+    }
+}
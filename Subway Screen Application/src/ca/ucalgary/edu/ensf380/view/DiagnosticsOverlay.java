@@ -0,0 +1,240 @@
+/**
+ * Diagnostics Overlay
+ *
+ * Small translucent box in the top-left corner of a screen showing live render
+ * diagnostics, refreshed once per second from the {@link MetricsRegistry}:
+ *
+ *   - frames per second and frame clock pass time (p50/p99),
+ *   - paint time of every instrumented panel (p50/p99, see {@link PaintMetricsLayer})
+ *     and, for panels composed off the EDT, compose time on the render thread,
+ *   - Event Dispatch Thread queue depth (current and peak), heartbeat latency and
+ *     stall count (see {@link ca.ucalgary.edu.ensf380.util.EdtWatchdog}),
+ *   - garbage collection pauses (count, longest and total).
+ *
+ * Every figure covers the last refresh interval only. Windowed screens show the
+ * overlay as the frame's glass pane and toggle it with F12; offscreen screens paint
+ * it over each rendered frame. Panel paint times are per process, so screens hosted
+ * together share them.
+ *
+ * All methods except the constructor must be called on the Event Dispatch Thread.
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+package ca.ucalgary.edu.ensf380.view;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import javax.swing.JComponent;
+
+import ca.ucalgary.edu.ensf380.util.AppConstants;
+import ca.ucalgary.edu.ensf380.util.LatencyHistogram;
+import ca.ucalgary.edu.ensf380.util.MetricsRegistry;
+
+final class DiagnosticsOverlay extends JComponent {
+    private static final Color BOX_COLOR = new Color(0, 0, 0, 190);
+    private static final Color TEXT_COLOR = new Color(226, 232, 240);
+    private static final Color WARNING_COLOR = new Color(251, 191, 36);
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 11);
+    private static final int MARGIN = 10;
+    private static final int PADDING = 6;
+    private static final int SAMPLE_PERIOD_MS = 250;          // Queue depth sampling
+    private static final int SAMPLES_PER_REFRESH = 4;         // Text refreshed once per second
+
+    private final LongSupplier frameCount;
+    private FrameClock.Subscription sampler; // Subscribed when first shown
+    private final MetricsRegistry metrics = MetricsRegistry.getInstance();
+
+    // Window state, reset at every refresh
+    private Map<String, LatencyHistogram.Snapshot> previous = new HashMap<>();
+    private long previousFrames;
+    private long previousRefreshNanos = System.nanoTime();
+    private long peakQueueDepth = 0;
+    private long previousStalls = 0;
+    private int samples = 0;
+
+    // Text of the last refresh; a line is painted in the warning colour when flagged
+    private final List<String> lines = new ArrayList<>();
+    private final List<Boolean> warnings = new ArrayList<>();
+    private int boxWidth = 0;
+    private int boxHeight = 0;
+
+    /**
+     * @param frameCount total frames the screen has shown, for the frame rate
+     */
+    DiagnosticsOverlay(LongSupplier frameCount) {
+        this.frameCount = frameCount;
+        this.previousFrames = frameCount.getAsLong();
+        setOpaque(false);
+        setFont(FONT);
+        super.setVisible(false);
+    }
+
+    @Override
+    public void setVisible(boolean visible) {
+        if (visible == isVisible()) {
+            return;
+        }
+        super.setVisible(visible);
+        if (visible) {
+            if (sampler == null) {
+                sampler = FrameClock.getInstance().subscribe("diagnostics", SAMPLE_PERIOD_MS, this::sample);
+            }
+            resetWindow();
+            refresh();
+            sampler.start();
+        } else {
+            sampler.stop();
+        }
+    }
+
+    /**
+     * Removes the sampler from the frame clock; called when the screen is closed
+     */
+    void dispose() {
+        if (sampler != null) {
+            FrameClock.getInstance().unsubscribe(sampler);
+            sampler = null;
+        }
+        super.setVisible(false);
+    }
+
+    /**
+     * Samples the queue depth; refreshes the text once per second
+     */
+    private boolean sample() {
+        peakQueueDepth = Math.max(peakQueueDepth, metrics.readGauge("edt.queue.depth"));
+        if (++samples >= SAMPLES_PER_REFRESH) {
+            // Both boxes start at the margin, so their union is the larger of the two;
+            // repainting only the new one would leave the rest of a bigger old box behind
+            int oldWidth = boxWidth;
+            int oldHeight = boxHeight;
+            refresh();
+            repaint(MARGIN, MARGIN, Math.max(oldWidth, boxWidth), Math.max(oldHeight, boxHeight));
+        }
+        return isVisible();
+    }
+
+    private void resetWindow() {
+        previous = metrics.snapshot("");
+        previousFrames = frameCount.getAsLong();
+        previousRefreshNanos = System.nanoTime();
+        peakQueueDepth = 0;
+        previousStalls = metrics.readGauge("edt.stalls");
+        samples = 0;
+    }
+
+    /**
+     * Rebuilds the text from what was recorded since the previous refresh
+     */
+    private void refresh() {
+        long now = System.nanoTime();
+        double seconds = Math.max(1e-3, (now - previousRefreshNanos) / 1e9);
+        long frames = frameCount.getAsLong();
+        Map<String, LatencyHistogram.Snapshot> current = metrics.snapshot("");
+
+        lines.clear();
+        warnings.clear();
+        long budgetNanos = FrameClock.getInstance().getFrameBudgetNanos();
+        LatencyHistogram.Snapshot frameTimes = window(current, "frame");
+        add(String.format("FPS %5.1f   frame p50 %5.2f  p99 %5.2f ms", (frames - previousFrames) / seconds,
+                millis(frameTimes.getPercentileNanos(50)), millis(frameTimes.getPercentileNanos(99))),
+                frameTimes.getPercentileNanos(99) > budgetNanos);
+        for (String name : current.keySet()) {
+            String panel;
+            if (name.startsWith(PaintMetricsLayer.HISTOGRAM_PREFIX)) {
+                panel = name.substring(PaintMetricsLayer.HISTOGRAM_PREFIX.length());
+            } else if (name.startsWith(FrameCompositor.HISTOGRAM_PREFIX)) {
+                panel = "render:" + name.substring(FrameCompositor.HISTOGRAM_PREFIX.length());
+            } else {
+                continue;
+            }
+            LatencyHistogram.Snapshot paints = window(current, name);
+            if (paints.getCount() == 0) {
+                add(String.format("%-12s   idle", panel), false);
+            } else {
+                add(String.format("%-12s   p50 %5.2f  p99 %5.2f ms", panel,
+                        millis(paints.getPercentileNanos(50)), millis(paints.getPercentileNanos(99))),
+                        paints.getPercentileNanos(99) > budgetNanos);
+            }
+        }
+        long depth = metrics.readGauge("edt.queue.depth");
+        add(String.format("EDT queue %3d   peak %3d", depth, Math.max(depth, peakQueueDepth)),
+                peakQueueDepth > AppConstants.DIAGNOSTICS_QUEUE_WARNING);
+        LatencyHistogram.Snapshot heartbeats = window(current, "edt.heartbeat");
+        long stalls = metrics.readGauge("edt.stalls");
+        add(String.format("EDT latency p99 %5.1f ms   stalls %d", millis(heartbeats.getPercentileNanos(99)), stalls),
+                stalls > previousStalls);
+        previousStalls = stalls;
+        LatencyHistogram.Snapshot pauses = window(current, "gc.pause");
+        add(String.format("GC pauses %3d   max %5.1f  total %5.1f ms", pauses.getCount(),
+                millis(pauses.getMaxNanos()), millis(pauses.getTotalNanos())),
+                pauses.getMaxNanos() > budgetNanos);
+
+        FontMetrics fm = getFontMetrics(FONT);
+        boxWidth = 0;
+        for (String line : lines) {
+            boxWidth = Math.max(boxWidth, fm.stringWidth(line));
+        }
+        boxWidth += 2 * PADDING;
+        boxHeight = lines.size() * fm.getHeight() + 2 * PADDING;
+
+        previous = current;
+        previousFrames = frames;
+        previousRefreshNanos = now;
+        peakQueueDepth = 0;
+        samples = 0;
+    }
+
+    private LatencyHistogram.Snapshot window(Map<String, LatencyHistogram.Snapshot> current, String name) {
+        LatencyHistogram.Snapshot snapshot = current.get(name);
+        if (snapshot == null) {
+            snapshot = metrics.histogram(name).snapshot();
+        }
+        LatencyHistogram.Snapshot earlier = previous.get(name);
+        return earlier == null ? snapshot : snapshot.since(earlier);
+    }
+
+    private void add(String line, boolean warning) {
+        lines.add(line);
+        warnings.add(warning);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2.setColor(BOX_COLOR);
+            g2.fillRoundRect(MARGIN, MARGIN, boxWidth, boxHeight, 8, 8);
+            g2.setFont(FONT);
+            FontMetrics fm = g2.getFontMetrics();
+            int y = MARGIN + PADDING + fm.getAscent();
+            for (int i = 0; i < lines.size(); i++) {
+                g2.setColor(warnings.get(i) ? WARNING_COLOR : TEXT_COLOR);
+                g2.drawString(lines.get(i), MARGIN + PADDING, y);
+                y += fm.getHeight();
+            }
+        } finally {
+            g2.dispose();
+        }
+    }
+}
@@ -0,0 +1,290 @@
+/**
+ * Frame Clock for Animated Panels
+ *
+ * Single scheduler behind every panel animation in the process. Instead of one
+ * Swing Timer per animation, panels subscribe callbacks with their own period
+ * (train movement every frame, hover pulse every 50 ms, clock every second) and
+ * the clock runs every due callback in one pass on the Event Dispatch Thread:
+ *
+ *   1. pending {@link UiUpdateBridge} updates are applied,
+ *   2. due animation callbacks run,
+ *   3. the repaints they requested are painted together in one paint cycle.
+ *
+ * Ticks are aligned to the display frame rate and the clock only wakes up when a
+ * subscription is due, so with nothing animating it costs no CPU. Each pass is
+ * measured against the frame budget (one frame period), recorded in the "frame"
+ * histogram of the {@link MetricsRegistry}, and statistics are logged every
+ * {@link AppConstants#FRAME_STATS_INTERVAL} frames.
+ *
+ * All methods except {@link #setFrameRate(int)} and the statistics getters must be
+ * called on the Event Dispatch Thread.
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+package ca.ucalgary.edu.ensf380.view;
+
+import java.awt.Component;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import javax.swing.RepaintManager;
+import javax.swing.Timer;
+
+import ca.ucalgary.edu.ensf380.util.AppConstants;
+import ca.ucalgary.edu.ensf380.util.AppLogger;
+import ca.ucalgary.edu.ensf380.util.LatencyHistogram;
+import ca.ucalgary.edu.ensf380.util.MetricsRegistry;
+import ca.ucalgary.edu.ensf380.util.UiUpdateBridge;
+
+public final class FrameClock {
+
+    private static final FrameClock INSTANCE = new FrameClock();
+
+    private final List<Subscription> subscriptions = new ArrayList<>();
+    private final Timer timer;
+    private volatile long frameNanos = TimeUnit.SECONDS.toNanos(1) / AppConstants.DISPLAY_FRAME_RATE;
+    private long lastTickNanos = System.nanoTime() - frameNanos;
+    private boolean ticking = false;
+
+    // Statistics
+    private final LatencyHistogram frameTimes = MetricsRegistry.getInstance().histogram("frame");
+    private volatile long frames = 0;
+    private volatile long overBudgetFrames = 0;
+    private volatile long lastFrameNanos = 0;
+    private long intervalUpdateNanos = 0;
+    private long intervalPaintNanos = 0;
+    private long intervalMaxFrameNanos = 0;
+    private int intervalOverBudget = 0;
+    private int intervalFrames = 0;
+
+    private FrameClock() {
+        timer = new Timer(0, e -> tick());
+        timer.setRepeats(false);
+    }
+
+    /**
+     * Get the process-wide frame clock
+     */
+    public static FrameClock getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Sets the display frame rate; ticks (and therefore repaints) happen at most this often
+     *
+     * @param fps frames per second
+     */
+    public void setFrameRate(int fps) {
+        if (fps <= 0) {
+            throw new IllegalArgumentException("Frame rate must be positive: " + fps);
+        }
+        frameNanos = TimeUnit.SECONDS.toNanos(1) / fps;
+        AppLogger.info("Display frame rate set to " + fps + " fps");
+    }
+
+    /**
+     * Frame budget (one frame period) in nanoseconds
+     */
+    public long getFrameBudgetNanos() {
+        return frameNanos;
+    }
+
+    /**
+     * Registers an animation callback. It is inactive until {@link Subscription#start()}.
+     *
+     * @param name short name used in log messages
+     * @param periodMs how often the callback runs while active, in milliseconds
+     * @param callback one animation step; returns true to stay active
+     * @return the subscription handle
+     */
+    public Subscription subscribe(String name, int periodMs, BooleanSupplier callback) {
+        Subscription subscription = new Subscription(name, TimeUnit.MILLISECONDS.toNanos(periodMs), callback);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Stops a subscription and removes it for good, e.g. when its panel is discarded
+     *
+     * @param subscription a subscription returned by {@link #subscribe}
+     */
+    public void unsubscribe(Subscription subscription) {
+        subscription.stop();
+        subscriptions.remove(subscription);
+    }
+
+    /**
+     * Number of subscriptions currently active
+     */
+    public int getActiveCount() {
+        int count = 0;
+        for (Subscription subscription : subscriptions) {
+            if (subscription.active) count++;
+        }
+        return count;
+    }
+
+    public long getFrameCount() {
+        return frames;
+    }
+
+    /**
+     * Number of passes that took longer than the frame budget
+     */
+    public long getOverBudgetCount() {
+        return overBudgetFrames;
+    }
+
+    /**
+     * Duration of the last pass (updates, animations and painting) in nanoseconds
+     */
+    public long getLastFrameNanos() {
+        return lastFrameNanos;
+    }
+
+    /**
+     * Runs one frame: UI updates, due animations, then a single paint of all dirty regions
+     */
+    private void tick() {
+        ticking = true;
+        long start = System.nanoTime();
+        lastTickNanos = start;
+        try {
+            UiUpdateBridge bridge = UiUpdateBridge.getInstance();
+            if (bridge.getPendingCount() > 0) {
+                bridge.drain();
+            }
+
+            // Callbacks due within half a frame run now rather than a frame late
+            long horizon = start + frameNanos / 2;
+            for (Subscription subscription : new ArrayList<>(subscriptions)) {
+                if (subscription.active && subscription.nextDueNanos <= horizon) {
+                    subscription.run(start);
+                }
+            }
+            long updated = System.nanoTime();
+
+            // Everything repainted above is painted together in this frame
+            RepaintManager.currentManager((Component) null).paintDirtyRegions();
+            recordFrame(updated - start, System.nanoTime() - updated);
+        } finally {
+            ticking = false;
+            reschedule();
+        }
+    }
+
+    /**
+     * Arms the timer for the earliest due subscription, no sooner than one frame
+     * after the previous tick. Stops it when nothing is active.
+     */
+    private void reschedule() {
+        if (ticking) {
+            return; // The running tick reschedules when it finishes
+        }
+        long nextDue = Long.MAX_VALUE;
+        for (Subscription subscription : subscriptions) {
+            if (subscription.active) {
+                nextDue = Math.min(nextDue, subscription.nextDueNanos);
+            }
+        }
+        if (nextDue == Long.MAX_VALUE) {
+            timer.stop();
+            return;
+        }
+        long now = System.nanoTime();
+        long wakeAt = Math.max(nextDue, lastTickNanos + frameNanos);
+        int delayMs = (int) Math.max(0, TimeUnit.NANOSECONDS.toMillis(wakeAt - now));
+        timer.setInitialDelay(delayMs);
+        timer.restart();
+    }
+
+    private void recordFrame(long updateNanos, long paintNanos) {
+        long frameTime = updateNanos + paintNanos;
+        frames++;
+        lastFrameNanos = frameTime;
+        frameTimes.record(frameTime);
+        intervalFrames++;
+        intervalUpdateNanos += updateNanos;
+        intervalPaintNanos += paintNanos;
+        intervalMaxFrameNanos = Math.max(intervalMaxFrameNanos, frameTime);
+        if (frameTime > frameNanos) {
+            overBudgetFrames++;
+            intervalOverBudget++;
+        }
+
+        if (intervalFrames >= AppConstants.FRAME_STATS_INTERVAL) {
+            AppLogger.data("Frame clock", String.format(
+                    "%d frames, avg update %.2f ms, avg paint %.2f ms, max %.2f ms, %d over %.1f ms budget",
+                    intervalFrames,
+                    intervalUpdateNanos / 1_000_000.0 / intervalFrames,
+                    intervalPaintNanos / 1_000_000.0 / intervalFrames,
+                    intervalMaxFrameNanos / 1_000_000.0,
+                    intervalOverBudget,
+                    frameNanos / 1_000_000.0));
+            intervalFrames = 0;
+            intervalUpdateNanos = 0;
+            intervalPaintNanos = 0;
+            intervalMaxFrameNanos = 0;
+            intervalOverBudget = 0;
+        }
+    }
+
+    /**
+     * One animation callback registered on the clock
+     */
+    public final class Subscription {
+        private final String name;
+        private final long periodNanos;
+        private final BooleanSupplier callback;
+        private boolean active = false;
+        private long nextDueNanos;
+
+        private Subscription(String name, long periodNanos, BooleanSupplier callback) {
+            this.name = name;
+            this.periodNanos = periodNanos;
+            this.callback = callback;
+        }
+
+        /**
+         * Activates the callback; it first runs on the next frame
+         */
+        public void start() {
+            if (active) {
+                return;
+            }
+            active = true;
+            nextDueNanos = System.nanoTime();
+            reschedule();
+        }
+
+        /**
+         * Deactivates the callback
+         */
+        public void stop() {
+            if (!active) {
+                return;
+            }
+            active = false;
+            reschedule();
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        private void run(long frameStart) {
+            nextDueNanos = frameStart + periodNanos;
+            try {
+                if (!callback.getAsBoolean()) {
+                    active = false;
+                }
+            } catch (RuntimeException e) {
+                AppLogger.error("Animation " + name + " failed and was stopped", e);
+                active = false;
+            }
+        }
+    }
+}
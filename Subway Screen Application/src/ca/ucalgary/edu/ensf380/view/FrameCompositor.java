@@ -0,0 +1,249 @@
+/**
+ * Off-EDT Frame Composition
+ *
+ * Lets a panel draw its content on a dedicated render thread instead of the Event
+ * Dispatch Thread. On every paint the panel captures what it shows as an immutable
+ * frame object (positions, states, images to draw) and hands it to
+ * {@link #paint(Graphics2D, Object, int, int)}, which blits the latest completed
+ * buffer and, if the frame differs from the last one submitted, queues it for
+ * composition. The render thread composes the newest queued frame of each panel
+ * into a back buffer, swaps it with the front buffer and repaints the region the
+ * panel asked to have painted since the last composition (the union of the paint
+ * clips), so expensive drawing (gradients, antialiased shapes, image scaling) never
+ * competes with input and layout and small changes stay small repaints. Frames are
+ * compared with equals(), so the repaint that shows a completed buffer does not
+ * compose it again.
+ *
+ * Off by default; {@link #setEnabled(boolean)} switches it on for panels created
+ * afterwards. Compose times are recorded in the "compose.&lt;name&gt;" histogram of
+ * the {@link MetricsRegistry}.
+ *
+ * All methods except {@link #setEnabled(boolean)} and {@link #isEnabled()} must be
+ * called on the Event Dispatch Thread.
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+package ca.ucalgary.edu.ensf380.view;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.swing.JComponent;
+
+import ca.ucalgary.edu.ensf380.util.AppLogger;
+import ca.ucalgary.edu.ensf380.util.LatencyHistogram;
+import ca.ucalgary.edu.ensf380.util.MetricsRegistry;
+import ca.ucalgary.edu.ensf380.util.UiUpdateBridge;
+
+final class FrameCompositor<F> {
+    static final String HISTOGRAM_PREFIX = "compose.";
+
+    /**
+     * Draws a frame. Called on the render thread.
+     */
+    interface Composer<F> {
+        /**
+         * @param frame the frame captured on the EDT
+         * @param g2 graphics of the back buffer, scaled to panel pixels
+         */
+        void compose(F frame, Graphics2D g2);
+    }
+
+    private static volatile boolean enabled = false;
+
+    // One render thread serves every compositor; a panel is queued at most once
+    private static final BlockingQueue<FrameCompositor<?>> dirty = new LinkedBlockingQueue<>();
+    private static Thread renderThread;
+
+    private final String name;
+    private final JComponent target;
+    private final Composer<F> composer;
+    private final Color background;
+    private final LatencyHistogram composeTimes;
+
+    private final AtomicReference<Job<F>> pending = new AtomicReference<>();
+    private final AtomicBoolean queued = new AtomicBoolean(false);
+    private Job<F> submitted; // EDT only; last job queued for composition
+    private Rectangle invalidated; // EDT only; area to compose again on the next paint
+
+    // Front buffer (shown) and back buffer (composed into), swapped under the lock,
+    // and the panel area to repaint once the swapped-in buffer is shown
+    private final Object bufferLock = new Object();
+    private BufferedImage front;
+    private BufferedImage back;   // Render thread only outside the lock
+    private Rectangle composedDamage;
+
+    /**
+     * What to compose: a frame at a size, and the panel area that changed with it
+     */
+    private record Job<F>(F frame, int width, int height, double deviceScale, Rectangle damage) {
+        boolean shows(F otherFrame, int otherWidth, int otherHeight, double otherScale) {
+            return (frame == otherFrame || frame.equals(otherFrame))
+                    && width == otherWidth && height == otherHeight && deviceScale == otherScale;
+        }
+    }
+
+    /**
+     * @param name metrics name, e.g. "map"
+     * @param target the panel whose paint blits the composed frames
+     * @param composer draws a frame
+     * @param background shown until the first frame is composed
+     */
+    FrameCompositor(String name, JComponent target, Composer<F> composer, Color background) {
+        this.name = name;
+        this.target = target;
+        this.composer = composer;
+        this.background = background;
+        this.composeTimes = MetricsRegistry.getInstance().histogram(HISTOGRAM_PREFIX + name);
+        startRenderThread();
+    }
+
+    /**
+     * Composes panels created from now on off the EDT (or, when false, paints them
+     * directly as before)
+     */
+    static void setEnabled(boolean enable) {
+        enabled = enable;
+        if (enable) {
+            AppLogger.info("Off-EDT frame composition enabled");
+        }
+    }
+
+    static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Blits the latest composed buffer over the panel and queues the frame for
+     * composition unless it is the one last queued
+     *
+     * @param g2 the panel's graphics
+     * @param frame what the panel shows now
+     * @param width panel width
+     * @param height panel height
+     */
+    void paint(Graphics2D g2, F frame, int width, int height) {
+        double deviceScale = g2.getTransform().getScaleX();
+        if (submitted == null || !submitted.shows(frame, width, height, deviceScale)) {
+            // The frame changed within this paint's clip; a job replacing one that was
+            // not composed yet takes over its damage too
+            Rectangle clip = g2.getClipBounds();
+            if (clip == null) {
+                clip = new Rectangle(0, 0, width, height);
+            }
+            Rectangle changed = invalidated != null ? invalidated.union(clip) : clip;
+            invalidated = null;
+            Job<F> job;
+            Job<F> replaced;
+            do {
+                replaced = pending.get();
+                job = new Job<>(frame, width, height, deviceScale,
+                        replaced != null ? changed.union(replaced.damage()) : changed);
+            } while (!pending.compareAndSet(replaced, job));
+            submitted = job;
+            if (queued.compareAndSet(false, true)) {
+                dirty.add(this);
+            }
+        }
+
+        synchronized (bufferLock) {
+            if (front != null) {
+                g2.drawImage(front, 0, 0, width, height, null);
+                return;
+            }
+        }
+        g2.setColor(background);
+        g2.fillRect(0, 0, width, height);
+    }
+
+    /**
+     * Forces the next paint to compose again even if the frame is unchanged, e.g.
+     * when something the frame refers to (a cached tile) has become ready
+     */
+    void invalidate() {
+        submitted = null;
+        invalidated = new Rectangle(0, 0, target.getWidth(), target.getHeight());
+        target.repaint();
+    }
+
+    private static synchronized void startRenderThread() {
+        if (renderThread != null) {
+            return;
+        }
+        renderThread = new Thread(FrameCompositor::renderLoop, "Render-Compositor");
+        renderThread.setDaemon(true);
+        renderThread.start();
+        AppLogger.debug("Render thread started");
+    }
+
+    private static void renderLoop() {
+        while (true) {
+            FrameCompositor<?> compositor;
+            try {
+                compositor = dirty.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            compositor.queued.set(false);
+            try {
+                compositor.composePending();
+            } catch (RuntimeException e) {
+                AppLogger.error("Composing " + compositor.name + " frame failed", e);
+            }
+        }
+    }
+
+    /**
+     * Render thread: composes the newest pending job into the back buffer and swaps it in
+     */
+    private void composePending() {
+        Job<F> job = pending.getAndSet(null);
+        if (job == null || job.width() <= 0 || job.height() <= 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        int pixelWidth = (int) Math.ceil(job.width() * job.deviceScale());
+        int pixelHeight = (int) Math.ceil(job.height() * job.deviceScale());
+        if (back == null || back.getWidth() != pixelWidth || back.getHeight() != pixelHeight) {
+            back = new BufferedImage(pixelWidth, pixelHeight, BufferedImage.TYPE_INT_RGB);
+        }
+        Graphics2D g2 = back.createGraphics();
+        try {
+            g2.scale(job.deviceScale(), job.deviceScale());
+            composer.compose(job.frame(), g2);
+        } finally {
+            g2.dispose();
+        }
+        synchronized (bufferLock) {
+            BufferedImage shown = front;
+            front = back;
+            back = shown;
+            // The first buffer replaces the background, so all of it is shown
+            Rectangle changed = shown == null ? new Rectangle(0, 0, job.width(), job.height()) : job.damage();
+            composedDamage = composedDamage == null ? changed : composedDamage.union(changed);
+        }
+        composeTimes.record(System.nanoTime() - start);
+        UiUpdateBridge.getInstance().post(target, "composed", this::showComposed);
+    }
+
+    /**
+     * EDT: repaints the area that changed in the buffers swapped in since the last call
+     */
+    private void showComposed() {
+        Rectangle changed;
+        synchronized (bufferLock) {
+            changed = composedDamage;
+            composedDamage = null;
+        }
+        if (changed != null) {
+            target.repaint(changed);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * Frame Sink for Headless Rendering
+ *
+ * Destination for frames produced by the {@link HeadlessRenderer}. A sink is opened
+ * once with the frame size, receives every rendered frame and is closed on shutdown.
+ * Frames are always TYPE_INT_RGB images that the renderer reuses, so a sink must
+ * finish with the pixels before {@link #writeFrame} returns.
+ *
+ * Sink specs accepted by {@link #fromSpec(String)}:
+ * - raw:&lt;file&gt;   raw 32-bit BGRX pixels written over the file each frame (e.g. /dev/fb0)
+ * - png:&lt;dir&gt;    numbered PNG image sequence
+ * - jpeg:&lt;dir&gt;   numbered JPEG image sequence
+ * - shm:&lt;file&gt;   shared-memory buffer mapped from a file (e.g. /dev/shm/subway-screen)
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+package ca.ucalgary.edu.ensf380.view;
+
+import java.awt.image.BufferedImage;
+import java.io.Closeable;
+import java.io.IOException;
+
+public interface FrameSink extends Closeable {
+
+    /**
+     * Prepares the sink for frames of the given size
+     */
+    void open(int width, int height) throws IOException;
+
+    /**
+     * Writes one frame.
+     *
+     * @param frame the rendered frame; reused by the renderer after this call returns
+     * @param frameNumber sequence number of the frame, starting at 0
+     * @return number of bytes written for this frame
+     */
+    long writeFrame(BufferedImage frame, long frameNumber) throws IOException;
+
+    /**
+     * Creates a sink from a spec such as "png:out/frames" or "raw:/dev/fb0".
+     *
+     * @param spec the sink type and target separated by a colon
+     * @return a new, unopened sink
+     * @throws IllegalArgumentException if the spec is malformed or the type is unknown
+     */
+    static FrameSink fromSpec(String spec) {
+        int colon = spec == null ? -1 : spec.indexOf(':');
+        if (colon <= 0 || colon == spec.length() - 1) {
+            throw new IllegalArgumentException("Frame sink must be <type>:<target>, got: " + spec);
+        }
+        String type = spec.substring(0, colon).trim().toLowerCase();
+        String target = spec.substring(colon + 1).trim();
+
+        switch (type) {
+            case "raw":
+                return new RawFramebufferSink(target);
+            case "png":
+                return new ImageSequenceSink(target, "png");
+            case "jpg":
+            case "jpeg":
+                return new ImageSequenceSink(target, "jpeg");
+            case "shm":
+                return new SharedMemorySink(target);
+            default:
+                throw new IllegalArgumentException("Unknown frame sink type: " + type + " (expected raw, png, jpeg or shm)");
+        }
+    }
+}
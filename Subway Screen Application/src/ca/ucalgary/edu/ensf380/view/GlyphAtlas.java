@@ -0,0 +1,152 @@
+/**
+ * Glyph Atlas for Frequently Redrawn Text
+ *
+ * Renders a small fixed set of characters (e.g. the digits and colon of a clock)
+ * once, in one font and color, into a single translucent image. Drawing a string
+ * is then one image blit per character: no glyph lookup, shaping or antialiasing
+ * happens per frame. Characters outside the set are drawn with the font as usual.
+ *
+ * The atlas is re-rendered when the display scale changes, so glyphs stay sharp on
+ * HiDPI screens.
+ *
+ * Must be used on the Event Dispatch Thread.
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+package ca.ucalgary.edu.ensf380.view;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+final class GlyphAtlas {
+    private static final int PAD = 2; // Room for glyph overhang and antialiasing on each side
+
+    private final Font font;
+    private final Color color;
+    private final String glyphs;
+
+    // Layout in user-space pixels, measured on first use
+    private int[] advances;
+    private int[] cellX;
+    private int ascent;
+    private int cellHeight;
+
+    private BufferedImage image;
+    private double imageScale = 0;
+
+    // Copy of the text being drawn, for characters outside the atlas (no String per character)
+    private char[] chars = new char[0];
+
+    /**
+     * @param font font of every glyph
+     * @param color color of every glyph
+     * @param glyphs the characters the atlas holds, e.g. "0123456789:"
+     */
+    GlyphAtlas(Font font, Color color, String glyphs) {
+        this.font = font;
+        this.color = color;
+        this.glyphs = glyphs;
+    }
+
+    /**
+     * Width of a string as {@link #drawString} draws it
+     */
+    int stringWidth(Graphics2D g2, String text) {
+        ensureLayout(g2);
+        FontMetrics fm = null;
+        int width = 0;
+        for (int i = 0; i < text.length(); i++) {
+            int glyph = glyphs.indexOf(text.charAt(i));
+            if (glyph >= 0) {
+                width += advances[glyph];
+            } else {
+                if (fm == null) {
+                    fm = g2.getFontMetrics(font);
+                }
+                width += fm.charWidth(text.charAt(i));
+            }
+        }
+        return width;
+    }
+
+    /**
+     * Draws a string with its baseline starting at (x, y)
+     */
+    void drawString(Graphics2D g2, String text, int x, int y) {
+        ensureLayout(g2);
+        double deviceScale = g2.getTransform().getScaleX();
+        if (image == null || deviceScale != imageScale) {
+            render(deviceScale);
+        }
+        int top = y - ascent - PAD;
+        boolean copied = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int glyph = glyphs.indexOf(c);
+            if (glyph < 0) {
+                if (!copied) {
+                    if (chars.length < text.length()) {
+                        chars = new char[text.length()];
+                    }
+                    text.getChars(0, text.length(), chars, 0);
+                    copied = true;
+                }
+                g2.setFont(font);
+                g2.setColor(color);
+                g2.drawChars(chars, i, 1, x, y);
+                x += g2.getFontMetrics().charWidth(c);
+                continue;
+            }
+            int width = advances[glyph] + 2 * PAD;
+            int height = cellHeight + 2 * PAD;
+            int sx = (int) Math.round(cellX[glyph] * deviceScale);
+            g2.drawImage(image, x - PAD, top, x - PAD + width, top + height,
+                    sx, 0, sx + (int) Math.round(width * deviceScale), (int) Math.round(height * deviceScale), null);
+            x += advances[glyph];
+        }
+    }
+
+    private void ensureLayout(Graphics2D g2) {
+        if (advances != null) {
+            return;
+        }
+        FontMetrics fm = g2.getFontMetrics(font);
+        advances = new int[glyphs.length()];
+        cellX = new int[glyphs.length()];
+        int x = 0;
+        for (int i = 0; i < glyphs.length(); i++) {
+            advances[i] = fm.charWidth(glyphs.charAt(i));
+            cellX[i] = x;
+            x += advances[i] + 2 * PAD;
+        }
+        ascent = fm.getAscent();
+        cellHeight = fm.getAscent() + fm.getDescent();
+    }
+
+    private void render(double deviceScale) {
+        int width = cellX[glyphs.length() - 1] + advances[glyphs.length() - 1] + 2 * PAD;
+        int height = cellHeight + 2 * PAD;
+        image = new BufferedImage((int) Math.ceil(width * deviceScale), (int) Math.ceil(height * deviceScale),
+                BufferedImage.TYPE_INT_ARGB_PRE);
+        imageScale = deviceScale;
+
+        Graphics2D g2 = image.createGraphics();
+        try {
+            g2.scale(deviceScale, deviceScale);
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2.setFont(font);
+            g2.setColor(color);
+            char[] glyphChars = glyphs.toCharArray();
+            for (int i = 0; i < glyphChars.length; i++) {
+                g2.drawChars(glyphChars, i, 1, cellX[i] + PAD, PAD + ascent);
+            }
+        } finally {
+            g2.dispose();
+        }
+    }
+}
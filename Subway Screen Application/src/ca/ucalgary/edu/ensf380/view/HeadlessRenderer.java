@@ -0,0 +1,163 @@
+/**
+ * Headless Renderer for Signage Controllers
+ *
+ * Drives an offscreen {@link SubwayScreenGUI} at a fixed frame rate: every tick
+ * paints the full screen (map, ads, weather, news, station info) into one reusable
+ * BufferedImage on the Event Dispatch Thread, then hands the frame to a
+ * {@link FrameSink} on the render task's own thread.
+ *
+ * Frame time (paint + sink write) and bytes per frame are tracked and reported
+ * every {@link AppConstants#HEADLESS_STATS_INTERVAL} frames.
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+package ca.ucalgary.edu.ensf380.view;
+
+import java.awt.EventQueue;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import ca.ucalgary.edu.ensf380.util.AppConstants;
+import ca.ucalgary.edu.ensf380.util.AppLogger;
+import ca.ucalgary.edu.ensf380.util.TaskRuntime;
+
+public class HeadlessRenderer {
+    private final SubwayScreenGUI gui;
+    private final FrameSink sink;
+    private final String name;
+    private final int frameRate;
+    private final BufferedImage frame;
+
+    private ScheduledFuture<?> renderTask;
+    private boolean sinkOpen = false;
+
+    // Statistics (only touched by the render task; read for reporting)
+    private volatile long framesRendered = 0;
+    private volatile long lastBytesPerFrame = 0;
+    private long intervalFrameTimeNanos = 0;
+    private long intervalMaxFrameTimeNanos = 0;
+    private long intervalBytes = 0;
+    private int intervalFrames = 0;
+
+    /**
+     * @param name short name used for the task group and log messages (e.g. "train-1")
+     * @param gui an offscreen screen (built with windowed = false)
+     * @param sink destination for rendered frames
+     * @param frameRate frames per second
+     */
+    public HeadlessRenderer(String name, SubwayScreenGUI gui, FrameSink sink, int frameRate) {
+        if (gui.isWindowed()) {
+            throw new IllegalArgumentException("Headless rendering requires an offscreen screen");
+        }
+        if (frameRate <= 0) {
+            throw new IllegalArgumentException("Frame rate must be positive: " + frameRate);
+        }
+        this.name = name;
+        this.gui = gui;
+        this.sink = sink;
+        this.frameRate = frameRate;
+        this.frame = new BufferedImage(AppConstants.MAIN_WINDOW_WIDTH, AppConstants.MAIN_WINDOW_HEIGHT,
+                BufferedImage.TYPE_INT_RGB);
+    }
+
+    /**
+     * Opens the sink and starts rendering at the configured frame rate
+     *
+     * @throws IOException if the sink cannot be opened
+     */
+    public synchronized void start() throws IOException {
+        if (renderTask != null) {
+            return;
+        }
+        sink.open(frame.getWidth(), frame.getHeight());
+        sinkOpen = true;
+
+        long periodNanos = TimeUnit.SECONDS.toNanos(1) / frameRate;
+        renderTask = TaskRuntime.getInstance().group("headless-render-" + name).scheduleAtFixedRate("frame", 0,
+                periodNanos, TimeUnit.NANOSECONDS, this::renderFrame);
+        AppLogger.info("Headless renderer started for " + name + " at " + frameRate + " fps");
+    }
+
+    /**
+     * Stops rendering and closes the sink
+     */
+    public synchronized void stop() {
+        if (renderTask != null) {
+            renderTask.cancel(false);
+            renderTask = null;
+        }
+        if (sinkOpen) {
+            try {
+                sink.close();
+            } catch (IOException e) {
+                AppLogger.warning("Error closing frame sink for " + name, e);
+            }
+            sinkOpen = false;
+        }
+        AppLogger.info("Headless renderer stopped for " + name + " after " + framesRendered + " frames");
+    }
+
+    public long getFramesRendered() {
+        return framesRendered;
+    }
+
+    public long getLastBytesPerFrame() {
+        return lastBytesPerFrame;
+    }
+
+    /**
+     * Renders one frame and writes it to the sink
+     */
+    private void renderFrame() {
+        long startTime = System.nanoTime();
+        boolean[] painted = {false};
+        try {
+            EventQueue.invokeAndWait(() -> painted[0] = gui.renderFrame(frame));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (InvocationTargetException e) {
+            AppLogger.error("Error painting headless frame for " + name, e.getCause());
+            return;
+        }
+        if (!painted[0]) {
+            return; // Screen not built yet
+        }
+
+        long bytes;
+        try {
+            bytes = sink.writeFrame(frame, framesRendered);
+        } catch (IOException e) {
+            AppLogger.error("Error writing headless frame for " + name, e);
+            return;
+        }
+
+        recordFrame(System.nanoTime() - startTime, bytes);
+    }
+
+    private void recordFrame(long frameTimeNanos, long bytes) {
+        framesRendered++;
+        lastBytesPerFrame = bytes;
+        intervalFrames++;
+        intervalBytes += bytes;
+        intervalFrameTimeNanos += frameTimeNanos;
+        intervalMaxFrameTimeNanos = Math.max(intervalMaxFrameTimeNanos, frameTimeNanos);
+        AppLogger.performance("Headless frame " + name, TimeUnit.NANOSECONDS.toMillis(frameTimeNanos));
+
+        if (intervalFrames >= AppConstants.HEADLESS_STATS_INTERVAL) {
+            AppLogger.data("Headless render", String.format("%s: %d frames, avg frame %.2f ms, max %.2f ms, %d bytes/frame",
+                    name, intervalFrames,
+                    intervalFrameTimeNanos / 1_000_000.0 / intervalFrames,
+                    intervalMaxFrameTimeNanos / 1_000_000.0,
+                    intervalBytes / intervalFrames));
+            intervalFrames = 0;
+            intervalBytes = 0;
+            intervalFrameTimeNanos = 0;
+            intervalMaxFrameTimeNanos = 0;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * Image Sequence Sink
+ *
+ * Encodes each frame as a numbered PNG or JPEG file (frame_000000.png, ...) in an
+ * output directory, for recording or for players that consume image sequences.
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+package ca.ucalgary.edu.ensf380.view;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+import ca.ucalgary.edu.ensf380.util.AppLogger;
+
+public class ImageSequenceSink implements FrameSink {
+    private final File directory;
+    private final String format;
+
+    /**
+     * @param directory output directory, created if missing
+     * @param format ImageIO format name ("png" or "jpeg")
+     */
+    public ImageSequenceSink(String directory, String format) {
+        this.directory = new File(directory);
+        this.format = format;
+    }
+
+    @Override
+    public void open(int width, int height) throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Could not create frame directory: " + directory);
+        }
+        AppLogger.info("Image sequence sink opened: " + directory + " (" + format + ", " + width + "x" + height + ")");
+    }
+
+    @Override
+    public long writeFrame(BufferedImage frame, long frameNumber) throws IOException {
+        String extension = "jpeg".equals(format) ? "jpg" : format;
+        File file = new File(directory, String.format("frame_%06d.%s", frameNumber, extension));
+        if (!ImageIO.write(frame, format, file)) {
+            throw new IOException("No ImageIO writer for format " + format);
+        }
+        return file.length();
+    }
+
+    @Override
+    public void close() {
+        // Each frame is a complete file; nothing to flush
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Label Collision Grid
+ *
+ * Uniform grid over the map used to place station labels without overlap. Every
+ * occupied rectangle (station glyphs and labels already placed) is recorded in the
+ * cells it covers, so testing a candidate label only looks at the few rectangles
+ * near it instead of every label on the map.
+ *
+ * Used while placing the labels of one map zoom level; not thread-safe.
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+package ca.ucalgary.edu.ensf380.view;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+final class LabelCollisionGrid {
+    private final int width;
+    private final int height;
+    private final int cellSize;
+    private final int columns;
+    private final int rows;
+    private final List<List<Rectangle>> cells; // Row-major; a cell's list is created on first use
+
+    /**
+     * @param width width of the area in pixels
+     * @param height height of the area in pixels
+     * @param cellSize grid cell size in pixels (about the height of a label)
+     */
+    LabelCollisionGrid(int width, int height, int cellSize) {
+        this.width = width;
+        this.height = height;
+        this.cellSize = cellSize;
+        this.columns = Math.max(1, (width + cellSize - 1) / cellSize);
+        this.rows = Math.max(1, (height + cellSize - 1) / cellSize);
+        this.cells = new ArrayList<>(Collections.nCopies(columns * rows, null));
+    }
+
+    /**
+     * Marks a rectangle as occupied whether or not it overlaps anything
+     */
+    void occupy(Rectangle r) {
+        int col0 = column(r.x), col1 = column(r.x + r.width - 1);
+        int row0 = row(r.y), row1 = row(r.y + r.height - 1);
+        for (int row = row0; row <= row1; row++) {
+            for (int col = col0; col <= col1; col++) {
+                int index = row * columns + col;
+                List<Rectangle> cell = cells.get(index);
+                if (cell == null) {
+                    cell = new ArrayList<>(4);
+                    cells.set(index, cell);
+                }
+                cell.add(r);
+            }
+        }
+    }
+
+    /**
+     * Occupies the rectangle if it lies within the area and overlaps nothing placed so far
+     *
+     * @return true if the rectangle was placed
+     */
+    boolean tryPlace(Rectangle r) {
+        if (r.x < 0 || r.y < 0 || r.x + r.width > width || r.y + r.height > height) {
+            return false;
+        }
+        int col0 = column(r.x), col1 = column(r.x + r.width - 1);
+        int row0 = row(r.y), row1 = row(r.y + r.height - 1);
+        for (int row = row0; row <= row1; row++) {
+            for (int col = col0; col <= col1; col++) {
+                List<Rectangle> cell = cells.get(row * columns + col);
+                if (cell == null) {
+                    continue;
+                }
+                for (Rectangle placed : cell) {
+                    if (placed.intersects(r)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        occupy(r);
+        return true;
+    }
+
+    private int column(int x) {
+        return Math.max(0, Math.min(columns - 1, x / cellSize));
+    }
+
+    private int row(int y) {
+        return Math.max(0, Math.min(rows - 1, y / cellSize));
+    }
+}
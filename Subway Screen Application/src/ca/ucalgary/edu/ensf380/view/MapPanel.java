@@ -13,6 +13,17 @@
  * - Hover effects and click handling
  * - Professional visual styling with shadows and gradients
  * - Responsive design and scaling
+ * - Zoom (mouse wheel) and pan (drag) over map tiles rendered in the background
+ * - Optional composition on the render thread (see {@link FrameCompositor})
+ *
+ * Each paint captures what the map shows as an immutable {@link MapFrame} and
+ * draws only from that, so the frame can equally be drawn on the EDT or composed
+ * on the render thread while the panel keeps changing.
+ *
+ * Train updates may come from any thread. Each one is copied into an immutable
+ * {@link TrainsView} that replaces the previous one atomically; the EDT then moves
+ * the animated trains toward the newest view. The panel never keeps a reference to
+ * the caller's list or its trains.
  * 
  * @author Subway Screen Development Team
  * @version 2.0
@@ -24,28 +35,37 @@ import ca.ucalgary.edu.ensf380.controller.ReadSimulatorOutput;
 import ca.ucalgary.edu.ensf380.model.Station;
 import ca.ucalgary.edu.ensf380.model.Train;
 import ca.ucalgary.edu.ensf380.util.AppConstants;
+import ca.ucalgary.edu.ensf380.util.AppLogger;
+import ca.ucalgary.edu.ensf380.util.UiUpdateBridge;
 
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseMotionListener;
 import java.awt.geom.Ellipse2D;
-import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
-import javax.swing.Timer;
 
 public class MapPanel extends JPanel {
     private ArrayList<Station> stations;
-    private ArrayList<Train> trainInfo;
     private final String trainNum;
     private Point mousePoint = null;
     private Station hoveredStation = null;
     private Station clickedStation = null;
-    private java.util.List<AnimatedTrain> animatedTrains = new ArrayList<>();
-    private Timer animationTimer;
-    private Timer hoverAnimationTimer;
+    
+    // Latest published train view (any thread), the view the animated trains follow
+    // (EDT only), and those trains in view order and by id; the list is replaced, never modified
+    private volatile TrainsView trainsView = TrainsView.EMPTY;
+    private TrainsView appliedTrains = TrainsView.EMPTY;
+    private java.util.List<AnimatedTrain> animatedTrains = java.util.List.of();
+    private final HashMap<String, AnimatedTrain> trainsById = new HashMap<>();
+    private final AnimationLifecycle animations = new AnimationLifecycle(this, "map");
+    private final AnimationLifecycle.Animation trainAnimation;
+    private final AnimationLifecycle.Animation hoverAnimation;
+    private final AnimationLifecycle.Animation clickAnimation;
+    private int clickPulses = 0;
     private float hoverPulse = 0.0f;
     private boolean showStationDetails = false;
 
@@ -53,43 +73,129 @@ public class MapPanel extends JPanel {
     private double minX, maxX, minY, maxY, scale;
     private int offsetX, offsetY;
     
-    // Modern color scheme
-    private static final Color BACKGROUND_COLOR = new Color(15, 23, 42); // Dark slate
-    private static final Color GRID_COLOR = new Color(30, 41, 59, 80); // Subtle grid
-    private static final Color TEXT_COLOR = new Color(241, 245, 249); // Light text
+    // Static map tiles: background, grid, lines, stations and labels are rendered in
+    // the background per zoom level; each frame only blits tiles plus the overlay
+    private MapTileCache tiles;
+    private int tilesWidth, tilesHeight;
+    private HashMap<String, java.util.List<Station>> linesByOrder;
+    private HashMap<String, Integer> stationLineCount;
+    private HashMap<String, Boolean> isTerminal;
+    private HashMap<String, Station> stationsByCode;
+    private HashMap<String, TrackGeometry> tracks;  // Arc-length tables of each line, keyed like linesByOrder
     
-    // Line colors - modern and vibrant
-    private static final Color RED_LINE = new Color(239, 68, 68); // Modern red
-    private static final Color GREEN_LINE = new Color(34, 197, 94); // Modern green  
-    private static final Color BLUE_LINE = new Color(59, 130, 246); // Modern blue
+    // Viewport: zoom level (0 = fitted to the panel) and pan offset in pixels of that level
+    private int zoomLevel = 0;
+    private double zoom = 1.0;
+    private int viewX, viewY;
+    private Point dragPoint = null;
+    private boolean simplified;                     // Level of detail at the current zoom level
+    
+    // Modern color scheme
+    static final Color BACKGROUND_COLOR = new Color(15, 23, 42); // Dark slate
+    static final Color TEXT_COLOR = new Color(241, 245, 249); // Light text
     
     // Station colors
-    private static final Color REGULAR_STATION = new Color(241, 245, 249); // White
-    private static final Color TRANSFER_STATION = new Color(255, 193, 7); // Amber
-    private static final Color TERMINAL_STATION = new Color(239, 68, 68); // Red
+    static final Color REGULAR_STATION = new Color(241, 245, 249); // White
+    static final Color TRANSFER_STATION = new Color(255, 193, 7); // Amber
+    static final Color TERMINAL_STATION = new Color(239, 68, 68); // Red
     private static final Color TRAIN_COLOR = new Color(16, 185, 129); // Emerald
+    private static final Color SELECTED_TRAIN_COLOR = new Color(59, 130, 246); // Blue
+    
+    // Fixed drawing colors; colors that fade with a pulse come from the alpha ramps below
+    static final Color STATION_SHADOW = new Color(0, 0, 0, 100);
+    private static final Color STATION_SHADOW_ACTIVE = new Color(0, 0, 0, 150);
+    static final Color STATION_BORDER = new Color(30, 41, 59);
+    static final Color TRANSFER_CENTER = new Color(0, 0, 0, 200);
+    private static final Color REGULAR_STATION_HOVER = brightenColor(REGULAR_STATION, 0.2f);
+    private static final Color TRANSFER_STATION_HOVER = brightenColor(TRANSFER_STATION, 0.2f);
+    private static final Color TERMINAL_STATION_HOVER = brightenColor(TERMINAL_STATION, 0.2f);
+    private static final Color TRAIN_GLOW = new Color(16, 185, 129, 50);
+    private static final Color SELECTED_TRAIN_GLOW = new Color(59, 130, 246, 80);
+    private static final Color TRAIN_LABEL_COLOR = new Color(59, 130, 246, 200);
+    private static final Color TRAIN_LABEL_BACKGROUND = new Color(30, 41, 59, 200);
+    private static final Color TRAIN_LABEL_TEXT = new Color(147, 197, 253);
+    private static final Color TOOLTIP_TOP = new Color(30, 41, 59, 240);
+    private static final Color TOOLTIP_BOTTOM = new Color(15, 23, 42, 240);
+    private static final Color TOOLTIP_DETAILED_TOP = new Color(16, 185, 129, 240);
+    private static final Color TOOLTIP_DETAILED_BOTTOM = new Color(6, 78, 59, 240);
+    private static final Color TOOLTIP_BORDER = new Color(71, 85, 105, 200);
+    private static final Color TOOLTIP_DETAILED_BORDER = new Color(16, 185, 129, 200);
+    private static final Color TOOLTIP_DETAIL_COLOR = new Color(156, 163, 175);
+    
+    // Alpha ramps (index = alpha 0..255) for pulse-dependent colors
+    private static final Color[] STATION_GLOW_RAMP = alphaRamp(16, 185, 129);
+    private static final Color[] SHADOW_RAMP = alphaRamp(0, 0, 0);
+    private static final Color[] WHITE_RAMP = alphaRamp(255, 255, 255);
+    private static final Color[] TRAIN_BODY_RAMP = alphaRamp(16, 185, 129);
+    private static final Color[] SELECTED_TRAIN_BODY_RAMP = alphaRamp(59, 130, 246);
+    private static final Color[] TRAIN_BORDER_RAMP = alphaRamp(6, 78, 59);
+    private static final Color[] SELECTED_TRAIN_BORDER_RAMP = alphaRamp(29, 78, 216);
+    private static final Color[] ARROW_RAMP = alphaRamp(241, 245, 249);
+    
+    // Strokes
+    private static final BasicStroke THIN_STROKE = new BasicStroke(1f);
+    static final BasicStroke MEDIUM_STROKE = new BasicStroke(2f);
+    private static final BasicStroke THICK_STROKE = new BasicStroke(3f);
     
     // Typography
-    private static final Font STATION_FONT = new Font("Segoe UI", Font.BOLD, 11);
     private static final Font TOOLTIP_FONT = new Font("Segoe UI", Font.PLAIN, 12);
+    private static final Font TRAIN_LABEL_FONT = new Font("Segoe UI", Font.BOLD, 9);
+    private static final Font TRAIN_NUMBER_FONT = new Font("Segoe UI", Font.BOLD, 10);
+    private static final Font SELECTED_TRAIN_NUMBER_FONT = new Font("Segoe UI", Font.BOLD, 11);
+    private static final Font TOOLTIP_TITLE_FONT = new Font("Segoe UI", Font.BOLD, 14);
+    private static final Font TOOLTIP_DETAIL_FONT = new Font("Segoe UI", Font.PLAIN, 11);
+    private static final String SELECTED_TRAIN_LABEL = "YOUR TRAIN";
+    
+    // Train dirty-region extents (see drawEnhancedTrain / drawDirectionIndicator)
+    private static final int TRAIN_GLOW_MARGIN = 6;
+    private static final int TRAIN_ARROW_REACH = 16;
+    private static final int TRAIN_BOUNDS_PADDING = 3;   // Shadow offset, strokes and antialiasing
+    private static final double ARROW_HEAD_COS = Math.cos(Math.PI / 6);
+    private static final double ARROW_HEAD_SIN = Math.sin(Math.PI / 6);
+    
+    // Off-EDT composition, or null when frames are drawn directly on the EDT
+    private final FrameCompositor<MapFrame> compositor;
+    private final int selectedLabelHalfWidth;
+    private final double[] heading = new double[2]; // Frame capture scratch, EDT only
+    private MapFrame lastFrame; // EDT only; captured again only once something it shows changes
+    
+    // Reusable drawing state, used only by the thread that draws frames
+    private final Ellipse2D.Float ellipse = new Ellipse2D.Float();
+    private final java.util.List<String> tooltipLines = new ArrayList<>();
+    private Station tooltipStation;
+    private boolean tooltipDetailed;
+    private int tooltipWidth;
+    private final CardSprite tooltipCard = new CardSprite(15, 0, null, TOOLTIP_TOP, TOOLTIP_BOTTOM,
+            THIN_STROKE, TOOLTIP_BORDER);
+    private final CardSprite detailedTooltipCard = new CardSprite(15, 0, null, TOOLTIP_DETAILED_TOP, TOOLTIP_DETAILED_BOTTOM,
+            MEDIUM_STROKE, TOOLTIP_DETAILED_BORDER);
 
     public MapPanel(ArrayList<Station> stations, String trainNumber) {
         this.stations = stations;
         this.trainNum = trainNumber;
         setBackground(BACKGROUND_COLOR);
-        setTrains();
+        this.compositor = FrameCompositor.isEnabled()
+                ? new FrameCompositor<>("map", this, this::composeFrame, BACKGROUND_COLOR) : null;
+        this.selectedLabelHalfWidth = getFontMetrics(TRAIN_LABEL_FONT).stringWidth(SELECTED_TRAIN_LABEL) / 2 + 8;
+        // Train positions arrive through updateTrainPositions() from the shared snapshot feed
         
-        // Animation timer for smooth train movement
-        animationTimer = new Timer(16, e -> animateTrains()); // ~60 FPS
-        animationTimer.start();
+        // Smooth train movement; runs only while a train is moving or pulsing
+        trainAnimation = animations.add("trains", AppConstants.ANIMATION_FRAME_RATE, this::animateTrains);
         
-        // Hover animation timer
-        hoverAnimationTimer = new Timer(50, e -> {
+        // Hover pulse; runs only while a station is hovered
+        hoverAnimation = animations.add("hover", AppConstants.HOVER_ANIMATION_RATE, () -> {
+            if (hoveredStation == null) return false;
             hoverPulse += 0.2f;
             if (hoverPulse > Math.PI * 2) hoverPulse = 0.0f;
-            if (hoveredStation != null) repaint();
+            repaint();
+            return true;
+        });
+        
+        // Click feedback: three quick repaints after a station is clicked
+        clickAnimation = animations.add("click", AppConstants.CLICK_FEEDBACK_RATE, () -> {
+            repaint();
+            return --clickPulses > 0;
         });
-        hoverAnimationTimer.start();
         
         // Enhanced mouse interaction
         addMouseMotionListener(new MouseMotionListener() {
@@ -102,12 +208,21 @@ public class MapPanel extends JPanel {
                     setCursor(hoveredStation != null ? 
                         Cursor.getPredefinedCursor(Cursor.HAND_CURSOR) : 
                         Cursor.getDefaultCursor());
+                    if (hoveredStation != null) hoverAnimation.request();
                     repaint();
                 }
             }
-            public void mouseDragged(MouseEvent e) {}
+            public void mouseDragged(MouseEvent e) {
+                if (dragPoint != null) {
+                    panBy(e.getX() - dragPoint.x, e.getY() - dragPoint.y);
+                    dragPoint = e.getPoint();
+                }
+            }
         });
         
+        // Wheel zooms around the pointer, dragging pans
+        addMouseWheelListener(e -> zoomAt(zoomLevel - e.getWheelRotation(), e.getPoint()));
+        
         // Add click listener for station interactions
         addMouseListener(new MouseAdapter() {
             @Override
@@ -115,9 +230,21 @@ public class MapPanel extends JPanel {
                 Station clicked = getStationAtPoint(e.getPoint());
                 if (clicked != null) {
                     handleStationClick(clicked);
+                } else if (e.getClickCount() == 2) {
+                    resetView();
                 }
             }
             
+            @Override
+            public void mousePressed(MouseEvent e) {
+                dragPoint = e.getPoint();
+            }
+            
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                dragPoint = null;
+            }
+            
             @Override
             public void mouseExited(MouseEvent e) {
                 hoveredStation = null;
@@ -127,12 +254,65 @@ public class MapPanel extends JPanel {
         });
     }
 
-    private void animateTrains() {
-        // Move each animated train toward its target
-        for (AnimatedTrain t : animatedTrains) {
-            t.updatePosition();
+    /**
+     * Advances the train animation one frame.
+     *
+     * @return true while any train is still moving or pulsing
+     */
+    private boolean animateTrains() {
+        // Move each animated train toward its target and repaint only the regions that
+        // changed: the union of every moved train's old and new bounds
+        Rectangle dirty = null;
+        long now = System.nanoTime();
+        for (int i = 0; i < animatedTrains.size(); i++) {
+            AnimatedTrain t = animatedTrains.get(i);
+            Rectangle previous = t.paintedBounds != null ? t.paintedBounds : getTrainBounds(t);
+            if (!t.updatePosition(now)) {
+                continue;
+            }
+            Rectangle bounds = getTrainBounds(t);
+            dirty = union(dirty, previous);
+            dirty = union(dirty, bounds);
+            t.paintedBounds = bounds;
         }
-        repaint();
+        if (dirty == null) {
+            return false;
+        }
+        repaint(dirty);
+        return true;
+    }
+    
+    private static Rectangle union(Rectangle a, Rectangle b) {
+        if (b == null) return a;
+        if (a == null) return new Rectangle(b);
+        a.add(b);
+        return a;
+    }
+    
+    /**
+     * Screen area covered by a train including its glow, shadow, direction arrow
+     * and, for the selected train, the "YOUR TRAIN" label.
+     */
+    private Rectangle getTrainBounds(AnimatedTrain train) {
+        return trainBounds(sx(train.x), sy(train.y), isSelectedTrain(train));
+    }
+    
+    private Rectangle trainBounds(int centerX, int centerY, boolean selected) {
+        int trainSize = selected ? AppConstants.TRAIN_SIZE_SELECTED : AppConstants.TRAIN_SIZE;
+        
+        // Glow extends 6px past the body; the direction arrow reaches 16px from the centre
+        int radius = Math.max(trainSize / 2 + TRAIN_GLOW_MARGIN, TRAIN_ARROW_REACH) + TRAIN_BOUNDS_PADDING;
+        int left = radius, right = radius, top = radius, bottom = radius;
+        if (selected) {
+            left = Math.max(left, selectedLabelHalfWidth);
+            right = Math.max(right, selectedLabelHalfWidth);
+            bottom = Math.max(bottom, trainSize / 2 + 16 + TRAIN_BOUNDS_PADDING);
+        }
+        return new Rectangle(centerX - left, centerY - top, left + right, top + bottom);
+    }
+    
+    private boolean isSelectedTrain(AnimatedTrain train) {
+        return train.id.equals(trainNum);
     }
 
     private void computeMapTransform() {
@@ -154,8 +334,13 @@ public class MapPanel extends JPanel {
         offsetY = (int) ((panelHeight - (maxY - minY) * scale) / 2);
     }
 
-    private int sx(double csvX) { return (int) ((csvX - minX) * scale) + offsetX; }
-    private int sy(double csvY) { return (int) ((csvY - minY) * scale) + offsetY; }
+    private int sx(double csvX) { return project(csvX, minX, scale, offsetX, zoom, viewX); }
+    private int sy(double csvY) { return project(csvY, minY, scale, offsetY, zoom, viewY); }
+    
+    // Same rounding as MapTileRenderer, so overlays line up with the tiles
+    private static int project(double csv, double min, double scale, int offset, double zoom, int view) {
+        return (int) (((csv - min) * scale + offset) * zoom) - view;
+    }
 
     // Build line-to-stations map in correct order
     private HashMap<String, java.util.List<Station>> buildLinesByOrder() {
@@ -211,235 +396,397 @@ public class MapPanel extends JPanel {
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        computeMapTransform();
+        if (getWidth() <= 0 || getHeight() <= 0) return;
         Graphics2D g2 = (Graphics2D) g.create();
         
+        // Static map tiles are rendered in the background, never here
+        ensureTiles(g2.getTransform().getScaleX());
+        MapFrame frame = captureFrame();
+        if (compositor != null) {
+            compositor.paint(g2, frame, getWidth(), getHeight());
+        } else {
+            composeFrame(frame, g2);
+        }
+        
+        g2.dispose();
+    }
+    
+    /**
+     * Copies everything the next frame shows, or returns the previous frame if none of
+     * it has changed. EDT only.
+     */
+    private MapFrame captureFrame() {
+        Station clickedNow = showStationDetails ? clickedStation : null;
+        if (lastFrame != null && lastFrame.shows(this, clickedNow)) {
+            return lastFrame;
+        }
+        StationGlyph hovered = hoveredStation != null ? glyphOf(hoveredStation) : null;
+        StationGlyph clicked = clickedNow != null ? glyphOf(clickedNow) : null;
+        java.util.List<TrainGlyph> trains = new ArrayList<>(animatedTrains.size());
+        for (int i = 0; i < animatedTrains.size(); i++) {
+            AnimatedTrain t = animatedTrains.get(i);
+            boolean moving = t.headingAt(heading);
+            trains.add(new TrainGlyph(t.id, isSelectedTrain(t), t.x, t.y, t.getPulseAlpha(), t.isPulsing(),
+                    moving, moving ? heading[0] : 0, moving ? heading[1] : 0));
+        }
+        lastFrame = new MapFrame(getWidth(), getHeight(), tiles, minX, minY, scale, offsetX, offsetY,
+                zoomLevel, zoom, viewX, viewY, simplified, hovered, clicked, hovered != null ? hoverPulse : 0,
+                trains);
+        return lastFrame;
+    }
+    
+    private StationGlyph glyphOf(Station station) {
+        String code = station.getCode();
+        return new StationGlyph(station, stationLineCount.getOrDefault(code, 0) > 1, isTerminal.getOrDefault(code, false));
+    }
+    
+    /**
+     * Draws a frame: tiles, then interactive stations, trains and the tooltip. Runs
+     * on the EDT, or on the render thread when composition is off the EDT.
+     */
+    private void composeFrame(MapFrame frame, Graphics2D g2) {
+        // Static map from cached tiles
+        drawTiles(g2, frame);
+        
         // Enable high-quality rendering
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
         g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
         g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
         g2.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
 
-        // Draw background
-        g2.setColor(BACKGROUND_COLOR);
-        g2.fillRect(0, 0, getWidth(), getHeight());
-        
-        // Draw subtle grid
-        drawGrid(g2);
-
-        // Draw subway lines with modern styling
-        drawSubwayLines(g2);
-        
-        // Draw stations with proper hierarchy
-        drawStations(g2);
+        // Hovered/clicked stations are redrawn over the tiles with their effects
+        drawInteractiveStations(g2, frame);
 
         // Draw animated trains
-        drawTrains(g2);
+        drawTrains(g2, frame);
 
         // Draw tooltip if hovering over a station
-        if (hoveredStation != null) {
-            drawTooltip(g2, hoveredStation);
+        if (frame.hovered() != null) {
+            drawTooltip(g2, frame);
         }
-        
-        g2.dispose();
     }
     
-    private void drawGrid(Graphics2D g2) {
-        g2.setColor(GRID_COLOR);
-        g2.setStroke(new BasicStroke(0.5f));
-        
-        int gridSize = 50;
-        for (int x = 0; x < getWidth(); x += gridSize) {
-            g2.drawLine(x, 0, x, getHeight());
-        }
-        for (int y = 0; y < getHeight(); y += gridSize) {
-            g2.drawLine(0, y, getWidth(), y);
+    /**
+     * Replaces the tile cache if it is missing or no longer matches the panel size or
+     * display scale. Only copies the map geometry; tiles are rendered on demand.
+     *
+     * @param deviceScale the display scale of the target graphics (e.g. 2.0 on HiDPI)
+     */
+    private void ensureTiles(double deviceScale) {
+        if (tiles != null && tilesWidth == getWidth() && tilesHeight == getHeight()
+                && tiles.getRenderer().getDeviceScale() == deviceScale) {
+            return;
         }
+        computeMapTransform();
+        ensureTopology();
+        tilesWidth = getWidth();
+        tilesHeight = getHeight();
+        tiles = new MapTileCache(new MapTileRenderer(stations, linesByOrder, stationLineCount, isTerminal,
+                minX, minY, scale, offsetX, offsetY, tilesWidth, tilesHeight, AppConstants.MAP_TILE_SIZE, deviceScale));
+        applyViewport(zoomLevel, viewX, viewY);
+        AppLogger.debug("Map tiles reset for " + tilesWidth + "x" + tilesHeight + " at scale " + deviceScale);
     }
     
-    private void drawSubwayLines(Graphics2D g2) {
-        HashMap<String, java.util.List<Station>> lines = buildLinesByOrder();
+    /**
+     * Blits the tiles under the clip. A tile that is not rendered yet is requested and
+     * stood in for by the tiles of a neighbouring zoom level, scaled, if there are any.
+     */
+    private void drawTiles(Graphics2D g2, MapFrame frame) {
+        int tileSize = AppConstants.MAP_TILE_SIZE;
+        MapTileCache tiles = frame.tiles();
+        int viewX = frame.viewX();
+        int viewY = frame.viewY();
+        Rectangle clip = g2.getClipBounds();
+        int left = clip != null ? clip.x : 0;
+        int top = clip != null ? clip.y : 0;
+        int right = clip != null ? clip.x + clip.width : frame.width();
+        int bottom = clip != null ? clip.y + clip.height : frame.height();
         
-        for (String line : lines.keySet()) {
-            java.util.List<Station> lineStations = lines.get(line);
-            if (lineStations.size() > 1) {
-                // Create path for the line
-                int[] xs = new int[lineStations.size()];
-                int[] ys = new int[lineStations.size()];
-                for (int i = 0; i < lineStations.size(); i++) {
-                    xs[i] = sx(lineStations.get(i).getX());
-                    ys[i] = sy(lineStations.get(i).getY());
+        for (int row = Math.floorDiv(top + viewY, tileSize); row * tileSize - viewY < bottom; row++) {
+            for (int col = Math.floorDiv(left + viewX, tileSize); col * tileSize - viewX < right; col++) {
+                int x = col * tileSize - viewX;
+                int y = row * tileSize - viewY;
+                BufferedImage tile = tiles.getIfReady(frame.zoomLevel(), col, row);
+                if (tile != null) {
+                    g2.drawImage(tile, x, y, tileSize, tileSize, null);
+                    continue;
                 }
-                
-                // Draw line shadow for depth
-                g2.setStroke(new BasicStroke(8f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-                g2.setColor(new Color(0, 0, 0, 50));
-                for (int i = 0; i < xs.length - 1; i++) {
-                    g2.drawLine(xs[i] + 2, ys[i] + 2, xs[i + 1] + 2, ys[i + 1] + 2);
+                tiles.request(frame.zoomLevel(), col, row, this::tileReady);
+                if (!drawStandInTile(g2, frame, col, row, x, y)) {
+                    g2.setColor(BACKGROUND_COLOR);
+                    g2.fillRect(x, y, tileSize, tileSize);
                 }
-                
-                // Draw main line
-                g2.setStroke(new BasicStroke(6f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-                g2.setColor(getModernLineColor(line));
-                for (int i = 0; i < xs.length - 1; i++) {
-                    g2.drawLine(xs[i], ys[i], xs[i + 1], ys[i + 1]);
+            }
+        }
+    }
+    
+    /**
+     * Covers a missing tile with what the nearest coarser zoom level, or failing that the
+     * next finer one, has cached
+     *
+     * @return true if anything was drawn
+     */
+    private boolean drawStandInTile(Graphics2D g2, MapFrame frame, int col, int row, int x, int y) {
+        int tileSize = AppConstants.MAP_TILE_SIZE;
+        int zoomLevel = frame.zoomLevel();
+        Shape savedClip = g2.getClip();
+        g2.clipRect(x, y, tileSize, tileSize);
+        boolean drawn = false;
+        // Coarser levels from the nearest down to 0, then one level finer
+        for (int step = 1; step <= zoomLevel + 1; step++) {
+            int level = step <= zoomLevel ? zoomLevel - step : zoomLevel + 1;
+            if (level > AppConstants.MAP_MAX_ZOOM_LEVEL) {
+                break;
+            }
+            // Area of the missing tile in pixels of the other level, and the tiles covering it
+            double ratio = MapTileRenderer.zoom(level) / frame.zoom();
+            int first = (int) Math.floor(col * tileSize * ratio / tileSize);
+            int last = (int) Math.floor(((col + 1) * tileSize * ratio - 1) / tileSize);
+            int firstRow = (int) Math.floor(row * tileSize * ratio / tileSize);
+            int lastRow = (int) Math.floor(((row + 1) * tileSize * ratio - 1) / tileSize);
+            int size = (int) Math.ceil(tileSize / ratio);
+            for (int r = firstRow; r <= lastRow; r++) {
+                for (int c = first; c <= last; c++) {
+                    BufferedImage tile = frame.tiles().getIfReady(level, c, r);
+                    if (tile != null) {
+                        g2.drawImage(tile, (int) Math.floor(c * tileSize / ratio) - frame.viewX(),
+                                (int) Math.floor(r * tileSize / ratio) - frame.viewY(), size, size, null);
+                        drawn = true;
+                    }
                 }
             }
+            if (drawn) {
+                break;
+            }
         }
+        g2.setClip(savedClip);
+        return drawn;
+    }
+    
+    /**
+     * Called on a rendering thread when a requested tile has been cached
+     */
+    private void tileReady() {
+        UiUpdateBridge.getInstance().post(this, "tiles", compositor != null ? compositor::invalidate : this::repaint);
     }
     
-    private void drawStations(Graphics2D g2) {
-        HashMap<String, java.util.List<Station>> lines = buildLinesByOrder();
+    /**
+     * Pins the tiles of the viewport in the cache and requests them with one tile
+     * around them, so panning a little finds them ready. The ring is left out when the
+     * cache cannot hold it next to the viewport.
+     */
+    private void prefetchTiles() {
+        if (tiles == null) return;
+        int tileSize = AppConstants.MAP_TILE_SIZE;
+        int maxCol = (tiles.getRenderer().getLevelWidth(zoomLevel) - 1) / tileSize;
+        int maxRow = (tiles.getRenderer().getLevelHeight(zoomLevel) - 1) / tileSize;
+        int visibleFirstCol = viewX / tileSize;
+        int visibleFirstRow = viewY / tileSize;
+        int visibleLastCol = Math.min(maxCol, (viewX + getWidth() - 1) / tileSize);
+        int visibleLastRow = Math.min(maxRow, (viewY + getHeight() - 1) / tileSize);
+        tiles.setViewport(zoomLevel, visibleFirstCol, visibleFirstRow, visibleLastCol, visibleLastRow);
+        
+        int ring = tiles.canPrefetch() ? 1 : 0;
+        int firstCol = Math.max(0, visibleFirstCol - ring);
+        int firstRow = Math.max(0, visibleFirstRow - ring);
+        int lastCol = Math.min(maxCol, visibleLastCol + ring);
+        int lastRow = Math.min(maxRow, visibleLastRow + ring);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                tiles.request(zoomLevel, col, row, this::tileReady);
+            }
+        }
+    }
+    
+    /**
+     * Derives line order, transfer and terminal stations from the station list.
+     * Only changes when the topology changes.
+     */
+    private void ensureTopology() {
+        if (linesByOrder != null) return;
+        linesByOrder = buildLinesByOrder();
         
         // Build station type maps
-        HashMap<String, Integer> stationLineCount = new HashMap<>();
-        for (String line : lines.keySet()) {
-            for (Station s : lines.get(line)) {
+        stationLineCount = new HashMap<>();
+        for (String line : linesByOrder.keySet()) {
+            for (Station s : linesByOrder.get(line)) {
                 stationLineCount.put(s.getCode(), stationLineCount.getOrDefault(s.getCode(), 0) + 1);
             }
         }
         
         // Find terminals (first/last station on each line)
-        HashMap<String, Boolean> isTerminal = new HashMap<>();
-        for (String line : lines.keySet()) {
-            java.util.List<Station> lineStations = lines.get(line);
+        isTerminal = new HashMap<>();
+        for (String line : linesByOrder.keySet()) {
+            java.util.List<Station> lineStations = linesByOrder.get(line);
             if (!lineStations.isEmpty()) {
                 isTerminal.put(lineStations.get(0).getCode(), true);
                 isTerminal.put(lineStations.get(lineStations.size() - 1).getCode(), true);
             }
         }
-
-        // Draw stations with shadows and modern styling
-        for (Station station : stations) {
-            int x = sx(station.getX());
-            int y = sy(station.getY());
-            String code = station.getCode();
-            boolean isTransfer = stationLineCount.getOrDefault(code, 0) > 1;
-            boolean terminal = isTerminal.getOrDefault(code, false);
-            
-            drawModernStation(g2, x, y, station, isTransfer, terminal);
+        
+        stationsByCode = new HashMap<>();
+        for (Station s : stations) {
+            stationsByCode.putIfAbsent(s.getCode(), s);
+        }
+        
+        tracks = new HashMap<>();
+        for (String line : linesByOrder.keySet()) {
+            tracks.put(line, TrackGeometry.of(linesByOrder.get(line)));
+        }
+    }
+    
+    /**
+     * Drops the cached tiles and topology so they are rebuilt on the next paint
+     */
+    private void invalidateTiles() {
+        tiles = null;
+        linesByOrder = null;
+        stationLineCount = null;
+        isTerminal = null;
+        stationsByCode = null;
+        tracks = null;
+    }
+    
+    private void drawInteractiveStations(Graphics2D g2, MapFrame frame) {
+        StationGlyph hovered = frame.hovered();
+        StationGlyph clicked = frame.clicked();
+        if (hovered != null) {
+            drawStation(g2, frame, hovered);
+        }
+        if (clicked != null && (hovered == null || clicked.station() != hovered.station())) {
+            drawStation(g2, frame, clicked);
         }
     }
     
-    private void drawModernStation(Graphics2D g2, int x, int y, Station station, boolean isTransfer, boolean isTerminal) {
+    private void drawStation(Graphics2D g2, MapFrame frame, StationGlyph glyph) {
+        Station station = glyph.station();
+        int x = frame.sx(station.getX());
+        int y = frame.sy(station.getY());
+        boolean isTransfer = glyph.transfer();
+        boolean isTerminal = glyph.terminal();
         int size = isTransfer || isTerminal ? 16 : 12;
         int shadowOffset = 2;
         
-        // Enhanced hover effect
-        boolean isHovered = station.equals(hoveredStation);
-        boolean isClicked = station.equals(clickedStation) && showStationDetails;
+        // Enhanced hover effect (never baked into the map tiles)
+        boolean isHovered = frame.hovered() != null && station == frame.hovered().station();
+        boolean isClicked = frame.clicked() != null && station == frame.clicked().station();
         
         if (isHovered || isClicked) {
             // Animated hover glow
-            float glowAlpha = isClicked ? 0.8f : 0.3f + 0.2f * (float)Math.sin(hoverPulse);
+            float glowAlpha = isClicked ? 0.8f : 0.3f + 0.2f * (float)Math.sin(frame.hoverPulse());
             int glowSize = isClicked ? size + 12 : size + 8;
             
-            g2.setColor(new Color(16, 185, 129, (int)(glowAlpha * 100)));
+            g2.setColor(STATION_GLOW_RAMP[(int)(glowAlpha * 100)]);
             g2.fillOval(x - glowSize/2, y - glowSize/2, glowSize, glowSize);
             
             // Outer glow ring for clicked stations
             if (isClicked) {
-                g2.setStroke(new BasicStroke(2f));
-                g2.setColor(new Color(16, 185, 129, (int)(glowAlpha * 150)));
+                g2.setStroke(MEDIUM_STROKE);
+                g2.setColor(STATION_GLOW_RAMP[(int)(glowAlpha * 150)]);
                 g2.drawOval(x - (size + 16)/2, y - (size + 16)/2, size + 16, size + 16);
             }
         }
         
         // Enhanced shadow for hovered/clicked stations
         int dynamicShadowOffset = isHovered || isClicked ? shadowOffset + 2 : shadowOffset;
-        g2.setColor(new Color(0, 0, 0, isHovered || isClicked ? 150 : 100));
-        g2.fill(new Ellipse2D.Float(x - size/2 + dynamicShadowOffset, y - size/2 + dynamicShadowOffset, size, size));
+        g2.setColor(isHovered || isClicked ? STATION_SHADOW_ACTIVE : STATION_SHADOW);
+        ellipse.setFrame(x - size/2 + dynamicShadowOffset, y - size/2 + dynamicShadowOffset, size, size);
+        g2.fill(ellipse);
         
-        // Determine station color and style
+        // Determine station color and style (brightened when hovered)
         Color stationColor;
         if (isTerminal) {
-            stationColor = TERMINAL_STATION;
+            stationColor = isHovered ? TERMINAL_STATION_HOVER : TERMINAL_STATION;
         } else if (isTransfer) {
-            stationColor = TRANSFER_STATION;
+            stationColor = isHovered ? TRANSFER_STATION_HOVER : TRANSFER_STATION;
         } else {
-            stationColor = REGULAR_STATION;
-        }
-        
-        // Enhance station color when hovered
-        if (isHovered) {
-            stationColor = brightenColor(stationColor, 0.2f);
+            stationColor = isHovered ? REGULAR_STATION_HOVER : REGULAR_STATION;
         }
         
         // Draw station circle
         g2.setColor(stationColor);
-        g2.fill(new Ellipse2D.Float(x - size/2, y - size/2, size, size));
+        ellipse.setFrame(x - size/2, y - size/2, size, size);
+        g2.fill(ellipse);
         
         // Enhanced border for interactions
-        g2.setStroke(new BasicStroke(isHovered || isClicked ? 3f : 2f));
-        g2.setColor(isHovered || isClicked ? new Color(16, 185, 129) : new Color(30, 41, 59));
-        g2.draw(new Ellipse2D.Float(x - size/2, y - size/2, size, size));
+        g2.setStroke(isHovered || isClicked ? THICK_STROKE : MEDIUM_STROKE);
+        g2.setColor(isHovered || isClicked ? TRAIN_COLOR : STATION_BORDER);
+        g2.draw(ellipse);
         
         // Add special styling for transfer stations
         if (isTransfer && !isTerminal) {
-            g2.setColor(new Color(0, 0, 0, 200));
-            g2.fill(new Ellipse2D.Float(x - 3, y - 3, 6, 6));
+            g2.setColor(TRANSFER_CENTER);
+            ellipse.setFrame(x - 3, y - 3, 6, 6);
+            g2.fill(ellipse);
         }
     }
     
-    private void drawTrains(Graphics2D g2) {
-        for (int i = 0; i < animatedTrains.size(); i++) {
-            AnimatedTrain t = animatedTrains.get(i);
-            drawEnhancedTrain(g2, t, i);
+    private void drawTrains(Graphics2D g2, MapFrame frame) {
+        // Dirty-region repaints only need the trains inside the clip
+        Rectangle clip = g2.getClipBounds();
+        for (TrainGlyph t : frame.trains()) {
+            if (clip != null && !clip.intersects(trainBounds(frame.sx(t.x()), frame.sy(t.y()), t.selected()))) {
+                continue;
+            }
+            drawEnhancedTrain(g2, frame, t);
         }
     }
     
-    private void drawEnhancedTrain(Graphics2D g2, AnimatedTrain train, int trainIndex) {
-        // Check if this is the selected train (user's tracking train)
-        // Compare with actual train ID from the train data, not array index
-        String actualTrainId = (trainInfo != null && trainIndex < trainInfo.size()) ? 
-            trainInfo.get(trainIndex).getId() : String.valueOf(trainIndex + 1);
-        boolean isSelectedTrain = actualTrainId.equals(trainNum);
+    private void drawEnhancedTrain(Graphics2D g2, MapFrame frame, TrainGlyph train) {
+        // Selected train (user's tracking train), matched by the actual train ID, not the array index
+        String actualTrainId = train.id();
+        boolean isSelectedTrain = train.selected();
         
         // Make selected train larger and more prominent
         int trainSize = isSelectedTrain ? AppConstants.TRAIN_SIZE_SELECTED : AppConstants.TRAIN_SIZE;
-        int x = sx(train.x) - trainSize/2;
-        int y = sy(train.y) - trainSize/2;
+        int x = frame.sx(train.x()) - trainSize/2;
+        int y = frame.sy(train.y()) - trainSize/2;
+        
+        // On a simplified map other trains are plain discs; only yours keeps its detail
+        if (frame.simplified() && !isSelectedTrain) {
+            float pulseAlpha = train.pulseAlpha();
+            g2.setColor(TRAIN_BODY_RAMP[(int)(255 * pulseAlpha)]);
+            ellipse.setFrame(x, y, trainSize, trainSize);
+            g2.fill(ellipse);
+            g2.setStroke(MEDIUM_STROKE);
+            g2.setColor(TRAIN_BORDER_RAMP[(int)(255 * pulseAlpha)]);
+            g2.draw(ellipse);
+            return;
+        }
         
         // Draw train glow effect when pulsing OR if selected
-        if (train.isPulsing() || isSelectedTrain) {
+        if (train.pulsing() || isSelectedTrain) {
             // Larger glow for selected train
             int glowSize = isSelectedTrain ? 12 : 8;
-            int glowAlpha = isSelectedTrain ? 80 : 50;
-            Color glowColor = isSelectedTrain ? new Color(59, 130, 246, glowAlpha) : new Color(16, 185, 129, glowAlpha);
-            g2.setColor(glowColor);
+            g2.setColor(isSelectedTrain ? SELECTED_TRAIN_GLOW : TRAIN_GLOW);
             g2.fillOval(x - glowSize/2, y - glowSize/2, trainSize + glowSize, trainSize + glowSize);
         }
         
         // Draw train shadow with dynamic alpha
-        g2.setColor(new Color(0, 0, 0, (int)(150 * train.getPulseAlpha())));
+        float pulseAlpha = train.pulseAlpha();
+        g2.setColor(SHADOW_RAMP[(int)(150 * pulseAlpha)]);
         g2.fillOval(x + 2, y + 2, trainSize, trainSize);
         
-        // Draw main train body - different color for selected train
-        Color trainColor = isSelectedTrain ? 
-            new Color(59, 130, 246, (int)(255 * train.getPulseAlpha())) :  // Blue for selected
-            new Color(16, 185, 129, (int)(255 * train.getPulseAlpha()));   // Green for others
-        g2.setColor(trainColor);
+        // Draw main train body - blue for selected, green for others
+        g2.setColor((isSelectedTrain ? SELECTED_TRAIN_BODY_RAMP : TRAIN_BODY_RAMP)[(int)(255 * pulseAlpha)]);
         g2.fillOval(x, y, trainSize, trainSize);
         
         // Draw train highlight
-        g2.setColor(new Color(255, 255, 255, (int)(200 * train.getPulseAlpha())));
+        g2.setColor(WHITE_RAMP[(int)(200 * pulseAlpha)]);
         g2.fillOval(x + 3, y + 3, 5, 5);
         
-        // Draw train border - thicker for selected train
-        g2.setStroke(new BasicStroke(isSelectedTrain ? 3f : 2f));
-        Color borderColor = isSelectedTrain ? 
-            new Color(29, 78, 216, (int)(255 * train.getPulseAlpha())) :    // Dark blue for selected
-            new Color(6, 78, 59, (int)(255 * train.getPulseAlpha()));       // Dark green for others
-        g2.setColor(borderColor);
-        g2.draw(new Ellipse2D.Float(x, y, trainSize, trainSize));
+        // Draw train border - thicker and dark blue for selected, dark green for others
+        g2.setStroke(isSelectedTrain ? THICK_STROKE : MEDIUM_STROKE);
+        g2.setColor((isSelectedTrain ? SELECTED_TRAIN_BORDER_RAMP : TRAIN_BORDER_RAMP)[(int)(255 * pulseAlpha)]);
+        ellipse.setFrame(x, y, trainSize, trainSize);
+        g2.draw(ellipse);
         
         // Draw direction indicator
-        drawDirectionIndicator(g2, train, x + trainSize/2, y + trainSize/2, trainIndex);
+        drawDirectionIndicator(g2, train, x + trainSize/2, y + trainSize/2);
         
         // Draw train number - larger and bolder for selected train
-        int fontSize = isSelectedTrain ? 11 : 10;
-        g2.setFont(new Font("Segoe UI", Font.BOLD, fontSize));
-        g2.setColor(new Color(255, 255, 255, (int)(255 * train.getPulseAlpha()))); // White text
+        g2.setFont(isSelectedTrain ? SELECTED_TRAIN_NUMBER_FONT : TRAIN_NUMBER_FONT);
+        g2.setColor(WHITE_RAMP[(int)(255 * pulseAlpha)]); // White text
         // Use actual train ID instead of array index
         String trainNumStr = actualTrainId;
         FontMetrics fm = g2.getFontMetrics();
@@ -449,67 +796,53 @@ public class MapPanel extends JPanel {
         
         // Add a label below the selected train
         if (isSelectedTrain) {
-            g2.setFont(new Font("Segoe UI", Font.BOLD, 9));
-            g2.setColor(new Color(59, 130, 246, 200));
-            String label = "YOUR TRAIN";
+            g2.setFont(TRAIN_LABEL_FONT);
+            g2.setColor(TRAIN_LABEL_COLOR);
+            String label = SELECTED_TRAIN_LABEL;
             int labelX = x + (trainSize - g2.getFontMetrics().stringWidth(label)) / 2;
             int labelY = y + trainSize + 12;
             
             // Draw label background
             int labelWidth = g2.getFontMetrics().stringWidth(label) + 8;
             int labelHeight = 14;
-            g2.setColor(new Color(30, 41, 59, 200));
+            g2.setColor(TRAIN_LABEL_BACKGROUND);
             g2.fillRoundRect(labelX - 4, labelY - 10, labelWidth, labelHeight, 4, 4);
             
             // Draw label text
-            g2.setColor(new Color(147, 197, 253));
+            g2.setColor(TRAIN_LABEL_TEXT);
             g2.drawString(label, labelX, labelY);
         }
     }
     
-    private void drawDirectionIndicator(Graphics2D g2, AnimatedTrain train, int centerX, int centerY, int trainIndex) {
-        // Calculate direction based on movement
-        double dx = train.targetX - train.x;
-        double dy = train.targetY - train.y;
-        
-        if (Math.abs(dx) < 0.1 && Math.abs(dy) < 0.1) return; // Not moving
+    private void drawDirectionIndicator(Graphics2D g2, TrainGlyph train, int centerX, int centerY) {
+        // Direction of travel along the track
+        if (!train.moving()) return;
+        double ux = train.headingX();
+        double uy = train.headingY();
         
         // Draw direction arrow
-        g2.setStroke(new BasicStroke(2f));
-        g2.setColor(new Color(241, 245, 249, (int)(180 * train.getPulseAlpha())));
+        g2.setStroke(MEDIUM_STROKE);
+        g2.setColor(ARROW_RAMP[(int)(180 * train.pulseAlpha())]);
         
-        double angle = Math.atan2(dy, dx);
         int arrowLength = 12;
-        int arrowX = centerX + (int)(Math.cos(angle) * arrowLength);
-        int arrowY = centerY + (int)(Math.sin(angle) * arrowLength);
+        int arrowX = centerX + (int)(ux * arrowLength);
+        int arrowY = centerY + (int)(uy * arrowLength);
         
         // Draw arrow line
         g2.drawLine(centerX, centerY, arrowX, arrowY);
         
-        // Draw arrow head
-        double arrowHeadAngle = Math.PI / 6; // 30 degrees
+        // Draw arrow head: the heading rotated by -/+30 degrees
         int arrowHeadLength = 4;
         
-        int headX1 = arrowX - (int)(Math.cos(angle - arrowHeadAngle) * arrowHeadLength);
-        int headY1 = arrowY - (int)(Math.sin(angle - arrowHeadAngle) * arrowHeadLength);
-        int headX2 = arrowX - (int)(Math.cos(angle + arrowHeadAngle) * arrowHeadLength);
-        int headY2 = arrowY - (int)(Math.sin(angle + arrowHeadAngle) * arrowHeadLength);
+        int headX1 = arrowX - (int)((ux * ARROW_HEAD_COS + uy * ARROW_HEAD_SIN) * arrowHeadLength);
+        int headY1 = arrowY - (int)((uy * ARROW_HEAD_COS - ux * ARROW_HEAD_SIN) * arrowHeadLength);
+        int headX2 = arrowX - (int)((ux * ARROW_HEAD_COS - uy * ARROW_HEAD_SIN) * arrowHeadLength);
+        int headY2 = arrowY - (int)((uy * ARROW_HEAD_COS + ux * ARROW_HEAD_SIN) * arrowHeadLength);
         
         g2.drawLine(arrowX, arrowY, headX1, headY1);
         g2.drawLine(arrowX, arrowY, headX2, headY2);
     }
 
-    // Get modern line colors
-    private Color getModernLineColor(String code) {
-        String prefix = code.substring(0, 1);
-        switch (prefix) {
-            case "R": return RED_LINE;
-            case "G": return GREEN_LINE;
-            case "B": return BLUE_LINE;
-            default: return new Color(156, 163, 175); // Gray
-        }
-    }
-
     // Find station at mouse point (within 15px for better usability)
     private Station getStationAtPoint(Point p) {
         for (Station s : stations) {
@@ -521,145 +854,252 @@ public class MapPanel extends JPanel {
     }
 
     // Draw modern tooltip
-    private void drawTooltip(Graphics2D g2, Station station) {
-        int x = sx(station.getX()) + 25;
-        int y = sy(station.getY()) - 15;
+    private void drawTooltip(Graphics2D g2, MapFrame frame) {
+        Station station = frame.hovered().station();
+        int x = frame.sx(station.getX()) + 25;
+        int y = frame.sy(station.getY()) - 15;
         
-        String stationName = station.getName().trim();
-        String stationCode = station.getCode();
-        String lineInfo = "Line: " + stationCode.charAt(0);
-        
-        // Additional details for clicked stations
-        java.util.List<String> details = new ArrayList<>();
-        details.add(stationName);
-        details.add("Code: " + stationCode);
-        details.add(lineInfo);
-        
-        if (showStationDetails && station.equals(clickedStation)) {
-            details.add("Position: (" + (int)station.getX() + ", " + (int)station.getY() + ")");
-            details.add("Click again to hide details");
-        } else if (station.equals(hoveredStation)) {
-            details.add("Click for more details");
-        }
-        
-        // Measure text
+        // Measure text (lines and width are rebuilt only when the tooltip content changes)
         g2.setFont(TOOLTIP_FONT);
         FontMetrics fm = g2.getFontMetrics();
-        int maxWidth = 0;
-        for (String detail : details) {
-            maxWidth = Math.max(maxWidth, fm.stringWidth(detail));
+        boolean isDetailed = frame.clicked() != null && station == frame.clicked().station();
+        if (station != tooltipStation || isDetailed != tooltipDetailed) {
+            buildTooltipLines(station, isDetailed, fm);
         }
+        java.util.List<String> details = tooltipLines;
+        int maxWidth = tooltipWidth;
         
         int textHeight = fm.getHeight() * details.size() + 10;
         int padding = 15;
         
         // Adjust tooltip position if it goes off screen
-        if (x + maxWidth + padding * 2 > getWidth()) {
-            x = sx(station.getX()) - maxWidth - padding * 2 - 25;
+        if (x + maxWidth + padding * 2 > frame.width()) {
+            x = frame.sx(station.getX()) - maxWidth - padding * 2 - 25;
         }
         if (y - textHeight - padding < 0) {
-            y = sy(station.getY()) + 35;
-        }
-        
-        // Enhanced tooltip background with animation
-        boolean isDetailed = showStationDetails && station.equals(clickedStation);
-        Color bgColor1 = isDetailed ? new Color(16, 185, 129, 240) : new Color(30, 41, 59, 240);
-        Color bgColor2 = isDetailed ? new Color(6, 78, 59, 240) : new Color(15, 23, 42, 240);
-        
-        GradientPaint gradient = new GradientPaint(
-            x, y - textHeight - padding,
-            bgColor1,
-            x, y + padding,
-            bgColor2
-        );
-        g2.setPaint(gradient);
-        g2.fill(new RoundRectangle2D.Float(
-            x, y - textHeight - padding,
-            maxWidth + padding * 2, textHeight + padding * 2,
-            15, 15
-        ));
-        
-        // Enhanced tooltip border
-        g2.setStroke(new BasicStroke(isDetailed ? 2f : 1f));
-        g2.setColor(isDetailed ? new Color(16, 185, 129, 200) : new Color(71, 85, 105, 200));
-        g2.draw(new RoundRectangle2D.Float(
-            x, y - textHeight - padding,
-            maxWidth + padding * 2, textHeight + padding * 2,
-            15, 15
-        ));
+            y = frame.sy(station.getY()) + 35;
+        }
+        
+        // Enhanced tooltip background with gradient and border
+        (isDetailed ? detailedTooltipCard : tooltipCard).paint(g2, x, y - textHeight - padding,
+                maxWidth + padding * 2, textHeight + padding * 2, g2.getTransform().getScaleX());
         
         // Draw text with enhanced styling
         for (int i = 0; i < details.size(); i++) {
             String detail = details.get(i);
             if (i == 0) {
                 // Station name - larger and bold
-                g2.setFont(new Font("Segoe UI", Font.BOLD, 14));
-                                 g2.setColor(TEXT_COLOR);
+                g2.setFont(TOOLTIP_TITLE_FONT);
+                g2.setColor(TEXT_COLOR);
             } else {
                 // Other details - smaller
-                g2.setFont(new Font("Segoe UI", Font.PLAIN, 11));
-                g2.setColor(new Color(156, 163, 175));
+                g2.setFont(TOOLTIP_DETAIL_FONT);
+                g2.setColor(TOOLTIP_DETAIL_COLOR);
             }
             
             g2.drawString(detail, x + padding, y - textHeight + fm.getHeight() * (i + 1) - 5);
         }
     }
+    
+    /**
+     * Builds the tooltip lines for a station and measures the widest one
+     */
+    private void buildTooltipLines(Station station, boolean isDetailed, FontMetrics fm) {
+        String stationCode = station.getCode();
+        tooltipLines.clear();
+        tooltipLines.add(station.getName().trim());
+        tooltipLines.add("Code: " + stationCode);
+        tooltipLines.add("Line: " + stationCode.charAt(0));
+        
+        // Additional details for clicked stations
+        if (isDetailed) {
+            tooltipLines.add("Position: (" + (int)station.getX() + ", " + (int)station.getY() + ")");
+            tooltipLines.add("Click again to hide details");
+        } else {
+            tooltipLines.add("Click for more details"); // The tooltip is only shown for the hovered station
+        }
+        
+        tooltipWidth = 0;
+        for (String line : tooltipLines) {
+            tooltipWidth = Math.max(tooltipWidth, fm.stringWidth(line));
+        }
+        tooltipStation = station;
+        tooltipDetailed = isDetailed;
+    }
+
+    /**
+     * Everything one frame of the map shows, captured on the EDT. The tile cache is
+     * thread-safe; every other component is immutable.
+     */
+    private record MapFrame(int width, int height, MapTileCache tiles,
+                            double minX, double minY, double scale, int offsetX, int offsetY,
+                            int zoomLevel, double zoom, int viewX, int viewY, boolean simplified,
+                            StationGlyph hovered, StationGlyph clicked, float hoverPulse,
+                            java.util.List<TrainGlyph> trains) {
+        int sx(double csvX) { return project(csvX, minX, scale, offsetX, zoom, viewX); }
+        int sy(double csvY) { return project(csvY, minY, scale, offsetY, zoom, viewY); }
+        
+        /**
+         * Tells whether this frame still shows the panel's current state, without
+         * allocating. EDT only.
+         */
+        boolean shows(MapPanel panel, Station clickedNow) {
+            Station hoveredNow = panel.hoveredStation;
+            if (width != panel.getWidth() || height != panel.getHeight() || tiles != panel.tiles
+                    || minX != panel.minX || minY != panel.minY || scale != panel.scale
+                    || offsetX != panel.offsetX || offsetY != panel.offsetY || zoomLevel != panel.zoomLevel
+                    || zoom != panel.zoom || viewX != panel.viewX || viewY != panel.viewY
+                    || simplified != panel.simplified
+                    || (hovered == null ? hoveredNow != null : hovered.station() != hoveredNow)
+                    || (clicked == null ? clickedNow != null : clicked.station() != clickedNow)
+                    || hoverPulse != (hoveredNow != null ? panel.hoverPulse : 0)
+                    || trains.size() != panel.animatedTrains.size()) {
+                return false;
+            }
+            for (int i = 0; i < trains.size(); i++) {
+                AnimatedTrain t = panel.animatedTrains.get(i);
+                boolean moving = t.headingAt(panel.heading);
+                if (!trains.get(i).shows(t, panel.isSelectedTrain(t), moving,
+                        moving ? panel.heading[0] : 0, moving ? panel.heading[1] : 0)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+    
+    /**
+     * A hovered or clicked station and its kind. Stations are compared by identity.
+     */
+    private record StationGlyph(Station station, boolean transfer, boolean terminal) {}
+    
+    /**
+     * A train as drawn in one frame: position, pulse and unit heading (zero when not moving)
+     */
+    private record TrainGlyph(String id, boolean selected, double x, double y, float pulseAlpha,
+                              boolean pulsing, boolean moving, double headingX, double headingY) {
+        boolean shows(AnimatedTrain t, boolean selectedNow, boolean movingNow, double headingXNow, double headingYNow) {
+            return id.equals(t.id) && selected == selectedNow && x == t.x && y == t.y
+                    && pulseAlpha == t.getPulseAlpha() && pulsing == t.isPulsing() && moving == movingNow
+                    && headingX == headingXNow && headingY == headingYNow;
+        }
+    }
 
     // AnimatedTrain inner class with enhanced features
+    /**
+     * A train moving along its line's track. Each move runs from the arc length
+     * reached so far to the target station's arc length over
+     * {@link AppConstants#TRAIN_TRAVEL_TIME_MS}, eased out, and is driven by elapsed
+     * time so it takes as long whatever the frame rate.
+     */
     private static class AnimatedTrain {
+        private static final long TRAVEL_NANOS = AppConstants.TRAIN_TRAVEL_TIME_MS * 1_000_000L;
+        
+        final String id;
         double x, y;
-        double targetX, targetY;
-        double speed = 3.0; // pixels per frame
         String direction = "forward";
         float pulseAlpha = 1.0f;
         boolean pulsing = false;
-        int pulseCounter = 0;
+        long pulseStartNanos;
+        Rectangle paintedBounds; // Screen area covered when last painted
+        
+        // Current move, by arc length along the track
+        TrackGeometry track;
+        double arc, fromArc, toArc;
+        long moveStartNanos;
+        boolean moving = false;
+        private final double[] point = new double[2];
+        
+        public AnimatedTrain(String id, TrackGeometry track, double arc) {
+            this.id = id;
+            this.track = track;
+            this.arc = arc;
+            this.fromArc = arc;
+            this.toArc = arc;
+            track.pointAt(arc, point);
+            this.x = point[0];
+            this.y = point[1];
+        }
         
-        public AnimatedTrain(double x, double y) {
-            this.x = x; 
-            this.y = y; 
-            this.targetX = x; 
-            this.targetY = y;
+        /**
+         * Arc length along the current track reached at the given time
+         */
+        public double arcAt(long now) {
+            return moving ? fromArc + (toArc - fromArc) * easedProgress(now) : toArc;
         }
         
-        public void setTarget(double tx, double ty) {
+        /**
+         * Starts moving along a track from one arc length to another
+         */
+        public void moveTo(TrackGeometry newTrack, double from, double to, long now) {
             // Only start pulsing if the position actually changed
-            if (Math.abs(this.targetX - tx) > 1 || Math.abs(this.targetY - ty) > 1) {
-                this.pulsing = true;
-                this.pulseCounter = 60; // Pulse for 60 frames (1 second at 60fps)
+            if (newTrack != track || Math.abs(to - toArc) > 1) {
+                pulsing = true;
+                pulseStartNanos = now;
             }
-            this.targetX = tx; 
-            this.targetY = ty;
+            track = newTrack;
+            fromArc = from;
+            toArc = to;
+            moveStartNanos = now;
+            moving = from != to;
         }
         
         public void setDirection(String dir) {
             this.direction = dir;
         }
         
-        public void updatePosition() {
-            double dx = targetX - x;
-            double dy = targetY - y;
-            double dist = Math.hypot(dx, dy);
+        /**
+         * Advances the animation to the given time.
+         *
+         * @return true if anything visible changed (position or pulse)
+         */
+        public boolean updatePosition(long now) {
+            boolean changed = pulsing;
             
-            if (dist < speed) { 
-                x = targetX; 
-                y = targetY; 
-            } else {
-                // Smooth easing animation
-                double easingFactor = 0.15;
-                x += dx * easingFactor;
-                y += dy * easingFactor;
+            if (moving) {
+                double progress = easedProgress(now);
+                arc = fromArc + (toArc - fromArc) * progress;
+                track.pointAt(arc, point);
+                x = point[0];
+                y = point[1];
+                moving = progress < 1.0;
+                changed = true;
             }
             
-            // Update pulse animation
+            // Update pulse animation (0.3 rad per 60 Hz frame, counting down)
             if (pulsing) {
-                pulseCounter--;
-                pulseAlpha = 0.7f + 0.3f * (float)Math.sin(pulseCounter * 0.3);
-                if (pulseCounter <= 0) {
+                long elapsedMs = (now - pulseStartNanos) / 1_000_000L;
+                if (elapsedMs >= AppConstants.TRAIN_PULSE_TIME_MS) {
                     pulsing = false;
                     pulseAlpha = 1.0f;
+                } else {
+                    pulseAlpha = 0.7f + 0.3f * (float)Math.sin((AppConstants.TRAIN_PULSE_TIME_MS - elapsedMs) * 0.018);
                 }
             }
+            return changed;
+        }
+        
+        /**
+         * Unit direction of travel at the last animated position
+         *
+         * @return false if the train is not moving
+         */
+        public boolean headingAt(double[] out) {
+            if (!moving) {
+                return false;
+            }
+            track.directionAt(arc, out);
+            if (toArc < fromArc) {
+                out[0] = -out[0];
+                out[1] = -out[1];
+            }
+            return true;
+        }
+        
+        private double easedProgress(long now) {
+            double t = Math.min(1.0, (now - moveStartNanos) / (double) TRAVEL_NANOS);
+            double remaining = 1.0 - t;
+            return 1.0 - remaining * remaining * remaining; // Ease out (cubic)
         }
         
         public float getPulseAlpha() {
@@ -671,53 +1111,135 @@ public class MapPanel extends JPanel {
         }
     }
 
+    /**
+     * Stops the panel's animations for good; called when its screen is closed
+     */
+    public void dispose() {
+        animations.dispose();
+    }
+
     // Enhanced setTrains method with direction tracking
     public void setTrains() {
         ReadSimulatorOutput output = new ReadSimulatorOutput();
         output.readOutput();
-        trainInfo = output.getTrains();
-        updateTrainPositions(trainInfo);
+        updateTrainPositions(output.getTrains());
+    }
+    
+    /**
+     * Immutable view model of the trains on the map, in feed order
+     */
+    record TrainsView(java.util.List<TrainView> trains) {
+        static final TrainsView EMPTY = new TrainsView(java.util.List.of());
+        
+        static TrainsView of(java.util.List<Train> trains) {
+            TrainView[] views = new TrainView[trains.size()];
+            for (int i = 0; i < views.length; i++) {
+                Train t = trains.get(i);
+                views[i] = new TrainView(t.getId(), t.getPosition(), t.getDirection());
+            }
+            return new TrainsView(java.util.List.of(views));
+        }
     }
     
     /**
-     * Update train positions with pre-loaded train data (more efficient)
+     * One train as the map shows it: its id, the station it is at and its direction
+     */
+    record TrainView(String id, String stationCode, String direction) {}
+    
+    /**
+     * Update train positions with pre-loaded train data (more efficient). May be
+     * called from any thread: the trains are copied into an immutable view that
+     * replaces the previous one, and the animated trains follow it on the EDT.
      * 
      * @param trains the list of trains with current positions
      */
-    public void updateTrainPositions(ArrayList<Train> trains) {
+    public void updateTrainPositions(java.util.List<Train> trains) {
         if (trains == null || trains.isEmpty()) {
             return;
         }
         
-        trainInfo = trains;
+        trainsView = TrainsView.of(trains);
+        if (SwingUtilities.isEventDispatchThread()) {
+            applyTrainsView();
+        } else {
+            UiUpdateBridge.getInstance().post(this, "trains", this::applyTrainsView);
+        }
+    }
+    
+    /**
+     * Moves the animated trains toward the latest train view. EDT only.
+     */
+    private void applyTrainsView() {
+        TrainsView view = trainsView;
+        if (view == appliedTrains) {
+            return;
+        }
+        appliedTrains = view;
+        java.util.List<TrainView> trains = view.trains();
         
-        // Animate trains: update targets and directions
-        if (animatedTrains.size() != trainInfo.size()) {
-            animatedTrains.clear();
-            for (Train t : trainInfo) {
-                Station s = findStationByCode(t.getPosition());
-                if (s != null) {
-                    AnimatedTrain animTrain = new AnimatedTrain(s.getX(), s.getY());
-                    animTrain.setDirection(t.getDirection());
-                    animatedTrains.add(animTrain);
-                }
+        // Trains are matched by id: known ones move on, new ones appear at their station
+        // and those missing from the view are retired
+        long now = System.nanoTime();
+        java.util.List<AnimatedTrain> next = new ArrayList<>(trains.size());
+        HashMap<String, AnimatedTrain> retired = new HashMap<>(trainsById);
+        boolean changed = false;
+        for (TrainView t : trains) {
+            Station s = findStationByCode(t.stationCode());
+            if (s == null) {
+                continue;
             }
-        } else {
-            for (int i = 0; i < trainInfo.size() && i < animatedTrains.size(); i++) {
-                Train t = trainInfo.get(i);
-                Station s = findStationByCode(t.getPosition());
-                if (s != null) {
-                    animatedTrains.get(i).setTarget(s.getX(), s.getY());
-                    animatedTrains.get(i).setDirection(t.getDirection());
-                }
+            AnimatedTrain train = retired.remove(t.id());
+            if (train != null) {
+                // Moved trains start pulsing and are repainted region by region in animateTrains()
+                moveTrain(train, s, now);
+            } else {
+                train = createTrain(t.id(), s);
+                trainsById.put(t.id(), train);
+                changed = true;
             }
+            train.setDirection(t.direction());
+            next.add(train);
         }
-        repaint();
+        if (!retired.isEmpty()) {
+            trainsById.keySet().removeAll(retired.keySet());
+            changed = true;
+        }
+        animatedTrains = java.util.List.copyOf(next);
+        if (changed) {
+            repaint();
+        }
+        trainAnimation.request();
     }
 
+    /**
+     * A train standing at a station, on the track of the station's line
+     */
+    private AnimatedTrain createTrain(String id, Station station) {
+        TrackGeometry track = tracks.get(station.getCode().substring(0, 1));
+        double arc = track != null ? track.arcOf(station.getCode()) : -1;
+        if (arc < 0) {
+            return new AnimatedTrain(id, TrackGeometry.straight(station.getX(), station.getY(), station.getX(), station.getY()), 0);
+        }
+        return new AnimatedTrain(id, track, arc);
+    }
+    
+    /**
+     * Sends a train to a station along its current track, or in a straight line if the
+     * station is not on that track
+     */
+    private void moveTrain(AnimatedTrain train, Station target, long now) {
+        double to = train.track.arcOf(target.getCode());
+        if (to >= 0) {
+            train.moveTo(train.track, train.arcAt(now), to, now);
+        } else {
+            TrackGeometry direct = TrackGeometry.straight(train.x, train.y, target.getX(), target.getY());
+            train.moveTo(direct, 0, direct.getLength(), now);
+        }
+    }
+    
     private Station findStationByCode(String code) {
-        for (Station s : stations) if (s.getCode().equals(code)) return s;
-        return null;
+        ensureTopology();
+        return stationsByCode.get(code);
     }
 
     private void handleStationClick(Station station) {
@@ -725,16 +1247,8 @@ public class MapPanel extends JPanel {
         showStationDetails = !showStationDetails;
         
         // Visual feedback for click
-        Timer clickFeedback = new Timer(100, null);
-        final int[] pulseCount = {0};
-        clickFeedback.addActionListener(e -> {
-            pulseCount[0]++;
-            repaint();
-            if (pulseCount[0] >= 3) {
-                clickFeedback.stop();
-            }
-        });
-        clickFeedback.start();
+        clickPulses = 3;
+        clickAnimation.request();
         
         repaint();
     }
@@ -746,9 +1260,67 @@ public class MapPanel extends JPanel {
      */
     public void setStations(ArrayList<Station> stations) {
         this.stations = stations;
+        invalidateTiles();
         repaint();
     }
 
+    /**
+     * Zooms to a level, keeping the map point under the anchor in place.
+     * Levels outside 0..{@link AppConstants#MAP_MAX_ZOOM_LEVEL} are clamped.
+     *
+     * @param level the zoom level (0 = whole map fitted to the panel)
+     * @param anchor panel point that stays fixed, e.g. the mouse pointer
+     */
+    public void zoomAt(int level, Point anchor) {
+        level = Math.max(0, Math.min(AppConstants.MAP_MAX_ZOOM_LEVEL, level));
+        if (level == zoomLevel) return;
+        double ratio = MapTileRenderer.zoom(level) / zoom;
+        setViewport(level, (int) Math.round((anchor.x + viewX) * ratio - anchor.x),
+                (int) Math.round((anchor.y + viewY) * ratio - anchor.y));
+    }
+    
+    /**
+     * Moves the map by the given number of pixels (positive moves it right/down)
+     */
+    public void panBy(int dx, int dy) {
+        setViewport(zoomLevel, viewX - dx, viewY - dy);
+    }
+    
+    /**
+     * Shows the whole map fitted to the panel again
+     */
+    public void resetView() {
+        setViewport(0, 0, 0);
+    }
+    
+    public int getZoomLevel() {
+        return zoomLevel;
+    }
+    
+    private void setViewport(int level, int x, int y) {
+        applyViewport(level, x, y);
+        repaint();
+    }
+    
+    /**
+     * Applies a zoom level and pan offset, keeping the view inside the map
+     */
+    private void applyViewport(int level, int x, int y) {
+        zoomLevel = level;
+        zoom = MapTileRenderer.zoom(level);
+        viewX = Math.max(0, Math.min((int) Math.ceil(getWidth() * zoom) - getWidth(), x));
+        viewY = Math.max(0, Math.min((int) Math.ceil(getHeight() * zoom) - getHeight(), y));
+        if (tiles != null) {
+            simplified = tiles.getRenderer().isSimplified(level);
+        }
+        
+        // Trains moved on screen; their last painted bounds no longer apply
+        for (AnimatedTrain t : animatedTrains) {
+            t.paintedBounds = null;
+        }
+        prefetchTiles();
+    }
+    
     /**
      * Returns the MapPanel component.
      *
@@ -758,10 +1330,21 @@ public class MapPanel extends JPanel {
         return this;
     }
 
-    private Color brightenColor(Color color, float factor) {
+    private static Color brightenColor(Color color, float factor) {
         int r = Math.min(255, (int)(color.getRed() * (1 + factor)));
         int g = Math.min(255, (int)(color.getGreen() * (1 + factor)));
         int b = Math.min(255, (int)(color.getBlue() * (1 + factor)));
         return new Color(r, g, b, color.getAlpha());
     }
+    
+    /**
+     * The given color at every alpha from 0 to 255, so fading colors need no allocation per frame
+     */
+    private static Color[] alphaRamp(int r, int g, int b) {
+        Color[] ramp = new Color[256];
+        for (int a = 0; a < ramp.length; a++) {
+            ramp[a] = new Color(r, g, b, a);
+        }
+        return ramp;
+    }
 }
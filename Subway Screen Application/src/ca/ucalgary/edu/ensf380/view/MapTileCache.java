@@ -0,0 +1,202 @@
+/**
+ * Map Tile Cache
+ *
+ * Rendered map tiles of one {@link MapTileRenderer}, kept in least-recently-used
+ * order within a byte budget. Missing tiles are rendered on the "map" task group,
+ * never on the Event Dispatch Thread; the panel blits the tiles that are ready and
+ * is told when more arrive. A tile is rendered at most once at a time however often
+ * it is requested.
+ *
+ * The budget is sized from the tiles the panel can show at once plus the ring of
+ * tiles around them, at the renderer's display scale: at least
+ * {@link AppConstants#MAP_TILE_CACHE_MB}, grown up to
+ * {@link AppConstants#MAP_TILE_CACHE_MAX_MB} so the ring fits. When even that is too
+ * small the budget covers the visible tiles only and {@link #canPrefetch()} is false.
+ * Tiles in the current viewport are never evicted, so a large screen cannot evict
+ * and re-request the tiles it is drawing.
+ *
+ * A cache belongs to one renderer: when the panel size, display scale or network
+ * changes the panel replaces both.
+ *
+ * Thread-safe.
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+package ca.ucalgary.edu.ensf380.view;
+
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import ca.ucalgary.edu.ensf380.util.AppConstants;
+import ca.ucalgary.edu.ensf380.util.AppLogger;
+import ca.ucalgary.edu.ensf380.util.TaskRuntime;
+
+final class MapTileCache {
+    private final MapTileRenderer renderer;
+    private final long byteBudget;
+    private final boolean ringFits;
+    private final Map<Long, BufferedImage> tiles = new LinkedHashMap<>(64, 0.75f, true);
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private long cachedBytes = 0;
+
+    // Tiles of the current viewport, which are never evicted
+    private int viewportLevel = -1;
+    private int firstCol, firstRow, lastCol, lastRow;
+
+    // Statistics
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    MapTileCache(MapTileRenderer renderer) {
+        this.renderer = renderer;
+        int tileSize = renderer.getTileSize();
+        int pixels = (int) Math.ceil(tileSize * renderer.getDeviceScale());
+        long tileBytes = 4L * pixels * pixels;
+        // A viewport not aligned to the tiles touches one more column and row
+        int columns = (renderer.getLevelWidth(0) + tileSize - 1) / tileSize + 1;
+        int rows = (renderer.getLevelHeight(0) + tileSize - 1) / tileSize + 1;
+        long visibleBytes = tileBytes * columns * rows;
+        long ringBytes = tileBytes * (columns + 2) * (rows + 2);
+        long floor = AppConstants.MAP_TILE_CACHE_MB * 1024L * 1024L;
+        long ceiling = AppConstants.MAP_TILE_CACHE_MAX_MB * 1024L * 1024L;
+
+        this.ringFits = ringBytes <= Math.max(floor, ceiling);
+        this.byteBudget = Math.max(floor, ringFits ? ringBytes : visibleBytes);
+    }
+
+    MapTileRenderer getRenderer() {
+        return renderer;
+    }
+
+    /**
+     * Tells whether the viewport and one ring of tiles around it fit the budget together.
+     * If not, prefetched tiles would only evict each other and the visible ones.
+     */
+    boolean canPrefetch() {
+        return ringFits;
+    }
+
+    /**
+     * Marks the tiles of the current viewport, inclusive, as not to be evicted
+     */
+    synchronized void setViewport(int level, int firstCol, int firstRow, int lastCol, int lastRow) {
+        this.viewportLevel = level;
+        this.firstCol = firstCol;
+        this.firstRow = firstRow;
+        this.lastCol = lastCol;
+        this.lastRow = lastRow;
+    }
+
+    /**
+     * Returns a tile if it has been rendered. Never blocks.
+     *
+     * @return the tile, or null if it is not cached
+     */
+    synchronized BufferedImage getIfReady(int level, int col, int row) {
+        BufferedImage tile = tiles.get(key(level, col, row));
+        if (tile != null) {
+            hits++;
+        }
+        return tile;
+    }
+
+    /**
+     * Renders a tile in the background unless it is cached or already being rendered
+     *
+     * @param onReady run on the rendering thread once the tile is cached
+     */
+    void request(int level, int col, int row, Runnable onReady) {
+        long key = key(level, col, row);
+        synchronized (this) {
+            if (tiles.containsKey(key)) {
+                return;
+            }
+        }
+        if (!pending.add(key)) {
+            return;
+        }
+        synchronized (this) {
+            misses++;
+        }
+        try {
+            TaskRuntime.getInstance().group("map").supply("tile", () -> renderer.renderTile(level, col, row))
+                    .whenComplete((tile, error) -> {
+                        if (error != null) {
+                            pending.remove(key);
+                            AppLogger.warning("Map tile " + level + "/" + col + "/" + row + " failed to render", error);
+                            return;
+                        }
+                        store(key, tile);
+                        pending.remove(key);
+                        onReady.run();
+                    });
+        } catch (IllegalStateException e) {
+            pending.remove(key); // Task runtime already shut down
+        }
+    }
+
+    synchronized int size() {
+        return tiles.size();
+    }
+
+    synchronized long getCachedBytes() {
+        return cachedBytes;
+    }
+
+    long getByteBudget() {
+        return byteBudget;
+    }
+
+    synchronized long getHitCount() {
+        return hits;
+    }
+
+    synchronized long getMissCount() {
+        return misses;
+    }
+
+    synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    private synchronized void store(long key, BufferedImage tile) {
+        BufferedImage previous = tiles.put(key, tile);
+        if (previous != null) {
+            cachedBytes -= bytes(previous);
+        }
+        cachedBytes += bytes(tile);
+
+        // Oldest first, passing over the viewport; the visible tiles stay even past the budget
+        Iterator<Map.Entry<Long, BufferedImage>> eldest = tiles.entrySet().iterator();
+        while (cachedBytes > byteBudget && eldest.hasNext()) {
+            Map.Entry<Long, BufferedImage> entry = eldest.next();
+            if (inViewport(entry.getKey())) {
+                continue;
+            }
+            cachedBytes -= bytes(entry.getValue());
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    private boolean inViewport(long key) {
+        int level = (int) (key >>> 56);
+        int col = (int) ((key >>> 28) & 0xFFFFFFF);
+        int row = (int) (key & 0xFFFFFFF);
+        return level == viewportLevel && col >= firstCol && col <= lastCol && row >= firstRow && row <= lastRow;
+    }
+
+    private static long bytes(BufferedImage tile) {
+        return 4L * tile.getWidth() * tile.getHeight();
+    }
+
+    private static long key(int level, int col, int row) {
+        return ((long) level << 56) | ((long) col << 28) | row;
+    }
+}
@@ -0,0 +1,466 @@
+/**
+ * Map Tile Renderer
+ *
+ * Renders the static part of the subway map (background, grid, lines, stations and
+ * station labels) into square tiles for one zoom level at a time. Zoom level 0 is
+ * the map fitted to the panel; every further level magnifies it by
+ * {@link AppConstants#MAP_ZOOM_STEP}. Tile (col, row) of a level covers the pixels
+ * [col * tileSize, row * tileSize] of the map drawn at that level's size.
+ *
+ * The renderer holds an immutable copy of the station geometry taken when it was
+ * created, so tiles can be rendered on background threads while the panel keeps
+ * changing. Level of detail follows the on-screen spacing between neighbouring
+ * stations at each level: below {@link AppConstants#MAP_SIMPLIFY_SPACING} pixels
+ * stations become plain dots and only terminals and transfers are labelled. Labels
+ * are placed once per level with a {@link LabelCollisionGrid}, so a label crossing a
+ * tile edge is drawn identically in both tiles.
+ *
+ * Thread-safe.
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+package ca.ucalgary.edu.ensf380.view;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import ca.ucalgary.edu.ensf380.model.Station;
+import ca.ucalgary.edu.ensf380.util.AppConstants;
+
+final class MapTileRenderer {
+
+    private static final Color GRID_COLOR = new Color(30, 41, 59, 80); // Subtle grid
+    private static final Color RED_LINE = new Color(239, 68, 68); // Modern red
+    private static final Color GREEN_LINE = new Color(34, 197, 94); // Modern green
+    private static final Color BLUE_LINE = new Color(59, 130, 246); // Modern blue
+    private static final Color OTHER_LINE = new Color(156, 163, 175); // Gray
+    private static final Color LINE_SHADOW_COLOR = new Color(0, 0, 0, 50);
+    private static final Color LABEL_SHADOW = new Color(0, 0, 0, 160);
+
+    private static final BasicStroke GRID_STROKE = new BasicStroke(0.5f);
+    private static final BasicStroke LINE_SHADOW_STROKE = new BasicStroke(8f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+    private static final BasicStroke LINE_STROKE = new BasicStroke(6f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+    private static final Font STATION_FONT = new Font("Segoe UI", Font.BOLD, 11);
+
+    // Level of detail: glyph sizes once stations are too close for the full glyphs
+    private static final int SIMPLE_STATION_MIN = 3;
+    private static final int SIMPLE_STATION_MAX = 8;
+    private static final int LABEL_GAP = 4;              // Space between a station glyph and its label
+    private static final int CULL_MARGIN = 12;           // Half the widest glyph or line shadow
+
+    private static final int REGULAR = 0;
+    private static final int TRANSFER = 1;
+    private static final int TERMINAL = 2;
+
+    private final int width;
+    private final int height;
+    private final int tileSize;
+    private final double deviceScale;
+
+    // Station positions on the fitted map (zoom level 0), in panel pixels
+    private final double[] stationX;
+    private final double[] stationY;
+    private final int[] stationType;
+    private final String[] labelText;
+    private final int[] labelOrder;     // Terminals, then transfers, then the rest
+    private final int[][] lines;        // Station indices of each line, in order
+    private final Color[] lineColors;
+    private final double stationSpacing; // Median distance between neighbouring stations at level 0
+
+    private final Map<Integer, PlacedLabel[]> labelsByLevel = new HashMap<>();
+
+    /**
+     * Copies the geometry of the map as fitted to the panel
+     *
+     * @param stations all stations
+     * @param linesByOrder stations of each line in order, keyed by line code
+     * @param stationLineCount number of lines serving each station code
+     * @param isTerminal station codes at the end of a line
+     * @param minX smallest station x in map units
+     * @param minY smallest station y in map units
+     * @param scale panel pixels per map unit at zoom level 0
+     * @param offsetX left margin of the fitted map
+     * @param offsetY top margin of the fitted map
+     * @param width panel width
+     * @param height panel height
+     * @param tileSize tile width and height in panel pixels
+     * @param deviceScale display scale of the panel (e.g. 2.0 on HiDPI)
+     */
+    MapTileRenderer(List<Station> stations, Map<String, List<Station>> linesByOrder,
+                    Map<String, Integer> stationLineCount, Map<String, Boolean> isTerminal,
+                    double minX, double minY, double scale, int offsetX, int offsetY,
+                    int width, int height, int tileSize, double deviceScale) {
+        this.width = width;
+        this.height = height;
+        this.tileSize = tileSize;
+        this.deviceScale = deviceScale;
+
+        int count = stations.size();
+        stationX = new double[count];
+        stationY = new double[count];
+        stationType = new int[count];
+        labelText = new String[count];
+        Map<Station, Integer> index = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            Station s = stations.get(i);
+            stationX[i] = (s.getX() - minX) * scale + offsetX;
+            stationY[i] = (s.getY() - minY) * scale + offsetY;
+            String code = s.getCode();
+            stationType[i] = isTerminal.getOrDefault(code, false) ? TERMINAL
+                    : stationLineCount.getOrDefault(code, 0) > 1 ? TRANSFER : REGULAR;
+            labelText[i] = labelText(s);
+            index.putIfAbsent(s, i);
+        }
+
+        // Important stations get the first chance at a label
+        labelOrder = new int[count];
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(stationType[b], stationType[a]));
+        for (int i = 0; i < count; i++) {
+            labelOrder[i] = order[i];
+        }
+
+        lines = new int[linesByOrder.size()][];
+        lineColors = new Color[lines.length];
+        int segments = 0;
+        int n = 0;
+        for (Map.Entry<String, List<Station>> line : linesByOrder.entrySet()) {
+            List<Station> lineStations = line.getValue();
+            lines[n] = new int[lineStations.size()];
+            for (int i = 0; i < lineStations.size(); i++) {
+                lines[n][i] = index.get(lineStations.get(i));
+            }
+            lineColors[n++] = lineColor(line.getKey());
+            segments += Math.max(0, lineStations.size() - 1);
+        }
+
+        // Typical distance between neighbouring stations decides the level of detail
+        double[] distances = new double[segments];
+        n = 0;
+        for (int[] line : lines) {
+            for (int i = 0; i + 1 < line.length; i++) {
+                distances[n++] = Math.hypot(stationX[line[i]] - stationX[line[i + 1]],
+                        stationY[line[i]] - stationY[line[i + 1]]);
+            }
+        }
+        Arrays.sort(distances);
+        stationSpacing = segments == 0 ? Double.MAX_VALUE : distances[segments / 2];
+    }
+
+    /**
+     * Magnification of a zoom level relative to the fitted map
+     */
+    static double zoom(int level) {
+        return Math.pow(AppConstants.MAP_ZOOM_STEP, level);
+    }
+
+    /**
+     * Line color for a line or station code
+     */
+    static Color lineColor(String code) {
+        switch (code.substring(0, 1)) {
+            case "R": return RED_LINE;
+            case "G": return GREEN_LINE;
+            case "B": return BLUE_LINE;
+            default: return OTHER_LINE;
+        }
+    }
+
+    int getTileSize() {
+        return tileSize;
+    }
+
+    double getDeviceScale() {
+        return deviceScale;
+    }
+
+    /**
+     * Width of the whole map at a zoom level, in panel pixels
+     */
+    int getLevelWidth(int level) {
+        return (int) Math.ceil(width * zoom(level));
+    }
+
+    int getLevelHeight(int level) {
+        return (int) Math.ceil(height * zoom(level));
+    }
+
+    /**
+     * Whether stations are drawn as plain dots at a zoom level
+     */
+    boolean isSimplified(int level) {
+        return stationSpacing * zoom(level) < AppConstants.MAP_SIMPLIFY_SPACING;
+    }
+
+    /**
+     * Renders one tile. May be called from any thread.
+     *
+     * @return an opaque image of tileSize x tileSize panel pixels at the device scale
+     */
+    BufferedImage renderTile(int level, int col, int row) {
+        int size = (int) Math.ceil(tileSize * deviceScale);
+        BufferedImage tile = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        Rectangle bounds = new Rectangle(col * tileSize, row * tileSize, tileSize, tileSize);
+        Rectangle viewport = new Rectangle(bounds);
+        viewport.grow(CULL_MARGIN, CULL_MARGIN);
+        PlacedLabel[] labels = getLabels(level);
+        double zoom = zoom(level);
+        boolean simplified = isSimplified(level);
+
+        Graphics2D g2 = tile.createGraphics();
+        try {
+            g2.scale(deviceScale, deviceScale);
+            g2.translate(-bounds.x, -bounds.y);
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+
+            g2.setColor(MapPanel.BACKGROUND_COLOR);
+            g2.fill(bounds);
+            drawGrid(g2, bounds);
+            drawLines(g2, viewport, zoom, simplified);
+            drawStations(g2, viewport, zoom, simplified);
+            drawLabels(g2, viewport, labels);
+        } finally {
+            g2.dispose();
+        }
+        return tile;
+    }
+
+    private void drawGrid(Graphics2D g2, Rectangle bounds) {
+        g2.setColor(GRID_COLOR);
+        g2.setStroke(GRID_STROKE);
+
+        int gridSize = AppConstants.GRID_SIZE;
+        for (int x = (bounds.x + gridSize - 1) / gridSize * gridSize; x < bounds.x + bounds.width; x += gridSize) {
+            g2.drawLine(x, bounds.y, x, bounds.y + bounds.height);
+        }
+        for (int y = (bounds.y + gridSize - 1) / gridSize * gridSize; y < bounds.y + bounds.height; y += gridSize) {
+            g2.drawLine(bounds.x, y, bounds.x + bounds.width, y);
+        }
+    }
+
+    /**
+     * Draws each line as one path per colour, with a single shared shadow path.
+     * Segments entirely outside the viewport are left out of the paths.
+     */
+    private void drawLines(Graphics2D g2, Rectangle viewport, double zoom, boolean simplified) {
+        Path2D.Float shadow = new Path2D.Float();
+        Map<Color, Path2D.Float> paths = new HashMap<>();
+
+        for (int l = 0; l < lines.length; l++) {
+            int[] line = lines[l];
+            Path2D.Float path = paths.computeIfAbsent(lineColors[l], c -> new Path2D.Float());
+            boolean connected = false;
+            for (int i = 0; i + 1 < line.length; i++) {
+                int x0 = px(line[i], zoom), y0 = py(line[i], zoom);
+                int x1 = px(line[i + 1], zoom), y1 = py(line[i + 1], zoom);
+                if (!viewport.intersects(Math.min(x0, x1), Math.min(y0, y1), Math.abs(x1 - x0) + 1, Math.abs(y1 - y0) + 1)) {
+                    connected = false;
+                    continue;
+                }
+                if (!connected) {
+                    path.moveTo(x0, y0);
+                    shadow.moveTo(x0 + 2, y0 + 2);
+                    connected = true;
+                }
+                path.lineTo(x1, y1);
+                shadow.lineTo(x1 + 2, y1 + 2);
+            }
+        }
+
+        // Draw line shadow for depth (too fine to see once the map is simplified)
+        if (!simplified) {
+            g2.setStroke(LINE_SHADOW_STROKE);
+            g2.setColor(LINE_SHADOW_COLOR);
+            g2.draw(shadow);
+        }
+
+        // Draw main lines
+        g2.setStroke(LINE_STROKE);
+        for (Map.Entry<Color, Path2D.Float> path : paths.entrySet()) {
+            g2.setColor(path.getKey());
+            g2.draw(path.getValue());
+        }
+    }
+
+    /**
+     * Draws every station in the viewport as a few batched paths: one per fill colour
+     * plus, at full detail, one each for the shadows, borders and transfer centres.
+     * Interaction effects are drawn per frame by the panel.
+     */
+    private void drawStations(Graphics2D g2, Rectangle viewport, double zoom, boolean simplified) {
+        Path2D.Float shadows = new Path2D.Float();
+        Path2D.Float[] fills = {new Path2D.Float(), new Path2D.Float(), new Path2D.Float()};
+        Path2D.Float centers = new Path2D.Float();
+        Ellipse2D.Float ellipse = new Ellipse2D.Float();
+
+        for (int i = 0; i < stationX.length; i++) {
+            int x = px(i, zoom);
+            int y = py(i, zoom);
+            if (!viewport.contains(x, y)) {
+                continue;
+            }
+            int size = glyphSize(stationType[i], zoom, simplified);
+            ellipse.setFrame(x - size/2, y - size/2, size, size);
+            fills[stationType[i]].append(ellipse, false);
+            if (!simplified) {
+                ellipse.setFrame(x - size/2 + 2, y - size/2 + 2, size, size);
+                shadows.append(ellipse, false);
+                if (stationType[i] == TRANSFER) {
+                    ellipse.setFrame(x - 3, y - 3, 6, 6);
+                    centers.append(ellipse, false);
+                }
+            }
+        }
+
+        if (!simplified) {
+            g2.setColor(MapPanel.STATION_SHADOW);
+            g2.fill(shadows);
+        }
+        Color[] colors = {MapPanel.REGULAR_STATION, MapPanel.TRANSFER_STATION, MapPanel.TERMINAL_STATION};
+        for (int type = REGULAR; type <= TERMINAL; type++) {
+            g2.setColor(colors[type]);
+            g2.fill(fills[type]);
+        }
+        if (!simplified) {
+            g2.setStroke(MapPanel.MEDIUM_STROKE);
+            g2.setColor(MapPanel.STATION_BORDER);
+            for (Path2D.Float fill : fills) {
+                g2.draw(fill);
+            }
+            g2.setColor(MapPanel.TRANSFER_CENTER);
+            g2.fill(centers);
+        }
+    }
+
+    private void drawLabels(Graphics2D g2, Rectangle viewport, PlacedLabel[] labels) {
+        for (PlacedLabel label : labels) {
+            if (!viewport.intersects(label.bounds)) {
+                continue;
+            }
+            g2.setColor(LABEL_SHADOW);
+            label.text.draw(g2, label.bounds.x + 1, label.baseline + 1);
+            g2.setColor(MapPanel.TEXT_COLOR);
+            label.text.draw(g2, label.bounds.x, label.baseline);
+        }
+    }
+
+    /**
+     * Label placement for a level, computed on first use
+     */
+    private synchronized PlacedLabel[] getLabels(int level) {
+        PlacedLabel[] labels = labelsByLevel.get(level);
+        if (labels == null) {
+            labels = placeLabels(level);
+            labelsByLevel.put(level, labels);
+        }
+        return labels;
+    }
+
+    /**
+     * Labels stations in priority order (terminals, transfers, the rest), trying right,
+     * left, above and below each glyph and skipping any station whose label would overlap
+     * a glyph or a label already placed. A simplified level labels only terminals and transfers.
+     */
+    private PlacedLabel[] placeLabels(int level) {
+        double zoom = zoom(level);
+        boolean simplified = isSimplified(level);
+        int levelWidth = getLevelWidth(level);
+        int levelHeight = getLevelHeight(level);
+        LabelCollisionGrid grid = new LabelCollisionGrid(levelWidth, levelHeight, AppConstants.MAP_LABEL_GRID_CELL);
+        for (int i = 0; i < stationX.length; i++) {
+            int size = glyphSize(stationType[i], zoom, simplified);
+            grid.occupy(new Rectangle(px(i, zoom) - size/2, py(i, zoom) - size/2, size, size));
+        }
+
+        // Lay the text out for the tiles' font render context
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = scratch.createGraphics();
+        List<PlacedLabel> placed = new ArrayList<>();
+        try {
+            g2.scale(deviceScale, deviceScale);
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+            FontMetrics fm = g2.getFontMetrics(STATION_FONT);
+            int textHeight = fm.getAscent() + fm.getDescent();
+            int half = (simplified ? SIMPLE_STATION_MAX : 16) / 2 + LABEL_GAP;
+            TextLayoutCache layouts = TextLayoutCache.getInstance();
+            HashSet<String> labelled = new HashSet<>(); // Transfer stations appear once per line
+
+            for (int i : labelOrder) {
+                if (simplified && stationType[i] == REGULAR) {
+                    break; // Sorted by type, so only regular stations remain
+                }
+                if (labelled.contains(labelText[i])) {
+                    continue;
+                }
+                TextLayoutCache.Entry text = layouts.get(g2, labelText[i], STATION_FONT, TextLayoutCache.UNBOUNDED);
+                int x = px(i, zoom);
+                int y = py(i, zoom);
+                int w = text.getWidth();
+                int[][] positions = {
+                    {x + half, y - textHeight / 2},
+                    {x - half - w, y - textHeight / 2},
+                    {x - w / 2, y - half - textHeight},
+                    {x - w / 2, y + half}
+                };
+                for (int[] position : positions) {
+                    Rectangle bounds = new Rectangle(position[0], position[1], w, textHeight);
+                    if (grid.tryPlace(bounds)) {
+                        placed.add(new PlacedLabel(text, bounds, position[1] + fm.getAscent()));
+                        labelled.add(labelText[i]);
+                        break;
+                    }
+                }
+            }
+        } finally {
+            g2.dispose();
+        }
+        return placed.toArray(new PlacedLabel[0]);
+    }
+
+    private int glyphSize(int type, double zoom, boolean simplified) {
+        if (!simplified) {
+            return type == REGULAR ? 12 : 16;
+        }
+        int size = (int) Math.max(SIMPLE_STATION_MIN, Math.min(SIMPLE_STATION_MAX, stationSpacing * zoom * 0.6));
+        return type == REGULAR ? size : size + 2;
+    }
+
+    private int px(int station, double zoom) {
+        return (int) (stationX[station] * zoom);
+    }
+
+    private int py(int station, double zoom) {
+        return (int) (stationY[station] * zoom);
+    }
+
+    private static String labelText(Station station) {
+        String name = station.getName() == null ? station.getCode() : station.getName().trim();
+        return name.endsWith(" Station") ? name.substring(0, name.length() - " Station".length()) : name;
+    }
+
+    private record PlacedLabel(TextLayoutCache.Entry text, Rectangle bounds, int baseline) {}
+}
@@ -6,7 +6,9 @@ package ca.ucalgary.edu.ensf380.view;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.geom.RoundRectangle2D;
+import java.util.concurrent.TimeUnit;
+
+import ca.ucalgary.edu.ensf380.util.AppConstants;
 
 public class NewsPanel {
     // Modern color scheme matching other panels
@@ -15,14 +17,34 @@ public class NewsPanel {
     private static final Color TEXT_PRIMARY = new Color(248, 250, 252);
     private static final Color TEXT_SECONDARY = new Color(148, 163, 184);
     private static final Color ACCENT_COLOR = new Color(239, 68, 68);
+    private static final Color BORDER_COLOR = new Color(71, 85, 105);
+    private static final Color SHADOW_COLOR = new Color(0, 0, 0, 120);
+    
+    // Typography and strokes
+    private static final Font HEADER_FONT = new Font("Segoe UI", Font.BOLD, 10);
+    private static final Font NEWS_FONT = new Font("Segoe UI", Font.PLAIN, 11);
+    
+    // Card background (shadow, gradient, border) rendered once per card size
+    private final CardSprite card = new CardSprite(8, 2, SHADOW_COLOR, CARD_COLOR, BORDER_COLOR,
+            new BasicStroke(1f), BORDER_COLOR);
     
     private final JPanel panel;
     private JLabel newsLabel;
     private String currentNews = "Welcome to CityX Subway - Your reliable transit solution • All lines operating smoothly • Download our mobile app for real-time updates";
-    private Timer scrollTimer;
-    private int scrollPosition = 0;
+    private final AnimationLifecycle animations;
+    private final AnimationLifecycle.Animation scrollAnimation;
+    private boolean scrolling = true; // Whether the last paint found the headline wider than the card
+    
+    // Headline rendered once into a strip; scrolling only copies a window of it
+    private final TickerStrip ticker = new TickerStrip(NEWS_FONT, TEXT_PRIMARY, CARD_COLOR, BORDER_COLOR,
+            AppConstants.NEWS_TICKER_GAP);
+    private double scrollOffset = 0;   // Pixels the strip has scrolled, within one period
+    private int tickerPeriod = 0;      // Strip length, known after the first paint
+    private long lastScrollNanos = 0;  // Time of the previous scroll step, 0 when restarting
+    private final Rectangle tickerRow = new Rectangle(); // Row the ticker occupies, for partial repaints
 
     public NewsPanel() {
+        ticker.setText(cleanNews(currentNews));
         panel = new JPanel() {
             @Override
             protected void paintComponent(Graphics g) {
@@ -46,27 +68,11 @@ public class NewsPanel {
                 int cardHeight = getHeight() - 2 * margin;
                 int cardWidth = getWidth() - 2 * margin;
                 
-                // Draw shadow
-                g2.setColor(new Color(0, 0, 0, 120));
-                g2.fill(new RoundRectangle2D.Float(margin + 2, margin + 2, cardWidth, cardHeight, 8, 8));
-                
-                // Draw card background with gradient
-                GradientPaint gradient = new GradientPaint(
-                    margin, margin, CARD_COLOR,
-                    margin, margin + cardHeight, new Color(71, 85, 105)
-                );
-                g2.setPaint(gradient);
-                g2.fill(new RoundRectangle2D.Float(margin, margin, cardWidth, cardHeight, 8, 8));
-                
-                // Draw card border
-                g2.setStroke(new BasicStroke(1f));
-                g2.setColor(new Color(71, 85, 105));
-                g2.draw(new RoundRectangle2D.Float(margin, margin, cardWidth, cardHeight, 8, 8));
+                // Draw card with shadow, gradient and border
+                card.paint(g2, margin, margin, cardWidth, cardHeight, g2.getTransform().getScaleX());
                 
                 // Draw "LIVE NEWS" header with red dot
-                g2.setFont(new Font("Segoe UI", Font.BOLD, 10));
-                g2.setColor(TEXT_SECONDARY);
-                FontMetrics headerFm = g2.getFontMetrics();
+                g2.setFont(HEADER_FONT);
                 
                 // Red live indicator dot
                 g2.setColor(ACCENT_COLOR);
@@ -77,40 +83,31 @@ public class NewsPanel {
                 g2.drawString("LIVE NEWS", margin + 22, margin + 15);
                 
                 // Draw news content with RIGHT TO LEFT scrolling (as user prefers)
-                if (currentNews != null && !currentNews.trim().isEmpty()) {
-                    g2.setFont(new Font("Segoe UI", Font.PLAIN, 11));
-                    g2.setColor(TEXT_PRIMARY);
-                    FontMetrics newsFm = g2.getFontMetrics();
-                    
-                    // Clean the news text
-                    String cleanNews = currentNews.replaceAll("<[^>]*>", "").trim();
-                    if (cleanNews.length() > 500) {
-                        cleanNews = cleanNews.substring(0, 497) + "...";
-                    }
-                    
-                    // Calculate text width and available space
-                    int textWidth = newsFm.stringWidth(cleanNews);
+                if (!ticker.getText().isEmpty()) {
+                    int textWidth = ticker.getTextWidth(g2);
                     int availableWidth = cardWidth - 20;
+                    double scale = g2.getTransform().getScaleX();
                     
-                    if (textWidth > availableWidth) {
-                        // RIGHT TO LEFT scrolling - start from right side, move left
-                        int scrollX = cardWidth - scrollPosition;
-                        
-                        // Reset when text completely exits left side
-                        if (scrollX + textWidth < margin) {
-                            scrollPosition = 0; // Reset scroll to start from right again
-                        }
-                        
-                        // Create clipping area to prevent text from showing outside card
-                        Shape oldClip = g2.getClip();
-                        g2.setClip(margin + 5, margin + 20, cardWidth - 10, 20);
-                        
-                        g2.drawString(cleanNews, scrollX, margin + 35);
-                        g2.setClip(oldClip); // Restore original clip
+                    // Ticker row inside the card; the strip carries the card gradient of that row
+                    int rowY = margin + 20;
+                    int rowHeight = 20;
+                    int gradientTop = margin - rowY;
+                    int gradientBottom = gradientTop + cardHeight;
+                    tickerRow.setBounds(margin + 5, rowY, cardWidth - 10, rowHeight);
+                    
+                    boolean wasScrolling = scrolling;
+                    scrolling = textWidth > availableWidth;
+                    if (scrolling && !wasScrolling) {
+                        scrollAnimation.request(); // Card shrank below the headline width
+                    }
+                    if (scrolling) {
+                        tickerPeriod = ticker.getPeriod(g2);
+                        ticker.paintScrolled(g2, tickerRow.x, rowY, tickerRow.width, rowHeight,
+                                scrollOffset % tickerPeriod, gradientTop, gradientBottom, scale);
                     } else {
                         // Center the text if it fits completely
                         int textX = margin + (cardWidth - textWidth) / 2;
-                        g2.drawString(cleanNews, textX, margin + 35);
+                        ticker.paintStatic(g2, textX, rowY, rowHeight, gradientTop, gradientBottom, scale);
                     }
                 }
             }
@@ -124,24 +121,74 @@ public class NewsPanel {
         newsLabel.setVisible(false);
         panel.add(newsLabel);
         
-        // Start RIGHT TO LEFT scrolling timer immediately (faster movement)
-        scrollTimer = new Timer(50, e -> { // Faster timer (50ms instead of 100ms)
-            scrollPosition += 3; // Move 3 pixels per frame for smoother, faster scrolling
-            panel.repaint();
-        });
-        scrollTimer.start(); // Animation starts immediately with initial content
+        // RIGHT TO LEFT scrolling while the ticker is displayed; a headline that fits is static
+        animations = new AnimationLifecycle(panel, "news");
+        scrollAnimation = animations.add("scroll", AppConstants.ANIMATION_FRAME_RATE, this::stepScroll);
+        scrollAnimation.request(); // Animation starts immediately with initial content
     }
 
     public JPanel getPanel() {
         return panel;
     }
 
+    /**
+     * Stops the panel's animations for good; called when its screen is closed
+     */
+    public void dispose() {
+        animations.dispose();
+    }
+
     public void updateNewsLabel(String news) {
         if (news != null && !news.trim().isEmpty()) {
             currentNews = news;
+            ticker.setText(cleanNews(news));
             newsLabel.setText(news);
-            scrollPosition = 0; // Reset scroll when news updates
+            scrollOffset = 0; // Reset scroll when news updates
+            lastScrollNanos = 0;
+            scrolling = true;    // Re-measured on the next paint
+            scrollAnimation.request();
             panel.repaint();
         }
     }
+    
+    /**
+     * Advances the ticker by the time since the previous step, so it scrolls at the
+     * same speed whatever the frame rate
+     */
+    private boolean stepScroll() {
+        if (!scrolling) {
+            lastScrollNanos = 0;
+            return false;
+        }
+        long now = System.nanoTime();
+        if (lastScrollNanos != 0) {
+            // A step after a pause (hidden card, busy EDT) moves at most a few frames' worth
+            long elapsed = Math.min(now - lastScrollNanos, TimeUnit.MILLISECONDS.toNanos(100));
+            scrollOffset += AppConstants.NEWS_SCROLL_SPEED * elapsed / 1_000_000_000.0;
+            if (tickerPeriod > 0) {
+                scrollOffset %= tickerPeriod;
+            }
+        }
+        lastScrollNanos = now;
+        if (tickerRow.isEmpty()) {
+            panel.repaint();
+        } else {
+            panel.repaint(tickerRow.x, tickerRow.y, tickerRow.width, tickerRow.height);
+        }
+        return true;
+    }
+    
+    /**
+     * Strips markup from a headline and limits it to 500 characters
+     */
+    private static String cleanNews(String news) {
+        if (news == null) {
+            return "";
+        }
+        String cleanNews = news.replaceAll("<[^>]*>", "").trim();
+        if (cleanNews.length() > 500) {
+            cleanNews = cleanNews.substring(0, 497) + "...";
+        }
+        return cleanNews;
+    }
 }
@@ -0,0 +1,47 @@
+/**
+ * Paint Time Instrumentation for Display Panels
+ *
+ * Decorates a panel with a JLayer that times every paint of the panel (and its
+ * children) into the "paint.&lt;name&gt;" histogram of the {@link MetricsRegistry}.
+ * The layer is where Swing starts painting a dirty region of the panel, so partial
+ * repaints are measured too. The panel itself is not changed.
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+package ca.ucalgary.edu.ensf380.view;
+
+import java.awt.Graphics;
+
+import javax.swing.JComponent;
+import javax.swing.JLayer;
+import javax.swing.plaf.LayerUI;
+
+import ca.ucalgary.edu.ensf380.util.LatencyHistogram;
+import ca.ucalgary.edu.ensf380.util.MetricsRegistry;
+
+final class PaintMetricsLayer extends LayerUI<JComponent> {
+    static final String HISTOGRAM_PREFIX = "paint.";
+
+    private final LatencyHistogram paintTimes;
+
+    private PaintMetricsLayer(String name) {
+        this.paintTimes = MetricsRegistry.getInstance().histogram(HISTOGRAM_PREFIX + name);
+    }
+
+    /**
+     * Wraps a panel so its paint times are recorded under the given name
+     *
+     * @return the layer to add to the layout in place of the panel
+     */
+    static JLayer<JComponent> wrap(String name, JComponent panel) {
+        return new JLayer<>(panel, new PaintMetricsLayer(name));
+    }
+
+    @Override
+    public void paint(Graphics g, JComponent c) {
+        long start = System.nanoTime();
+        super.paint(g, c);
+        paintTimes.record(System.nanoTime() - start);
+    }
+}
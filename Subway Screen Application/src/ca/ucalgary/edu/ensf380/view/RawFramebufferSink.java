@@ -0,0 +1,70 @@
+/**
+ * Raw Framebuffer Sink
+ *
+ * Writes each frame as raw 32-bit little-endian pixels (byte order B, G, R, X) to
+ * the start of a file. Pointed at a Linux framebuffer device such as /dev/fb0 this
+ * drives the display directly; pointed at a regular file it always holds the most
+ * recent frame. The pixel buffer is allocated once and reused for every frame.
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+package ca.ucalgary.edu.ensf380.view;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import ca.ucalgary.edu.ensf380.util.AppLogger;
+
+public class RawFramebufferSink implements FrameSink {
+    private final Path path;
+    private FileChannel channel;
+    private ByteBuffer buffer;
+    private IntBuffer pixels;
+
+    public RawFramebufferSink(String path) {
+        this.path = Paths.get(path);
+    }
+
+    @Override
+    public void open(int width, int height) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null && !parent.toFile().exists() && !parent.toFile().mkdirs()) {
+            throw new IOException("Could not create directory for framebuffer file: " + parent);
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        buffer = ByteBuffer.allocateDirect(width * height * 4).order(ByteOrder.LITTLE_ENDIAN);
+        pixels = buffer.asIntBuffer();
+        AppLogger.info("Raw framebuffer sink opened: " + path + " (" + width + "x" + height + ", " + buffer.capacity() + " bytes/frame)");
+    }
+
+    @Override
+    public long writeFrame(BufferedImage frame, long frameNumber) throws IOException {
+        int[] data = ((DataBufferInt) frame.getRaster().getDataBuffer()).getData();
+        pixels.clear();
+        pixels.put(data, 0, Math.min(data.length, pixels.capacity()));
+
+        buffer.clear();
+        long position = 0;
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+}
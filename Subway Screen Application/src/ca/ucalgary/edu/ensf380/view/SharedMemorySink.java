@@ -0,0 +1,110 @@
+/**
+ * Shared Memory Sink
+ *
+ * Publishes frames through a memory-mapped file (e.g. on /dev/shm) so another
+ * process on the controller can read them without copies through a pipe or socket.
+ *
+ * Buffer layout (little-endian):
+ *   offset  0  int   magic "SSCR"
+ *   offset  4  int   layout version (1)
+ *   offset  8  int   width
+ *   offset 12  int   height
+ *   offset 16  long  sequence - odd while a frame is being written, even when complete
+ *   offset 24  long  frame number of the last complete frame
+ *   offset 32  ...   width * height 32-bit BGRX pixels
+ *
+ * The sequence is a seqlock. The writer stores it odd, then the pixels and frame
+ * number, then stores it even with release semantics; fences keep the JIT and CPU
+ * from moving pixel stores outside that window. A reader must:
+ *   1. load the sequence with acquire semantics (retry while it is odd),
+ *   2. copy the pixels and frame number,
+ *   3. issue an acquire (load-load) fence and load the sequence again,
+ *   4. use the copy only if both loads are equal.
+ * In Java: VarHandle getAcquire, copy, VarHandle.acquireFence(), plain get;
+ * in C: atomic_load_explicit(memory_order_acquire), copy,
+ * atomic_thread_fence(memory_order_acquire), relaxed load.
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+package ca.ucalgary.edu.ensf380.view;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import ca.ucalgary.edu.ensf380.util.AppLogger;
+
+public class SharedMemorySink implements FrameSink {
+    static final int MAGIC = 0x53534352; // "SSCR"
+    static final int LAYOUT_VERSION = 1;
+    static final int HEADER_SIZE = 32;
+
+    private static final int SEQUENCE_OFFSET = 16;
+    private static final int FRAME_NUMBER_OFFSET = 24;
+
+    // Ordered access to the sequence; both offsets are 8-byte aligned in the page-aligned mapping
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final Path path;
+    private MappedByteBuffer buffer;
+    private IntBuffer pixels;
+    private long sequence = 0;
+
+    public SharedMemorySink(String path) {
+        this.path = Paths.get(path);
+    }
+
+    @Override
+    public void open(int width, int height) throws IOException {
+        long size = HEADER_SIZE + (long) width * height * 4;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, LAYOUT_VERSION);
+        buffer.putInt(8, width);
+        buffer.putInt(12, height);
+        buffer.putLong(FRAME_NUMBER_OFFSET, -1);
+        LONGS.setRelease(buffer, SEQUENCE_OFFSET, sequence); // Header visible before the first sequence
+
+        pixels = buffer.slice(HEADER_SIZE, (int) (size - HEADER_SIZE)).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        AppLogger.info("Shared memory sink opened: " + path + " (" + width + "x" + height + ", " + size + " bytes)");
+    }
+
+    @Override
+    public long writeFrame(BufferedImage frame, long frameNumber) {
+        int[] data = ((DataBufferInt) frame.getRaster().getDataBuffer()).getData();
+
+        // Odd: a frame is being written. The fence keeps the pixel stores after it.
+        LONGS.setOpaque(buffer, SEQUENCE_OFFSET, ++sequence);
+        VarHandle.releaseFence();
+        pixels.clear();
+        pixels.put(data, 0, Math.min(data.length, pixels.capacity()));
+        buffer.putLong(FRAME_NUMBER_OFFSET, frameNumber);
+        // Even: the frame is complete. Release keeps the pixel stores before it.
+        LONGS.setRelease(buffer, SEQUENCE_OFFSET, ++sequence);
+
+        return (long) pixels.capacity() * 4;
+    }
+
+    @Override
+    public void close() {
+        if (buffer != null) {
+            buffer.force();
+            buffer = null;
+            pixels = null;
+        }
+    }
+}
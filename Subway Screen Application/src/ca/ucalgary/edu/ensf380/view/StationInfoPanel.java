@@ -12,6 +12,10 @@
  * - Text truncation for long station names
  * - Professional styling and typography
  * - Real-time position updates
+ *
+ * Updates may come from any thread: the five card names form an immutable list
+ * that each update replaces as a whole, and every paint draws from the list it
+ * read once at its start.
  * 
  * @author Subway Screen Development Team
  * @version 2.0
@@ -20,32 +24,60 @@ package ca.ucalgary.edu.ensf380.view;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.geom.RoundRectangle2D;
+import java.awt.font.FontRenderContext;
+import java.util.List;
 
 public class StationInfoPanel {
     private final JPanel panel;
     private final JLabel[] stationLabel = new JLabel[5];
     private final String[] stationTypes = {"Previous", "Current", "Next", "Next", "Next"};
     
-    // Station name storage
-    private String previousStationName = "";
-    private String currentStationName = "";
-    private String nextStationName = "";
-    private String nextStation1Name = "";
-    private String nextStation2Name = "";
+    // Station names as shown on the cards (Previous, Current, Next, Next, Next);
+    // replaced as a whole by each update, never modified
+    private volatile List<String> cardNames = List.of("", "", "", "", "");
+    
+    // Type labels and names laid out for the current card width; looked up in the shared
+    // text layout cache only when names, width or font render context change
+    private final TextLayoutCache.Entry[] fittedTypes = new TextLayoutCache.Entry[5];
+    private final TextLayoutCache.Entry[] fittedNames = new TextLayoutCache.Entry[5];
+    private List<String> fittedCardNames;
+    private int fittedCardWidth = -1;
+    private FontRenderContext fittedFrc;
     
     // Modern color scheme matching the design system
     private static final Color BACKGROUND_COLOR = new Color(15, 23, 42); // Dark slate
     private static final Color CARD_COLOR = new Color(30, 41, 59); // Slate 700
+    private static final Color CARD_COLOR_LIGHT = new Color(51, 65, 85); // Slate 600
+    private static final Color CARD_COLOR_LIGHTER = new Color(71, 85, 105); // Slate 500
     private static final Color TEXT_PRIMARY = new Color(241, 245, 249); // Slate 100
     private static final Color TEXT_SECONDARY = new Color(148, 163, 184); // Slate 400
     private static final Color CURRENT_STATION_COLOR = new Color(16, 185, 129); // Emerald 500
     private static final Color NEXT_STATION_COLOR = new Color(59, 130, 246); // Blue 500
     private static final Color PREV_STATION_COLOR = new Color(156, 163, 175); // Gray 400
+    private static final Color SHADOW_COLOR = new Color(0, 0, 0, 80);
+    private static final Color CURRENT_SHADOW_COLOR = new Color(0, 0, 0, 120);
+    
+    // Per card: type label, accent and border (non-current borders are translucent)
+    private static final String[] CARD_TYPES = {"PREVIOUS", "CURRENT", "NEXT", "NEXT", "NEXT"};
+    private static final Color[] CARD_ACCENTS = {PREV_STATION_COLOR, CURRENT_STATION_COLOR,
+        NEXT_STATION_COLOR, NEXT_STATION_COLOR, NEXT_STATION_COLOR};
     
     // Typography
     private static final Font STATION_FONT = new Font("Segoe UI", Font.BOLD, 14);
     private static final Font TYPE_FONT = new Font("Segoe UI", Font.PLAIN, 10);
+    private static final Font CARD_TYPE_FONT = new Font("Segoe UI", Font.PLAIN, 9);
+    private static final Font CARD_NAME_FONT = new Font("Segoe UI", Font.BOLD, 11);
+    private static final int CARD_TYPE_BASELINE = 15;
+    private static final String ELLIPSIS = "...";
+    
+    // Card backgrounds (shadow, gradient, accent border) rendered once per card size
+    private final CardSprite previousCard = new CardSprite(8, 2, SHADOW_COLOR, CARD_COLOR, CARD_COLOR_LIGHT,
+            new BasicStroke(1f), withAlpha(PREV_STATION_COLOR, 150));
+    private final CardSprite currentCard = new CardSprite(8, 2, CURRENT_SHADOW_COLOR, CARD_COLOR_LIGHT, CARD_COLOR_LIGHTER,
+            new BasicStroke(2f), CURRENT_STATION_COLOR);
+    private final CardSprite nextCard = new CardSprite(8, 2, SHADOW_COLOR, CARD_COLOR, CARD_COLOR_LIGHT,
+            new BasicStroke(1f), withAlpha(NEXT_STATION_COLOR, 150));
+    private final CardSprite[] cardSprites = {previousCard, currentCard, nextCard, nextCard, nextCard};
 
     public StationInfoPanel() {
         this.panel = new JPanel() {
@@ -79,123 +111,43 @@ public class StationInfoPanel {
                     cardSpacing = Math.max(2, (availableWidth - 5 * cardWidth) / 4);
                 }
                 
+                double deviceScale = g2.getTransform().getScaleX();
+                List<String> names = cardNames;
+                if (names != fittedCardNames || cardWidth != fittedCardWidth || !g2.getFontRenderContext().equals(fittedFrc)) {
+                    fitText(g2, names, cardWidth);
+                }
+                int nameBaseline = cardHeight / 2 + g2.getFontMetrics(CARD_NAME_FONT).getAscent() / 2;
+                
                 // Draw station cards with better positioning
                 int currentX = margin;
-                
-                drawStationCard(g2, currentX, margin, cardWidth, cardHeight, 
-                               "Previous", previousStationName, PREV_STATION_COLOR, false);
-                currentX += cardWidth + cardSpacing;
-                
-                drawStationCard(g2, currentX, margin, cardWidth, cardHeight, 
-                               "Current", currentStationName, CURRENT_STATION_COLOR, true);
-                currentX += cardWidth + cardSpacing;
-                
-                drawStationCard(g2, currentX, margin, cardWidth, cardHeight, 
-                               "Next", nextStationName, NEXT_STATION_COLOR, false);
-                currentX += cardWidth + cardSpacing;
-                
-                drawStationCard(g2, currentX, margin, cardWidth, cardHeight, 
-                               "Next", nextStation1Name, NEXT_STATION_COLOR, false);
-                currentX += cardWidth + cardSpacing;
-                
-                drawStationCard(g2, currentX, margin, cardWidth, cardHeight, 
-                               "Next", nextStation2Name, NEXT_STATION_COLOR, false);
+                for (int i = 0; i < names.size(); i++) {
+                    cardSprites[i].paint(g2, currentX, margin, cardWidth, cardHeight, deviceScale);
+                    g2.translate(currentX, margin); // Card content is laid out from the card corner
+                    drawStationCard(g2, i, cardWidth, cardHeight, nameBaseline);
+                    g2.translate(-currentX, -margin);
+                    currentX += cardWidth + cardSpacing;
+                }
                 
                 g2.dispose();
             }
             
-            private void drawStationCard(Graphics2D g2, int x, int y, int width, int height, 
-                                       String type, String stationName, Color accentColor, boolean isCurrent) {
-                
-                // Draw card shadow
-                g2.setColor(new Color(0, 0, 0, isCurrent ? 120 : 80));
-                g2.fill(new RoundRectangle2D.Float(x + 2, y + 2, width, height, 8, 8));
-                
-                // Draw card background with gradient
-                Color cardColor1 = isCurrent ? new Color(51, 65, 85) : CARD_COLOR;
-                Color cardColor2 = isCurrent ? new Color(71, 85, 105) : new Color(51, 65, 85);
-                
-                GradientPaint gradient = new GradientPaint(
-                    x, y, cardColor1,
-                    x, y + height, cardColor2
-                );
-                g2.setPaint(gradient);
-                g2.fill(new RoundRectangle2D.Float(x, y, width, height, 8, 8));
-                
-                // Draw accent border
-                g2.setStroke(new BasicStroke(isCurrent ? 2f : 1f));
-                g2.setColor(isCurrent ? accentColor : new Color(accentColor.getRed(), accentColor.getGreen(), accentColor.getBlue(), 150));
-                g2.draw(new RoundRectangle2D.Float(x, y, width, height, 8, 8));
-                
+            private void drawStationCard(Graphics2D g2, int card, int width, int height, int nameBaseline) {
                 // Draw type label at the top
-                g2.setFont(new Font("Segoe UI", Font.PLAIN, 9));
+                TextLayoutCache.Entry type = fittedTypes[card];
                 g2.setColor(TEXT_SECONDARY);
-                FontMetrics typeFm = g2.getFontMetrics();
-                String typeText = type.toUpperCase();
-                int typeX = x + (width - typeFm.stringWidth(typeText)) / 2;
-                g2.drawString(typeText, typeX, y + 15);
+                type.draw(g2, (width - type.getWidth()) / 2, CARD_TYPE_BASELINE);
                 
-                // AGGRESSIVE station name cleaning - ONLY show ONE station
-                if (stationName != null && !stationName.isEmpty()) {
-                    // Clean the station name aggressively
-                    String cleanName = stationName.trim();
-                    
-                    // Remove any commas and take only the first part
-                    if (cleanName.contains(",")) {
-                        cleanName = cleanName.split(",")[0].trim();
-                    }
-                    
-                    // Remove any extra spaces and take only first word if too long
-                    cleanName = cleanName.replaceAll("\\s+", " ");
-                    String[] words = cleanName.split(" ");
-                    if (words.length > 2) {
-                        // If more than 2 words, just take the first 2
-                        cleanName = words[0] + " " + words[1];
-                    } else if (words.length == 1 && words[0].length() > 12) {
-                        // If single word is too long, truncate it
-                        cleanName = words[0].substring(0, 10) + "...";
-                    }
-                    
-                    g2.setFont(new Font("Segoe UI", Font.BOLD, 11));
+                // Center the station name in the middle of the card
+                TextLayoutCache.Entry name = fittedNames[card];
+                if (name.getWidth() > 0) {
                     g2.setColor(TEXT_PRIMARY);
-                    FontMetrics stationFm = g2.getFontMetrics();
-                    
-                    // Final truncation if still too long for the card
-                    int maxWidth = width - 12; // Leave padding
-                    if (stationFm.stringWidth(cleanName) > maxWidth) {
-                        cleanName = truncateString(cleanName, stationFm, maxWidth);
-                    }
-                    
-                    // Center the station name in the middle of the card
-                    int nameX = x + (width - stationFm.stringWidth(cleanName)) / 2;
-                    int nameY = y + height / 2 + stationFm.getAscent() / 2;
-                    g2.drawString(cleanName, nameX, nameY);
+                    name.draw(g2, (width - name.getWidth()) / 2, nameBaseline);
                 }
                 
                 // Draw accent dot at bottom
                 int dotSize = 3;
-                int dotX = x + width / 2 - dotSize / 2;
-                int dotY = y + height - 10;
-                g2.setColor(accentColor);
-                g2.fillOval(dotX, dotY, dotSize, dotSize);
-            }
-            
-            private String truncateString(String text, FontMetrics fm, int maxWidth) {
-                if (fm.stringWidth(text) <= maxWidth) {
-                    return text;
-                }
-                
-                String ellipsis = "...";
-                int ellipsisWidth = fm.stringWidth(ellipsis);
-                
-                for (int i = text.length() - 1; i > 0; i--) {
-                    String truncated = text.substring(0, i) + ellipsis;
-                    if (fm.stringWidth(truncated) <= maxWidth) {
-                        return truncated;
-                    }
-                }
-                
-                return ellipsis;
+                g2.setColor(CARD_ACCENTS[card]);
+                g2.fillOval(width / 2 - dotSize / 2, height - 10, dotSize, dotSize);
             }
         };
         
@@ -233,6 +185,7 @@ public class StationInfoPanel {
 
     /**
      * Updates the station labels to display the previous, current, and next stations.
+     * May be called from any thread.
      *
      * @param prev the previous station name
      * @param curr the current station name
@@ -241,12 +194,12 @@ public class StationInfoPanel {
      * @param next2 the station two steps after the next
      */
     public void updateTrainPosition(String prev, String curr, String next, String next1, String next2) {
-        // Store station names for painting with aggressive cleaning
-        previousStationName = cleanStationNameAggressive(prev);
-        currentStationName = cleanStationNameAggressive(curr);
-        nextStationName = cleanStationNameAggressive(next);
-        nextStation1Name = cleanStationNameAggressive(next1);
-        nextStation2Name = cleanStationNameAggressive(next2);
+        // Clean the names once here instead of on every paint; the next paint refits them
+        cardNames = List.of(toCardName(cleanStationNameAggressive(prev)),
+                toCardName(cleanStationNameAggressive(curr)),
+                toCardName(cleanStationNameAggressive(next)),
+                toCardName(cleanStationNameAggressive(next1)),
+                toCardName(cleanStationNameAggressive(next2)));
         
         // DON'T update JLabel text - we use custom painting only
         // The JLabels are invisible and only used for compatibility
@@ -254,6 +207,53 @@ public class StationInfoPanel {
         panel.repaint(); // Trigger repaint to show updated station names
     }
     
+    /**
+     * Looks up the laid-out type label and name of each card for the card width
+     */
+    private void fitText(Graphics2D g2, List<String> names, int cardWidth) {
+        TextLayoutCache cache = TextLayoutCache.getInstance();
+        int maxWidth = cardWidth - 12; // Leave padding
+        for (int i = 0; i < names.size(); i++) {
+            fittedTypes[i] = cache.get(g2, CARD_TYPES[i], CARD_TYPE_FONT, TextLayoutCache.UNBOUNDED);
+            fittedNames[i] = cache.get(g2, names.get(i), CARD_NAME_FONT, maxWidth);
+        }
+        fittedCardNames = names;
+        fittedCardWidth = cardWidth;
+        fittedFrc = g2.getFontRenderContext();
+    }
+    
+    /**
+     * Shortens a station name to what fits on a card: first part before a comma,
+     * at most two words, long single words truncated
+     */
+    private static String toCardName(String stationName) {
+        if (stationName == null || stationName.isEmpty()) {
+            return "";
+        }
+        String cleanName = stationName.trim();
+        
+        // Remove any commas and take only the first part
+        if (cleanName.contains(",")) {
+            cleanName = cleanName.split(",")[0].trim();
+        }
+        
+        // Remove any extra spaces and take only first word if too long
+        cleanName = cleanName.replaceAll("\\s+", " ");
+        String[] words = cleanName.split(" ");
+        if (words.length > 2) {
+            // If more than 2 words, just take the first 2
+            cleanName = words[0] + " " + words[1];
+        } else if (words.length == 1 && words[0].length() > 12) {
+            // If single word is too long, truncate it
+            cleanName = words[0].substring(0, 10) + ELLIPSIS;
+        }
+        return cleanName;
+    }
+    
+    private static Color withAlpha(Color color, int alpha) {
+        return new Color(color.getRed(), color.getGreen(), color.getBlue(), alpha);
+    }
+    
     private String cleanStationName(String stationName) {
         if (stationName == null || stationName.trim().isEmpty()) {
             return "Unknown";
@@ -10,6 +10,7 @@
  * - Application startup and initialization
  * - Command-line argument validation
  * - Modern UI theme setup with FlatLaf
+ * - Parallel component startup with a startup timeline
  * - Main event loop coordination
  * - Audio announcement management
  * - Graceful application shutdown
@@ -23,34 +24,71 @@ import java.io.BufferedInputStream;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
 import javazoom.jl.decoder.JavaLayerException;
 import javazoom.jl.player.advanced.AdvancedPlayer;
 
 import ca.ucalgary.edu.ensf380.SimulatorManager;
-import ca.ucalgary.edu.ensf380.controller.ReadSimulatorOutput;
+import ca.ucalgary.edu.ensf380.controller.AdvertisementController;
 import ca.ucalgary.edu.ensf380.controller.StationController;
+import ca.ucalgary.edu.ensf380.controller.TrainSnapshotFeed;
 import ca.ucalgary.edu.ensf380.model.Train;
 import ca.ucalgary.edu.ensf380.util.AppConstants;
 import ca.ucalgary.edu.ensf380.util.AppLogger;
+import ca.ucalgary.edu.ensf380.util.CountingEventQueue;
+import ca.ucalgary.edu.ensf380.util.EdtWatchdog;
+import ca.ucalgary.edu.ensf380.util.MediaCache;
+import ca.ucalgary.edu.ensf380.util.MetricsRegistry;
+import ca.ucalgary.edu.ensf380.util.StartupOrchestrator;
+import ca.ucalgary.edu.ensf380.util.TaskRuntime;
 import com.formdev.flatlaf.FlatDarkLaf;
 import javax.swing.UIManager;
 import java.awt.Font;
 import java.awt.Color;
+import java.awt.GraphicsEnvironment;
 import javax.swing.JOptionPane;
 
 public class SubwayScreenApp {
     
+    static final String USAGE = "Usage: SubwayScreenApp [train] [city] [country] [--display-fps=N] [--media-cache-mb=N]"
+            + " [--edt-stall-ms=N] [--headless [--sink=png:out/frames] [--fps=N]]"
+            + " [--thumbnail-port=N [--thumbnail-cpu=X] [--thumbnail-width=N]]";
+    
     public static void main(String[] args) {
+        // Headless mode must be selected before any AWT class is initialized
+        boolean headless = hasFlag(args, "--headless");
+        if (headless) {
+            System.setProperty("java.awt.headless", "true");
+        }
+        
         // Initialize logging system first
         AppLogger.initialize();
         AppLogger.startup("Application", "Starting Subway Screen Application v" + AppConstants.APP_VERSION);
         
-        // ===== Modern UI Setup =====
-        setupModernUI();
+        // One frame clock drives every panel animation at the display rate
+        FrameClock.getInstance().setFrameRate(numberFlag(args, "--display-fps", AppConstants.DISPLAY_FRAME_RATE,
+                Integer::valueOf, 1, Integer.MAX_VALUE, USAGE));
+
+        // Decoded advertisement media is kept in memory up to this budget
+        MediaCache.getInstance().setByteBudget(numberFlag(args, "--media-cache-mb", (long) AppConstants.MEDIA_CACHE_BUDGET_MB,
+                Long::valueOf, 1L, Long.MAX_VALUE / (1024 * 1024), USAGE) * 1024 * 1024);
+        
+        // Map and ad frames composed on a render thread and blitted on the EDT
+        FrameCompositor.setEnabled(hasFlag(args, "--render-thread"));
+
+        // Paint times, EDT queue depth and GC pauses feed the metrics report and overlay
+        startMetrics(numberFlag(args, "--edt-stall-ms", AppConstants.EDT_STALL_THRESHOLD,
+                Integer::valueOf, 1, Integer.MAX_VALUE, USAGE));
+        
+        // Remaining numeric options are checked before anything is started
+        int frameRate = numberFlag(args, "--fps", AppConstants.HEADLESS_FRAME_RATE,
+                Integer::valueOf, 1, Integer.MAX_VALUE, USAGE);
+        ThumbnailService thumbnails = createThumbnailService(args, USAGE);
         
         // ===== Parse Arguments with Smart Defaults =====
-        String[] parsedArgs = parseArgumentsWithDefaults(args);
+        String[] parsedArgs = parseArgumentsWithDefaults(positionalArgs(args));
         String trainNumber = parsedArgs[0];
         String city = parsedArgs[1];
         String countryCode = parsedArgs[2];
@@ -69,19 +107,60 @@ public class SubwayScreenApp {
         try {
             AppLogger.startup("Components", "Initializing application components");
             
-            SimulatorManager simulatorManager = SimulatorManager.create();
-            ReadSimulatorOutput output = new ReadSimulatorOutput();
-            StationController stationController = new StationController();
-            SubwayScreenGUI gui = new SubwayScreenGUI(trainNumber, city, countryCode, stationController.getStations());
+            // Independent components start in parallel; the screen appears as soon as
+            // the theme and station topology are ready
+            StartupOrchestrator startup = new StartupOrchestrator();
+            startup.expectMilestones("first-frame", "first-train-position");
+            
+            startup.stage("ui-theme", () -> {
+                if (!headless) {
+                    setupModernUI();
+                }
+            });
+            startup.stage("simulator", SimulatorManager::create);
+            startup.stage("stations", StationController::new);
+            startup.stage("ad-catalog", AdvertisementController::preloadAdvertisements);
+            startup.stage("gui", () -> {
+                StationController stations = startup.await("stations");
+                SubwayScreenGUI screen = SubwayScreenGUI.create(trainNumber, city, countryCode, stations.getStations(), !headless);
+                screen.setFirstFrameListener(() -> startup.milestone("first-frame"));
+                screen.setDiagnosticsVisible(hasFlag(args, "--diagnostics"));
+                return screen;
+            }, "ui-theme", "stations");
+            
+            SimulatorManager simulatorManager = startup.await("simulator");
+            StationController stationController = startup.await("stations");
+            SubwayScreenGUI gui = startup.await("gui");
+            TrainSnapshotFeed feed = new TrainSnapshotFeed();
+            
+            HeadlessRenderer renderer = null;
+            if (headless) {
+                FrameSink sink = FrameSink.fromSpec(flagValue(args, "--sink", AppConstants.HEADLESS_DEFAULT_SINK));
+                renderer = new HeadlessRenderer("train-" + trainNumber, gui, sink, frameRate);
+                renderer.start();
+            }
+
+            if (thumbnails != null) {
+                thumbnails.addScreen("train-" + trainNumber, gui);
+                thumbnails.start();
+            }
 
             AppLogger.startup("Components", "All components initialized successfully");
             AppLogger.info(AppConstants.SUCCESS_APP_STARTED);
 
             // Main application loop
-            runMainLoop(simulatorManager, output, stationController, gui, trainNum);
+            runMainLoop(simulatorManager, feed, stationController, gui, trainNum, startup);
             
-            // Shutdown simulator when main loop ends
+            // Shutdown simulator and remaining background work when main loop ends
+            feed.stop();
+            if (renderer != null) {
+                renderer.stop();
+            }
+            if (thumbnails != null) {
+                thumbnails.stop();
+            }
             simulatorManager.shutdown();
+            TaskRuntime.getInstance().shutdown();
             
         } catch (Exception e) {
             AppLogger.error("Failed to initialize application components", e);
@@ -97,7 +176,7 @@ public class SubwayScreenApp {
     /**
      * Setup modern UI with FlatLaf dark theme
      */
-    private static void setupModernUI() {
+    static void setupModernUI() {
         try {
             AppLogger.startup("UI", "Setting up modern UI theme");
             
@@ -124,6 +203,38 @@ public class SubwayScreenApp {
         }
     }
     
+    /**
+     * Installs the event queue depth gauge and GC pause monitor, starts the EDT
+     * stall watchdog and the periodic metrics report
+     *
+     * @param edtStallMs dispatch delay after which the EDT is reported as stalled
+     */
+    static void startMetrics(int edtStallMs) {
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        metrics.installGcMonitor();
+        CountingEventQueue.install();
+        EdtWatchdog.getInstance().start(edtStallMs);
+        metrics.startReporting(AppConstants.METRICS_REPORT_INTERVAL);
+    }
+    
+    /**
+     * Creates the monitoring thumbnail service if "--thumbnail-port=N" was given,
+     * throttled by "--thumbnail-cpu" (share of one core) and "--thumbnail-width"
+     *
+     * @param usage usage line logged if one of the values is invalid
+     * @return the unstarted service, or null if thumbnails are not requested
+     */
+    static ThumbnailService createThumbnailService(String[] args, String usage) {
+        if (flagValue(args, "--thumbnail-port", null) == null) {
+            return null;
+        }
+        return new ThumbnailService(
+                numberFlag(args, "--thumbnail-port", 0, Integer::valueOf, 0, 65535, usage),
+                numberFlag(args, "--thumbnail-cpu", AppConstants.THUMBNAIL_CPU_SHARE, Double::valueOf, Double.MIN_VALUE, 1.0, usage),
+                numberFlag(args, "--thumbnail-width", AppConstants.THUMBNAIL_WIDTH, Integer::valueOf,
+                        AppConstants.THUMBNAIL_MIN_WIDTH, Integer.MAX_VALUE, usage));
+    }
+    
     /**
      * Parse command-line arguments with intelligent defaults
      * Allows the application to run with 0, 1, 2, or 3 arguments
@@ -164,6 +275,69 @@ public class SubwayScreenApp {
         return new String[]{trainNumber, city, countryCode};
     }
     
+    /**
+     * Check whether a flag such as "--headless" was given
+     */
+    static boolean hasFlag(String[] args, String flag) {
+        for (String arg : args) {
+            if (arg.trim().equalsIgnoreCase(flag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Returns the value of a "--name=value" option, or the default if absent
+     */
+    static String flagValue(String[] args, String name, String defaultValue) {
+        String prefix = name + "=";
+        for (String arg : args) {
+            if (arg.trim().startsWith(prefix)) {
+                return arg.trim().substring(prefix.length());
+            }
+        }
+        return defaultValue;
+    }
+    
+    /**
+     * Returns the numeric value of a "--name=value" option, or the default if absent.
+     * A value that does not parse or lies outside [min, max] is logged with the usage
+     * line and the process exits, since a screen cannot start on a bad option.
+     *
+     * @param parser e.g. Integer::valueOf
+     * @param usage usage line of the entry point
+     */
+    static <T extends Comparable<T>> T numberFlag(String[] args, String name, T defaultValue,
+                                                  Function<String, T> parser, T min, T max, String usage) {
+        String value = flagValue(args, name, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            T number = parser.apply(value.trim());
+            if (number.compareTo(min) >= 0 && number.compareTo(max) <= 0) {
+                return number;
+            }
+            AppLogger.error("Value for " + name + " is out of range: " + value);
+        } catch (NumberFormatException e) {
+            AppLogger.error("Value for " + name + " is not a number: \"" + value + "\"");
+        }
+        AppLogger.error(usage);
+        AppLogger.shutdown();
+        System.exit(1);
+        return defaultValue; // Not reached
+    }
+    
+    /**
+     * Returns the arguments that are not "--" options
+     */
+    static String[] positionalArgs(String[] args) {
+        return Arrays.stream(args)
+                .filter(arg -> !arg.trim().startsWith("--"))
+                .toArray(String[]::new);
+    }
+    
     /**
      * Validate arguments are in acceptable ranges/formats
      * 
@@ -187,79 +361,86 @@ public class SubwayScreenApp {
     }
     
     /**
-     * Main application loop with improved error handling and logging
+     * Main application loop. The snapshot feed reads the simulator output at the
+     * train update interval and pushes each snapshot to this screen; the calling
+     * thread waits until the simulator stops.
      */
-    private static void runMainLoop(SimulatorManager simulatorManager, ReadSimulatorOutput output, 
-                                  StationController stationController, SubwayScreenGUI gui, int trainNum) {
+    private static void runMainLoop(SimulatorManager simulatorManager, TrainSnapshotFeed feed, 
+                                  StationController stationController, SubwayScreenGUI gui, int trainNum,
+                                  StartupOrchestrator startup) {
         AppLogger.info("Starting main application loop");
         
-        int loopCount = 0;
-        long lastUpdateTime = System.currentTimeMillis();
+        int[] loopCount = {0};
+        long[] lastUpdateTime = {System.currentTimeMillis()};
         
-        // Main loop: runs continuously while simulator manager is running
-        while (simulatorManager.isRunning()) {
-            try {
-                long startTime = System.currentTimeMillis();
-                
-                // Update and retrieve the current train positions from the simulator output
-                output.readOutput();
-                ArrayList<Train> trains = output.getTrains();
-                
-                if (trains.isEmpty()) {
-                    AppLogger.warning("No train data available from simulator");
-                    Thread.sleep(AppConstants.TRAIN_UPDATE_INTERVAL);
-                    continue;
-                }
-                
-                if (trainNum >= trains.size()) {
-                    AppLogger.warning("Train index " + trainNum + " exceeds available trains (" + trains.size() + ")");
-                    Thread.sleep(AppConstants.TRAIN_UPDATE_INTERVAL);
-                    continue;
-                }
-                
-                Train currentTrain = trains.get(trainNum);
-                AppLogger.debug("Current train position: " + currentTrain.getPosition() + " moving " + currentTrain.getDirection());
+        feed.addListener(trains -> {
+            String nextStationCode = updateTrainDisplay(trainNum, trains, stationController, gui);
+            startup.milestone("first-train-position");
+            
+            // Play audio announcement for the next station
+            if (nextStationCode != null) {
+                playAudioAnnouncement(nextStationCode);
+            }
+            
+            loopCount[0]++;
+            if (loopCount[0] % 10 == 0) { // Log every 10 iterations
+                long timeSinceLastLog = System.currentTimeMillis() - lastUpdateTime[0];
+                AppLogger.data("Main loop", String.format("Completed %d iterations in %d ms", 10, timeSinceLastLog));
+                lastUpdateTime[0] = System.currentTimeMillis();
+            }
+        });
+        feed.start();
+        
+        try {
+            simulatorManager.awaitTermination();
+        } catch (InterruptedException e) {
+            AppLogger.warning("Main loop interrupted", e);
+            Thread.currentThread().interrupt();
+        }
+        
+        AppLogger.info("Main application loop terminated");
+    }
 
-                // Update the GUI with the train's current position and get the next station code
-                stationController.updateTrainPos(trainNum, trains, gui);
-                String nextStationCode = stationController.nextStationNum;
+    /**
+     * Applies one train snapshot to a screen: updates the map and station info for
+     * the given train.
+     *
+     * @param trainNum zero-based index of the train shown on this screen
+     * @param trains the current train snapshot
+     * @param stationController the controller for this screen
+     * @param gui the screen to update
+     * @return the next station code to announce, or null if there is none
+     */
+    static String updateTrainDisplay(int trainNum, List<Train> trains, StationController stationController,
+                                     SubwayScreenGUI gui) {
+        try {
+            long startTime = System.currentTimeMillis();
+            
+            if (trainNum >= trains.size()) {
+                AppLogger.warning("Train index " + trainNum + " exceeds available trains (" + trains.size() + ")");
+                return null;
+            }
+            
+            Train currentTrain = trains.get(trainNum);
+            AppLogger.debug("Current train position: " + currentTrain.getPosition() + " moving " + currentTrain.getDirection());
 
-                // Play audio announcement for the next station
-                if (nextStationCode != null && !nextStationCode.trim().isEmpty()) {
-                    playAudioAnnouncement(nextStationCode.trim());
-                }
-                
-                // Log performance metrics if enabled
-                long duration = System.currentTimeMillis() - startTime;
-                AppLogger.performance("Main loop iteration", duration);
-                
-                loopCount++;
-                if (loopCount % 10 == 0) { // Log every 10 iterations
-                    long timeSinceLastLog = System.currentTimeMillis() - lastUpdateTime;
-                    AppLogger.data("Main loop", String.format("Completed %d iterations in %d ms", 10, timeSinceLastLog));
-                    lastUpdateTime = System.currentTimeMillis();
-                }
+            // Update the GUI with the train's current position and get the next station code
+            stationController.updateTrainPos(trainNum, trains, gui);
+            String nextStationCode = stationController.nextStationNum;
 
-                // Pause the loop for the configured interval
-                Thread.sleep(AppConstants.TRAIN_UPDATE_INTERVAL);
-                
-            } catch (InterruptedException e) {
-                AppLogger.warning("Main loop interrupted", e);
-                Thread.currentThread().interrupt();
-                break;
-            } catch (Exception e) {
-                AppLogger.error("Error in main loop iteration", e);
-                // Continue running despite errors
-                try {
-                    Thread.sleep(AppConstants.TRAIN_UPDATE_INTERVAL);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    break;
-                }
+            // Log performance metrics if enabled
+            long duration = System.currentTimeMillis() - startTime;
+            AppLogger.performance("Main loop iteration", duration);
+            
+            if (nextStationCode != null && !nextStationCode.trim().isEmpty()) {
+                return nextStationCode.trim();
             }
+            
+        } catch (Exception e) {
+            AppLogger.error("Error in main loop iteration", e);
+            // Continue running despite errors; the next snapshot is already scheduled
         }
-        
-        AppLogger.info("Main application loop terminated");
+        return null;
     }
 
     /**
@@ -291,7 +472,10 @@ public class SubwayScreenApp {
     /**
      * Show error dialog to user with consistent styling
      */
-    private static void showErrorDialog(String message) {
+    static void showErrorDialog(String message) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return; // Already logged; no display to show a dialog on
+        }
         JOptionPane.showMessageDialog(null, message, 
             AppConstants.APP_NAME + " - Error", 
             JOptionPane.ERROR_MESSAGE);
@@ -11,6 +11,7 @@
  * - Component coordination and communication
  * - Display mode switching (map/advertisement)
  * - Timer management for screen updates
+ * - Per-panel paint timing and the diagnostics overlay (F12)
  * 
  * @author Subway Screen Development Team
  * @version 2.0
@@ -18,6 +19,7 @@
 package ca.ucalgary.edu.ensf380.view;
 
 import ca.ucalgary.edu.ensf380.model.Station;
+import ca.ucalgary.edu.ensf380.util.AppConstants;
 import ca.ucalgary.edu.ensf380.util.AppLogger;
 import ca.ucalgary.edu.ensf380.controller.AdvertisementController;
 import ca.ucalgary.edu.ensf380.controller.WeatherController;
@@ -25,7 +27,9 @@ import ca.ucalgary.edu.ensf380.controller.NewsController;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.KeyEvent;
 import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 
 public class SubwayScreenGUI {
@@ -42,15 +46,62 @@ public class SubwayScreenGUI {
 
     private final JPanel adMapPanel;
     private final CardLayout cardLayout;
+    private final DiagnosticsOverlay diagnostics;
     private Timer displayTimer;
 
     private boolean showingAd = true; // Track which card is currently visible
+    private final boolean windowed;
+    private JFrame frame; // Only set for windowed screens
+    private volatile JPanel contentPanel; // Only set for offscreen screens
+    private Runnable firstFrameListener; // EDT only
+    private volatile Runnable closeListener;
+    private boolean firstFramePainted = false; // EDT only
+    private long renderedFrames = 0; // EDT only; offscreen frames painted
     
     // Modern color scheme matching all panels
     private static final Color BACKGROUND_COLOR = new Color(15, 23, 42); // Dark slate
     private static final Color PANEL_SPACING_COLOR = new Color(30, 41, 59); // Subtle separator
+    private static final BasicStroke SEPARATOR_STROKE = new BasicStroke(1f);
 
     public SubwayScreenGUI(String trainNumber, String city, String countryCode, ArrayList<Station> stations) {
+        this(trainNumber, city, countryCode, stations, true);
+    }
+
+    /**
+     * Creates a screen for one train on the Event Dispatch Thread and waits for it.
+     * Panels subscribe their animations to the {@link FrameClock} while they are
+     * built, so screens must never be constructed on another thread while the EDT
+     * is already animating other screens. May be called from any thread.
+     *
+     * @param windowed true to show the screen in its own window, false to build it offscreen
+     * @return the new screen
+     * @throws InterruptedException if interrupted while waiting for the EDT
+     */
+    public static SubwayScreenGUI create(String trainNumber, String city, String countryCode, ArrayList<Station> stations,
+                                         boolean windowed) throws InterruptedException {
+        if (EventQueue.isDispatchThread()) {
+            return new SubwayScreenGUI(trainNumber, city, countryCode, stations, windowed);
+        }
+        SubwayScreenGUI[] screen = new SubwayScreenGUI[1];
+        try {
+            EventQueue.invokeAndWait(() -> screen[0] = new SubwayScreenGUI(trainNumber, city, countryCode, stations, windowed));
+        } catch (java.lang.reflect.InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException runtime ? runtime : new IllegalStateException("Building screen failed", cause);
+        }
+        return screen[0];
+    }
+
+    /**
+     * Creates a screen for one train. Must be called on the Event Dispatch Thread;
+     * use {@link #create} from other threads.
+     *
+     * @param windowed true to show the screen in its own window, false to build it
+     *                 offscreen so frames are only produced through {@link #renderFrame}
+     */
+    public SubwayScreenGUI(String trainNumber, String city, String countryCode, ArrayList<Station> stations,
+                           boolean windowed) {
+        this.windowed = windowed;
         this.advertisementPanel = new AdvertisementPanel();
         this.weatherPanel = new WeatherPanel();
         this.newsPanel = new NewsPanel();
@@ -60,6 +111,9 @@ public class SubwayScreenGUI {
         this.cardLayout = new CardLayout();
         this.adMapPanel = new JPanel(cardLayout);
         this.adMapPanel.setBackground(BACKGROUND_COLOR);
+        this.diagnostics = new DiagnosticsOverlay(windowed
+                ? FrameClock.getInstance()::getFrameCount
+                : () -> renderedFrames);
 
         this.advertisementController = new AdvertisementController(advertisementPanel);
         this.weatherController = new WeatherController(weatherPanel);
@@ -68,22 +122,34 @@ public class SubwayScreenGUI {
         this.newsController = new NewsController(newsPanel);
         newsController.retrieveNews(countryCode);
 
-        setupGUI(trainNumber);
+        if (windowed) {
+            setupGUI(trainNumber);
+        } else {
+            setupOffscreen();
+        }
         startDisplayTimer();
     }
 
     private void setupGUI(String trainNumber) {
         EventQueue.invokeLater(() -> {
             JFrame mainFrame = new JFrame("CityX Subway Display - Train " + trainNumber);
-            mainFrame.setSize(1200, 700);
+            mainFrame.setSize(AppConstants.MAIN_WINDOW_WIDTH, AppConstants.MAIN_WINDOW_HEIGHT);
             mainFrame.setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
         
         // Add window listener for proper shutdown
         mainFrame.addWindowListener(new java.awt.event.WindowAdapter() {
             @Override
             public void windowClosing(java.awt.event.WindowEvent e) {
-                AppLogger.info("Application window closing - initiating shutdown");
-                System.exit(0);
+                Runnable listener = closeListener;
+                if (listener == null) {
+                    AppLogger.info("Application window closing - initiating shutdown");
+                    System.exit(0);
+                    return;
+                }
+                AppLogger.info("Screen window closing - " + mainFrame.getTitle());
+                stopScreen();
+                mainFrame.dispose();
+                listener.run();
             }
         });
             mainFrame.setBackground(BACKGROUND_COLOR);
@@ -91,83 +157,19 @@ public class SubwayScreenGUI {
             // Set modern window properties
             mainFrame.setLocationRelativeTo(null); // Center the window
             
-            // Create main content panel with modern styling
-            JPanel contentPanel = new JPanel() {
-                @Override
-                protected void paintComponent(Graphics g) {
-                    super.paintComponent(g);
-                    Graphics2D g2 = (Graphics2D) g.create();
-                    
-                    // Enable high-quality rendering
-                    g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                    
-                    // Draw background
-                    g2.setColor(BACKGROUND_COLOR);
-                    g2.fillRect(0, 0, getWidth(), getHeight());
-                    
-                    // Draw subtle separator lines
-                    g2.setColor(PANEL_SPACING_COLOR);
-                    g2.setStroke(new BasicStroke(1f));
-                    
-                    // Vertical separator between main content and weather panel
-                    int weatherPanelX = getWidth() - 230;
-                    g2.drawLine(weatherPanelX - 5, 10, weatherPanelX - 5, getHeight() - 120);
-                    
-                    // Horizontal separators
-                    g2.drawLine(10, getHeight() - 120, getWidth() - 10, getHeight() - 120); // Above news
-                    g2.drawLine(10, getHeight() - 50, getWidth() - 10, getHeight() - 50); // Above station info
-                    
-                    g2.dispose();
-                }
-            };
-            contentPanel.setLayout(new BorderLayout(10, 10));
-            contentPanel.setBackground(BACKGROUND_COLOR);
-            contentPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
-
-            // Setup card layout for ads/map switching
-            adMapPanel.add(advertisementPanel.getPanel(), "AdvertisementPanel");
-            adMapPanel.add(mapPanel.getPanel(), "MapPanel");
-
-            // Create main content area (left and center)
-            JPanel mainContentPanel = new JPanel(new BorderLayout(10, 10));
-            mainContentPanel.setBackground(BACKGROUND_COLOR);
-            mainContentPanel.add(adMapPanel, BorderLayout.CENTER);
-
-            // Create right panel for weather
-            JPanel rightPanel = new JPanel(new BorderLayout());
-            rightPanel.setBackground(BACKGROUND_COLOR);
-            rightPanel.setPreferredSize(new Dimension(230, 0));
-            rightPanel.add(weatherPanel.getPanel(), BorderLayout.CENTER);
-
-            // Create bottom panel for news and station info
-            JPanel bottomPanel = new JPanel() {
+            mainFrame.setContentPane(buildContentPanel());
+            
+            // Diagnostics overlay above every panel, toggled with F12
+            mainFrame.setGlassPane(diagnostics);
+            JRootPane rootPane = mainFrame.getRootPane();
+            rootPane.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW)
+                    .put(KeyStroke.getKeyStroke(KeyEvent.VK_F12, 0), "toggleDiagnostics");
+            rootPane.getActionMap().put("toggleDiagnostics", new AbstractAction() {
                 @Override
-                protected void paintComponent(Graphics g) {
-                    super.paintComponent(g);
-                    Graphics2D g2 = (Graphics2D) g.create();
-                    g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                    
-                    // Draw background
-                    g2.setColor(BACKGROUND_COLOR);
-                    g2.fillRect(0, 0, getWidth(), getHeight());
-                    
-                    g2.dispose();
+                public void actionPerformed(java.awt.event.ActionEvent e) {
+                    diagnostics.setVisible(!diagnostics.isVisible());
                 }
-            };
-            bottomPanel.setLayout(new BorderLayout(0, 5));
-            bottomPanel.setBackground(BACKGROUND_COLOR);
-            bottomPanel.setPreferredSize(new Dimension(0, 170));
-            
-            // Add components to bottom panel
-            bottomPanel.add(newsPanel.getPanel(), BorderLayout.NORTH);
-            bottomPanel.add(stationInfoPanel.getPanel(), BorderLayout.SOUTH);
-
-            // Assemble the main layout
-            contentPanel.add(mainContentPanel, BorderLayout.CENTER);
-            contentPanel.add(rightPanel, BorderLayout.EAST);
-            contentPanel.add(bottomPanel, BorderLayout.SOUTH);
-
-            mainFrame.setContentPane(contentPanel);
+            });
             
             // Add window title bar styling
             try {
@@ -177,9 +179,249 @@ public class SubwayScreenGUI {
             }
             
             mainFrame.setVisible(true);
+            frame = mainFrame;
         });
     }
-    
+
+    /**
+     * Builds the screen without a window. The component tree is sized to the main
+     * window dimensions and laid out so it can be painted with {@link #renderFrame}.
+     */
+    private void setupOffscreen() {
+        EventQueue.invokeLater(() -> {
+            JPanel panel = buildContentPanel();
+            panel.setSize(AppConstants.MAIN_WINDOW_WIDTH, AppConstants.MAIN_WINDOW_HEIGHT);
+            layoutTree(panel);
+            contentPanel = panel;
+            AppLogger.debug("Offscreen screen built (" + AppConstants.MAIN_WINDOW_WIDTH + "x" + AppConstants.MAIN_WINDOW_HEIGHT + ")");
+        });
+    }
+
+    /**
+     * Creates the main content panel holding every display panel
+     */
+    private JPanel buildContentPanel() {
+        // Create main content panel with modern styling
+        JPanel contentPanel = new JPanel() {
+            @Override
+            protected void paintComponent(Graphics g) {
+                super.paintComponent(g);
+                Graphics2D g2 = (Graphics2D) g.create();
+                
+                // Enable high-quality rendering
+                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                
+                // Draw background
+                g2.setColor(BACKGROUND_COLOR);
+                g2.fillRect(0, 0, getWidth(), getHeight());
+                
+                // Draw subtle separator lines
+                g2.setColor(PANEL_SPACING_COLOR);
+                g2.setStroke(SEPARATOR_STROKE);
+                
+                // Vertical separator between main content and weather panel
+                int weatherPanelX = getWidth() - 230;
+                g2.drawLine(weatherPanelX - 5, 10, weatherPanelX - 5, getHeight() - 120);
+                
+                // Horizontal separators
+                g2.drawLine(10, getHeight() - 120, getWidth() - 10, getHeight() - 120); // Above news
+                g2.drawLine(10, getHeight() - 50, getWidth() - 10, getHeight() - 50); // Above station info
+                
+                g2.dispose();
+                notifyFirstFrame();
+            }
+        };
+        contentPanel.setLayout(new BorderLayout(10, 10));
+        contentPanel.setBackground(BACKGROUND_COLOR);
+        contentPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        // Setup card layout for ads/map switching
+        adMapPanel.add(PaintMetricsLayer.wrap("ads", advertisementPanel.getPanel()), "AdvertisementPanel");
+        adMapPanel.add(PaintMetricsLayer.wrap("map", mapPanel.getPanel()), "MapPanel");
+
+        // Create main content area (left and center)
+        JPanel mainContentPanel = new JPanel(new BorderLayout(10, 10));
+        mainContentPanel.setBackground(BACKGROUND_COLOR);
+        mainContentPanel.add(adMapPanel, BorderLayout.CENTER);
+
+        // Create right panel for weather
+        JPanel rightPanel = new JPanel(new BorderLayout());
+        rightPanel.setBackground(BACKGROUND_COLOR);
+        rightPanel.setPreferredSize(new Dimension(230, 0));
+        rightPanel.add(PaintMetricsLayer.wrap("weather", weatherPanel.getPanel()), BorderLayout.CENTER);
+
+        // Create bottom panel for news and station info
+        JPanel bottomPanel = new JPanel() {
+            @Override
+            protected void paintComponent(Graphics g) {
+                super.paintComponent(g);
+                Graphics2D g2 = (Graphics2D) g.create();
+                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                
+                // Draw background
+                g2.setColor(BACKGROUND_COLOR);
+                g2.fillRect(0, 0, getWidth(), getHeight());
+                
+                g2.dispose();
+            }
+        };
+        bottomPanel.setLayout(new BorderLayout(0, 5));
+        bottomPanel.setBackground(BACKGROUND_COLOR);
+        bottomPanel.setPreferredSize(new Dimension(0, 170));
+        
+        // Add components to bottom panel
+        bottomPanel.add(PaintMetricsLayer.wrap("news", newsPanel.getPanel()), BorderLayout.NORTH);
+        bottomPanel.add(PaintMetricsLayer.wrap("station-info", stationInfoPanel.getPanel()), BorderLayout.SOUTH);
+
+        // Assemble the main layout
+        contentPanel.add(mainContentPanel, BorderLayout.CENTER);
+        contentPanel.add(rightPanel, BorderLayout.EAST);
+        contentPanel.add(bottomPanel, BorderLayout.SOUTH);
+        return contentPanel;
+    }
+
+    /**
+     * Lays out a component tree that has no native peer (offscreen screens)
+     */
+    private static void layoutTree(Component component) {
+        component.doLayout();
+        if (component instanceof Container container) {
+            for (Component child : container.getComponents()) {
+                layoutTree(child);
+            }
+        }
+    }
+
+    /**
+     * Paints the current state of an offscreen screen into the given image.
+     * Must be called on the Event Dispatch Thread. The image is reused by the caller,
+     * so nothing is allocated per frame.
+     *
+     * @param target image to paint into; its size is used as the screen size
+     * @return true if a frame was painted, false if the screen is not built yet
+     */
+    public boolean renderFrame(BufferedImage target) {
+        JPanel panel = contentPanel;
+        if (panel == null) {
+            return false;
+        }
+        if (panel.getWidth() != target.getWidth() || panel.getHeight() != target.getHeight()) {
+            panel.setSize(target.getWidth(), target.getHeight());
+        }
+        layoutTree(panel);
+
+        Graphics2D g2 = target.createGraphics();
+        try {
+            panel.paint(g2);
+            if (diagnostics.isVisible()) {
+                diagnostics.setSize(target.getWidth(), target.getHeight());
+                diagnostics.paint(g2);
+            }
+        } finally {
+            g2.dispose();
+        }
+        renderedFrames++;
+        return true;
+    }
+
+    /**
+     * Paints what the screen currently shows, windowed or offscreen, at its own size
+     * and display scale, without resizing or laying it out; used for monitoring
+     * thumbnails. Must be called on the Event Dispatch Thread.
+     *
+     * @param reuse image returned by the previous call, reused if the size still fits
+     * @return the painted image, or null if the screen is not built yet
+     */
+    public BufferedImage captureScreen(BufferedImage reuse) {
+        JComponent root = windowed ? (frame != null ? (JComponent) frame.getContentPane() : null) : contentPanel;
+        if (root == null || root.getWidth() <= 0 || root.getHeight() <= 0) {
+            return null;
+        }
+        // Painting at the window's scale keeps the panels' per-scale caches (map tiles, sprites) valid
+        double scale = windowed ? frame.getGraphicsConfiguration().getDefaultTransform().getScaleX() : 1.0;
+        int width = (int) Math.ceil(root.getWidth() * scale);
+        int height = (int) Math.ceil(root.getHeight() * scale);
+        BufferedImage image = reuse != null && reuse.getWidth() == width && reuse.getHeight() == height
+                ? reuse : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+
+        Graphics2D g2 = image.createGraphics();
+        try {
+            g2.scale(scale, scale);
+            root.paint(g2);
+        } finally {
+            g2.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * Shows or hides the diagnostics overlay (frame rate, panel paint times, event
+     * queue depth, GC pauses). May be called from any thread.
+     */
+    public void setDiagnosticsVisible(boolean visible) {
+        // Queued behind setupGUI(), so a window has its glass pane by the time this runs
+        EventQueue.invokeLater(() -> diagnostics.setVisible(visible));
+    }
+
+    /**
+     * Registers a callback run once, on the EDT, when the screen is first painted
+     * (window shown or first offscreen frame rendered)
+     */
+    public void setFirstFrameListener(Runnable listener) {
+        EventQueue.invokeLater(() -> {
+            if (firstFramePainted) {
+                listener.run();
+            } else {
+                firstFrameListener = listener;
+            }
+        });
+    }
+
+    private void notifyFirstFrame() {
+        firstFramePainted = true;
+        Runnable listener = firstFrameListener;
+        if (listener != null) {
+            firstFrameListener = null;
+            listener.run();
+        }
+    }
+
+    /**
+     * Registers a callback run on the EDT when the user closes this screen's window.
+     * The screen's background work is then stopped and the window disposed instead
+     * of exiting the JVM, so a host running several screens decides itself when to
+     * shut down. Without a listener closing the window exits the application.
+     */
+    public void setCloseListener(Runnable listener) {
+        closeListener = listener;
+    }
+
+    /**
+     * Stops everything this screen runs in the background: the ad/map card timer,
+     * the ad rotation and its task group, and every panel animation. EDT only.
+     */
+    private void stopScreen() {
+        displayTimer.stop();
+        advertisementController.cleanup();
+        advertisementPanel.dispose();
+        weatherPanel.dispose();
+        newsPanel.dispose();
+        mapPanel.dispose();
+        diagnostics.dispose();
+    }
+
+    /**
+     * Positions the window (windowed screens only); used to cascade host-mode windows
+     */
+    public void setWindowLocation(Point location) {
+        // Queued behind setupGUI(), so the frame exists by the time this runs
+        EventQueue.invokeLater(() -> {
+            if (frame != null) {
+                frame.setLocation(location);
+            }
+        });
+    }
+
     /**
      * Creates a simple app icon for the window
      */
@@ -229,4 +471,11 @@ public class SubwayScreenGUI {
     public MapPanel getMapPanel() {
         return mapPanel;
     }
+
+    /**
+     * Check whether this screen has its own window
+     */
+    public boolean isWindowed() {
+        return windowed;
+    }
 }
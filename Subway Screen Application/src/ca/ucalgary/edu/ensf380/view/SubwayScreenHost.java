@@ -0,0 +1,257 @@
+/**
+ * Multi-Screen Host Entry Point for Subway Screen Application
+ *
+ * Runs several train displays in one JVM. All screens share a single simulator
+ * process, a single train snapshot feed, the station topology, the HTTP response
+ * cache and the decoded advertisement media, so adding a screen costs only its
+ * own panels instead of a full application instance.
+ *
+ * Usage:
+ *   SubwayScreenHost <trains> [city] [country] [--offscreen] [--display-fps=N] [--media-cache-mb=N] [--headless [--sink=...] [--fps=N]]
+ *   e.g. SubwayScreenHost 1-12 Calgary CA
+ *        SubwayScreenHost 1,4,7 Calgary CA --offscreen
+ *        SubwayScreenHost 1-3 Calgary CA --headless --sink=shm:/dev/shm/subway-{train}
+ *
+ * Audio announcements are disabled in host mode since all screens share one
+ * audio device. Closing a screen's window closes only that screen; closing the
+ * last one shuts the host down.
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+package ca.ucalgary.edu.ensf380.view;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import ca.ucalgary.edu.ensf380.SimulatorManager;
+import ca.ucalgary.edu.ensf380.controller.AdvertisementController;
+import ca.ucalgary.edu.ensf380.controller.StationController;
+import ca.ucalgary.edu.ensf380.controller.TrainSnapshotFeed;
+import ca.ucalgary.edu.ensf380.model.Train;
+import ca.ucalgary.edu.ensf380.util.AppConstants;
+import ca.ucalgary.edu.ensf380.util.AppLogger;
+import ca.ucalgary.edu.ensf380.util.MediaCache;
+import ca.ucalgary.edu.ensf380.util.StartupOrchestrator;
+import ca.ucalgary.edu.ensf380.util.TaskRuntime;
+
+public class SubwayScreenHost {
+
+    // Offset between cascaded screen windows
+    private static final int WINDOW_CASCADE_OFFSET = 30;
+
+    private static final String USAGE = "Usage: SubwayScreenHost <trains e.g. 1,2,3 or 1-12> [city] [country] [--offscreen]"
+            + " [--display-fps=N] [--media-cache-mb=N] [--edt-stall-ms=N]"
+            + " [--headless [--sink=png:out/frames/train-{train}] [--fps=N]]"
+            + " [--thumbnail-port=N [--thumbnail-cpu=X] [--thumbnail-width=N]]";
+
+    public static void main(String[] args) {
+        // Headless mode must be selected before any AWT class is initialized
+        boolean headless = SubwayScreenApp.hasFlag(args, "--headless");
+        if (headless) {
+            System.setProperty("java.awt.headless", "true");
+        }
+        
+        AppLogger.initialize();
+        AppLogger.startup("Host", "Starting Subway Screen Host v" + AppConstants.APP_VERSION);
+        
+        // One frame clock drives every panel animation at the display rate
+        FrameClock.getInstance().setFrameRate(SubwayScreenApp.numberFlag(args, "--display-fps",
+                AppConstants.DISPLAY_FRAME_RATE, Integer::valueOf, 1, Integer.MAX_VALUE, USAGE));
+
+        // Decoded advertisement media is kept in memory up to this budget
+        MediaCache.getInstance().setByteBudget(SubwayScreenApp.numberFlag(args, "--media-cache-mb",
+                (long) AppConstants.MEDIA_CACHE_BUDGET_MB, Long::valueOf, 1L, Long.MAX_VALUE / (1024 * 1024), USAGE) * 1024 * 1024);
+
+        // Map and ad frames composed on a render thread and blitted on the EDT
+        FrameCompositor.setEnabled(SubwayScreenApp.hasFlag(args, "--render-thread"));
+
+        // Paint times, EDT queue depth and GC pauses feed the metrics report and overlay
+        SubwayScreenApp.startMetrics(SubwayScreenApp.numberFlag(args, "--edt-stall-ms",
+                AppConstants.EDT_STALL_THRESHOLD, Integer::valueOf, 1, Integer.MAX_VALUE, USAGE));
+
+        // Remaining numeric options are checked before anything is started
+        int frameRate = SubwayScreenApp.numberFlag(args, "--fps", AppConstants.HEADLESS_FRAME_RATE,
+                Integer::valueOf, 1, Integer.MAX_VALUE, USAGE);
+        ThumbnailService thumbnails = SubwayScreenApp.createThumbnailService(args, USAGE);
+
+        String[] positional = SubwayScreenApp.positionalArgs(args);
+        boolean offscreen = headless || SubwayScreenApp.hasFlag(args, "--offscreen");
+        if (positional.length < 1 || positional[0].trim().isEmpty()) {
+            AppLogger.error(USAGE);
+            AppLogger.shutdown();
+            System.exit(1);
+        }
+
+        List<Integer> trainNumbers;
+        try {
+            trainNumbers = parseTrainList(positional[0]);
+        } catch (IllegalArgumentException e) {
+            AppLogger.error("Invalid train list: " + e.getMessage());
+            AppLogger.shutdown();
+            System.exit(1);
+            return;
+        }
+        String city = positional.length >= 2 ? positional[1].trim() : "Calgary";
+        String countryCode = positional.length >= 3 ? positional[2].trim() : "CA";
+
+        AppLogger.startup("Arguments", String.format("Trains: %s, City: %s, Country: %s, Offscreen: %b",
+                trainNumbers, city, countryCode, offscreen));
+
+        try {
+            AppLogger.startup("Components", "Initializing shared host components");
+
+            StartupOrchestrator startup = new StartupOrchestrator();
+            startup.expectMilestones("first-frame", "first-train-position");
+            boolean windowed = !offscreen;
+            startup.stage("ui-theme", () -> {
+                if (windowed) {
+                    SubwayScreenApp.setupModernUI();
+                }
+            });
+            startup.stage("simulator", SimulatorManager::create);
+            startup.stage("stations", StationController::new);
+            startup.stage("ad-catalog", AdvertisementController::preloadAdvertisements);
+            startup.await("ui-theme");
+            startup.await("stations");
+
+            TrainSnapshotFeed feed = new TrainSnapshotFeed();
+            List<HeadlessRenderer> renderers = new ArrayList<>();
+            String sinkSpec = SubwayScreenApp.flagValue(args, "--sink", AppConstants.HEADLESS_DEFAULT_SINK + "/train-{train}");
+            AtomicInteger openWindows = new AtomicInteger();
+            CompletableFuture<Void> allWindowsClosed = new CompletableFuture<>();
+
+            int screenIndex = 0;
+            for (int trainNumber : trainNumbers) {
+                int trainNum = trainNumber - 1;
+                StationController stationController = new StationController();
+                SubwayScreenGUI gui = SubwayScreenGUI.create(String.valueOf(trainNumber), city, countryCode,
+                        stationController.getStations(), !offscreen);
+                gui.setFirstFrameListener(() -> startup.milestone("first-frame"));
+                gui.setDiagnosticsVisible(SubwayScreenApp.hasFlag(args, "--diagnostics"));
+                Consumer<List<Train>> trainListener = trains -> {
+                    SubwayScreenApp.updateTrainDisplay(trainNum, trains, stationController, gui);
+                    startup.milestone("first-train-position");
+                };
+                if (!offscreen) {
+                    int offset = WINDOW_CASCADE_OFFSET * screenIndex;
+                    gui.setWindowLocation(new Point(offset, offset));
+                    
+                    // Closing one window stops only that screen; the others keep running
+                    String screenId = "train-" + trainNumber;
+                    openWindows.incrementAndGet();
+                    gui.setCloseListener(() -> {
+                        feed.removeListener(trainListener);
+                        if (thumbnails != null) {
+                            thumbnails.removeScreen(screenId);
+                        }
+                        if (openWindows.decrementAndGet() == 0) {
+                            AppLogger.info("Last screen window closed - shutting down host");
+                            allWindowsClosed.complete(null);
+                        }
+                    });
+                }
+                if (headless) {
+                    // "{train}" in the sink spec gives every screen its own output
+                    FrameSink sink = FrameSink.fromSpec(sinkSpec.replace("{train}", String.valueOf(trainNumber)));
+                    HeadlessRenderer renderer = new HeadlessRenderer("train-" + trainNumber, gui, sink, frameRate);
+                    renderer.start();
+                    renderers.add(renderer);
+                }
+                if (thumbnails != null) {
+                    thumbnails.addScreen("train-" + trainNumber, gui);
+                }
+
+                feed.addListener(trainListener);
+                screenIndex++;
+            }
+
+            if (thumbnails != null) {
+                thumbnails.start();
+            }
+
+            AppLogger.startup("Components", screenIndex + " screen(s) initialized successfully");
+            AppLogger.info(AppConstants.SUCCESS_APP_STARTED);
+
+            SimulatorManager simulatorManager = startup.await("simulator");
+            feed.start();
+            // The last window closing ends the host the same way the simulator stopping does
+            allWindowsClosed.thenRun(() -> TaskRuntime.getInstance().group("host")
+                    .submit("shutdown", simulatorManager::shutdown));
+            simulatorManager.awaitTermination();
+
+            feed.stop();
+            for (HeadlessRenderer renderer : renderers) {
+                renderer.stop();
+            }
+            if (thumbnails != null) {
+                thumbnails.stop();
+            }
+            simulatorManager.shutdown();
+            TaskRuntime.getInstance().shutdown();
+
+        } catch (InterruptedException e) {
+            AppLogger.warning("Host interrupted", e);
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            AppLogger.error("Failed to initialize host components", e);
+        } finally {
+            AppLogger.info("Host shutting down");
+            AppLogger.shutdown();
+            System.exit(0);
+        }
+    }
+
+    /**
+     * Parses a train list such as "1,2,3", "1-12" or "1-3,7" into distinct train
+     * numbers, preserving the given order.
+     *
+     * @param spec the train list
+     * @return the train numbers
+     * @throws IllegalArgumentException if the list is malformed or out of range
+     */
+    static List<Integer> parseTrainList(String spec) {
+        Set<Integer> result = new LinkedHashSet<>();
+        for (String part : spec.split(",")) {
+            String token = part.trim();
+            if (token.isEmpty()) {
+                continue;
+            }
+            try {
+                int dash = token.indexOf('-');
+                if (dash > 0) {
+                    int from = Integer.parseInt(token.substring(0, dash).trim());
+                    int to = Integer.parseInt(token.substring(dash + 1).trim());
+                    if (from > to) {
+                        throw new IllegalArgumentException("Range start is after range end: " + token);
+                    }
+                    for (int n = from; n <= to; n++) {
+                        result.add(validateTrain(n));
+                    }
+                } else {
+                    result.add(validateTrain(Integer.parseInt(token)));
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Not a train number: " + token);
+            }
+        }
+        if (result.isEmpty()) {
+            throw new IllegalArgumentException("No trains given");
+        }
+        return new ArrayList<>(result);
+    }
+
+    private static int validateTrain(int trainNumber) {
+        if (trainNumber < AppConstants.MIN_TRAIN_ID || trainNumber > AppConstants.MAX_TRAIN_ID) {
+            throw new IllegalArgumentException("Train " + trainNumber + " must be between "
+                    + AppConstants.MIN_TRAIN_ID + " and " + AppConstants.MAX_TRAIN_ID);
+        }
+        return trainNumber;
+    }
+}
@@ -0,0 +1,178 @@
+/**
+ * Text Layout Cache
+ *
+ * Process-wide cache of laid-out text for the display panels. An entry is keyed by
+ * the text, font, maximum width and font render context, and holds the text as it
+ * fits that width (truncated with an ellipsis if needed), its pixel width and the
+ * shaped glyphs. Drawing an entry is a single {@link Graphics2D#drawGlyphVector}
+ * call with no measuring, truncation or glyph lookup.
+ *
+ * The cache is bounded to {@link AppConstants#TEXT_LAYOUT_CACHE_SIZE} entries and
+ * evicts the least recently used one. Every screen in the process shares it, so
+ * station names laid out by one screen are reused by all others.
+ *
+ * Thread-safe.
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+package ca.ucalgary.edu.ensf380.view;
+
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import ca.ucalgary.edu.ensf380.util.AppConstants;
+
+public final class TextLayoutCache {
+
+    /** Maximum width meaning "never truncate" */
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    private static final String ELLIPSIS = "...";
+    private static final TextLayoutCache INSTANCE = new TextLayoutCache(AppConstants.TEXT_LAYOUT_CACHE_SIZE);
+
+    private final int capacity;
+    private final Map<Key, Entry> entries;
+
+    // Statistics
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    private TextLayoutCache(int capacity) {
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(capacity * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > TextLayoutCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get the process-wide text layout cache
+     */
+    public static TextLayoutCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the layout of the text in the given font, truncated with an ellipsis to
+     * fit maxWidth. The layout matches the graphics' font render context (antialiasing,
+     * fractional metrics, transform).
+     *
+     * @param g2 graphics the text will be drawn with
+     * @param text the text to lay out
+     * @param font the font
+     * @param maxWidth maximum width in pixels, or {@link #UNBOUNDED}
+     * @return the cached layout
+     */
+    public Entry get(Graphics2D g2, String text, Font font, int maxWidth) {
+        FontRenderContext frc = g2.getFontRenderContext();
+        Key key = new Key(text, font, maxWidth, frc);
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                hits++;
+                return entry;
+            }
+            misses++;
+        }
+        // Lay out outside the lock; a concurrent miss on the same key does the same work
+        Entry entry = layout(text, font, maxWidth, frc);
+        synchronized (this) {
+            entries.put(key, entry);
+        }
+        return entry;
+    }
+
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    private static Entry layout(String text, Font font, int maxWidth, FontRenderContext frc) {
+        String fitted = text;
+        int width = width(fitted, font, frc);
+        if (width > maxWidth) {
+            // Longest prefix that still fits with the ellipsis; width grows with length
+            int low = 0;
+            int high = text.length() - 1;
+            fitted = ELLIPSIS;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                String candidate = text.substring(0, mid) + ELLIPSIS;
+                if (width(candidate, font, frc) <= maxWidth) {
+                    low = mid;
+                    fitted = candidate;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            width = width(fitted, font, frc);
+        }
+        GlyphVector glyphs = font.createGlyphVector(frc, fitted);
+        return new Entry(fitted, width, glyphs);
+    }
+
+    private static int width(String text, Font font, FontRenderContext frc) {
+        return (int) Math.ceil(font.getStringBounds(text, frc).getWidth());
+    }
+
+    /**
+     * Text laid out for one font and width
+     */
+    public static final class Entry {
+        private final String text;
+        private final int width;
+        private final GlyphVector glyphs;
+
+        private Entry(String text, int width, GlyphVector glyphs) {
+            this.text = text;
+            this.width = width;
+            this.glyphs = glyphs;
+        }
+
+        /**
+         * The text as it fits, possibly ending in an ellipsis
+         */
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * Width of the fitted text in pixels
+         */
+        public int getWidth() {
+            return width;
+        }
+
+        /**
+         * Draws the text with its baseline starting at (x, y) in the current color
+         */
+        public void draw(Graphics2D g2, float x, float y) {
+            g2.drawGlyphVector(glyphs, x, y);
+        }
+    }
+
+    private record Key(String text, Font font, int maxWidth, FontRenderContext frc) {}
+}
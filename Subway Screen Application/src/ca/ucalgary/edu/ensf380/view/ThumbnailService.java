@@ -0,0 +1,330 @@
+/**
+ * Screen Thumbnail Service for Remote Monitoring
+ *
+ * Periodically captures what each screen shows, scales it down to a thumbnail,
+ * encodes it as JPEG and keeps the latest bytes in memory. A small HTTP server on
+ * the loopback interface serves them, so operations can see every screen without
+ * VNC (e.g. through an SSH tunnel or a local agent):
+ * - GET /thumbnails            one line per screen: id, size, age in ms
+ * - GET /thumbnails/&lt;id&gt;.jpg  latest thumbnail of a screen
+ *
+ * The service throttles itself to a share of one CPU core. After every capture
+ * round it waits until the round's cost (screen paint on the EDT, scaling and
+ * encoding) is at most that share of the elapsed time, within
+ * {@link AppConstants#THUMBNAIL_MIN_INTERVAL} and
+ * {@link AppConstants#THUMBNAIL_MAX_INTERVAL}. When even the longest interval would
+ * exceed the share, thumbnails get narrower; when there is headroom they grow back
+ * to the configured width. While nobody has fetched a thumbnail for
+ * {@link AppConstants#THUMBNAIL_IDLE_TIMEOUT} ms, rounds run at the longest interval.
+ *
+ * Capture images, thumbnails, the JPEG writer and its output buffer are reused;
+ * each round allocates only the published JPEG bytes. Round times are recorded in
+ * the "thumbnail.capture" histogram of the {@link MetricsRegistry}.
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+package ca.ucalgary.edu.ensf380.view;
+
+import java.awt.EventQueue;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import ca.ucalgary.edu.ensf380.util.AppConstants;
+import ca.ucalgary.edu.ensf380.util.AppLogger;
+import ca.ucalgary.edu.ensf380.util.LatencyHistogram;
+import ca.ucalgary.edu.ensf380.util.MetricsRegistry;
+import ca.ucalgary.edu.ensf380.util.TaskGroup;
+import ca.ucalgary.edu.ensf380.util.TaskRuntime;
+
+public class ThumbnailService {
+    private static final String PATH = "/thumbnails";
+
+    private final int port;
+    private final double cpuShare;
+    private final int maxWidth;
+    private final List<Screen> screens = new CopyOnWriteArrayList<>();
+    private final TaskGroup tasks = TaskRuntime.getInstance().group("thumbnails");
+    private final LatencyHistogram captureTimes = MetricsRegistry.getInstance().histogram("thumbnail.capture");
+
+    // Encoder state, only touched by the capture task
+    private final ImageWriter writer;
+    private final ImageWriteParam writeParam;
+    private final ByteArrayOutputStream encoded = new ByteArrayOutputStream(64 * 1024);
+    private volatile int width;
+
+    private HttpServer server;
+    private ScheduledFuture<?> nextRound;
+    private volatile long lastRequestMillis = 0;
+
+    /**
+     * One monitored screen and its latest thumbnail
+     */
+    private static final class Screen {
+        final String id;
+        final SubwayScreenGUI gui;
+        BufferedImage capture;   // Full-size screen image, reused (EDT)
+        BufferedImage thumbnail; // Reused while the size is unchanged (capture task)
+        volatile byte[] jpeg;
+        volatile long capturedMillis;
+
+        Screen(String id, SubwayScreenGUI gui) {
+            this.id = id;
+            this.gui = gui;
+        }
+    }
+
+    /**
+     * @param port loopback port to serve thumbnails on
+     * @param cpuShare share of one CPU core the service may use, e.g. 0.02 for 2%
+     * @param width thumbnail width in pixels; the height keeps the screen's aspect ratio
+     */
+    public ThumbnailService(int port, double cpuShare, int width) {
+        if (cpuShare <= 0 || cpuShare > 1) {
+            throw new IllegalArgumentException("Thumbnail CPU share must be in (0, 1]: " + cpuShare);
+        }
+        if (width < AppConstants.THUMBNAIL_MIN_WIDTH) {
+            throw new IllegalArgumentException("Thumbnail width must be at least " + AppConstants.THUMBNAIL_MIN_WIDTH + ": " + width);
+        }
+        this.port = port;
+        this.cpuShare = cpuShare;
+        this.maxWidth = width;
+        this.width = width;
+        this.writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        this.writeParam = writer.getDefaultWriteParam();
+        writeParam.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        writeParam.setCompressionQuality(AppConstants.THUMBNAIL_JPEG_QUALITY);
+    }
+
+    /**
+     * Adds a screen to capture; its thumbnail is served as /thumbnails/&lt;id&gt;.jpg
+     */
+    public void addScreen(String id, SubwayScreenGUI gui) {
+        screens.add(new Screen(id, gui));
+    }
+
+    /**
+     * Stops capturing a screen, e.g. once its window has been closed
+     */
+    public void removeScreen(String id) {
+        screens.removeIf(screen -> screen.id.equals(id));
+    }
+
+    /**
+     * Starts the HTTP server and the first capture round
+     *
+     * @throws IOException if the port cannot be bound
+     */
+    public synchronized void start() throws IOException {
+        if (server != null) {
+            return;
+        }
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext(PATH, this::handle);
+        server.setExecutor(command -> tasks.submit("request", command));
+        server.start();
+        nextRound = tasks.schedule("capture", 0, TimeUnit.MILLISECONDS, this::captureRound);
+        AppLogger.info(String.format("Thumbnail service on http://%s:%d%s (%d screen(s), %.0f%% CPU)",
+                InetAddress.getLoopbackAddress().getHostAddress(), port, PATH, screens.size(), cpuShare * 100));
+    }
+
+    /**
+     * Stops capturing and serving
+     */
+    public synchronized void stop() {
+        if (nextRound != null) {
+            nextRound.cancel(false);
+            nextRound = null;
+        }
+        if (server != null) {
+            server.stop(0);
+            server = null;
+            AppLogger.info("Thumbnail service stopped");
+        }
+    }
+
+    /**
+     * Current thumbnail width, after adapting to the CPU share
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Captures every screen once, then schedules the next round so the service stays
+     * within its CPU share
+     */
+    private void captureRound() {
+        long start = System.nanoTime();
+        for (Screen screen : screens) {
+            try {
+                captureScreen(screen);
+            } catch (IOException | RuntimeException e) {
+                AppLogger.warning("Thumbnail capture failed for screen " + screen.id, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        long costNanos = System.nanoTime() - start;
+        captureTimes.record(costNanos);
+        scheduleNextRound(costNanos);
+    }
+
+    private void captureScreen(Screen screen) throws IOException, InterruptedException {
+        // Paint on the EDT into the reused full-size image
+        try {
+            EventQueue.invokeAndWait(() -> screen.capture = screen.gui.captureScreen(screen.capture));
+        } catch (InvocationTargetException e) {
+            throw new IOException("Painting screen failed", e.getCause());
+        }
+        BufferedImage capture = screen.capture;
+        if (capture == null) {
+            return; // Screen not built yet
+        }
+
+        // Scale down off the EDT; the capture image is only painted inside invokeAndWait
+        int height = Math.max(1, (int) Math.round(capture.getHeight() * (double) width / capture.getWidth()));
+        BufferedImage thumbnail = screen.thumbnail;
+        if (thumbnail == null || thumbnail.getWidth() != width || thumbnail.getHeight() != height) {
+            thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            screen.thumbnail = thumbnail;
+        }
+        Graphics2D g2 = thumbnail.createGraphics();
+        try {
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
+            g2.drawImage(capture, 0, 0, width, height, null);
+        } finally {
+            g2.dispose();
+        }
+
+        screen.jpeg = encode(thumbnail);
+        screen.capturedMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Encodes an image with the reused JPEG writer and output buffer
+     */
+    private byte[] encode(BufferedImage image) throws IOException {
+        encoded.reset();
+        try (ImageOutputStream out = new MemoryCacheImageOutputStream(encoded)) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), writeParam);
+        } finally {
+            writer.setOutput(null);
+        }
+        return encoded.toByteArray();
+    }
+
+    /**
+     * Waits long enough for the last round's cost to be at most the CPU share of the
+     * elapsed time, and narrows or widens the thumbnails when the interval limits
+     * cannot hold the share or leave room to spare
+     */
+    private synchronized void scheduleNextRound(long costNanos) {
+        if (server == null) {
+            return; // Stopped
+        }
+        long costMillis = TimeUnit.NANOSECONDS.toMillis(costNanos);
+        long budgetedInterval = (long) (costMillis / cpuShare);
+        if (budgetedInterval > AppConstants.THUMBNAIL_MAX_INTERVAL && width > AppConstants.THUMBNAIL_MIN_WIDTH) {
+            width = Math.max(AppConstants.THUMBNAIL_MIN_WIDTH, width * 3 / 4);
+            AppLogger.debug("Thumbnail round took " + costMillis + " ms; width reduced to " + width);
+        } else if (budgetedInterval < AppConstants.THUMBNAIL_MIN_INTERVAL / 2 && width < maxWidth) {
+            width = Math.min(maxWidth, width * 5 / 4);
+        }
+
+        boolean idle = System.currentTimeMillis() - lastRequestMillis > AppConstants.THUMBNAIL_IDLE_TIMEOUT;
+        long delay = idle ? AppConstants.THUMBNAIL_MAX_INTERVAL
+                : Math.max(AppConstants.THUMBNAIL_MIN_INTERVAL,
+                        Math.min(AppConstants.THUMBNAIL_MAX_INTERVAL, budgetedInterval - costMillis));
+        nextRound = tasks.schedule("capture", delay, TimeUnit.MILLISECONDS, this::captureRound);
+    }
+
+    /**
+     * Serves the screen list or one screen's latest thumbnail
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, "text/plain", "Method not allowed\n".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            boolean wasIdle = System.currentTimeMillis() - lastRequestMillis > AppConstants.THUMBNAIL_IDLE_TIMEOUT;
+            lastRequestMillis = System.currentTimeMillis();
+            if (wasIdle) {
+                captureSoon();
+            }
+
+            String path = exchange.getRequestURI().getPath();
+            if (path.equals(PATH) || path.equals(PATH + "/")) {
+                StringBuilder list = new StringBuilder();
+                long now = System.currentTimeMillis();
+                for (Screen screen : screens) {
+                    byte[] jpeg = screen.jpeg;
+                    list.append(screen.id).append(' ')
+                            .append(jpeg != null ? jpeg.length + " bytes " + (now - screen.capturedMillis) + " ms" : "pending")
+                            .append('\n');
+                }
+                send(exchange, 200, "text/plain; charset=utf-8", list.toString().getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+
+            String name = path.substring(path.lastIndexOf('/') + 1);
+            if (name.endsWith(".jpg")) {
+                String id = name.substring(0, name.length() - ".jpg".length());
+                for (Screen screen : screens) {
+                    byte[] jpeg = screen.jpeg;
+                    if (screen.id.equals(id) && jpeg != null) {
+                        send(exchange, 200, "image/jpeg", jpeg);
+                        return;
+                    }
+                }
+            }
+            send(exchange, 404, "text/plain", "No such thumbnail\n".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Brings the next round forward after an idle period, so a new viewer does not
+     * wait out the longest interval
+     */
+    private synchronized void captureSoon() {
+        if (nextRound != null && nextRound.getDelay(TimeUnit.MILLISECONDS) > AppConstants.THUMBNAIL_MIN_INTERVAL
+                && nextRound.cancel(false)) {
+            nextRound = tasks.schedule("capture", 0, TimeUnit.MILLISECONDS, this::captureRound);
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
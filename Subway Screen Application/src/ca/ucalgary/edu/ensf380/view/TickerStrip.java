@@ -0,0 +1,186 @@
+/**
+ * Pre-rendered Ticker Strip
+ *
+ * Renders a line of text once into an opaque image strip (text followed by a gap)
+ * together with the card gradient behind it. Scrolling then only copies a window of
+ * that strip to the screen, wrapping around at the end, so a scrolling headline costs
+ * one or two image copies per frame instead of laying out and antialiasing the
+ * whole string again.
+ *
+ * The scroll offset is kept in fractional pixels and snapped to device pixels for
+ * the copy; on HiDPI displays the ticker therefore moves in steps smaller than one
+ * logical pixel, and it never resamples (and blurs) the text.
+ *
+ * Must be used on the Event Dispatch Thread.
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+package ca.ucalgary.edu.ensf380.view;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+final class TickerStrip {
+    private final Font font;
+    private final Color textColor;
+    private final Color topColor;
+    private final Color bottomColor;
+    private final int gap;
+
+    private String text = "";
+    private int textWidth = -1; // Measured on the next paint
+
+    private BufferedImage image;
+    private int imageHeight = -1;
+    private int imageGradientTop;
+    private int imageGradientBottom;
+    private double imageScale = 1.0;
+
+    /**
+     * @param font text font
+     * @param textColor text color
+     * @param topColor background color at the gradient top
+     * @param bottomColor background color at the gradient bottom
+     * @param gap space between the end of the text and its repeat, in pixels
+     */
+    TickerStrip(Font font, Color textColor, Color topColor, Color bottomColor, int gap) {
+        this.font = font;
+        this.textColor = textColor;
+        this.topColor = topColor;
+        this.bottomColor = bottomColor;
+        this.gap = gap;
+    }
+
+    /**
+     * Replaces the text; the strip is re-rendered on the next paint
+     */
+    void setText(String text) {
+        this.text = text == null ? "" : text;
+        this.textWidth = -1;
+        this.image = null;
+    }
+
+    String getText() {
+        return text;
+    }
+
+    /**
+     * Width of the text in pixels
+     */
+    int getTextWidth(Graphics2D g2) {
+        if (textWidth < 0) {
+            textWidth = g2.getFontMetrics(font).stringWidth(text);
+        }
+        return textWidth;
+    }
+
+    /**
+     * Distance after which the scrolling strip repeats, in pixels
+     */
+    int getPeriod(Graphics2D g2) {
+        return getTextWidth(g2) + gap;
+    }
+
+    /**
+     * Draws the strip scrolled by the given offset into the rectangle (x, y, width, height),
+     * repeating it as often as needed to fill the width
+     *
+     * @param offset scroll offset in pixels, in [0, period)
+     * @param gradientTop top of the background gradient, relative to y
+     * @param gradientBottom bottom of the background gradient, relative to y
+     * @param deviceScale display scale of the target graphics (e.g. 2.0 on HiDPI)
+     */
+    void paintScrolled(Graphics2D g2, int x, int y, int width, int height, double offset,
+                       int gradientTop, int gradientBottom, double deviceScale) {
+        if (!prepare(g2, height, gradientTop, gradientBottom, deviceScale)) {
+            return;
+        }
+        int stripWidth = image.getWidth();
+        int deviceWidth = (int) Math.round(width * deviceScale);
+        int deviceHeight = image.getHeight();
+        int source = (int) Math.round(offset * deviceScale) % stripWidth;
+
+        AffineTransform saved = null;
+        if (deviceScale != 1.0) {
+            // Copy in device pixels so the strip is not resampled
+            saved = g2.getTransform();
+            g2.setTransform(new AffineTransform(1, 0, 0, 1,
+                    saved.getTranslateX() + x * deviceScale, saved.getTranslateY() + y * deviceScale));
+        } else {
+            g2.translate(x, y);
+        }
+        for (int dest = 0; dest < deviceWidth; ) {
+            int span = Math.min(stripWidth - source, deviceWidth - dest);
+            g2.drawImage(image, dest, 0, dest + span, deviceHeight, source, 0, source + span, deviceHeight, null);
+            dest += span;
+            source = 0; // Wrap around to the start of the strip
+        }
+        if (saved != null) {
+            g2.setTransform(saved);
+        } else {
+            g2.translate(-x, -y);
+        }
+    }
+
+    /**
+     * Draws the text (without the gap) with its left edge at x
+     */
+    void paintStatic(Graphics2D g2, int x, int y, int height, int gradientTop, int gradientBottom, double deviceScale) {
+        if (!prepare(g2, height, gradientTop, gradientBottom, deviceScale)) {
+            return;
+        }
+        int width = getTextWidth(g2);
+        if (deviceScale == 1.0) {
+            g2.drawImage(image, x, y, x + width, y + height, 0, 0, width, height, null);
+        } else {
+            int deviceWidth = (int) Math.ceil(width * deviceScale);
+            g2.drawImage(image, x, y, x + width, y + height, 0, 0, deviceWidth, image.getHeight(), null);
+        }
+    }
+
+    /**
+     * Renders the strip if it is missing or was rendered for a different row
+     *
+     * @return false when there is nothing to draw
+     */
+    private boolean prepare(Graphics2D g2, int height, int gradientTop, int gradientBottom, double deviceScale) {
+        if (text.isEmpty() || height <= 0) {
+            return false;
+        }
+        if (image == null || height != imageHeight || gradientTop != imageGradientTop
+                || gradientBottom != imageGradientBottom || deviceScale != imageScale) {
+            render(g2, height, gradientTop, gradientBottom, deviceScale);
+        }
+        return true;
+    }
+
+    private void render(Graphics2D target, int height, int gradientTop, int gradientBottom, double deviceScale) {
+        int period = getPeriod(target);
+        image = new BufferedImage((int) Math.ceil(period * deviceScale), (int) Math.ceil(height * deviceScale),
+                BufferedImage.TYPE_INT_RGB);
+        imageHeight = height;
+        imageGradientTop = gradientTop;
+        imageGradientBottom = gradientBottom;
+        imageScale = deviceScale;
+
+        Graphics2D g2 = image.createGraphics();
+        g2.scale(deviceScale, deviceScale);
+        g2.setPaint(new GradientPaint(0, gradientTop, topColor, 0, gradientBottom, bottomColor));
+        g2.fillRect(0, 0, period + 1, height);
+
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2.setFont(font);
+        g2.setColor(textColor);
+        FontMetrics fm = g2.getFontMetrics();
+        int baseline = (height - fm.getHeight()) / 2 + fm.getAscent();
+        g2.drawString(text, 0, baseline);
+        g2.dispose();
+    }
+}
@@ -0,0 +1,150 @@
+/**
+ * Track Geometry for Train Animation
+ *
+ * The polyline of one subway line through its stations, in map units, with a
+ * cumulative arc-length table built once. A position along the track is given as
+ * an arc length (distance from the first station); finding its point is a binary
+ * search for the segment plus one linear interpolation, with no square roots or
+ * trigonometry, so animating trains along the track is cheap per frame. The unit
+ * direction of every segment is precomputed as well.
+ *
+ * Immutable.
+ *
+ * @author Subway Screen Development Team
+ * @version 2.0
+ */
+package ca.ucalgary.edu.ensf380.view;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import ca.ucalgary.edu.ensf380.model.Station;
+
+final class TrackGeometry {
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] arc;          // Arc length at each vertex; arc[0] = 0
+    private final double[] inverseLength; // 1 / segment length (0 for zero-length segments)
+    private final double[] unitX;         // Unit direction of each segment
+    private final double[] unitY;
+    private final Map<String, Integer> vertexByCode;
+
+    private TrackGeometry(double[] xs, double[] ys, Map<String, Integer> vertexByCode) {
+        this.xs = xs;
+        this.ys = ys;
+        this.vertexByCode = vertexByCode;
+        this.arc = new double[xs.length];
+        int segments = Math.max(0, xs.length - 1);
+        this.inverseLength = new double[segments];
+        this.unitX = new double[segments];
+        this.unitY = new double[segments];
+        for (int i = 0; i < segments; i++) {
+            double length = Math.hypot(xs[i + 1] - xs[i], ys[i + 1] - ys[i]);
+            arc[i + 1] = arc[i] + length;
+            inverseLength[i] = length > 0 ? 1.0 / length : 0.0;
+            unitX[i] = (xs[i + 1] - xs[i]) * inverseLength[i];
+            unitY[i] = (ys[i + 1] - ys[i]) * inverseLength[i];
+        }
+    }
+
+    /**
+     * Track through the stations of a line in order
+     */
+    static TrackGeometry of(List<Station> lineStations) {
+        int count = lineStations.size();
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        Map<String, Integer> vertexByCode = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            Station s = lineStations.get(i);
+            xs[i] = s.getX();
+            ys[i] = s.getY();
+            vertexByCode.putIfAbsent(s.getCode(), i);
+        }
+        return new TrackGeometry(xs, ys, vertexByCode);
+    }
+
+    /**
+     * Straight track between two points, for moves that do not follow a line
+     */
+    static TrackGeometry straight(double x0, double y0, double x1, double y1) {
+        return new TrackGeometry(new double[] {x0, x1}, new double[] {y0, y1}, Map.of());
+    }
+
+    /**
+     * Arc length of a station on this track
+     *
+     * @return the arc length, or -1 if the station is not on this track
+     */
+    double arcOf(String stationCode) {
+        Integer vertex = vertexByCode.get(stationCode);
+        return vertex == null ? -1 : arc[vertex];
+    }
+
+    /**
+     * Total length of the track
+     */
+    double getLength() {
+        return arc[arc.length - 1];
+    }
+
+    /**
+     * Point at the given arc length, clamped to the ends of the track
+     *
+     * @param s arc length from the first vertex
+     * @param out receives the x (out[0]) and y (out[1]) coordinates
+     */
+    void pointAt(double s, double[] out) {
+        int last = xs.length - 1;
+        if (last == 0 || s <= 0) {
+            out[0] = xs[0];
+            out[1] = ys[0];
+            return;
+        }
+        if (s >= arc[last]) {
+            out[0] = xs[last];
+            out[1] = ys[last];
+            return;
+        }
+        int low = segmentAt(s);
+        double t = (s - arc[low]) * inverseLength[low];
+        out[0] = xs[low] + (xs[low + 1] - xs[low]) * t;
+        out[1] = ys[low] + (ys[low + 1] - ys[low]) * t;
+    }
+
+    /**
+     * Unit direction of the track (towards the last vertex) at the given arc length
+     *
+     * @param out receives the x (out[0]) and y (out[1]) components, both 0 for a
+     *            track without length
+     */
+    void directionAt(double s, double[] out) {
+        if (unitX.length == 0) {
+            out[0] = 0;
+            out[1] = 0;
+            return;
+        }
+        int segment = segmentAt(Math.max(0, Math.min(getLength(), s)));
+        out[0] = unitX[segment];
+        out[1] = unitY[segment];
+    }
+
+    /**
+     * Index of the segment containing the arc length: the last vertex at or before s,
+     * never the final vertex
+     */
+    private int segmentAt(double s) {
+        int low = 0;
+        int high = xs.length - 1;
+        while (high - low > 1) {
+            int mid = (low + high) >>> 1;
+            if (arc[mid] <= s) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -11,6 +11,12 @@
  * - Card-based design with rounded corners and shadows
  * - Professional color scheme and typography
  * - Responsive layout and proper text formatting
+ *
+ * Only the clock changes every second. The time card's background and the whole
+ * weather block are rendered once into images, re-rendered only when the weather
+ * text, panel width or display scale changes; the clock digits are blitted from a
+ * {@link GlyphAtlas}, and each tick repaints just the clock's bounds, and only when
+ * the displayed second has changed.
  * 
  * @author Subway Screen Development Team
  * @version 2.0
@@ -19,15 +25,16 @@ package ca.ucalgary.edu.ensf380.view;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import ca.ucalgary.edu.ensf380.util.AppConstants;
 
 public class WeatherPanel {
     private final JPanel panel;
-    private final JLabel timeLabel;
-    private final JLabel weatherLabel;
-    private final Timer timer;
+    private final AnimationLifecycle animations;
     
     // Modern color scheme matching MapPanel
     private static final Color BACKGROUND_COLOR = new Color(15, 23, 42); // Dark slate
@@ -37,9 +44,44 @@ public class WeatherPanel {
     private static final Color ACCENT_COLOR = new Color(59, 130, 246); // Blue 500
     
     // Typography
-    private static final Font TIME_FONT = new Font("Segoe UI", Font.BOLD, 32);
-    private static final Font WEATHER_FONT = new Font("Segoe UI", Font.PLAIN, 14);
-    private static final Font LABEL_FONT = new Font("Segoe UI", Font.BOLD, 12);
+    private static final Font HEADER_FONT = new Font("Segoe UI", Font.BOLD, 11);
+    private static final Font CLOCK_FONT = new Font("Segoe UI", Font.BOLD, 28);
+    private static final Font DETAIL_FONT = new Font("Segoe UI", Font.PLAIN, 10);
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+    
+    // Card geometry (fixed heights, width follows the panel)
+    private static final int CARD_MARGIN = 15;
+    private static final int TIME_CARD_HEIGHT = 120;
+    private static final int CLOCK_BASELINE = CARD_MARGIN + 78;
+    private static final int WEATHER_CARD_TOP = 140;
+    private static final int WEATHER_CARD_HEIGHT = 200;
+    private static final int WEATHER_LINE_TOP = WEATHER_CARD_TOP + 85;
+    private static final int WEATHER_LINE_HEIGHT = 14;
+    private static final int BLOCK_PAD = 2;   // Room around a card for its border and shadow antialiasing
+    
+    // Drawing resources shared by every paint
+    private static final Color SHADOW_COLOR = new Color(0, 0, 0, 100);
+    private static final Color BORDER_COLOR = new Color(71, 85, 105);
+    private static final Color WEATHER_ACCENT_COLOR = new Color(16, 185, 129);
+    private static final BasicStroke ACCENT_STROKE = new BasicStroke(2f);
+    private static final int CARD_SHADOW_OFFSET = 3;
+    
+    // Card backgrounds (shadow, gradient, border) rendered once per card size
+    private final CardSprite timeCard = new CardSprite(15, CARD_SHADOW_OFFSET, SHADOW_COLOR, CARD_COLOR, new Color(51, 65, 85),
+            new BasicStroke(1f), BORDER_COLOR);
+    private final CardSprite weatherCard = new CardSprite(15, CARD_SHADOW_OFFSET, SHADOW_COLOR, CARD_COLOR, new Color(51, 65, 85),
+            new BasicStroke(1f), BORDER_COLOR);
+    
+    // Time card without the time, and the complete weather card, rendered on change only
+    private final BlockImage timeBlock = new BlockImage(CARD_MARGIN, TIME_CARD_HEIGHT);
+    private final BlockImage weatherBlock = new BlockImage(WEATHER_CARD_TOP, WEATHER_CARD_HEIGHT);
+    private final GlyphAtlas clockGlyphs = new GlyphAtlas(CLOCK_FONT, TEXT_PRIMARY, "0123456789:");
+    
+    // Weather text wrapped to the card width; rebuilt when the text or width changes
+    private final List<String> weatherLines = new ArrayList<>();
+    
+    private String currentTime = "00:00:00";
+    private String weatherText = "<html>Location: Calgary<br>Status: Loading...<br>Connecting to weather service</html>";
 
     public WeatherPanel() {
         this.panel = new JPanel() {
@@ -47,170 +89,36 @@ public class WeatherPanel {
             protected void paintComponent(Graphics g) {
                 super.paintComponent(g);
                 Graphics2D g2 = (Graphics2D) g.create();
-                
-                // Enable high-quality rendering
-                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+                double deviceScale = g2.getTransform().getScaleX();
+                int width = getWidth();
                 
                 // Draw background
                 g2.setColor(BACKGROUND_COLOR);
-                g2.fillRect(0, 0, getWidth(), getHeight());
+                g2.fillRect(0, 0, width, getHeight());
                 
-                // Draw time card
-                drawTimeCard(g2);
-                
-                // Draw weather card
-                drawWeatherCard(g2);
+                // Clock ticks repaint only the clock; the blocks are skipped outside the clip
+                Rectangle clip = g2.getClipBounds();
+                timeBlock.paint(g2, width, deviceScale, WeatherPanel.this::drawTimeCard);
+                drawClock(g2, width);
+                if (clip == null || clip.y + clip.height > weatherBlock.top - BLOCK_PAD) {
+                    weatherBlock.paint(g2, width, deviceScale, WeatherPanel.this::drawWeatherCard);
+                }
                 
                 g2.dispose();
             }
-            
-            private void drawTimeCard(Graphics2D g2) {
-                int cardHeight = 120;
-                int margin = 15;
-                int cardWidth = getWidth() - 2 * margin;
-                
-                // Draw shadow
-                g2.setColor(new Color(0, 0, 0, 100));
-                g2.fill(new RoundRectangle2D.Float(margin + 3, margin + 3, cardWidth, cardHeight, 15, 15));
-                
-                // Draw card background with gradient
-                GradientPaint gradient = new GradientPaint(
-                    margin, margin, CARD_COLOR,
-                    margin, margin + cardHeight, new Color(51, 65, 85)
-                );
-                g2.setPaint(gradient);
-                g2.fill(new RoundRectangle2D.Float(margin, margin, cardWidth, cardHeight, 15, 15));
-                
-                // Draw card border
-                g2.setStroke(new BasicStroke(1f));
-                g2.setColor(new Color(71, 85, 105));
-                g2.draw(new RoundRectangle2D.Float(margin, margin, cardWidth, cardHeight, 15, 15));
-                
-                // Draw "CURRENT TIME" label at top with proper spacing - FIXED!
-                g2.setFont(new Font("Segoe UI", Font.BOLD, 11));
-                g2.setColor(TEXT_SECONDARY);
-                FontMetrics headerFm = g2.getFontMetrics();
-                String timeLabelText = "CURRENT TIME"; // PROPERLY SPACED!
-                int timeLabelX = (getWidth() - headerFm.stringWidth(timeLabelText)) / 2;
-                g2.drawString(timeLabelText, timeLabelX, margin + 20);
-                
-                // Draw accent line BELOW the label with proper spacing
-                int accentY = margin + 32;
-                g2.setColor(ACCENT_COLOR);
-                g2.setStroke(new BasicStroke(2f));
-                g2.drawLine(margin + 15, accentY, margin + cardWidth - 15, accentY);
-                
-                // Draw time text with proper spacing below accent line
-                g2.setFont(new Font("Segoe UI", Font.BOLD, 28));
-                g2.setColor(TEXT_PRIMARY);
-                FontMetrics timeFm = g2.getFontMetrics();
-                String timeText = currentTime;
-                int timeX = (getWidth() - timeFm.stringWidth(timeText)) / 2;
-                int timeY = margin + 78;
-                g2.drawString(timeText, timeX, timeY);
-            }
-            
-            private void drawWeatherCard(Graphics2D g2) {
-                int cardTop = 140;
-                int cardHeight = 200;
-                int margin = 15;
-                int cardWidth = getWidth() - 2 * margin;
-                
-                // Draw shadow
-                g2.setColor(new Color(0, 0, 0, 100));
-                g2.fill(new RoundRectangle2D.Float(margin + 3, cardTop + 3, cardWidth, cardHeight, 15, 15));
-                
-                // Draw card background with gradient
-                GradientPaint gradient = new GradientPaint(
-                    margin, cardTop, CARD_COLOR,
-                    margin, cardTop + cardHeight, new Color(51, 65, 85)
-                );
-                g2.setPaint(gradient);
-                g2.fill(new RoundRectangle2D.Float(margin, cardTop, cardWidth, cardHeight, 15, 15));
-                
-                // Draw card border
-                g2.setStroke(new BasicStroke(1f));
-                g2.setColor(new Color(71, 85, 105));
-                g2.draw(new RoundRectangle2D.Float(margin, cardTop, cardWidth, cardHeight, 15, 15));
-                
-                // Draw "WEATHER" header
-                g2.setFont(new Font("Segoe UI", Font.BOLD, 11));
-                g2.setColor(TEXT_SECONDARY);
-                FontMetrics headerFm = g2.getFontMetrics();
-                String weatherHeader = "WEATHER";
-                int headerX = (getWidth() - headerFm.stringWidth(weatherHeader)) / 2;
-                g2.drawString(weatherHeader, headerX, cardTop + 20);
-                
-                // Draw accent line
-                int accentY = cardTop + 32;
-                g2.setColor(new Color(16, 185, 129));
-                g2.setStroke(new BasicStroke(2f));
-                g2.drawLine(margin + 15, accentY, margin + cardWidth - 15, accentY);
-                
-                // Draw weather icon
-                g2.setColor(new Color(16, 185, 129));
-                g2.fillOval(margin + cardWidth/2 - 10, cardTop + 45, 20, 20);
-                
-                // Draw weather text in a cleaner format
-                g2.setFont(new Font("Segoe UI", Font.PLAIN, 10));
-                g2.setColor(TEXT_PRIMARY);
-                
-                if (weatherText != null && !weatherText.trim().isEmpty()) {
-                    // Parse and format weather info better
-                    String[] lines = weatherText.split("<br>");
-                    int lineY = cardTop + 85;
-                    int lineHeight = 14;
-                    
-                    for (String line : lines) {
-                        line = line.replaceAll("<[^>]*>", "").trim(); // Remove HTML tags
-                        if (!line.isEmpty() && lineY < cardTop + cardHeight - 10) {
-                            int textX = margin + 10;
-                            // Wrap long lines
-                            if (g2.getFontMetrics().stringWidth(line) > cardWidth - 20) {
-                                String[] words = line.split(" ");
-                                StringBuilder currentLine = new StringBuilder();
-                                for (String word : words) {
-                                    if (g2.getFontMetrics().stringWidth(currentLine + " " + word) > cardWidth - 20) {
-                                        if (currentLine.length() > 0) {
-                                            g2.drawString(currentLine.toString(), textX, lineY);
-                                            lineY += lineHeight;
-                                            currentLine = new StringBuilder(word);
-                                        }
-                                    } else {
-                                        if (currentLine.length() > 0) currentLine.append(" ");
-                                        currentLine.append(word);
-                                    }
-                                }
-                                if (currentLine.length() > 0 && lineY < cardTop + cardHeight - 10) {
-                                    g2.drawString(currentLine.toString(), textX, lineY);
-                                    lineY += lineHeight;
-                                }
-                            } else {
-                                g2.drawString(line, textX, lineY);
-                                lineY += lineHeight;
-                            }
-                        }
-                    }
-                }
-            }
         };
         
         panel.setLayout(null); // Using absolute positioning for precise control
         panel.setPreferredSize(new Dimension(220, 450));
         panel.setBackground(BACKGROUND_COLOR);
 
-        // Create INVISIBLE time and weather labels ONLY for compatibility - they won't be shown
-        this.timeLabel = new JLabel("00:00:00", SwingConstants.CENTER);
-        timeLabel.setVisible(false); // Make invisible - we use custom painting
-        
-        this.weatherLabel = new JLabel("<html>Location: Calgary<br>Status: Loading...<br>Connecting to weather service</html>", SwingConstants.LEFT);
-        weatherLabel.setVisible(false); // Make invisible - we use custom painting
-
-        // Initialize time immediately, then start timer for updates
+        // Initialize time immediately, then tick every second while the panel is displayed
         updateTime(); // Set initial time
-        this.timer = new Timer(1000, e -> updateTime());
-        timer.start();
+        this.animations = new AnimationLifecycle(panel, "weather");
+        animations.add("clock", AppConstants.TIME_UPDATE_INTERVAL, () -> {
+            updateTime();
+            return true;
+        }).request();
     }
 
     public JPanel getPanel() {
@@ -218,34 +126,212 @@ public class WeatherPanel {
     }
 
     /**
-     * Updates the time displayed on the time label.
+     * Stops the panel's animations for good; called when its screen is closed
+     */
+    public void dispose() {
+        animations.dispose();
+    }
+    
+    /**
+     * Draws the time card without the time, at the top of a block image
+     */
+    private void drawTimeCard(Graphics2D g2, int width) {
+        int margin = CARD_MARGIN;
+        int cardWidth = width - 2 * margin;
+        int top = BLOCK_PAD;
+        
+        // Draw card with shadow, gradient and border
+        timeCard.paint(g2, margin, top, cardWidth, TIME_CARD_HEIGHT, g2.getTransform().getScaleX());
+        
+        // Draw "CURRENT TIME" label at top with proper spacing
+        g2.setFont(HEADER_FONT);
+        g2.setColor(TEXT_SECONDARY);
+        FontMetrics headerFm = g2.getFontMetrics();
+        String timeLabelText = "CURRENT TIME";
+        int timeLabelX = (width - headerFm.stringWidth(timeLabelText)) / 2;
+        g2.drawString(timeLabelText, timeLabelX, top + 20);
+        
+        // Draw accent line BELOW the label with proper spacing
+        int accentY = top + 32;
+        g2.setColor(ACCENT_COLOR);
+        g2.setStroke(ACCENT_STROKE);
+        g2.drawLine(margin + 15, accentY, margin + cardWidth - 15, accentY);
+    }
+    
+    /**
+     * Draws the time, centred below the accent line, from the glyph atlas
+     */
+    private void drawClock(Graphics2D g2, int width) {
+        int timeX = (width - clockGlyphs.stringWidth(g2, currentTime)) / 2;
+        clockGlyphs.drawString(g2, currentTime, timeX, CLOCK_BASELINE);
+    }
+    
+    /**
+     * Draws the weather card at the top of a block image
+     */
+    private void drawWeatherCard(Graphics2D g2, int width) {
+        int cardTop = BLOCK_PAD;
+        int margin = CARD_MARGIN;
+        int cardWidth = width - 2 * margin;
+        
+        // Draw card with shadow, gradient and border
+        weatherCard.paint(g2, margin, cardTop, cardWidth, WEATHER_CARD_HEIGHT, g2.getTransform().getScaleX());
+        
+        // Draw "WEATHER" header
+        g2.setFont(HEADER_FONT);
+        g2.setColor(TEXT_SECONDARY);
+        FontMetrics headerFm = g2.getFontMetrics();
+        String weatherHeader = "WEATHER";
+        int headerX = (width - headerFm.stringWidth(weatherHeader)) / 2;
+        g2.drawString(weatherHeader, headerX, cardTop + 20);
+        
+        // Draw accent line
+        int accentY = cardTop + 32;
+        g2.setColor(WEATHER_ACCENT_COLOR);
+        g2.setStroke(ACCENT_STROKE);
+        g2.drawLine(margin + 15, accentY, margin + cardWidth - 15, accentY);
+        
+        // Draw weather icon
+        g2.fillOval(margin + cardWidth/2 - 10, cardTop + 45, 20, 20);
+        
+        // Draw weather text, wrapped to the card width
+        g2.setFont(DETAIL_FONT);
+        g2.setColor(TEXT_PRIMARY);
+        wrapWeatherText(g2.getFontMetrics(), cardWidth);
+        int textX = margin + 10;
+        int firstLine = cardTop + WEATHER_LINE_TOP - WEATHER_CARD_TOP;
+        for (int i = 0; i < weatherLines.size(); i++) {
+            g2.drawString(weatherLines.get(i), textX, firstLine + i * WEATHER_LINE_HEIGHT);
+        }
+    }
+
+    /**
+     * Splits the weather text into display lines, wrapping lines wider than the card
+     */
+    private void wrapWeatherText(FontMetrics fm, int cardWidth) {
+        weatherLines.clear();
+        if (weatherText == null || weatherText.trim().isEmpty()) {
+            return;
+        }
+        int maxWidth = cardWidth - 20;
+        int lineY = WEATHER_LINE_TOP;
+        int bottom = WEATHER_CARD_TOP + WEATHER_CARD_HEIGHT - 10;
+        
+        for (String line : weatherText.split("<br>")) {
+            line = line.replaceAll("<[^>]*>", "").trim(); // Remove HTML tags
+            if (line.isEmpty() || lineY >= bottom) {
+                continue;
+            }
+            if (fm.stringWidth(line) > maxWidth) {
+                // Wrap long lines
+                StringBuilder currentLine = new StringBuilder();
+                for (String word : line.split(" ")) {
+                    if (fm.stringWidth(currentLine + " " + word) > maxWidth) {
+                        if (currentLine.length() > 0) {
+                            weatherLines.add(currentLine.toString());
+                            lineY += WEATHER_LINE_HEIGHT;
+                            currentLine = new StringBuilder(word);
+                        }
+                    } else {
+                        if (currentLine.length() > 0) currentLine.append(" ");
+                        currentLine.append(word);
+                    }
+                }
+                if (currentLine.length() > 0 && lineY < bottom) {
+                    weatherLines.add(currentLine.toString());
+                    lineY += WEATHER_LINE_HEIGHT;
+                }
+            } else {
+                weatherLines.add(line);
+                lineY += WEATHER_LINE_HEIGHT;
+            }
+        }
+    }
+
+    /**
+     * Updates the time displayed on the clock, repainting only the clock's bounds
+     * and only when the displayed second has changed
      */
     private void updateTime() {
-        LocalDateTime now = LocalDateTime.now();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm:ss");
-        currentTime = now.format(formatter);
-        timeLabel.setText(currentTime);
-        panel.repaint(); // FIXED! Trigger custom painting to update the display
+        String time = LocalDateTime.now().format(TIME_FORMAT);
+        if (time.equals(currentTime)) {
+            return;
+        }
+        currentTime = time;
+        int margin = CARD_MARGIN;
+        int top = CLOCK_BASELINE - CLOCK_FONT.getSize() - BLOCK_PAD;
+        panel.repaint(margin, top, panel.getWidth() - 2 * margin, 2 * (CLOCK_BASELINE - top));
     }
 
     /**
-     * Updates the weather information displayed on the weather label.
+     * Updates the weather information displayed on the weather card. The card is
+     * re-rendered only if the text differs from what is shown.
      *
      * @param weatherInfo the weather information to display
      */
     public void updateWeatherLabel(String weatherInfo) {
-        // Store weather text for custom painting
-        weatherText = weatherInfo != null ? weatherInfo : "Loading weather data...";
-        
-        // Update invisible label for compatibility (not displayed)
-        weatherLabel.setText(weatherText);
-        
-        // Trigger repaint to show updated weather
-        panel.repaint();
+        String text = weatherInfo != null ? weatherInfo : "Loading weather data...";
+        if (text.equals(weatherText)) {
+            return;
+        }
+        weatherText = text;
+        weatherBlock.invalidate();
+        panel.repaint(0, weatherBlock.top - BLOCK_PAD, panel.getWidth(), weatherBlock.height + 2 * BLOCK_PAD + CARD_SHADOW_OFFSET);
     }
     
-    private String currentTime = "00:00:00";
-    private String weatherText = "<html>Location: Calgary<br>Status: Loading...<br>Connecting to weather service</html>";
+    /**
+     * Draws one block of the panel at the top of a block image
+     */
+    private interface BlockPainter {
+        void paint(Graphics2D g2, int width);
+    }
     
-
+    /**
+     * A full-width horizontal band of the panel (a card with its contents) kept as a
+     * translucent image, re-rendered when invalidated or when the panel width or
+     * display scale changes
+     */
+    private static final class BlockImage {
+        final int top;
+        final int height;
+        private BufferedImage image;
+        private int imageWidth = -1;
+        private double imageScale = 0;
+        
+        BlockImage(int top, int height) {
+            this.top = top;
+            this.height = height;
+        }
+        
+        void invalidate() {
+            image = null;
+        }
+        
+        void paint(Graphics2D g2, int width, double deviceScale, BlockPainter painter) {
+            if (width <= 0) {
+                return;
+            }
+            int bandHeight = height + 2 * BLOCK_PAD + CARD_SHADOW_OFFSET;
+            if (image == null || width != imageWidth || deviceScale != imageScale) {
+                image = new BufferedImage((int) Math.ceil(width * deviceScale), (int) Math.ceil(bandHeight * deviceScale),
+                        BufferedImage.TYPE_INT_ARGB_PRE);
+                imageWidth = width;
+                imageScale = deviceScale;
+                Graphics2D ig = image.createGraphics();
+                try {
+                    ig.scale(deviceScale, deviceScale);
+                    ig.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                    ig.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+                    painter.paint(ig, width);
+                } finally {
+                    ig.dispose();
+                }
+            }
+            if (deviceScale == 1.0) {
+                g2.drawImage(image, 0, top - BLOCK_PAD, null);
+            } else {
+                g2.drawImage(image, 0, top - BLOCK_PAD, width, bandHeight, null);
+            }
+        }
+    }
 }
@@ -0,0 +1,180 @@
+package test.ca.ucalgary.edu.ensf380.util;
+
+import ca.ucalgary.edu.ensf380.util.LatencyHistogram;
+import ca.ucalgary.edu.ensf380.util.MetricsRegistry;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Unit Tests for the Latency Histogram
+ *
+ * Checks percentiles, maximum and totals against exact values computed from the
+ * recorded durations, allowing for the precision of the log-linear buckets, and
+ * checks that a snapshot window only counts what was recorded after it.
+ *
+ * @author Subway Screen Test Team
+ * @version 1.0
+ */
+public class LatencyHistogramTest {
+
+    // A bucket is at most 1/16 of its lower bound wide, so its midpoint is within
+    // 1/32 of any duration in it; allow 1 µs more for truncation to microseconds
+    private static final double RELATIVE_ERROR = 1.0 / 32;
+    private static final long MICROSECOND = 1000;
+
+    private int histograms = 0;
+
+    private LatencyHistogram histogram() {
+        return MetricsRegistry.getInstance().histogram("test.latency." + histograms++);
+    }
+
+    private static void assertClose(String what, long expected, long actual) {
+        double tolerance = expected * RELATIVE_ERROR + MICROSECOND;
+        assert Math.abs(actual - expected) <= tolerance
+                : what + ": expected about " + expected + " ns but was " + actual + " ns";
+    }
+
+    private static long exactPercentile(long[] sorted, double percentile) {
+        int rank = (int) Math.max(1, Math.ceil(percentile / 100.0 * sorted.length));
+        return sorted[rank - 1];
+    }
+
+    // Percentile Tests
+    public void testEmptyHistogram() {
+        LatencyHistogram.Snapshot empty = histogram().snapshot();
+        assert empty.getCount() == 0;
+        assert empty.getPercentileNanos(50) == 0;
+        assert empty.getPercentileNanos(99) == 0;
+        assert empty.getMaxNanos() == 0;
+        assert empty.getTotalNanos() == 0;
+        System.out.println("✓ An empty histogram reports zero for every statistic");
+    }
+
+    public void testUniformPercentiles() {
+        LatencyHistogram histogram = histogram();
+        for (int ms = 1; ms <= 100; ms++) {
+            histogram.record(ms * 1_000_000L);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assert snapshot.getCount() == 100;
+        assertClose("p50", 50_000_000L, snapshot.getPercentileNanos(50));
+        assertClose("p90", 90_000_000L, snapshot.getPercentileNanos(90));
+        assertClose("p99", 99_000_000L, snapshot.getPercentileNanos(99));
+        assertClose("p100", 100_000_000L, snapshot.getPercentileNanos(100));
+        assertClose("max", 100_000_000L, snapshot.getMaxNanos());
+        assertClose("total", 5_050_000_000L, snapshot.getTotalNanos());
+        System.out.println("✓ Percentiles of 1..100 ms are within bucket precision");
+    }
+
+    public void testSkewedPercentiles() {
+        LatencyHistogram histogram = histogram();
+        for (int i = 0; i < 990; i++) {
+            histogram.record(2_000_000L); // 2 ms paints
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(250_000_000L); // 250 ms stalls
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertClose("p50", 2_000_000L, snapshot.getPercentileNanos(50));
+        assertClose("p99", 2_000_000L, snapshot.getPercentileNanos(99));
+        assertClose("p99.9", 250_000_000L, snapshot.getPercentileNanos(99.9));
+        assertClose("max", 250_000_000L, snapshot.getMaxNanos());
+        System.out.println("✓ A 1% tail of stalls shows only above p99");
+    }
+
+    public void testRandomDurationsMatchExactPercentiles() {
+        Random random = new Random(380);
+        LatencyHistogram histogram = histogram();
+        long[] durations = new long[20_000];
+        for (int i = 0; i < durations.length; i++) {
+            // Log-uniform from 1 µs to about 1 s, like a mix of paint and GC times
+            durations[i] = (long) Math.pow(10, 3 + random.nextDouble() * 6);
+            histogram.record(durations[i]);
+        }
+        Arrays.sort(durations);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        for (double percentile : new double[] {1, 10, 25, 50, 75, 90, 95, 99, 99.9}) {
+            assertClose("p" + percentile, exactPercentile(durations, percentile),
+                    snapshot.getPercentileNanos(percentile));
+        }
+        assertClose("max", durations[durations.length - 1], snapshot.getMaxNanos());
+        System.out.println("✓ Percentiles of 20000 random durations match the exact values");
+    }
+
+    public void testSmallAndNegativeDurations() {
+        LatencyHistogram histogram = histogram();
+        histogram.record(-5_000);
+        histogram.record(0);
+        histogram.record(999); // Under a microsecond
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assert snapshot.getCount() == 3;
+        assert snapshot.getMaxNanos() <= MICROSECOND : "sub-microsecond durations landed in a later bucket";
+        histogram.record(7_000);
+        assertClose("7 µs", 7_000, histogram.snapshot().getMaxNanos());
+        System.out.println("✓ Negative and sub-microsecond durations count as zero");
+    }
+
+    public void testSnapshotWindow() {
+        LatencyHistogram histogram = histogram();
+        for (int i = 0; i < 50; i++) {
+            histogram.record(100_000_000L);
+        }
+        LatencyHistogram.Snapshot before = histogram.snapshot();
+        for (int i = 0; i < 10; i++) {
+            histogram.record(1_000_000L);
+        }
+        LatencyHistogram.Snapshot window = histogram.snapshot().since(before);
+        assert window.getCount() == 10 : "window should count only the later durations";
+        assertClose("window p99", 1_000_000L, window.getPercentileNanos(99));
+        assertClose("window max", 1_000_000L, window.getMaxNanos());
+        assert before.getCount() == 50 : "a snapshot must not change after it is taken";
+        System.out.println("✓ A snapshot window counts only durations recorded after it");
+    }
+
+    public void testConcurrentRecording() throws InterruptedException {
+        LatencyHistogram histogram = histogram();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 25_000; i++) {
+                    histogram.record(i * 1_000L);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assert histogram.snapshot().getCount() == 100_000 : "recordings were lost between threads";
+        System.out.println("✓ Recording from several threads loses no durations");
+    }
+
+    // Test Runner
+    public static void main(String[] args) {
+        System.out.println("Running Latency Histogram Tests...");
+        System.out.println("==================================");
+
+        try {
+            LatencyHistogramTest test = new LatencyHistogramTest();
+            test.testEmptyHistogram();
+            test.testUniformPercentiles();
+            test.testSkewedPercentiles();
+            test.testRandomDurationsMatchExactPercentiles();
+            test.testSmallAndNegativeDurations();
+            test.testSnapshotWindow();
+            test.testConcurrentRecording();
+
+            System.out.println("\n🎉 All Latency Histogram Tests PASSED! (7/7)");
+            System.out.println("✅ Latency percentiles are within bucket precision");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        } catch (Exception e) {
+            System.err.println("❌ Unexpected error during testing: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,234 @@
+package test.ca.ucalgary.edu.ensf380.util;
+
+import ca.ucalgary.edu.ensf380.util.AnimatedImage;
+import ca.ucalgary.edu.ensf380.util.AppConstants;
+import ca.ucalgary.edu.ensf380.util.MediaCache;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Unit Tests for the Decoded Media Cache
+ *
+ * Decodes small generated PNG files (100x100 = 40000 bytes decoded) and checks
+ * least-recently-used eviction within the byte budget, the byte accounting of
+ * media, sharing of concurrent loads, that failed loads are not cached and that
+ * generated GIFs keep every frame unless they exceed the whole budget.
+ *
+ * Run headless: java -ea -Djava.awt.headless=true ...MediaCacheTest
+ *
+ * @author Subway Screen Test Team
+ * @version 1.0
+ */
+public class MediaCacheTest {
+
+    private static final int SIZE = 100;
+    private static final long IMAGE_BYTES = 4L * SIZE * SIZE;
+
+    private final MediaCache cache = MediaCache.getInstance();
+    private Path directory;
+
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("media-cache-test");
+        cache.clear();
+        cache.setByteBudget(AppConstants.MEDIA_CACHE_BUDGET_MB * 1024L * 1024L);
+    }
+
+    public void tearDown() throws IOException {
+        cache.clear();
+        cache.setByteBudget(AppConstants.MEDIA_CACHE_BUDGET_MB * 1024L * 1024L);
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    private String image(String name, int width, int height) throws IOException {
+        File file = directory.resolve(name + ".png").toFile();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", file);
+        return file.getPath();
+    }
+
+    private static AnimatedImage get(CompletableFuture<AnimatedImage> future) throws Exception {
+        return future.get(5, TimeUnit.SECONDS);
+    }
+
+    // Loading Tests
+    public void testLoadCachesDecodedMedia() throws Exception {
+        setUp();
+        String path = image("a", SIZE, SIZE);
+        AnimatedImage media = get(cache.load(path));
+
+        assert media.getWidth() == SIZE && media.getHeight() == SIZE;
+        assert cache.getIfLoaded(path) == media : "loaded media should be cached";
+        assert cache.getCachedBytes() == IMAGE_BYTES : "expected " + IMAGE_BYTES + " bytes, got " + cache.getCachedBytes();
+        assert get(cache.load(path)) == media : "a second load should return the cached media";
+        tearDown();
+        System.out.println("✓ Loaded media is cached and counted at 4 bytes per pixel");
+    }
+
+    public void testConcurrentLoadsShareOneDecode() throws Exception {
+        setUp();
+        String path = image("shared", SIZE, SIZE);
+        long misses = cache.getMissCount();
+        CompletableFuture<AnimatedImage> first = cache.load(path);
+        CompletableFuture<AnimatedImage> second = cache.load(path);
+
+        assert get(first) == get(second) : "concurrent loads should share the decoded media";
+        assert cache.getMissCount() - misses == 1 : "expected one decode, got " + (cache.getMissCount() - misses);
+        tearDown();
+        System.out.println("✓ Concurrent loads of one file share a single decode");
+    }
+
+    public void testFailedLoadNotCached() throws Exception {
+        setUp();
+        String path = directory.resolve("missing.png").toString();
+        try {
+            get(cache.load(path));
+            assert false : "loading a missing file should fail";
+        } catch (ExecutionException e) {
+            assert e.getCause() instanceof IOException : "unexpected failure " + e.getCause();
+        }
+        assert cache.getIfLoaded(path) == null;
+        assert cache.size() == 0;
+        tearDown();
+        System.out.println("✓ Media that fails to load is not cached");
+    }
+
+    // Budget Tests
+    public void testLeastRecentlyUsedEvictedOverBudget() throws Exception {
+        setUp();
+        cache.setByteBudget(2 * IMAGE_BYTES + IMAGE_BYTES / 2);
+        String a = image("a", SIZE, SIZE);
+        String b = image("b", SIZE, SIZE);
+        String c = image("c", SIZE, SIZE);
+        long evictions = cache.getEvictionCount();
+
+        get(cache.load(a));
+        get(cache.load(b));
+        cache.getIfLoaded(a); // a is now used more recently than b
+        get(cache.load(c));
+
+        assert cache.getIfLoaded(a) != null : "recently used media was evicted";
+        assert cache.getIfLoaded(b) == null : "least recently used media was kept";
+        assert cache.getIfLoaded(c) != null : "newest media was evicted";
+        assert cache.getCachedBytes() == 2 * IMAGE_BYTES;
+        assert cache.getEvictionCount() - evictions == 1;
+        tearDown();
+        System.out.println("✓ The least recently used media is evicted to stay within the budget");
+    }
+
+    public void testLoweringBudgetEvicts() throws Exception {
+        setUp();
+        get(cache.load(image("a", SIZE, SIZE)));
+        get(cache.load(image("b", SIZE, SIZE)));
+        get(cache.load(image("c", SIZE, SIZE)));
+        assert cache.size() == 3;
+
+        cache.setByteBudget(IMAGE_BYTES);
+        assert cache.size() == 1 : "lowering the budget should evict down to it, " + cache.size() + " left";
+        assert cache.getCachedBytes() <= IMAGE_BYTES;
+        tearDown();
+        System.out.println("✓ Lowering the budget evicts media immediately");
+    }
+
+    public void testNewestKeptEvenOverBudget() throws Exception {
+        setUp();
+        cache.setByteBudget(IMAGE_BYTES);
+        get(cache.load(image("small", SIZE, SIZE)));
+        String large = image("large", 2 * SIZE, 2 * SIZE);
+        get(cache.load(large));
+
+        assert cache.size() == 1;
+        assert cache.getIfLoaded(large) != null : "the most recently loaded media must stay even over budget";
+        assert cache.getCachedBytes() == 4 * IMAGE_BYTES;
+        tearDown();
+        System.out.println("✓ The most recently loaded media is kept even if it alone exceeds the budget");
+    }
+
+    // Animation Tests
+    public void testAnimationFramesKeptWithinBudget() throws Exception {
+        setUp();
+        String path = animation("animated", 6);
+        AnimatedImage media = get(cache.load(path));
+        assert media.getFrameCount() == 6 : "expected all 6 frames, got " + media.getFrameCount();
+        assert media.getDroppedFrameCount() == 0;
+        assert cache.getCachedBytes() == 6 * IMAGE_BYTES;
+        int loop = loopMillis(media);
+
+        cache.clear();
+        cache.setByteBudget(3 * IMAGE_BYTES);
+        AnimatedImage thinned = get(cache.load(path));
+        assert thinned.getFrameCount() == 3 : "expected 3 frames within the budget, got " + thinned.getFrameCount();
+        assert thinned.getDroppedFrameCount() == 3;
+        assert loopMillis(thinned) == loop : "thinning must keep the loop length";
+        tearDown();
+        System.out.println("✓ Every animation frame is kept unless one animation exceeds the whole budget");
+    }
+
+    private String animation(String name, int frames) throws IOException {
+        File file = directory.resolve(name + ".gif").toFile();
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("gif").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(file)) {
+            writer.setOutput(output);
+            writer.prepareWriteSequence(null);
+            for (int i = 0; i < frames; i++) {
+                BufferedImage frame = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_RGB);
+                frame.setRGB(i, i, 0xFFFFFF);
+                writer.writeToSequence(new IIOImage(frame, null, null), null);
+            }
+            writer.endWriteSequence();
+        } finally {
+            writer.dispose();
+        }
+        return file.getPath();
+    }
+
+    private static int loopMillis(AnimatedImage media) {
+        int total = 0;
+        for (int i = 0; i < media.getFrameCount(); i++) {
+            total += media.getDelay(i);
+        }
+        return total;
+    }
+
+    // Test Runner
+    public static void main(String[] args) {
+        MediaCacheTest test = new MediaCacheTest();
+
+        System.out.println("Running Media Cache Tests...");
+        System.out.println("============================");
+
+        try {
+            test.testLoadCachesDecodedMedia();
+            test.testConcurrentLoadsShareOneDecode();
+            test.testFailedLoadNotCached();
+            test.testLeastRecentlyUsedEvictedOverBudget();
+            test.testLoweringBudgetEvicts();
+            test.testNewestKeptEvenOverBudget();
+            test.testAnimationFramesKeptWithinBudget();
+
+            System.out.println("\n🎉 All Media Cache Tests PASSED! (7/7)");
+            System.out.println("✅ Decoded media stays within its LRU byte budget");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        } catch (Exception e) {
+            System.err.println("❌ Unexpected error during testing: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.exit(0);
+    }
+}
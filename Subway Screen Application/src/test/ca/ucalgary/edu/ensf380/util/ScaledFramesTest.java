@@ -0,0 +1,167 @@
+package test.ca.ucalgary.edu.ensf380.util;
+
+import ca.ucalgary.edu.ensf380.util.AnimatedImage;
+import ca.ucalgary.edu.ensf380.util.AppConstants;
+import ca.ucalgary.edu.ensf380.util.ScaledFrames;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Unit Tests for Scaled Frames
+ *
+ * Decodes small generated GIFs (frame i has a white pixel at (i, i)) and checks
+ * that frames are scaled to the requested size in the background, that only the
+ * frame shown and the next few are kept, and that closing drops every frame.
+ *
+ * Run headless: java -ea -Djava.awt.headless=true ...ScaledFramesTest
+ *
+ * @author Subway Screen Test Team
+ * @version 1.0
+ */
+public class ScaledFramesTest {
+
+    private static final int SIZE = 20;
+    private static final long FRAME_BYTES = 4L * 2 * SIZE * 2 * SIZE;
+
+    private final Semaphore ready = new Semaphore(0);
+
+    private static AnimatedImage animation(int frames) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("gif").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            writer.prepareWriteSequence(null);
+            for (int i = 0; i < frames; i++) {
+                BufferedImage frame = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_RGB);
+                frame.setRGB(i, i, 0xFFFFFF);
+                writer.writeToSequence(new IIOImage(frame, null, null), null);
+            }
+            writer.endWriteSequence();
+        } finally {
+            writer.dispose();
+        }
+        return AnimatedImage.decode(bytes.toByteArray());
+    }
+
+    /**
+     * Shows a frame, waiting until it has been scaled
+     */
+    private BufferedImage show(ScaledFrames frames, int index) throws InterruptedException {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            BufferedImage frame = frames.getFrame(index);
+            if (frame != null && isFrame(frame, index)) {
+                return frame;
+            }
+            ready.tryAcquire(100, TimeUnit.MILLISECONDS);
+        }
+        throw new AssertionError("frame " + index + " was never scaled");
+    }
+
+    private static boolean isFrame(BufferedImage scaled, int index) {
+        // The white source pixel covers (2i, 2i) at twice the size
+        return (scaled.getRGB(2 * index, 2 * index) & 0xFF) > 0x80;
+    }
+
+    // Scaling Tests
+    public void testFramesScaledToSize() throws Exception {
+        ScaledFrames frames = new ScaledFrames(animation(5), 2 * SIZE, 2 * SIZE, ready::release);
+        BufferedImage frame = show(frames, 0);
+        assert frame.getWidth() == 2 * SIZE && frame.getHeight() == 2 * SIZE : "frame not scaled to the requested size";
+        assert frames.getLastFrame() == frame;
+        frames.close();
+        System.out.println("✓ Frames are scaled to the requested size in the background");
+    }
+
+    public void testOnlyFramesAheadKept() throws Exception {
+        AnimatedImage media = animation(8);
+        ScaledFrames frames = new ScaledFrames(media, 2 * SIZE, 2 * SIZE, ready::release);
+        long limit = AppConstants.MEDIA_SCALED_FRAMES * FRAME_BYTES;
+        for (int loop = 0; loop < 2; loop++) {
+            for (int index = 0; index < media.getFrameCount(); index++) {
+                show(frames, index);
+                assert frames.getByteSize() <= limit
+                        : "kept " + frames.getByteSize() + " bytes, at most " + limit + " expected";
+            }
+        }
+        frames.close();
+        System.out.println("✓ At most " + AppConstants.MEDIA_SCALED_FRAMES + " frames are kept over two loops");
+    }
+
+    public void testFramesAheadScaledBeforeShown() throws Exception {
+        ScaledFrames frames = new ScaledFrames(animation(8), 2 * SIZE, 2 * SIZE, () -> {});
+        frames.getFrame(0);
+        long expected = Math.min(AppConstants.MEDIA_SCALED_FRAMES, 8) * FRAME_BYTES;
+        for (int attempt = 0; attempt < 50 && frames.getByteSize() < expected; attempt++) {
+            Thread.sleep(100);
+        }
+        assert frames.getByteSize() == expected : "frames ahead were not scaled: " + frames.getByteSize() + " bytes";
+        frames.close();
+        System.out.println("✓ The frames after the one shown are scaled ahead of playback");
+    }
+
+    public void testStillImageKeepsOneFrame() throws Exception {
+        ScaledFrames frames = new ScaledFrames(animation(1), 2 * SIZE, 2 * SIZE, ready::release);
+        show(frames, 0);
+        assert frames.getByteSize() == FRAME_BYTES : "a still image should keep exactly one frame";
+        frames.close();
+        System.out.println("✓ A still image keeps a single scaled frame");
+    }
+
+    public void testCloseDropsFrames() throws Exception {
+        ScaledFrames frames = new ScaledFrames(animation(4), 2 * SIZE, 2 * SIZE, ready::release);
+        show(frames, 0);
+        frames.close();
+        assert frames.getByteSize() == 0 : "closed frames still hold " + frames.getByteSize() + " bytes";
+        assert frames.getLastFrame() == null;
+        assert frames.getFrame(1) == null : "closed frames must not scale again";
+        Thread.sleep(200);
+        assert frames.getByteSize() == 0;
+        System.out.println("✓ Closing drops every frame and stops scaling");
+    }
+
+    public void testInvalidSizeRejected() throws Exception {
+        AnimatedImage media = animation(1);
+        try {
+            new ScaledFrames(media, 0, SIZE, () -> {});
+            assert false : "a zero width should be rejected";
+        } catch (IllegalArgumentException expected) {
+            // Rejected as expected
+        }
+        System.out.println("✓ Empty frame sizes are rejected");
+    }
+
+    // Test Runner
+    public static void main(String[] args) {
+        ScaledFramesTest test = new ScaledFramesTest();
+
+        System.out.println("Running Scaled Frames Tests...");
+        System.out.println("==============================");
+
+        try {
+            test.testFramesScaledToSize();
+            test.testOnlyFramesAheadKept();
+            test.testFramesAheadScaledBeforeShown();
+            test.testStillImageKeepsOneFrame();
+            test.testCloseDropsFrames();
+            test.testInvalidSizeRejected();
+
+            System.out.println("\n🎉 All Scaled Frames Tests PASSED! (6/6)");
+            System.out.println("✅ Ads are scaled just ahead of playback within a few frames");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        } catch (Exception e) {
+            System.err.println("❌ Unexpected error during testing: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,177 @@
+package test.ca.ucalgary.edu.ensf380.util;
+
+import ca.ucalgary.edu.ensf380.util.StartupOrchestrator;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Unit Tests for the Startup Orchestrator
+ *
+ * Covers dependency order, overlap of independent stages, result hand-over,
+ * failure propagation to dependent stages, declaration errors and milestones.
+ *
+ * @author Subway Screen Test Team
+ * @version 1.0
+ */
+public class StartupOrchestratorTest {
+
+    // Dependency Tests
+    public void testStagesRunAfterTheirDependencies() throws Exception {
+        StartupOrchestrator startup = new StartupOrchestrator();
+        List<String> events = new CopyOnWriteArrayList<>();
+
+        startup.stage("config", () -> {
+            sleep(100);
+            events.add("config");
+        });
+        startup.stage("stations", () -> {
+            sleep(50);
+            events.add("stations");
+        }, "config");
+        startup.stage("gui", () -> {
+            events.add("gui");
+        }, "config", "stations");
+
+        startup.await("gui");
+        assert events.equals(List.of("config", "stations", "gui")) : "stages ran out of order: " + events;
+        System.out.println("✓ Stages start only after every dependency has completed");
+    }
+
+    public void testIndependentStagesOverlap() throws Exception {
+        StartupOrchestrator startup = new StartupOrchestrator();
+        // Each stage waits for the other to start, which only succeeds if they run concurrently
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        startup.stage("theme", () -> awaitLatch(bothStarted));
+        startup.stage("simulator", () -> awaitLatch(bothStarted));
+
+        boolean theme = startup.<Boolean>await("theme");
+        boolean simulator = startup.<Boolean>await("simulator");
+        assert theme && simulator : "independent stages did not run at the same time";
+        System.out.println("✓ Stages without dependencies between them run concurrently");
+    }
+
+    public void testAwaitReturnsStageResult() throws Exception {
+        StartupOrchestrator startup = new StartupOrchestrator();
+        startup.stage("count", () -> 42);
+        startup.stage("label", () -> "ready", "count");
+
+        Integer count = startup.await("count");
+        String label = startup.await("label");
+        assert count == 42;
+        assert "ready".equals(label);
+        System.out.println("✓ await returns the value produced by the stage");
+    }
+
+    // Failure Tests
+    public void testFailurePropagatesToDependents() throws Exception {
+        StartupOrchestrator startup = new StartupOrchestrator();
+        AtomicBoolean dependentRan = new AtomicBoolean(false);
+        startup.stage("database", () -> {
+            throw new IOException("database unreachable");
+        });
+        startup.stage("ads", () -> dependentRan.set(true), "database");
+        startup.stage("weather", () -> "sunny");
+
+        try {
+            startup.await("database");
+            assert false : "failed stage should rethrow its failure";
+        } catch (IOException e) {
+            assert "database unreachable".equals(e.getMessage());
+        }
+        try {
+            startup.await("ads");
+            assert false : "stage depending on a failed one should fail";
+        } catch (IOException e) {
+            assert "database unreachable".equals(e.getMessage()) : "dependent failed with " + e.getMessage();
+        }
+        assert !dependentRan.get() : "dependent stage ran although its dependency failed";
+        assert "sunny".equals(startup.await("weather")) : "unrelated stage should be unaffected";
+        System.out.println("✓ A failed stage fails its dependents with the original exception");
+    }
+
+    public void testUndeclaredDependencyRejected() {
+        StartupOrchestrator startup = new StartupOrchestrator();
+        try {
+            startup.stage("gui", () -> { }, "stations");
+            assert false : "undeclared dependency should be rejected";
+        } catch (IllegalArgumentException e) {
+            assert e.getMessage().contains("stations");
+        }
+        System.out.println("✓ Depending on an undeclared stage is rejected");
+    }
+
+    public void testDuplicateStageRejected() {
+        StartupOrchestrator startup = new StartupOrchestrator();
+        startup.stage("stations", () -> { });
+        try {
+            startup.stage("stations", () -> { });
+            assert false : "duplicate stage name should be rejected";
+        } catch (IllegalArgumentException e) {
+            assert e.getMessage().contains("stations");
+        }
+        System.out.println("✓ Declaring a stage name twice is rejected");
+    }
+
+    // Milestone Tests
+    public void testMilestoneRecordedOnce() throws Exception {
+        StartupOrchestrator startup = new StartupOrchestrator();
+        startup.expectMilestones("first-frame");
+        assert startup.getMilestoneMillis("first-frame") == -1;
+
+        sleep(20);
+        startup.milestone("first-frame");
+        long first = startup.getMilestoneMillis("first-frame");
+        sleep(50);
+        startup.milestone("first-frame");
+
+        assert first >= 20 : "milestone time should be measured from creation, was " + first;
+        assert startup.getMilestoneMillis("first-frame") == first : "a milestone must keep its first time";
+        System.out.println("✓ Milestones keep the time they were first reached");
+    }
+
+    private static boolean awaitLatch(CountDownLatch latch) throws InterruptedException {
+        latch.countDown();
+        return latch.await(5, TimeUnit.SECONDS);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Test Runner
+    public static void main(String[] args) {
+        StartupOrchestratorTest test = new StartupOrchestratorTest();
+
+        System.out.println("Running Startup Orchestrator Tests...");
+        System.out.println("=====================================");
+
+        try {
+            test.testStagesRunAfterTheirDependencies();
+            test.testIndependentStagesOverlap();
+            test.testAwaitReturnsStageResult();
+            test.testFailurePropagatesToDependents();
+            test.testUndeclaredDependencyRejected();
+            test.testDuplicateStageRejected();
+            test.testMilestoneRecordedOnce();
+
+            System.out.println("\n🎉 All Startup Orchestrator Tests PASSED! (7/7)");
+            System.out.println("✅ Startup stages follow their dependency graph");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        } catch (Exception e) {
+            System.err.println("❌ Unexpected error during testing: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,185 @@
+package test.ca.ucalgary.edu.ensf380.util;
+
+import ca.ucalgary.edu.ensf380.util.TaskGroup;
+import ca.ucalgary.edu.ensf380.util.TaskRuntime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit Tests for Background Task Groups
+ *
+ * Covers one-shot and delayed tasks, skip-if-busy at a fixed rate, cancellation
+ * of running and scheduled tasks, and shutdown of a group.
+ *
+ * @author Subway Screen Test Team
+ * @version 1.0
+ */
+public class TaskGroupTest {
+
+    private static final long WAIT_SECONDS = 5;
+
+    private TaskGroup group(String name) {
+        return TaskRuntime.getInstance().group("test-" + name);
+    }
+
+    // One-shot Tests
+    public void testSupplyReturnsValue() throws Exception {
+        CompletableFuture<String> result = group("supply").supply("value", () -> "done");
+        assert "done".equals(result.get(WAIT_SECONDS, TimeUnit.SECONDS));
+        System.out.println("✓ supply completes with the task's value");
+    }
+
+    public void testSupplyFailureCompletesExceptionally() throws Exception {
+        CompletableFuture<String> result = group("failure").supply("fail", () -> {
+            throw new IllegalStateException("expected");
+        });
+        try {
+            result.get(WAIT_SECONDS, TimeUnit.SECONDS);
+            assert false : "failed task should complete exceptionally";
+        } catch (java.util.concurrent.ExecutionException e) {
+            assert e.getCause() instanceof IllegalStateException;
+        }
+        System.out.println("✓ A failing task completes its future exceptionally");
+    }
+
+    public void testScheduledTaskLeavesScheduledSetOnceFired() throws Exception {
+        TaskGroup group = group("schedule");
+        CountDownLatch ran = new CountDownLatch(1);
+        group.schedule("once", 20, TimeUnit.MILLISECONDS, ran::countDown);
+        assert ran.await(WAIT_SECONDS, TimeUnit.SECONDS) : "scheduled task did not run";
+        waitUntil(() -> group.getScheduledCount() == 0);
+        assert group.getScheduledCount() == 0 : "fired task is still tracked";
+        System.out.println("✓ A one-shot task runs after its delay and stops being tracked");
+    }
+
+    // Fixed Rate Tests
+    public void testFixedRateSkipsWhileBusy() throws Exception {
+        TaskGroup group = group("busy");
+        AtomicInteger started = new AtomicInteger();
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        ScheduledFuture<?> future = group.scheduleAtFixedRate("slow", 0, 10, TimeUnit.MILLISECONDS, () -> {
+            started.incrementAndGet();
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            try {
+                release.await(WAIT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            concurrent.decrementAndGet();
+        });
+
+        // About 20 periods pass while the first run blocks
+        Thread.sleep(200);
+        assert started.get() == 1 : "runs due while busy should be skipped, started " + started.get();
+        release.countDown();
+        waitUntil(() -> started.get() > 1);
+        future.cancel(false);
+
+        assert started.get() > 1 : "fixed-rate task did not resume after the slow run";
+        assert maxConcurrent.get() == 1 : "runs overlapped: " + maxConcurrent.get();
+        System.out.println("✓ Fixed-rate runs due while the previous one is busy are skipped");
+    }
+
+    // Cancellation Tests
+    public void testCancelScheduledTask() throws Exception {
+        TaskGroup group = group("cancel-scheduled");
+        AtomicInteger runs = new AtomicInteger();
+        ScheduledFuture<?> future = group.schedule("later", 200, TimeUnit.MILLISECONDS, runs::incrementAndGet);
+        assert group.getScheduledCount() == 1;
+
+        assert future.cancel(false);
+        assert future.isCancelled();
+        assert group.getScheduledCount() == 0 : "cancelled task is still tracked";
+        Thread.sleep(300);
+        assert runs.get() == 0 : "cancelled task ran";
+        System.out.println("✓ A cancelled scheduled task never runs and stops being tracked");
+    }
+
+    public void testCancelInterruptsRunningTask() throws Exception {
+        TaskGroup group = group("cancel-running");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CompletableFuture<Void> future = group.submit("blocking", () -> {
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(WAIT_SECONDS));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+
+        assert started.await(WAIT_SECONDS, TimeUnit.SECONDS);
+        future.cancel(true);
+        assert interrupted.await(WAIT_SECONDS, TimeUnit.SECONDS) : "running task was not interrupted";
+        waitUntil(() -> group.getActiveCount() == 0);
+        assert group.getActiveCount() == 0;
+        System.out.println("✓ Cancelling a running task interrupts its thread");
+    }
+
+    public void testCancelAll() throws Exception {
+        TaskGroup group = group("cancel-all");
+        AtomicInteger runs = new AtomicInteger();
+        group.schedule("later", 200, TimeUnit.MILLISECONDS, runs::incrementAndGet);
+        group.scheduleAtFixedRate("repeating", 200, 50, TimeUnit.MILLISECONDS, runs::incrementAndGet);
+
+        group.cancelAll();
+        assert group.getScheduledCount() == 0;
+        Thread.sleep(400);
+        assert runs.get() == 0 : "tasks ran after cancelAll";
+        assert !group.isShutdown() : "cancelAll must not shut the group down";
+        System.out.println("✓ cancelAll cancels every scheduled task and keeps the group usable");
+    }
+
+    // Shutdown Tests
+    public void testShutdownRejectsNewTasks() throws Exception {
+        TaskGroup group = group("shutdown");
+        assert group.shutdown(1, TimeUnit.SECONDS);
+        assert group.isShutdown();
+        CompletableFuture<Void> rejected = group.submit("late", () -> { });
+        assert rejected.isCancelled() : "task submitted after shutdown should be cancelled";
+        System.out.println("✓ A shut down group rejects new tasks");
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(WAIT_SECONDS);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    // Test Runner
+    public static void main(String[] args) {
+        TaskGroupTest test = new TaskGroupTest();
+
+        System.out.println("Running Task Group Tests...");
+        System.out.println("===========================");
+
+        try {
+            test.testSupplyReturnsValue();
+            test.testSupplyFailureCompletesExceptionally();
+            test.testScheduledTaskLeavesScheduledSetOnceFired();
+            test.testFixedRateSkipsWhileBusy();
+            test.testCancelScheduledTask();
+            test.testCancelInterruptsRunningTask();
+            test.testCancelAll();
+            test.testShutdownRejectsNewTasks();
+
+            System.out.println("\n🎉 All Task Group Tests PASSED! (8/8)");
+            System.out.println("✅ Background tasks run, skip, cancel and shut down as specified");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        } catch (Exception e) {
+            System.err.println("❌ Unexpected error during testing: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.exit(0);
+    }
+}
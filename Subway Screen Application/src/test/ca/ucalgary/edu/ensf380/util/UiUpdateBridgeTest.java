@@ -0,0 +1,130 @@
+package test.ca.ucalgary.edu.ensf380.util;
+
+import ca.ucalgary.edu.ensf380.util.UiUpdateBridge;
+import java.awt.EventQueue;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit Tests for the UI Update Bridge
+ *
+ * Covers coalescing per (target, slot) key, identity comparison of targets,
+ * delivery on the Event Dispatch Thread and collapsing of update bursts.
+ *
+ * Run headless: java -ea -Djava.awt.headless=true ...UiUpdateBridgeTest
+ *
+ * @author Subway Screen Test Team
+ * @version 1.0
+ */
+public class UiUpdateBridgeTest {
+
+    private final UiUpdateBridge bridge = UiUpdateBridge.getInstance();
+
+    // Coalescing Tests
+    public void testLatestUpdatePerTargetAndSlotWins() throws Exception {
+        Object map = new Object();
+        Object weather = new Object();
+        List<String> applied = new CopyOnWriteArrayList<>();
+        long coalescedBefore = bridge.getCoalescedCount();
+
+        // Posted and drained within one EDT event, so no scheduled drain interleaves
+        EventQueue.invokeAndWait(() -> {
+            bridge.post(map, "trains", () -> applied.add("map trains 1"));
+            bridge.post(map, "trains", () -> applied.add("map trains 2"));
+            bridge.post(map, "hover", () -> applied.add("map hover"));
+            bridge.post(weather, "trains", () -> applied.add("weather trains"));
+            bridge.drain();
+        });
+
+        assert applied.size() == 3 : "expected one update per key, got " + applied;
+        assert applied.contains("map trains 2") && !applied.contains("map trains 1") : "older update was not replaced: " + applied;
+        assert applied.contains("map hover") : "a different slot of the same target must not be coalesced";
+        assert applied.contains("weather trains") : "the same slot of another target must not be coalesced";
+        assert bridge.getCoalescedCount() - coalescedBefore == 1;
+        System.out.println("✓ Only the latest update per (target, slot) is applied");
+    }
+
+    public void testTargetsComparedByIdentity() throws Exception {
+        // Equal but distinct targets are different screens' panels
+        String first = new String("panel");
+        String second = new String("panel");
+        AtomicInteger applied = new AtomicInteger();
+
+        EventQueue.invokeAndWait(() -> {
+            bridge.post(first, "news", applied::incrementAndGet);
+            bridge.post(second, "news", applied::incrementAndGet);
+            bridge.drain();
+        });
+
+        assert applied.get() == 2 : "equal targets were coalesced: " + applied.get();
+        System.out.println("✓ Targets are compared by identity, not equals()");
+    }
+
+    // Delivery Tests
+    public void testBackgroundPostRunsOnEdt() throws Exception {
+        CountDownLatch applied = new CountDownLatch(1);
+        AtomicBoolean onEdt = new AtomicBoolean(false);
+        Thread poster = new Thread(() -> bridge.post(this, "delivery", () -> {
+            onEdt.set(EventQueue.isDispatchThread());
+            applied.countDown();
+        }));
+        poster.start();
+
+        assert applied.await(5, TimeUnit.SECONDS) : "update posted from a background thread was never applied";
+        assert onEdt.get() : "update did not run on the Event Dispatch Thread";
+        System.out.println("✓ Updates posted from background threads run on the EDT");
+    }
+
+    public void testBurstCollapsesToLatest() throws Exception {
+        int burst = 1000;
+        AtomicInteger runs = new AtomicInteger();
+        AtomicInteger lastValue = new AtomicInteger(-1);
+        Object target = new Object();
+
+        for (int i = 0; i < burst; i++) {
+            int value = i;
+            bridge.post(target, "burst", () -> {
+                runs.incrementAndGet();
+                lastValue.set(value);
+            });
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (lastValue.get() != burst - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assert lastValue.get() == burst - 1 : "latest update of the burst was not applied";
+        assert runs.get() < burst / 10 : "burst was not coalesced: " + runs.get() + " runs";
+        System.out.println("✓ A burst of " + burst + " updates applies " + runs.get() + " time(s), ending with the latest");
+    }
+
+    // Test Runner
+    public static void main(String[] args) {
+        UiUpdateBridgeTest test = new UiUpdateBridgeTest();
+
+        System.out.println("Running UI Update Bridge Tests...");
+        System.out.println("=================================");
+
+        try {
+            test.testLatestUpdatePerTargetAndSlotWins();
+            test.testTargetsComparedByIdentity();
+            test.testBackgroundPostRunsOnEdt();
+            test.testBurstCollapsesToLatest();
+
+            System.out.println("\n🎉 All UI Update Bridge Tests PASSED! (4/4)");
+            System.out.println("✅ Background UI updates are coalesced and applied on the EDT");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        } catch (Exception e) {
+            System.err.println("❌ Unexpected error during testing: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,147 @@
+package test.ca.ucalgary.edu.ensf380.view;
+
+import java.awt.Rectangle;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit Tests for the Label Collision Grid
+ *
+ * Checks that station labels are placed only where they overlap nothing placed
+ * before, within the map area, including rectangles spanning several grid cells,
+ * and compares the grid with a brute-force overlap check on random labels.
+ * LabelCollisionGrid is package-private, so it is reached through reflection.
+ *
+ * @author Subway Screen Test Team
+ * @version 1.0
+ */
+public class LabelCollisionGridTest {
+
+    private final Constructor<?> create;
+    private final Method occupy;
+    private final Method tryPlace;
+
+    public LabelCollisionGridTest() throws Exception {
+        Class<?> grid = Class.forName("ca.ucalgary.edu.ensf380.view.LabelCollisionGrid");
+        create = grid.getDeclaredConstructor(int.class, int.class, int.class);
+        create.setAccessible(true);
+        occupy = grid.getDeclaredMethod("occupy", Rectangle.class);
+        occupy.setAccessible(true);
+        tryPlace = grid.getDeclaredMethod("tryPlace", Rectangle.class);
+        tryPlace.setAccessible(true);
+    }
+
+    private Object grid(int width, int height, int cellSize) throws Exception {
+        return create.newInstance(width, height, cellSize);
+    }
+
+    private boolean place(Object grid, int x, int y, int width, int height) throws Exception {
+        return (boolean) tryPlace.invoke(grid, new Rectangle(x, y, width, height));
+    }
+
+    // Overlap Tests
+    public void testOverlappingLabelRejected() throws Exception {
+        Object grid = grid(400, 300, 16);
+        assert place(grid, 10, 10, 80, 14) : "first label should be placed";
+        assert !place(grid, 60, 15, 80, 14) : "overlapping label was placed";
+        assert !place(grid, 10, 10, 80, 14) : "identical label was placed";
+        System.out.println("✓ A label overlapping a placed one is rejected");
+    }
+
+    public void testTouchingLabelsPlaced() throws Exception {
+        Object grid = grid(400, 300, 16);
+        assert place(grid, 10, 10, 80, 14);
+        assert place(grid, 90, 10, 80, 14) : "label touching on the right edge should fit";
+        assert place(grid, 10, 24, 80, 14) : "label touching on the bottom edge should fit";
+        System.out.println("✓ Labels that only touch edges are both placed");
+    }
+
+    public void testRejectedLabelDoesNotOccupy() throws Exception {
+        Object grid = grid(400, 300, 16);
+        assert place(grid, 100, 100, 40, 14);
+        assert !place(grid, 80, 100, 40, 14) : "overlapping label was placed";
+        // Fits next to the first label only if the rejected one left no trace
+        assert place(grid, 60, 100, 40, 14) : "a rejected label must not occupy space";
+        System.out.println("✓ A rejected label occupies nothing");
+    }
+
+    public void testOccupiedGlyphBlocksLabels() throws Exception {
+        Object grid = grid(400, 300, 16);
+        occupy.invoke(grid, new Rectangle(195, 145, 10, 10)); // Station glyph
+        assert !place(grid, 150, 140, 60, 14) : "label over a station glyph was placed";
+        assert place(grid, 210, 145, 60, 14) : "label beside the glyph should fit";
+        System.out.println("✓ Occupied station glyphs block labels");
+    }
+
+    public void testLabelsSpanningCells() throws Exception {
+        Object grid = grid(400, 300, 16);
+        // A long label spans many cells; a small one deep inside a later cell must collide
+        assert place(grid, 5, 40, 300, 14);
+        assert !place(grid, 250, 45, 10, 5) : "collision inside a spanned cell was missed";
+        assert place(grid, 250, 60, 10, 5);
+        System.out.println("✓ Labels spanning several cells collide in every cell they cover");
+    }
+
+    public void testLabelsOutsideAreaRejected() throws Exception {
+        Object grid = grid(400, 300, 16);
+        assert !place(grid, -1, 10, 50, 14) : "label left of the area was placed";
+        assert !place(grid, 10, -1, 50, 14) : "label above the area was placed";
+        assert !place(grid, 360, 10, 50, 14) : "label past the right edge was placed";
+        assert !place(grid, 10, 290, 50, 14) : "label past the bottom edge was placed";
+        assert place(grid, 350, 286, 50, 14) : "label flush with the bottom-right corner should fit";
+        System.out.println("✓ Labels must lie entirely within the map area");
+    }
+
+    public void testMatchesBruteForce() throws Exception {
+        Random random = new Random(380);
+        Object grid = grid(760, 560, 16);
+        List<Rectangle> placed = new ArrayList<>();
+        int accepted = 0;
+        for (int i = 0; i < 2000; i++) {
+            Rectangle candidate = new Rectangle(random.nextInt(740), random.nextInt(550),
+                    10 + random.nextInt(120), 8 + random.nextInt(10));
+            boolean fits = candidate.x + candidate.width <= 760 && candidate.y + candidate.height <= 560;
+            for (Rectangle other : placed) {
+                fits &= !other.intersects(candidate);
+            }
+            boolean result = (boolean) tryPlace.invoke(grid, candidate);
+            assert result == fits : "grid disagrees with brute force for " + candidate;
+            if (result) {
+                placed.add(candidate);
+                accepted++;
+            }
+        }
+        System.out.println("✓ The grid agrees with a brute-force check on 2000 random labels (" + accepted + " placed)");
+    }
+
+    // Test Runner
+    public static void main(String[] args) {
+        System.out.println("Running Label Collision Grid Tests...");
+        System.out.println("=====================================");
+
+        try {
+            LabelCollisionGridTest test = new LabelCollisionGridTest();
+            test.testOverlappingLabelRejected();
+            test.testTouchingLabelsPlaced();
+            test.testRejectedLabelDoesNotOccupy();
+            test.testOccupiedGlyphBlocksLabels();
+            test.testLabelsSpanningCells();
+            test.testLabelsOutsideAreaRejected();
+            test.testMatchesBruteForce();
+
+            System.out.println("\n🎉 All Label Collision Grid Tests PASSED! (7/7)");
+            System.out.println("✅ Station labels are placed without overlap");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        } catch (Exception e) {
+            System.err.println("❌ Unexpected error during testing: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,166 @@
+package test.ca.ucalgary.edu.ensf380.view;
+
+import ca.ucalgary.edu.ensf380.controller.StationController;
+import ca.ucalgary.edu.ensf380.model.Train;
+import ca.ucalgary.edu.ensf380.view.AdvertisementPanel;
+import ca.ucalgary.edu.ensf380.view.MapPanel;
+import ca.ucalgary.edu.ensf380.view.NewsPanel;
+import ca.ucalgary.edu.ensf380.view.StationInfoPanel;
+import ca.ucalgary.edu.ensf380.view.WeatherPanel;
+import java.awt.EventQueue;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.swing.JComponent;
+
+/**
+ * Paint Allocation Budget Tests for the Display Panels
+ *
+ * Paints each panel repeatedly into an offscreen image on the Event Dispatch
+ * Thread and measures the bytes allocated per frame with the thread allocation
+ * counters of ThreadMXBean. A panel fails when a steady-state frame allocates
+ * more than its budget. Java2D itself allocates a little per paint (graphics
+ * copies, glyph lists), so budgets are small but not zero.
+ *
+ * Run headless: java -ea -Djava.awt.headless=true ...PaintAllocationTest
+ *
+ * @author Subway Screen Test Team
+ * @version 1.0
+ */
+public class PaintAllocationTest {
+
+    private static final int WARMUP_FRAMES = 200;
+    private static final int MEASURED_FRAMES = 200;
+
+    // Bytes allocated per painted frame
+    private static final long MAP_BUDGET = 16 * 1024;
+    private static final long STATION_INFO_BUDGET = 8 * 1024;
+    private static final long NEWS_BUDGET = 4 * 1024;
+    private static final long WEATHER_BUDGET = 8 * 1024;
+    private static final long ADVERTISEMENT_BUDGET = 4 * 1024;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * Average bytes the EDT allocates to paint the component once
+     */
+    private long measureBytesPerFrame(JComponent component, int width, int height) throws Exception {
+        long[] result = new long[1];
+        EventQueue.invokeAndWait(() -> {
+            component.setSize(width, height);
+            component.doLayout();
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g2 = image.createGraphics();
+            for (int i = 0; i < WARMUP_FRAMES; i++) {
+                component.paint(g2);
+            }
+            long threadId = Thread.currentThread().threadId();
+            long before = threads.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < MEASURED_FRAMES; i++) {
+                component.paint(g2);
+            }
+            long after = threads.getThreadAllocatedBytes(threadId);
+            g2.dispose();
+            result[0] = (after - before) / MEASURED_FRAMES;
+        });
+        return result[0];
+    }
+
+    private void assertWithinBudget(String panel, long bytesPerFrame, long budget) {
+        assert bytesPerFrame <= budget : panel + " allocates " + bytesPerFrame + " bytes per frame, budget is " + budget;
+        System.out.println("✓ " + panel + " paints within budget: " + bytesPerFrame + " / " + budget + " bytes per frame");
+    }
+
+    public void testAllocationCountersSupported() {
+        assert threads.isThreadAllocatedMemorySupported() : "JVM does not support thread allocation counters";
+        threads.setThreadAllocatedMemoryEnabled(true);
+        System.out.println("✓ Thread allocation counters are available");
+    }
+
+    public void testMapPanelBudget() throws Exception {
+        MapPanel[] map = new MapPanel[1];
+        EventQueue.invokeAndWait(() -> {
+            map[0] = new MapPanel(new StationController().getStations(), "1");
+            List<Train> trains = new ArrayList<>();
+            trains.add(new Train("1", "R05", "forward"));
+            trains.add(new Train("2", "B03", "backward"));
+            trains.add(new Train("3", "G07", "forward"));
+            map[0].updateTrainPositions(trains);
+            map[0].setSize(760, 560);
+            map[0].paint(new BufferedImage(760, 560, BufferedImage.TYPE_INT_RGB).createGraphics());
+        });
+        Thread.sleep(1000); // Let the first paint's map tiles render in the background
+        assertWithinBudget("MapPanel", measureBytesPerFrame(map[0], 760, 560), MAP_BUDGET);
+    }
+
+    public void testStationInfoPanelBudget() throws Exception {
+        StationInfoPanel[] info = new StationInfoPanel[1];
+        EventQueue.invokeAndWait(() -> {
+            info[0] = new StationInfoPanel();
+            info[0].updateTrainPosition("Maplewood Station", "Lakeview Heights Station", "Green Hills Station",
+                    "Brightwater Station", "Riverbend Station");
+        });
+        assertWithinBudget("StationInfoPanel", measureBytesPerFrame(info[0].getPanel(), 1200, 120), STATION_INFO_BUDGET);
+    }
+
+    public void testNewsPanelBudget() throws Exception {
+        NewsPanel[] news = new NewsPanel[1];
+        EventQueue.invokeAndWait(() -> news[0] = new NewsPanel());
+        assertWithinBudget("NewsPanel", measureBytesPerFrame(news[0].getPanel(), 1200, 60), NEWS_BUDGET);
+    }
+
+    public void testWeatherPanelBudget() throws Exception {
+        WeatherPanel[] weather = new WeatherPanel[1];
+        EventQueue.invokeAndWait(() -> {
+            weather[0] = new WeatherPanel();
+            weather[0].updateWeatherLabel("<html>Location: Calgary<br>Temperature: 21°C<br>Sunny</html>");
+        });
+        assertWithinBudget("WeatherPanel", measureBytesPerFrame(weather[0].getPanel(), 220, 450), WEATHER_BUDGET);
+    }
+
+    public void testAdvertisementPanelBudget() throws Exception {
+        AdvertisementPanel[] ad = new AdvertisementPanel[1];
+        EventQueue.invokeAndWait(() -> {
+            ad[0] = new AdvertisementPanel();
+            Map<String, Object> advertisement = new HashMap<>();
+            advertisement.put("media_type", "GIF");
+            advertisement.put("media_path", "ad5.gif");
+            ad[0].displayAdvertisement(advertisement);
+        });
+        Thread.sleep(2000); // Let the loading and fade-in transition settle
+        assertWithinBudget("AdvertisementPanel", measureBytesPerFrame(ad[0].getPanel(), 760, 560), ADVERTISEMENT_BUDGET);
+    }
+
+    // Test Runner
+    public static void main(String[] args) {
+        PaintAllocationTest test = new PaintAllocationTest();
+
+        System.out.println("Running Paint Allocation Tests...");
+        System.out.println("=================================");
+
+        try {
+            test.testAllocationCountersSupported();
+            test.testMapPanelBudget();
+            test.testStationInfoPanelBudget();
+            test.testNewsPanelBudget();
+            test.testWeatherPanelBudget();
+            test.testAdvertisementPanelBudget();
+
+            System.out.println("\n🎉 All Paint Allocation Tests PASSED! (6/6)");
+            System.out.println("✅ Panel render paths stay within their per-frame allocation budgets");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        } catch (Exception e) {
+            System.err.println("❌ Unexpected error during testing: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.exit(0);
+    }
+}
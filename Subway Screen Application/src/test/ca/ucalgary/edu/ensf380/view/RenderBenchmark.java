@@ -0,0 +1,346 @@
+package test.ca.ucalgary.edu.ensf380.view;
+
+import ca.ucalgary.edu.ensf380.controller.StationController;
+import ca.ucalgary.edu.ensf380.model.Station;
+import ca.ucalgary.edu.ensf380.model.Train;
+import ca.ucalgary.edu.ensf380.util.AppConstants;
+import ca.ucalgary.edu.ensf380.view.AdvertisementPanel;
+import ca.ucalgary.edu.ensf380.view.MapPanel;
+import ca.ucalgary.edu.ensf380.view.NewsPanel;
+import ca.ucalgary.edu.ensf380.view.StationInfoPanel;
+import ca.ucalgary.edu.ensf380.view.WeatherPanel;
+import java.awt.EventQueue;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import javax.swing.JComponent;
+
+/**
+ * Headless Render Benchmark for the Display Panels
+ *
+ * Builds each panel offscreen at several screen resolutions, sized as the main
+ * window lays it out, and paints it frame after frame into a BufferedImage on the
+ * Event Dispatch Thread. The map and station info panels get synthetic train
+ * movement while they are painted. Reports frame time percentiles and the bytes
+ * allocated per frame (ThreadMXBean), and appends every result to
+ * benchmarks/render-results.csv so runs of different versions can be compared;
+ * each run prints its change against the previous run in that file.
+ *
+ * Not a test: it asserts nothing and is run on demand with benchmark.bat.
+ *
+ * Usage: java -Djava.awt.headless=true ...RenderBenchmark [frames] [label]
+ *
+ * @author Subway Screen Test Team
+ * @version 1.0
+ */
+public class RenderBenchmark {
+
+    private static final int DEFAULT_FRAMES = 300;
+    private static final int WARMUP_FRAMES = 100;
+    private static final int FRAMES_PER_TRAIN_MOVE = 30;   // Half a second at the display frame rate
+    private static final Path RESULTS_FILE = Paths.get("benchmarks", "render-results.csv");
+    private static final String CSV_HEADER =
+            "run,label,java,panel,resolution,width,height,frames,mean_ms,p50_ms,p90_ms,p99_ms,max_ms,bytes_per_frame,mb_per_s";
+
+    // Screen resolutions, laid out like the main window
+    private static final int[][] RESOLUTIONS = {
+        {AppConstants.MAIN_WINDOW_WIDTH, AppConstants.MAIN_WINDOW_HEIGHT},
+        {1920, 1080},
+        {3840, 2160}
+    };
+    private static final int RIGHT_PANEL_WIDTH = 230;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final int frames;
+    private final String label;
+    private final String run = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+    private final List<Result> results = new ArrayList<>();
+
+    // Synthetic train movement: station codes of each line in order
+    private final ArrayList<Station> stations = new StationController().getStations();
+    private final Map<String, List<String>> lineCodes = new LinkedHashMap<>();
+
+    /**
+     * Measurements of one panel at one resolution
+     */
+    private record Result(String panel, String resolution, int width, int height, int frames,
+                          double meanMs, double p50Ms, double p90Ms, double p99Ms, double maxMs,
+                          long bytesPerFrame) {
+
+        double megabytesPerSecond() {
+            return bytesPerFrame * (double) AppConstants.DISPLAY_FRAME_RATE / (1024.0 * 1024.0);
+        }
+
+        String key() {
+            return panel + "@" + resolution;
+        }
+    }
+
+    /**
+     * Something to paint, and what changes between frames
+     */
+    private interface Subject {
+        JComponent component();
+
+        default void advance(int frame) {
+        }
+    }
+
+    public RenderBenchmark(int frames, String label) {
+        this.frames = frames;
+        this.label = label;
+        for (Station station : stations) {
+            lineCodes.computeIfAbsent(station.getCode().substring(0, 1), k -> new ArrayList<>()).add(station.getCode());
+        }
+    }
+
+    /**
+     * Paints the subject repeatedly and records its frame times and allocations
+     */
+    private void measure(String panel, String resolution, Subject subject, int width, int height) throws Exception {
+        long[] frameNanos = new long[frames];
+        long[] allocated = new long[1];
+        EventQueue.invokeAndWait(() -> {
+            JComponent component = subject.component();
+            component.setSize(width, height);
+            component.doLayout();
+            component.paint(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB).createGraphics());
+        });
+        Thread.sleep(1000); // Background work started by the first paint (map tiles, media decoding)
+
+        EventQueue.invokeAndWait(() -> {
+            JComponent component = subject.component();
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g2 = image.createGraphics();
+            for (int i = 0; i < WARMUP_FRAMES; i++) {
+                subject.advance(i);
+                component.paint(g2);
+            }
+            long threadId = Thread.currentThread().threadId();
+            long before = threads.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < frames; i++) {
+                subject.advance(WARMUP_FRAMES + i);
+                long start = System.nanoTime();
+                component.paint(g2);
+                frameNanos[i] = System.nanoTime() - start;
+            }
+            allocated[0] = threads.getThreadAllocatedBytes(threadId) - before;
+            g2.dispose();
+        });
+
+        long[] sorted = frameNanos.clone();
+        Arrays.sort(sorted);
+        double mean = Arrays.stream(sorted).average().orElse(0) / 1e6;
+        Result result = new Result(panel, resolution, width, height, frames, mean,
+                percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+                sorted[sorted.length - 1] / 1e6, allocated[0] / frames);
+        results.add(result);
+        System.out.printf(Locale.ROOT, "  %-18s %-10s mean %7.3f  p50 %7.3f  p90 %7.3f  p99 %7.3f  max %7.3f ms  %8d B/frame  %6.2f MB/s%n",
+                panel, resolution, result.meanMs(), result.p50Ms(), result.p90Ms(), result.p99Ms(), result.maxMs(),
+                result.bytesPerFrame(), result.megabytesPerSecond());
+    }
+
+    private static double percentile(long[] sorted, int percent) {
+        int index = (int) Math.ceil(percent / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1e6;
+    }
+
+    /**
+     * Trains spread along every line, moved one station onward every
+     * FRAMES_PER_TRAIN_MOVE frames
+     */
+    private List<Train> trainsAt(int step) {
+        List<Train> trains = new ArrayList<>();
+        int id = 1;
+        for (List<String> codes : lineCodes.values()) {
+            for (int offset = 0; offset < codes.size(); offset += 6) {
+                String code = codes.get((offset + step) % codes.size());
+                trains.add(new Train(String.valueOf(id++), code, "forward"));
+            }
+        }
+        return trains;
+    }
+
+    private void benchmarkMap(String resolution, int width, int height) throws Exception {
+        MapPanel[] map = new MapPanel[1];
+        EventQueue.invokeAndWait(() -> {
+            map[0] = new MapPanel(stations, "1");
+            map[0].updateTrainPositions(trainsAt(0));
+        });
+        measure("MapPanel", resolution, new Subject() {
+            public JComponent component() {
+                return map[0];
+            }
+
+            public void advance(int frame) {
+                if (frame % FRAMES_PER_TRAIN_MOVE == 0) {
+                    map[0].updateTrainPositions(trainsAt(frame / FRAMES_PER_TRAIN_MOVE));
+                }
+            }
+        }, width, height);
+    }
+
+    private void benchmarkStationInfo(String resolution, int width) throws Exception {
+        StationInfoPanel[] info = new StationInfoPanel[1];
+        EventQueue.invokeAndWait(() -> info[0] = new StationInfoPanel());
+        measure("StationInfoPanel", resolution, new Subject() {
+            public JComponent component() {
+                return info[0].getPanel();
+            }
+
+            public void advance(int frame) {
+                if (frame % FRAMES_PER_TRAIN_MOVE == 0) {
+                    int step = frame / FRAMES_PER_TRAIN_MOVE;
+                    info[0].updateTrainPosition(stationName(step), stationName(step + 1), stationName(step + 2),
+                            stationName(step + 3), stationName(step + 4));
+                }
+            }
+        }, width, AppConstants.STATION_INFO_PANEL_HEIGHT);
+    }
+
+    private String stationName(int index) {
+        return stations.get(index % stations.size()).getName();
+    }
+
+    private void benchmarkNews(String resolution, int width) throws Exception {
+        NewsPanel[] news = new NewsPanel[1];
+        EventQueue.invokeAndWait(() -> news[0] = new NewsPanel());
+        measure("NewsPanel", resolution, () -> news[0].getPanel(), width, AppConstants.NEWS_PANEL_HEIGHT);
+    }
+
+    private void benchmarkWeather(String resolution, int height) throws Exception {
+        WeatherPanel[] weather = new WeatherPanel[1];
+        EventQueue.invokeAndWait(() -> {
+            weather[0] = new WeatherPanel();
+            weather[0].updateWeatherLabel("<html>Location: Calgary<br>Temperature: 21°C<br>Sunny</html>");
+        });
+        measure("WeatherPanel", resolution, () -> weather[0].getPanel(), AppConstants.WEATHER_PANEL_WIDTH, height);
+    }
+
+    private void benchmarkAdvertisement(String resolution, int width, int height) throws Exception {
+        AdvertisementPanel[] ad = new AdvertisementPanel[1];
+        EventQueue.invokeAndWait(() -> {
+            ad[0] = new AdvertisementPanel();
+            Map<String, Object> advertisement = new HashMap<>();
+            advertisement.put("media_type", "GIF");
+            advertisement.put("media_path", "ad5.gif");
+            ad[0].displayAdvertisement(advertisement);
+        });
+        Thread.sleep(1000); // Let the fade-in transition settle
+        measure("AdvertisementPanel", resolution, () -> ad[0].getPanel(), width, height);
+    }
+
+    public void runAll() throws Exception {
+        threads.setThreadAllocatedMemoryEnabled(true);
+        for (int[] size : RESOLUTIONS) {
+            String resolution = size[0] + "x" + size[1];
+            int centerWidth = size[0] - RIGHT_PANEL_WIDTH;
+            int centerHeight = size[1] - AppConstants.BOTTOM_PANEL_HEIGHT;
+            System.out.println("\n" + resolution + ":");
+            benchmarkMap(resolution, centerWidth, centerHeight);
+            benchmarkAdvertisement(resolution, centerWidth, centerHeight);
+            benchmarkWeather(resolution, centerHeight);
+            benchmarkStationInfo(resolution, size[0]);
+            benchmarkNews(resolution, size[0]);
+        }
+    }
+
+    /**
+     * Appends this run to the results file, first printing how it compares with
+     * the previous run recorded there
+     */
+    public void save() throws IOException {
+        Map<String, String[]> previous = previousRun();
+        if (!previous.isEmpty()) {
+            System.out.println("\nChange against run " + previous.values().iterator().next()[0]
+                    + " (" + previous.values().iterator().next()[1] + "):");
+            for (Result result : results) {
+                String[] before = previous.get(result.key());
+                if (before == null) {
+                    continue;
+                }
+                System.out.printf(Locale.ROOT, "  %-18s %-10s p50 %+7.1f%%  p99 %+7.1f%%  bytes/frame %+7.1f%%%n",
+                        result.panel(), result.resolution(),
+                        change(Double.parseDouble(before[9]), result.p50Ms()),
+                        change(Double.parseDouble(before[11]), result.p99Ms()),
+                        change(Double.parseDouble(before[13]), result.bytesPerFrame()));
+            }
+        }
+
+        List<String> lines = new ArrayList<>();
+        if (!Files.exists(RESULTS_FILE)) {
+            Files.createDirectories(RESULTS_FILE.getParent());
+            lines.add(CSV_HEADER);
+        }
+        for (Result r : results) {
+            lines.add(String.format(Locale.ROOT, "%s,%s,%s,%s,%s,%d,%d,%d,%.4f,%.4f,%.4f,%.4f,%.4f,%d,%.3f",
+                    run, label, System.getProperty("java.version"), r.panel(), r.resolution(), r.width(), r.height(),
+                    r.frames(), r.meanMs(), r.p50Ms(), r.p90Ms(), r.p99Ms(), r.maxMs(), r.bytesPerFrame(),
+                    r.megabytesPerSecond()));
+        }
+        Files.write(RESULTS_FILE, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        System.out.println("\nResults appended to " + RESULTS_FILE.toAbsolutePath());
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) * 100.0 / before;
+    }
+
+    /**
+     * Rows of the last run in the results file, by panel and resolution
+     */
+    private Map<String, String[]> previousRun() throws IOException {
+        Map<String, String[]> rows = new HashMap<>();
+        if (!Files.exists(RESULTS_FILE)) {
+            return rows;
+        }
+        String lastRun = null;
+        for (String line : Files.readAllLines(RESULTS_FILE, StandardCharsets.UTF_8)) {
+            String[] fields = line.split(",");
+            if (fields.length < 15 || line.startsWith("run,")) {
+                continue;
+            }
+            if (!fields[0].equals(lastRun)) {
+                lastRun = fields[0];
+                rows.clear();
+            }
+            rows.put(fields[3] + "@" + fields[4], fields);
+        }
+        return rows;
+    }
+
+    // Benchmark Runner
+    public static void main(String[] args) {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_FRAMES;
+        String label = args.length > 1 ? args[1].replace(',', '_') : "v" + AppConstants.APP_VERSION;
+        RenderBenchmark benchmark = new RenderBenchmark(frames, label);
+
+        System.out.println("Running Render Benchmark (" + frames + " frames per panel, label " + label + ")...");
+        System.out.println("==============================================================");
+
+        try {
+            benchmark.runAll();
+            benchmark.save();
+        } catch (Exception e) {
+            System.err.println("❌ Benchmark failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.exit(0);
+    }
+}
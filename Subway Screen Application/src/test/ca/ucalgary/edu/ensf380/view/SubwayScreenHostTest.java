@@ -0,0 +1,141 @@
+package test.ca.ucalgary.edu.ensf380.view;
+
+import ca.ucalgary.edu.ensf380.util.AppConstants;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit Tests for the Subway Screen Host train list
+ *
+ * Checks that a train list such as "1,2,3", "1-12" or "1-3,7" is parsed into
+ * distinct train numbers in the given order, and that malformed or out-of-range
+ * lists are rejected. parseTrainList is package-private, so it is reached
+ * through reflection.
+ *
+ * @author Subway Screen Test Team
+ * @version 1.0
+ */
+public class SubwayScreenHostTest {
+
+    private final Method parseTrainList;
+
+    public SubwayScreenHostTest() throws Exception {
+        Class<?> host = Class.forName("ca.ucalgary.edu.ensf380.view.SubwayScreenHost");
+        parseTrainList = host.getDeclaredMethod("parseTrainList", String.class);
+        parseTrainList.setAccessible(true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Integer> parse(String spec) throws Exception {
+        try {
+            return (List<Integer>) parseTrainList.invoke(null, spec);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private void assertRejected(String spec) throws Exception {
+        try {
+            List<Integer> trains = parse(spec);
+            assert false : "\"" + spec + "\" should be rejected but gave " + trains;
+        } catch (IllegalArgumentException expected) {
+            // Rejected as expected
+        }
+    }
+
+    private static List<Integer> range(int from, int to) {
+        List<Integer> trains = new ArrayList<>();
+        for (int n = from; n <= to; n++) {
+            trains.add(n);
+        }
+        return trains;
+    }
+
+    // Parsing Tests
+    public void testSingleTrain() throws Exception {
+        assert parse("4").equals(List.of(4)) : "single train not parsed";
+        System.out.println("✓ A single train number is parsed");
+    }
+
+    public void testCommaList() throws Exception {
+        assert parse("1,2,3").equals(List.of(1, 2, 3)) : "comma list not parsed";
+        assert parse("7,3,5").equals(List.of(7, 3, 5)) : "order of the list was not kept";
+        System.out.println("✓ Comma-separated trains are parsed in the given order");
+    }
+
+    public void testRanges() throws Exception {
+        assert parse("1-12").equals(range(1, 12)) : "range not expanded";
+        assert parse("1-3,7").equals(List.of(1, 2, 3, 7)) : "range and single train not combined";
+        assert parse("5-5").equals(List.of(5)) : "single-train range not parsed";
+        System.out.println("✓ Ranges are expanded and combined with single trains");
+    }
+
+    public void testDuplicatesRemoved() throws Exception {
+        assert parse("3,1-4,2,3").equals(List.of(3, 1, 2, 4)) : "duplicates not removed in first-seen order";
+        System.out.println("✓ Repeated trains appear once, where first given");
+    }
+
+    public void testWhitespaceAndEmptyEntries() throws Exception {
+        assert parse(" 1 , 2 - 4 ,, 6 ").equals(List.of(1, 2, 3, 4, 6)) : "whitespace not ignored";
+        assert parse("1,").equals(List.of(1)) : "trailing comma not ignored";
+        System.out.println("✓ Whitespace and empty entries are ignored");
+    }
+
+    public void testTrainIdBounds() throws Exception {
+        int min = AppConstants.MIN_TRAIN_ID;
+        int max = AppConstants.MAX_TRAIN_ID;
+        assert parse(min + "," + max).equals(List.of(min, max)) : "bounds should be accepted";
+        assert parse(min + "-" + max).size() == max - min + 1 : "full range not expanded";
+        assertRejected(String.valueOf(min - 1));
+        assertRejected(String.valueOf(max + 1));
+        assertRejected((max - 1) + "-" + (max + 1));
+        assertRejected("-5");
+        System.out.println("✓ Trains outside " + min + ".." + max + " are rejected");
+    }
+
+    public void testMalformedListsRejected() throws Exception {
+        assertRejected("");
+        assertRejected(" , ,");
+        assertRejected("abc");
+        assertRejected("1,x");
+        assertRejected("1-");
+        assertRejected("1-2-3");
+        assertRejected("2.5");
+        assertRejected("5-3");
+        System.out.println("✓ Empty, malformed and reversed lists are rejected");
+    }
+
+    // Test Runner
+    public static void main(String[] args) {
+        System.out.println("Running Subway Screen Host Tests...");
+        System.out.println("===================================");
+
+        try {
+            SubwayScreenHostTest test = new SubwayScreenHostTest();
+            test.testSingleTrain();
+            test.testCommaList();
+            test.testRanges();
+            test.testDuplicatesRemoved();
+            test.testWhitespaceAndEmptyEntries();
+            test.testTrainIdBounds();
+            test.testMalformedListsRejected();
+
+            System.out.println("\n🎉 All Subway Screen Host Tests PASSED! (7/7)");
+            System.out.println("✅ Train lists are parsed and validated");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        } catch (Exception e) {
+            System.err.println("❌ Unexpected error during testing: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,133 @@
+package test.ca.ucalgary.edu.ensf380.view;
+
+import ca.ucalgary.edu.ensf380.util.AppConstants;
+import ca.ucalgary.edu.ensf380.view.TextLayoutCache;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+/**
+ * Unit Tests for the Text Layout Cache
+ *
+ * Checks that cached layouts truncate exactly like the station cards' former
+ * per-paint truncation (drop characters from the end until the text plus "..."
+ * fits), and that entries are shared and bounded.
+ *
+ * Run headless: java -ea -Djava.awt.headless=true ...TextLayoutCacheTest
+ *
+ * @author Subway Screen Test Team
+ * @version 1.0
+ */
+public class TextLayoutCacheTest {
+
+    private static final String ELLIPSIS = "...";
+    private static final String[] NAMES = {
+        "Maplewood Station", "Lakeview Heights Station", "Green Hills Station", "Brightwater Station",
+        "Riverbend Station", "Westbrook Interchange", "Q", "WWWWWWWWWWWWWWWWWWWW", "iiiiiiiiiiiiiiiiiiii",
+        "Université-Centre", "",
+    };
+
+    private final TextLayoutCache cache = TextLayoutCache.getInstance();
+    private final Graphics2D g2;
+
+    public TextLayoutCacheTest() {
+        g2 = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+    }
+
+    /**
+     * The truncation the station cards used before the cache
+     */
+    private static String truncateString(String text, FontMetrics fm, int maxWidth) {
+        if (fm.stringWidth(text) <= maxWidth) {
+            return text;
+        }
+        for (int i = text.length() - 1; i > 0; i--) {
+            String truncated = text.substring(0, i) + ELLIPSIS;
+            if (fm.stringWidth(truncated) <= maxWidth) {
+                return truncated;
+            }
+        }
+        return ELLIPSIS;
+    }
+
+    // Truncation Tests
+    public void testTruncationMatchesPreviousOutput() {
+        Font[] fonts = { AppConstants.STATION_FONT, AppConstants.NEWS_FONT, new Font(AppConstants.FONT_FAMILY, Font.BOLD, 22) };
+        int compared = 0;
+        for (Font font : fonts) {
+            FontMetrics fm = g2.getFontMetrics(font);
+            for (String name : NAMES) {
+                for (int maxWidth = 0; maxWidth <= fm.stringWidth(name) + 10; maxWidth += 3) {
+                    String expected = truncateString(name, fm, maxWidth);
+                    TextLayoutCache.Entry entry = cache.get(g2, name, font, maxWidth);
+                    assert expected.equals(entry.getText())
+                            : "\"" + name + "\" at " + maxWidth + "px: expected \"" + expected + "\", got \"" + entry.getText() + "\"";
+                    assert entry.getWidth() == fm.stringWidth(expected)
+                            : "width of \"" + expected + "\": expected " + fm.stringWidth(expected) + ", got " + entry.getWidth();
+                    compared++;
+                }
+            }
+        }
+        System.out.println("✓ Truncation matches the previous per-paint output (" + compared + " cases)");
+    }
+
+    public void testFittingTextUnchanged() {
+        TextLayoutCache.Entry entry = cache.get(g2, "Maplewood Station", AppConstants.STATION_FONT, TextLayoutCache.UNBOUNDED);
+        assert "Maplewood Station".equals(entry.getText());
+        assert !entry.getText().endsWith(ELLIPSIS);
+        System.out.println("✓ Text that fits is not truncated");
+    }
+
+    // Cache Tests
+    public void testRepeatedLookupIsHit() {
+        String name = "Cache Hit Station";
+        TextLayoutCache.Entry first = cache.get(g2, name, AppConstants.STATION_FONT, 120);
+        long hits = cache.getHitCount();
+        TextLayoutCache.Entry second = cache.get(g2, name, AppConstants.STATION_FONT, 120);
+        assert first == second : "same text, font and width should share one entry";
+        assert cache.getHitCount() == hits + 1;
+
+        TextLayoutCache.Entry narrower = cache.get(g2, name, AppConstants.STATION_FONT, 60);
+        assert narrower != first : "a different width is a different entry";
+        System.out.println("✓ Repeated lookups share one entry per text, font and width");
+    }
+
+    public void testCacheIsBounded() {
+        long evictions = cache.getEvictionCount();
+        for (int i = 0; i < AppConstants.TEXT_LAYOUT_CACHE_SIZE + 50; i++) {
+            cache.get(g2, "Station " + i, AppConstants.STATION_FONT, 200);
+        }
+        assert cache.getSize() <= AppConstants.TEXT_LAYOUT_CACHE_SIZE : "cache grew to " + cache.getSize();
+        assert cache.getEvictionCount() > evictions : "no entries were evicted";
+        System.out.println("✓ The cache stays within " + AppConstants.TEXT_LAYOUT_CACHE_SIZE + " entries");
+    }
+
+    // Test Runner
+    public static void main(String[] args) {
+        TextLayoutCacheTest test = new TextLayoutCacheTest();
+
+        System.out.println("Running Text Layout Cache Tests...");
+        System.out.println("==================================");
+
+        try {
+            test.testTruncationMatchesPreviousOutput();
+            test.testFittingTextUnchanged();
+            test.testRepeatedLookupIsHit();
+            test.testCacheIsBounded();
+
+            System.out.println("\n🎉 All Text Layout Cache Tests PASSED! (4/4)");
+            System.out.println("✅ Cached text layouts fit and truncate like before");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        } catch (Exception e) {
+            System.err.println("❌ Unexpected error during testing: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.exit(0);
+    }
+}
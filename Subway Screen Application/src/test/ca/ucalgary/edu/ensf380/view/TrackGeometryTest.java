@@ -0,0 +1,168 @@
+package test.ca.ucalgary.edu.ensf380.view;
+
+import ca.ucalgary.edu.ensf380.model.Station;
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Unit Tests for Track Geometry
+ *
+ * Checks arc-length interpolation along a line's polyline: station arc lengths,
+ * points between and at vertices, clamping at the ends, segment directions and
+ * zero-length segments. TrackGeometry is package-private, so it is reached
+ * through reflection.
+ *
+ * @author Subway Screen Test Team
+ * @version 1.0
+ */
+public class TrackGeometryTest {
+
+    private static final double EPSILON = 1e-9;
+
+    private final Method of;
+    private final Method straight;
+    private final Method arcOf;
+    private final Method getLength;
+    private final Method pointAt;
+    private final Method directionAt;
+
+    public TrackGeometryTest() throws Exception {
+        Class<?> track = Class.forName("ca.ucalgary.edu.ensf380.view.TrackGeometry");
+        of = accessible(track.getDeclaredMethod("of", List.class));
+        straight = accessible(track.getDeclaredMethod("straight", double.class, double.class, double.class, double.class));
+        arcOf = accessible(track.getDeclaredMethod("arcOf", String.class));
+        getLength = accessible(track.getDeclaredMethod("getLength"));
+        pointAt = accessible(track.getDeclaredMethod("pointAt", double.class, double[].class));
+        directionAt = accessible(track.getDeclaredMethod("directionAt", double.class, double[].class));
+    }
+
+    private static Method accessible(Method method) {
+        method.setAccessible(true);
+        return method;
+    }
+
+    /**
+     * An L-shaped line: 30 units right, then 40 units down (3-4-5 friendly), total 70
+     */
+    private Object lShapedTrack() throws Exception {
+        return of.invoke(null, List.of(
+                new Station("First", "R01", "1", 0, 0),
+                new Station("Corner", "R02", "2", 30, 0),
+                new Station("Last", "R03", "3", 30, 40)));
+    }
+
+    private double[] point(Object track, double s) throws Exception {
+        double[] out = new double[2];
+        pointAt.invoke(track, s, out);
+        return out;
+    }
+
+    private double[] direction(Object track, double s) throws Exception {
+        double[] out = new double[2];
+        directionAt.invoke(track, s, out);
+        return out;
+    }
+
+    private static void assertPoint(double[] actual, double x, double y, String what) {
+        assert Math.abs(actual[0] - x) < EPSILON && Math.abs(actual[1] - y) < EPSILON
+                : what + ": expected (" + x + ", " + y + "), got (" + actual[0] + ", " + actual[1] + ")";
+    }
+
+    // Arc Length Tests
+    public void testStationArcLengths() throws Exception {
+        Object track = lShapedTrack();
+        assert (double) arcOf.invoke(track, "R01") == 0;
+        assert (double) arcOf.invoke(track, "R02") == 30;
+        assert (double) arcOf.invoke(track, "R03") == 70;
+        assert (double) arcOf.invoke(track, "B01") == -1 : "station off the track should report -1";
+        assert (double) getLength.invoke(track) == 70;
+        System.out.println("✓ Station arc lengths accumulate segment lengths");
+    }
+
+    // Interpolation Tests
+    public void testPointsInterpolateAlongSegments() throws Exception {
+        Object track = lShapedTrack();
+        assertPoint(point(track, 15), 15, 0, "middle of the first segment");
+        assertPoint(point(track, 30), 30, 0, "corner vertex");
+        assertPoint(point(track, 50), 30, 20, "middle of the second segment");
+        assertPoint(point(track, 69.5), 30, 39.5, "just before the end");
+        System.out.println("✓ Points are interpolated linearly by arc length across segments");
+    }
+
+    public void testPointsClampedToEnds() throws Exception {
+        Object track = lShapedTrack();
+        assertPoint(point(track, -10), 0, 0, "before the start");
+        assertPoint(point(track, 0), 0, 0, "start");
+        assertPoint(point(track, 70), 30, 40, "end");
+        assertPoint(point(track, 500), 30, 40, "past the end");
+        System.out.println("✓ Arc lengths outside the track are clamped to its ends");
+    }
+
+    public void testEqualArcStepsCoverEqualDistances() throws Exception {
+        // A diagonal 3-4-5 segment: every 5 units of arc move 3 right and 4 down
+        Object track = straight.invoke(null, 0.0, 0.0, 30.0, 40.0);
+        assert (double) getLength.invoke(track) == 50;
+        for (int step = 0; step <= 10; step++) {
+            assertPoint(point(track, step * 5), step * 3, step * 4, "arc " + step * 5);
+        }
+        System.out.println("✓ Equal arc-length steps move equal distances along the track");
+    }
+
+    // Direction Tests
+    public void testDirectionFollowsSegment() throws Exception {
+        Object track = lShapedTrack();
+        assertPoint(direction(track, 10), 1, 0, "direction on the first segment");
+        assertPoint(direction(track, 45), 0, 1, "direction on the second segment");
+        assertPoint(direction(track, 1000), 0, 1, "direction past the end");
+        Object diagonal = straight.invoke(null, 0.0, 0.0, 30.0, 40.0);
+        assertPoint(direction(diagonal, 25), 0.6, 0.8, "direction of a diagonal");
+        System.out.println("✓ Directions are the unit vectors of the segments");
+    }
+
+    public void testZeroLengthTrack() throws Exception {
+        Object track = straight.invoke(null, 5.0, 7.0, 5.0, 7.0);
+        assert (double) getLength.invoke(track) == 0;
+        assertPoint(point(track, 3), 5, 7, "point on a zero-length track");
+        assertPoint(direction(track, 0), 0, 0, "direction on a zero-length track");
+        System.out.println("✓ A zero-length track stays at its point without dividing by zero");
+    }
+
+    public void testRepeatedStationKeepsFirstVertex() throws Exception {
+        // A loop line lists its first station again at the end
+        Object loop = of.invoke(null, List.of(
+                new Station("Start", "G01", "1", 0, 0),
+                new Station("Far", "G02", "2", 10, 0),
+                new Station("Start", "G01", "1", 0, 0)));
+        assert (double) arcOf.invoke(loop, "G01") == 0 : "repeated station should keep its first arc length";
+        assert (double) getLength.invoke(loop) == 20;
+        System.out.println("✓ A station listed twice keeps the arc length of its first vertex");
+    }
+
+    // Test Runner
+    public static void main(String[] args) {
+        System.out.println("Running Track Geometry Tests...");
+        System.out.println("===============================");
+
+        try {
+            TrackGeometryTest test = new TrackGeometryTest();
+            test.testStationArcLengths();
+            test.testPointsInterpolateAlongSegments();
+            test.testPointsClampedToEnds();
+            test.testEqualArcStepsCoverEqualDistances();
+            test.testDirectionFollowsSegment();
+            test.testZeroLengthTrack();
+            test.testRepeatedStationKeepsFirstVertex();
+
+            System.out.println("\n🎉 All Track Geometry Tests PASSED! (7/7)");
+            System.out.println("✅ Trains follow their tracks by arc length");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        } catch (Exception e) {
+            System.err.println("❌ Unexpected error during testing: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.exit(0);
+    }
+}
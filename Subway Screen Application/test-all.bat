@@ -43,6 +43,83 @@ if %ERRORLEVEL% neq 0 (
     exit /b 1
 )
 
+javac -cp "bin;lib/*" -d bin src/test/ca/ucalgary/edu/ensf380/view/PaintAllocationTest.java > nul
+if %ERRORLEVEL% neq 0 (
+    echo ❌ PaintAllocationTest compilation failed!
+    pause
+    exit /b 1
+)
+
+javac -cp "bin;lib/*" -d bin src/test/ca/ucalgary/edu/ensf380/util/TaskGroupTest.java > nul
+if %ERRORLEVEL% neq 0 (
+    echo ❌ TaskGroupTest compilation failed!
+    pause
+    exit /b 1
+)
+
+javac -cp "bin;lib/*" -d bin src/test/ca/ucalgary/edu/ensf380/util/StartupOrchestratorTest.java > nul
+if %ERRORLEVEL% neq 0 (
+    echo ❌ StartupOrchestratorTest compilation failed!
+    pause
+    exit /b 1
+)
+
+javac -cp "bin;lib/*" -d bin src/test/ca/ucalgary/edu/ensf380/util/UiUpdateBridgeTest.java > nul
+if %ERRORLEVEL% neq 0 (
+    echo ❌ UiUpdateBridgeTest compilation failed!
+    pause
+    exit /b 1
+)
+
+javac -cp "bin;lib/*" -d bin src/test/ca/ucalgary/edu/ensf380/view/TextLayoutCacheTest.java > nul
+if %ERRORLEVEL% neq 0 (
+    echo ❌ TextLayoutCacheTest compilation failed!
+    pause
+    exit /b 1
+)
+
+javac -cp "bin;lib/*" -d bin src/test/ca/ucalgary/edu/ensf380/util/MediaCacheTest.java > nul
+if %ERRORLEVEL% neq 0 (
+    echo ❌ MediaCacheTest compilation failed!
+    pause
+    exit /b 1
+)
+
+javac -cp "bin;lib/*" -d bin src/test/ca/ucalgary/edu/ensf380/view/TrackGeometryTest.java > nul
+if %ERRORLEVEL% neq 0 (
+    echo ❌ TrackGeometryTest compilation failed!
+    pause
+    exit /b 1
+)
+
+javac -cp "bin;lib/*" -d bin src/test/ca/ucalgary/edu/ensf380/view/LabelCollisionGridTest.java > nul
+if %ERRORLEVEL% neq 0 (
+    echo ❌ LabelCollisionGridTest compilation failed!
+    pause
+    exit /b 1
+)
+
+javac -cp "bin;lib/*" -d bin src/test/ca/ucalgary/edu/ensf380/util/LatencyHistogramTest.java > nul
+if %ERRORLEVEL% neq 0 (
+    echo ❌ LatencyHistogramTest compilation failed!
+    pause
+    exit /b 1
+)
+
+javac -cp "bin;lib/*" -d bin src/test/ca/ucalgary/edu/ensf380/view/SubwayScreenHostTest.java > nul
+if %ERRORLEVEL% neq 0 (
+    echo ❌ SubwayScreenHostTest compilation failed!
+    pause
+    exit /b 1
+)
+
+javac -cp "bin;lib/*" -d bin src/test/ca/ucalgary/edu/ensf380/util/ScaledFramesTest.java > nul
+if %ERRORLEVEL% neq 0 (
+    echo ❌ ScaledFramesTest compilation failed!
+    pause
+    exit /b 1
+)
+
 echo ✅ All tests compiled successfully
 
 REM Step 3: Run tests
@@ -62,6 +139,50 @@ echo.
 echo 🏢 Station Controller Tests:
 java -ea -cp "bin;lib/*" test.ca.ucalgary.edu.ensf380.controller.StationControllerTest
 
+echo.
+echo 🎨 Paint Allocation Tests:
+java -ea -Djava.awt.headless=true -cp "bin;lib/*" test.ca.ucalgary.edu.ensf380.view.PaintAllocationTest
+
+echo.
+echo ⚙️ Task Group Tests:
+java -ea -cp "bin;lib/*" test.ca.ucalgary.edu.ensf380.util.TaskGroupTest
+
+echo.
+echo 🚦 Startup Orchestrator Tests:
+java -ea -cp "bin;lib/*" test.ca.ucalgary.edu.ensf380.util.StartupOrchestratorTest
+
+echo.
+echo 🔀 UI Update Bridge Tests:
+java -ea -Djava.awt.headless=true -cp "bin;lib/*" test.ca.ucalgary.edu.ensf380.util.UiUpdateBridgeTest
+
+echo.
+echo 🔤 Text Layout Cache Tests:
+java -ea -Djava.awt.headless=true -cp "bin;lib/*" test.ca.ucalgary.edu.ensf380.view.TextLayoutCacheTest
+
+echo.
+echo 🖼️ Media Cache Tests:
+java -ea -Djava.awt.headless=true -cp "bin;lib/*" test.ca.ucalgary.edu.ensf380.util.MediaCacheTest
+
+echo.
+echo 🛤️ Track Geometry Tests:
+java -ea -cp "bin;lib/*" test.ca.ucalgary.edu.ensf380.view.TrackGeometryTest
+
+echo.
+echo 🏷️ Label Collision Grid Tests:
+java -ea -cp "bin;lib/*" test.ca.ucalgary.edu.ensf380.view.LabelCollisionGridTest
+
+echo.
+echo 📈 Latency Histogram Tests:
+java -ea -cp "bin;lib/*" test.ca.ucalgary.edu.ensf380.util.LatencyHistogramTest
+
+echo.
+echo 🖥️ Subway Screen Host Tests:
+java -ea -cp "bin;lib/*" test.ca.ucalgary.edu.ensf380.view.SubwayScreenHostTest
+
+echo.
+echo 🖼️ Scaled Frames Tests:
+java -ea -Djava.awt.headless=true -cp "bin;lib/*" test.ca.ucalgary.edu.ensf380.util.ScaledFramesTest
+
 echo.
 echo ================================================================
 echo 🎉 ALL TESTS COMPLETED! 🎉
@@ -70,6 +191,7 @@ echo.
 echo Your CityX Subway Display System has been thoroughly tested!
 echo ✅ Model Classes: Station, Train
 echo ✅ Controller Classes: StationController 
+echo ✅ Rendering: Per-frame paint allocation budgets
 echo ✅ Data Integrity: CSV parsing and validation
 echo ✅ Edge Cases: Null handling, special characters
 echo.